@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.collision.broadphase.ArrayAABBTree;
+import org.dyn4j.collision.broadphase.BroadphaseDetector;
+import org.dyn4j.collision.broadphase.BroadphasePair;
+import org.dyn4j.collision.broadphase.DynamicAABBTree;
+import org.dyn4j.collision.broadphase.HashGrid;
+import org.dyn4j.collision.broadphase.SapBoxPruning;
+import org.dyn4j.collision.broadphase.SapBruteForce;
+import org.dyn4j.collision.broadphase.SapIncremental;
+import org.dyn4j.collision.broadphase.SapTree;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link BroadphaseDetector}s across a number of body counts.
+ * <p>
+ * The bodies are randomly placed in a square whose size grows with the body 
+ * count so that the density, and therefore the number of pairs per body, is 
+ * roughly the same for all body counts.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BroadphaseBenchmark {
+	/** The broadphase detector */
+	@Param({"SapBruteForce", "SapIncremental", "SapTree", "DynamicAABBTree", "ArrayAABBTree", "HashGrid", "SapBoxPruning"})
+	public String detector;
+	
+	/** The number of bodies */
+	@Param({"100", "1000", "10000"})
+	public int bodyCount;
+	
+	/** The broadphase */
+	private BroadphaseDetector<Body> broadphase;
+	
+	/** The bodies */
+	private Body[] bodies;
+	
+	/** The per step displacement of each body */
+	private Vector2[] velocities;
+	
+	/** The half size of the square containing the bodies */
+	private double halfSize;
+	
+	/** The aabb used for the aabb query */
+	private AABB aabb;
+	
+	/** The ray used for the raycast */
+	private Ray ray;
+	
+	/**
+	 * Creates the broadphase and adds the bodies.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.broadphase = createBroadphaseDetector(this.detector, this.bodyCount);
+		
+		Random random = new Random(0);
+		this.halfSize = Math.sqrt(this.bodyCount) * 1.5;
+		this.bodies = new Body[this.bodyCount];
+		this.velocities = new Vector2[this.bodyCount];
+		for (int i = 0; i < this.bodyCount; i++) {
+			Body body = new Body();
+			if (random.nextBoolean()) {
+				body.addFixture(Geometry.createCircle(0.25 + random.nextDouble() * 0.25));
+			} else {
+				body.addFixture(Geometry.createRectangle(0.5 + random.nextDouble() * 0.5, 0.5 + random.nextDouble() * 0.5));
+			}
+			body.setMass(Mass.Type.NORMAL);
+			body.translate(
+					(random.nextDouble() * 2.0 - 1.0) * this.halfSize, 
+					(random.nextDouble() * 2.0 - 1.0) * this.halfSize);
+			this.bodies[i] = body;
+			this.velocities[i] = new Vector2(
+					(random.nextDouble() * 2.0 - 1.0) * 0.05,
+					(random.nextDouble() * 2.0 - 1.0) * 0.05);
+			this.broadphase.add(body);
+		}
+		
+		this.aabb = new AABB(-2.0, -2.0, 2.0, 2.0);
+		this.ray = new Ray(new Vector2(-this.halfSize, -this.halfSize * 0.5), new Vector2(1.0, 0.25));
+	}
+	
+	/**
+	 * Benchmarks detecting all pairs when nothing has moved.
+	 * @return List
+	 */
+	@Benchmark
+	public List<BroadphasePair<Body>> detect() {
+		return this.broadphase.detect();
+	}
+	
+	/**
+	 * Benchmarks moving all the bodies, updating the broadphase and detecting all pairs.
+	 * <p>
+	 * This is the typical usage during a simulation step.
+	 * @return List
+	 */
+	@Benchmark
+	public List<BroadphasePair<Body>> updateAndDetect() {
+		int size = this.bodies.length;
+		for (int i = 0; i < size; i++) {
+			Body body = this.bodies[i];
+			Vector2 v = this.velocities[i];
+			Vector2 c = body.getTransform().getTranslation();
+			// keep the bodies within the square
+			if (Math.abs(c.x + v.x) > this.halfSize) v.x = -v.x;
+			if (Math.abs(c.y + v.y) > this.halfSize) v.y = -v.y;
+			body.translate(v);
+			this.broadphase.update(body);
+		}
+		return this.broadphase.detect();
+	}
+	
+	/**
+	 * Benchmarks an {@link AABB} query.
+	 * @return List
+	 */
+	@Benchmark
+	public List<Body> detectAABB() {
+		return this.broadphase.detect(this.aabb);
+	}
+	
+	/**
+	 * Benchmarks an infinite length raycast.
+	 * @return List
+	 */
+	@Benchmark
+	public List<Body> raycast() {
+		return this.broadphase.raycast(this.ray, 0.0);
+	}
+	
+	/**
+	 * Creates a new {@link BroadphaseDetector} for the given name.
+	 * @param name the class name of the broadphase detector
+	 * @param initialCapacity the initial capacity
+	 * @return {@link BroadphaseDetector}
+	 * @throws IllegalArgumentException if the name is not a known broadphase detector
+	 */
+	static final BroadphaseDetector<Body> createBroadphaseDetector(String name, int initialCapacity) {
+		if ("SapBruteForce".equals(name)) {
+			return new SapBruteForce<Body>(initialCapacity);
+		} else if ("SapIncremental".equals(name)) {
+			return new SapIncremental<Body>(initialCapacity);
+		} else if ("SapTree".equals(name)) {
+			return new SapTree<Body>(initialCapacity);
+		} else if ("DynamicAABBTree".equals(name)) {
+			return new DynamicAABBTree<Body>(initialCapacity);
+		} else if ("ArrayAABBTree".equals(name)) {
+			return new ArrayAABBTree<Body>(initialCapacity);
+		} else if ("HashGrid".equals(name)) {
+			return new HashGrid<Body>(initialCapacity, HashGrid.DEFAULT_CELL_SIZE);
+		} else if ("SapBoxPruning".equals(name)) {
+			return new SapBoxPruning<Body>(initialCapacity);
+		}
+		throw new IllegalArgumentException(name);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmarks;
+
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Transform;
+
+/**
+ * Helper class used to create the shape pairs used by the benchmarks.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+final class Shapes {
+	/** The names of the supported shape pairs */
+	public static final String[] PAIRS = new String[] {
+		"CircleCircle",
+		"CirclePolygon",
+		"PolygonPolygon",
+		"RectangleRectangle",
+		"SegmentPolygon",
+		"CapsulePolygon"
+	};
+	
+	/** Hidden constructor */
+	private Shapes() {}
+	
+	/**
+	 * Returns the first shape of the given pair.
+	 * @param pair the pair name
+	 * @return {@link Convex}
+	 * @throws IllegalArgumentException if the pair is not supported
+	 */
+	public static Convex getFirst(String pair) {
+		if (pair.startsWith("Circle")) {
+			return Geometry.createCircle(0.5);
+		} else if (pair.startsWith("Polygon")) {
+			return Geometry.createUnitCirclePolygon(8, 0.5);
+		} else if (pair.startsWith("Rectangle")) {
+			return Geometry.createRectangle(1.0, 0.5);
+		} else if (pair.startsWith("Segment")) {
+			return Geometry.createHorizontalSegment(1.5);
+		} else if (pair.startsWith("Capsule")) {
+			return Geometry.createCapsule(1.0, 0.5);
+		}
+		throw new IllegalArgumentException(pair);
+	}
+	
+	/**
+	 * Returns the second shape of the given pair.
+	 * @param pair the pair name
+	 * @return {@link Convex}
+	 * @throws IllegalArgumentException if the pair is not supported
+	 */
+	public static Convex getSecond(String pair) {
+		if (pair.endsWith("Circle")) {
+			return Geometry.createCircle(0.5);
+		} else if (pair.endsWith("Polygon")) {
+			return Geometry.createUnitCirclePolygon(6, 0.5);
+		} else if (pair.endsWith("Rectangle")) {
+			return Geometry.createRectangle(1.0, 0.5);
+		}
+		throw new IllegalArgumentException(pair);
+	}
+	
+	/**
+	 * Returns a transform that places the second shape so that it's
+	 * slightly overlapping the first shape placed at the origin.
+	 * @return {@link Transform}
+	 */
+	public static Transform getOverlappingTransform() {
+		Transform transform = new Transform();
+		transform.translate(0.7, 0.2);
+		transform.rotate(0.3, 0.7, 0.2);
+		return transform;
+	}
+}
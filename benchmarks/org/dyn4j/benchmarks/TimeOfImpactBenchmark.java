@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.collision.continuous.ConservativeAdvancement;
+import org.dyn4j.collision.continuous.TimeOfImpact;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link ConservativeAdvancement} time of impact detector across 
+ * a number of shape pairs.
+ * <p>
+ * The first shape moves and rotates through the second stationary shape.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TimeOfImpactBenchmark {
+	/** The shape pair */
+	@Param({"CircleCircle", "CirclePolygon", "PolygonPolygon", "RectangleRectangle", "SegmentPolygon", "CapsulePolygon"})
+	public String pair;
+	
+	/** The time of impact detector */
+	private ConservativeAdvancement detector;
+	
+	/** The first shape */
+	private Convex convex1;
+	
+	/** The second shape */
+	private Convex convex2;
+	
+	/** The first shape's transform */
+	private Transform transform1;
+	
+	/** The second shape's transform */
+	private Transform transform2;
+	
+	/** The first shape's change in position */
+	private Vector2 dp1;
+	
+	/** The second shape's change in position */
+	private Vector2 dp2;
+	
+	/** The reused time of impact */
+	private TimeOfImpact toi;
+	
+	/**
+	 * Creates the detector and shapes.
+	 */
+	@Setup(Level.Trial)
+	public void setup() {
+		this.detector = new ConservativeAdvancement();
+		this.convex1 = Shapes.getFirst(this.pair);
+		this.convex2 = Shapes.getSecond(this.pair);
+		this.transform1 = new Transform();
+		this.transform1.translate(-3.0, 0.1);
+		this.transform2 = new Transform();
+		this.dp1 = new Vector2(6.0, 0.0);
+		this.dp2 = new Vector2();
+		this.toi = new TimeOfImpact();
+	}
+	
+	/**
+	 * Benchmarks the time of impact computation.
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean getTimeOfImpact() {
+		return this.detector.getTimeOfImpact(
+				this.convex1, this.transform1, this.dp1, 0.5, 
+				this.convex2, this.transform2, this.dp2, 0.0, 
+				this.toi);
+	}
+}
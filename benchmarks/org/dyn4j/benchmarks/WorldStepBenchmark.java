@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.benchmarks;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.dyn4j.dynamics.World;
+import org.dyn4j.sandbox.Simulation;
+import org.dyn4j.sandbox.persist.XmlReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link World#step(int)} method using the sandbox test scenes.
+ * <p>
+ * Each invocation loads a fresh copy of the scene and simulates a fixed number
+ * of steps so that every invocation performs the same work.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class WorldStepBenchmark {
+	/** The location of the sandbox test scenes */
+	private static final String SCENE_PATH = "/org/dyn4j/sandbox/tests/";
+	
+	/** The sandbox test scene */
+	@Param({"Bucket", "Pyramid", "Bridge", "Terrain", "Shapes", "Concave", "Parallel", "Bullet", "NewtonsCradle"})
+	public String scene;
+	
+	/** The number of steps to simulate per invocation */
+	@Param({"600"})
+	public int steps;
+	
+	/** The world */
+	private World world;
+	
+	/**
+	 * Loads a fresh copy of the scene.
+	 * @throws Exception if the scene could not be loaded
+	 */
+	@Setup(Level.Invocation)
+	public void setup() throws Exception {
+		InputStream stream = WorldStepBenchmark.class.getResourceAsStream(SCENE_PATH + this.scene + ".xml");
+		if (stream == null) {
+			throw new IllegalStateException(this.scene);
+		}
+		try {
+			Simulation simulation = XmlReader.fromXml(stream);
+			this.world = simulation.getWorld();
+		} finally {
+			stream.close();
+		}
+	}
+	
+	/**
+	 * Benchmarks simulating the scene.
+	 * @return {@link World}
+	 */
+	@Benchmark
+	public World step() {
+		for (int i = 0; i < this.steps; i++) {
+			this.world.step(1);
+		}
+		return this.world;
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+/**
+ * Contains the JMH benchmarks used to measure the performance of the collision detection 
+ * pipeline and the {@link org.dyn4j.dynamics.World}.
+ * <p>
+ * The benchmarks require the JMH core and annotation processor libraries (jmh-core and 
+ * jmh-generator-annprocess) on the classpath with annotation processing enabled.  The 
+ * sandbox source folder, including its test scene resources, must also be on the classpath 
+ * for the {@link org.dyn4j.benchmarks.WorldStepBenchmark}.
+ * <p>
+ * Run all the benchmarks using the {@link org.dyn4j.benchmarks.BenchmarkRunner} class or a 
+ * subset by passing a regular expression as the first argument, for example:
+ * <pre>
+ * java org.dyn4j.benchmarks.BenchmarkRunner BroadphaseBenchmark
+ * </pre>
+ * All the benchmarks use fixed random seeds so that the results are reproducible.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+package org.dyn4j.benchmarks;
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.HandleMap;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link HandleMap} class.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public class HandleMapTest {
+	/**
+	 * Tests the put, get and remove methods.
+	 */
+	@Test
+	public void putGetRemove() {
+		HandleMap<String> map = new HandleMap<String>();
+		TestCase.assertTrue(map.isEmpty());
+		
+		TestCase.assertNull(map.put(1, "a"));
+		TestCase.assertNull(map.put(2, "b"));
+		TestCase.assertEquals("a", map.put(1, "c"));
+		TestCase.assertEquals(2, map.size());
+		
+		TestCase.assertEquals("c", map.get(1));
+		TestCase.assertEquals("b", map.get(2));
+		TestCase.assertNull(map.get(3));
+		TestCase.assertTrue(map.containsKey(2));
+		TestCase.assertFalse(map.containsKey(3));
+		
+		TestCase.assertEquals("c", map.remove(1));
+		TestCase.assertNull(map.remove(1));
+		TestCase.assertNull(map.get(1));
+		TestCase.assertEquals(1, map.size());
+		
+		map.clear();
+		TestCase.assertTrue(map.isEmpty());
+		TestCase.assertNull(map.get(2));
+	}
+	
+	/**
+	 * Tests that the map grows and that entries can be found after
+	 * many removals.
+	 */
+	@Test
+	public void growAndRemove() {
+		HandleMap<Long> map = new HandleMap<Long>(0);
+		for (long i = 0; i < 1000; i++) {
+			map.put(i, i);
+		}
+		TestCase.assertEquals(1000, map.size());
+		
+		// remove every other entry
+		for (long i = 0; i < 1000; i += 2) {
+			TestCase.assertEquals(Long.valueOf(i), map.remove(i));
+		}
+		TestCase.assertEquals(500, map.size());
+		
+		// make sure the remaining entries can still be found
+		for (long i = 0; i < 1000; i++) {
+			if (i % 2 == 0) {
+				TestCase.assertNull(map.get(i));
+			} else {
+				TestCase.assertEquals(Long.valueOf(i), map.get(i));
+			}
+		}
+	}
+	
+	/**
+	 * Tests the map against a {@link HashMap} using random operations.
+	 */
+	@Test
+	public void random() {
+		HandleMap<Long> map = new HandleMap<Long>();
+		Map<Long, Long> expected = new HashMap<Long, Long>();
+		Random random = new Random(0);
+		for (int i = 0; i < 20000; i++) {
+			long key = random.nextInt(500);
+			if (random.nextBoolean()) {
+				TestCase.assertEquals(expected.put(key, key), map.put(key, key));
+			} else {
+				TestCase.assertEquals(expected.remove(key), map.remove(key));
+			}
+			TestCase.assertEquals(expected.size(), map.size());
+		}
+		for (long i = 0; i < 500; i++) {
+			TestCase.assertEquals(expected.get(i), map.get(i));
+		}
+	}
+	
+	/**
+	 * Tests that the handles are unique.
+	 */
+	@Test
+	public void handles() {
+		HandleMap<Boolean> map = new HandleMap<Boolean>();
+		for (int i = 0; i < 100; i++) {
+			TestCase.assertNull(map.put(Handles.next(), Boolean.TRUE));
+		}
+	}
+	
+	/**
+	 * Tests adding a null value.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void putNull() {
+		new HandleMap<String>().put(1, null);
+	}
+	
+	/**
+	 * Tests creating a map with a negative capacity.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createNegativeCapacity() {
+		new HandleMap<String>(-1);
+	}
+}
@@ -24,20 +24,32 @@
  */
 package org.dyn4j.collision;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.TestCase;
 
 import org.dyn4j.collision.broadphase.AbstractAABBDetector;
+import org.dyn4j.collision.broadphase.ArrayAABBTree;
 import org.dyn4j.collision.broadphase.BroadphaseDetector;
 import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.broadphase.DynamicAABBTree;
+import org.dyn4j.collision.broadphase.HashGrid;
+import org.dyn4j.collision.broadphase.SapBoxPruning;
 import org.dyn4j.collision.broadphase.SapBruteForce;
 import org.dyn4j.collision.broadphase.SapIncremental;
 import org.dyn4j.collision.broadphase.SapTree;
+import org.dyn4j.dynamics.BodyFixture;
 import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Geometry;
 import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +57,7 @@ import org.junit.Test;
 /**
  * Class used to test the {@link BroadphaseDetector} methods.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.1.11
  * @since 3.0.0
  */
 public class BroadphaseTest {
@@ -61,6 +73,15 @@ public class BroadphaseTest {
 	/** The dynamic aabb tree */
 	private DynamicAABBTree<CollidableTest> dynT = new DynamicAABBTree<CollidableTest>();
 	
+	/** The box pruning sap */
+	private SapBoxPruning<CollidableTest> sapBP = new SapBoxPruning<CollidableTest>();
+	
+	/** The hash grid */
+	private HashGrid<CollidableTest> grid = new HashGrid<CollidableTest>();
+	
+	/** The array based aabb tree */
+	private ArrayAABBTree<CollidableTest> arrT = new ArrayAABBTree<CollidableTest>();
+	
 	/**
 	 * Sets up for each test method.
 	 */
@@ -71,6 +92,9 @@ public class BroadphaseTest {
 		this.sapBF.clear();
 		this.sapT.clear();
 		this.dynT.clear();
+		this.sapBP.clear();
+		this.grid.clear();
+		this.arrT.clear();
 	}
 	
 	/**
@@ -85,18 +109,27 @@ public class BroadphaseTest {
 		TestCase.assertNull(this.sapBF.getAABB(ct));
 		TestCase.assertNull(this.sapT.getAABB(ct));
 		TestCase.assertNull(this.dynT.getAABB(ct));
+		TestCase.assertNull(this.sapBP.getAABB(ct));
+		TestCase.assertNull(this.grid.getAABB(ct));
+		TestCase.assertNull(this.arrT.getAABB(ct));
 		
 		// add the item to the broadphases
 		this.sapI.add(ct);
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// make sure they are there
 		TestCase.assertNotNull(this.sapI.getAABB(ct));
 		TestCase.assertNotNull(this.sapBF.getAABB(ct));
 		TestCase.assertNotNull(this.sapT.getAABB(ct));
 		TestCase.assertNotNull(this.dynT.getAABB(ct));
+		TestCase.assertNotNull(this.sapBP.getAABB(ct));
+		TestCase.assertNotNull(this.grid.getAABB(ct));
+		TestCase.assertNotNull(this.arrT.getAABB(ct));
 	}
 	
 	/**
@@ -111,24 +144,36 @@ public class BroadphaseTest {
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// make sure they are there
 		TestCase.assertNotNull(this.sapI.getAABB(ct));
 		TestCase.assertNotNull(this.sapBF.getAABB(ct));
 		TestCase.assertNotNull(this.sapT.getAABB(ct));
 		TestCase.assertNotNull(this.dynT.getAABB(ct));
+		TestCase.assertNotNull(this.sapBP.getAABB(ct));
+		TestCase.assertNotNull(this.grid.getAABB(ct));
+		TestCase.assertNotNull(this.arrT.getAABB(ct));
 		
 		// then remove them from the broadphases
 		this.sapI.remove(ct);
 		this.sapBF.remove(ct);
 		this.sapT.remove(ct);
 		this.dynT.remove(ct);
+		this.sapBP.remove(ct);
+		this.grid.remove(ct);
+		this.arrT.remove(ct);
 		
 		// make sure they aren't there any more
 		TestCase.assertNull(this.sapI.getAABB(ct));
 		TestCase.assertNull(this.sapBF.getAABB(ct));
 		TestCase.assertNull(this.sapT.getAABB(ct));
 		TestCase.assertNull(this.dynT.getAABB(ct));
+		TestCase.assertNull(this.sapBP.getAABB(ct));
+		TestCase.assertNull(this.grid.getAABB(ct));
+		TestCase.assertNull(this.arrT.getAABB(ct));
 	}
 	
 	/**
@@ -143,16 +188,25 @@ public class BroadphaseTest {
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// make sure they are there
 		AABB aabbSapI = this.sapI.getAABB(ct);
 		AABB aabbSapBF = this.sapBF.getAABB(ct);
 		AABB aabbSapT = this.sapT.getAABB(ct);
 		AABB aabbDynT = this.dynT.getAABB(ct);
+		AABB aabbSapBP = this.sapBP.getAABB(ct);
+		AABB aabbGrid = this.grid.getAABB(ct);
+		AABB aabbArrT = this.arrT.getAABB(ct);
 		TestCase.assertNotNull(aabbSapI);
 		TestCase.assertNotNull(aabbSapBF);
 		TestCase.assertNotNull(aabbSapT);
 		TestCase.assertNotNull(aabbDynT);
+		TestCase.assertNotNull(aabbSapBP);
+		TestCase.assertNotNull(aabbGrid);
+		TestCase.assertNotNull(aabbArrT);
 		
 		// move the collidable a bit
 		ct.translate(0.05, 0.0);
@@ -162,12 +216,18 @@ public class BroadphaseTest {
 		this.sapBF.update(ct);
 		this.sapT.update(ct);
 		this.dynT.update(ct);
+		this.sapBP.update(ct);
+		this.grid.update(ct);
+		this.arrT.update(ct);
 		
 		// the aabbs should not have been updated because of the expansion code
 		TestCase.assertSame(aabbSapI, this.sapI.getAABB(ct));
 		TestCase.assertSame(aabbSapBF, this.sapBF.getAABB(ct));
 		TestCase.assertSame(aabbSapT, this.sapT.getAABB(ct));
 		TestCase.assertSame(aabbDynT, this.dynT.getAABB(ct));
+		TestCase.assertSame(aabbSapBP, this.sapBP.getAABB(ct));
+		TestCase.assertSame(aabbGrid, this.grid.getAABB(ct));
+		TestCase.assertTrue(isEqual(aabbArrT, this.arrT.getAABB(ct)));
 	}
 	
 	/**
@@ -182,16 +242,25 @@ public class BroadphaseTest {
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// make sure they are there
 		AABB aabbSapI = this.sapI.getAABB(ct);
 		AABB aabbSapBF = this.sapBF.getAABB(ct);
 		AABB aabbSapT = this.sapT.getAABB(ct);
 		AABB aabbDynT = this.dynT.getAABB(ct);
+		AABB aabbSapBP = this.sapBP.getAABB(ct);
+		AABB aabbGrid = this.grid.getAABB(ct);
+		AABB aabbArrT = this.arrT.getAABB(ct);
 		TestCase.assertNotNull(aabbSapI);
 		TestCase.assertNotNull(aabbSapBF);
 		TestCase.assertNotNull(aabbSapT);
 		TestCase.assertNotNull(aabbDynT);
+		TestCase.assertNotNull(aabbSapBP);
+		TestCase.assertNotNull(aabbGrid);
+		TestCase.assertNotNull(aabbArrT);
 		
 		// move the collidable a bit
 		ct.translate(0.5, 0.0);
@@ -201,12 +270,18 @@ public class BroadphaseTest {
 		this.sapBF.update(ct);
 		this.sapT.update(ct);
 		this.dynT.update(ct);
+		this.sapBP.update(ct);
+		this.grid.update(ct);
+		this.arrT.update(ct);
 		
 		// the aabbs should not have been updated because of the expansion code
 		TestCase.assertNotSame(aabbSapI, this.sapI.getAABB(ct));
 		TestCase.assertNotSame(aabbSapBF, this.sapBF.getAABB(ct));
 		TestCase.assertNotSame(aabbSapT, this.sapT.getAABB(ct));
 		TestCase.assertNotSame(aabbDynT, this.dynT.getAABB(ct));
+		TestCase.assertNotSame(aabbSapBP, this.sapBP.getAABB(ct));
+		TestCase.assertNotSame(aabbGrid, this.grid.getAABB(ct));
+		TestCase.assertFalse(isEqual(aabbArrT, this.arrT.getAABB(ct)));
 	}
 	
 	/**
@@ -221,18 +296,27 @@ public class BroadphaseTest {
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// clear all the broadphases
 		this.sapI.clear();
 		this.sapBF.clear();
 		this.sapT.clear();
 		this.dynT.clear();
+		this.sapBP.clear();
+		this.grid.clear();
+		this.arrT.clear();
 		
 		// check for the aabb
 		TestCase.assertNull(this.sapI.getAABB(ct));
 		TestCase.assertNull(this.sapBF.getAABB(ct));
 		TestCase.assertNull(this.sapT.getAABB(ct));
 		TestCase.assertNull(this.dynT.getAABB(ct));
+		TestCase.assertNull(this.sapBP.getAABB(ct));
+		TestCase.assertNull(this.grid.getAABB(ct));
+		TestCase.assertNull(this.arrT.getAABB(ct));
 	}
 	
 	/**
@@ -247,12 +331,18 @@ public class BroadphaseTest {
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// make sure they are there
 		AABB aabbSapI = this.sapI.getAABB(ct);
 		AABB aabbSapBF = this.sapBF.getAABB(ct);
 		AABB aabbSapT = this.sapT.getAABB(ct);
 		AABB aabbDynT = this.dynT.getAABB(ct);
+		AABB aabbSapBP = this.sapBP.getAABB(ct);
+		AABB aabbGrid = this.grid.getAABB(ct);
+		AABB aabbArrT = this.arrT.getAABB(ct);
 		
 		AABB aabb = ct.createAABB();
 		// don't forget that the aabb is expanded
@@ -261,6 +351,9 @@ public class BroadphaseTest {
 		TestCase.assertTrue(isEqual(aabbSapBF, aabb));
 		TestCase.assertTrue(isEqual(aabbSapT, aabb));
 		TestCase.assertTrue(isEqual(aabbDynT, aabb));
+		TestCase.assertTrue(isEqual(aabbSapBP, aabb));
+		TestCase.assertTrue(isEqual(aabbGrid, aabb));
+		TestCase.assertTrue(isEqual(aabbArrT, aabb));
 	}
 	
 	/**
@@ -289,11 +382,23 @@ public class BroadphaseTest {
 		ct2.translate(-1.0, 1.0);
 		
 		TestCase.assertTrue(this.dynT.detect(ct1, ct2));
+		TestCase.assertTrue(this.sapBP.detect(ct1, ct2));
+		TestCase.assertTrue(this.grid.detect(ct1, ct2));
+		TestCase.assertTrue(this.arrT.detect(ct1, ct2));
 		TestCase.assertTrue(this.dynT.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
+		TestCase.assertTrue(this.sapBP.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
+		TestCase.assertTrue(this.grid.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
+		TestCase.assertTrue(this.arrT.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
 		
 		ct1.translate(-1.0, 0.0);
 		TestCase.assertFalse(this.dynT.detect(ct1, ct2));
+		TestCase.assertFalse(this.sapBP.detect(ct1, ct2));
+		TestCase.assertFalse(this.grid.detect(ct1, ct2));
+		TestCase.assertFalse(this.arrT.detect(ct1, ct2));
 		TestCase.assertFalse(this.dynT.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
+		TestCase.assertFalse(this.sapBP.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
+		TestCase.assertFalse(this.grid.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
+		TestCase.assertFalse(this.arrT.detect(ct1.getFixture(0).shape, ct1.transform, ct2.getFixture(0).shape, ct2.transform));
 	}
 	
 	/**
@@ -317,6 +422,9 @@ public class BroadphaseTest {
 		this.sapBF.add(ct1); this.sapBF.add(ct2); this.sapBF.add(ct3); this.sapBF.add(ct4);
 		this.sapT.add(ct1); this.sapT.add(ct2); this.sapT.add(ct3); this.sapT.add(ct4);
 		this.dynT.add(ct1); this.dynT.add(ct2); this.dynT.add(ct3); this.dynT.add(ct4);
+		this.sapBP.add(ct1); this.sapBP.add(ct2); this.sapBP.add(ct3); this.sapBP.add(ct4);
+		this.grid.add(ct1); this.grid.add(ct2); this.grid.add(ct3); this.grid.add(ct4);
+		this.arrT.add(ct1); this.arrT.add(ct2); this.arrT.add(ct3); this.arrT.add(ct4);
 		
 		List<BroadphasePair<CollidableTest>> pairs = this.sapI.detect();
 		TestCase.assertEquals(1, pairs.size());
@@ -326,6 +434,12 @@ public class BroadphaseTest {
 		TestCase.assertEquals(1, pairs.size());
 		pairs = this.dynT.detect();
 		TestCase.assertEquals(1, pairs.size());
+		pairs = this.sapBP.detect();
+		TestCase.assertEquals(1, pairs.size());
+		pairs = this.grid.detect();
+		TestCase.assertEquals(1, pairs.size());
+		pairs = this.arrT.detect();
+		TestCase.assertEquals(1, pairs.size());
 	}
 	
 	/**
@@ -348,6 +462,9 @@ public class BroadphaseTest {
 		this.sapBF.add(ct1); this.sapBF.add(ct2); this.sapBF.add(ct3); this.sapBF.add(ct4);
 		this.sapT.add(ct1); this.sapT.add(ct2); this.sapT.add(ct3); this.sapT.add(ct4);
 		this.dynT.add(ct1); this.dynT.add(ct2); this.dynT.add(ct3); this.dynT.add(ct4);
+		this.sapBP.add(ct1); this.sapBP.add(ct2); this.sapBP.add(ct3); this.sapBP.add(ct4);
+		this.grid.add(ct1); this.grid.add(ct2); this.grid.add(ct3); this.grid.add(ct4);
+		this.arrT.add(ct1); this.arrT.add(ct2); this.arrT.add(ct3); this.arrT.add(ct4);
 		
 		// this aabb should include:
 		// ct3 and ct4
@@ -370,6 +487,18 @@ public class BroadphaseTest {
 		TestCase.assertEquals(2, list.size());
 		TestCase.assertTrue(list.contains(ct3));
 		TestCase.assertTrue(list.contains(ct4));
+		list = this.sapBP.detect(aabb);
+		TestCase.assertEquals(2, list.size());
+		TestCase.assertTrue(list.contains(ct3));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.grid.detect(aabb);
+		TestCase.assertEquals(2, list.size());
+		TestCase.assertTrue(list.contains(ct3));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.arrT.detect(aabb);
+		TestCase.assertEquals(2, list.size());
+		TestCase.assertTrue(list.contains(ct3));
+		TestCase.assertTrue(list.contains(ct4));
 		
 		// should include:
 		// ct2, ct3, and ct4
@@ -395,6 +524,62 @@ public class BroadphaseTest {
 		TestCase.assertTrue(list.contains(ct2));
 		TestCase.assertTrue(list.contains(ct3));
 		TestCase.assertTrue(list.contains(ct4));
+		list = this.sapBP.detect(aabb);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct3));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.grid.detect(aabb);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct3));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.arrT.detect(aabb);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct3));
+		TestCase.assertTrue(list.contains(ct4));
+	}
+	
+	/**
+	 * Tests the detect method using a swept collidable.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void detectSwept() {
+		CollidableTest ct1 = new CollidableTest(Geometry.createCircle(0.5));
+		CollidableTest ct2 = new CollidableTest(Geometry.createRectangle(0.1, 2.0));
+		CollidableTest ct3 = new CollidableTest(Geometry.createRectangle(0.1, 2.0));
+		
+		ct2.translate(5.0, 0.0);
+		ct3.translate(5.0, 4.0);
+		
+		// the final transform passes through ct2 but not ct3
+		Transform initial = ct1.getTransform().copy();
+		Transform end = initial.copy();
+		end.translate(10.0, 0.0);
+		
+		List<BroadphaseDetector<CollidableTest>> detectors = new ArrayList<BroadphaseDetector<CollidableTest>>();
+		detectors.add(this.sapI);
+		detectors.add(this.sapBF);
+		detectors.add(this.sapT);
+		detectors.add(this.dynT);
+		detectors.add(this.sapBP);
+		detectors.add(this.grid);
+		detectors.add(this.arrT);
+		
+		for (BroadphaseDetector<CollidableTest> detector : detectors) {
+			detector.add(ct1); detector.add(ct2); detector.add(ct3);
+			
+			// the swept collidable should not be returned
+			List<CollidableTest> list = detector.detect(ct1, initial, end);
+			TestCase.assertEquals(1, list.size());
+			TestCase.assertTrue(list.contains(ct2));
+			
+			// without motion nothing should be found
+			list = detector.detect(ct1, initial, initial);
+			TestCase.assertTrue(list.isEmpty());
+		}
 	}
 	
 	/**
@@ -417,6 +602,9 @@ public class BroadphaseTest {
 		this.sapBF.add(ct1); this.sapBF.add(ct2); this.sapBF.add(ct3); this.sapBF.add(ct4);
 		this.sapT.add(ct1); this.sapT.add(ct2); this.sapT.add(ct3); this.sapT.add(ct4);
 		this.dynT.add(ct1); this.dynT.add(ct2); this.dynT.add(ct3); this.dynT.add(ct4);
+		this.sapBP.add(ct1); this.sapBP.add(ct2); this.sapBP.add(ct3); this.sapBP.add(ct4);
+		this.grid.add(ct1); this.grid.add(ct2); this.grid.add(ct3); this.grid.add(ct4);
+		this.arrT.add(ct1); this.arrT.add(ct2); this.arrT.add(ct3); this.arrT.add(ct4);
 		
 		List<CollidableTest> list;
 		
@@ -433,6 +621,12 @@ public class BroadphaseTest {
 		TestCase.assertEquals(0, list.size());
 		list = this.dynT.raycast(r, l);
 		TestCase.assertEquals(0, list.size());
+		list = this.sapBP.raycast(r, l);
+		TestCase.assertEquals(0, list.size());
+		list = this.grid.raycast(r, l);
+		TestCase.assertEquals(0, list.size());
+		list = this.arrT.raycast(r, l);
+		TestCase.assertEquals(0, list.size());
 		
 		// try a different ray
 		r = new Ray(new Vector2(-3.0, 0.75), new Vector2(1.0, 0.0));
@@ -456,6 +650,21 @@ public class BroadphaseTest {
 		TestCase.assertTrue(list.contains(ct1));
 		TestCase.assertTrue(list.contains(ct2));
 		TestCase.assertTrue(list.contains(ct4));
+		list = this.sapBP.raycast(r, l);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct1));
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.grid.raycast(r, l);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct1));
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.arrT.raycast(r, l);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct1));
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct4));
 		
 		// try one more ray
 		r = new Ray(new Vector2(-1.0, -1.0), new Vector2(0.85, 0.35));
@@ -479,6 +688,21 @@ public class BroadphaseTest {
 		TestCase.assertTrue(list.contains(ct1));
 		TestCase.assertTrue(list.contains(ct2));
 		TestCase.assertTrue(list.contains(ct4));
+		list = this.sapBP.raycast(r, l);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct1));
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.grid.raycast(r, l);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct1));
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct4));
+		list = this.arrT.raycast(r, l);
+		TestCase.assertEquals(3, list.size());
+		TestCase.assertTrue(list.contains(ct1));
+		TestCase.assertTrue(list.contains(ct2));
+		TestCase.assertTrue(list.contains(ct4));
 	}
 	
 	/**
@@ -491,16 +715,25 @@ public class BroadphaseTest {
 		TestCase.assertEquals(BroadphaseDetector.DEFAULT_AABB_EXPANSION, this.sapBF.getAABBExpansion());
 		TestCase.assertEquals(BroadphaseDetector.DEFAULT_AABB_EXPANSION, this.sapT.getAABBExpansion());
 		TestCase.assertEquals(BroadphaseDetector.DEFAULT_AABB_EXPANSION, this.dynT.getAABBExpansion());
+		TestCase.assertEquals(BroadphaseDetector.DEFAULT_AABB_EXPANSION, this.sapBP.getAABBExpansion());
+		TestCase.assertEquals(BroadphaseDetector.DEFAULT_AABB_EXPANSION, this.grid.getAABBExpansion());
+		TestCase.assertEquals(BroadphaseDetector.DEFAULT_AABB_EXPANSION, this.arrT.getAABBExpansion());
 		
 		// test changing the expansion
 		this.sapI.setAABBExpansion(0.3);
 		this.sapBF.setAABBExpansion(0.3);
 		this.sapT.setAABBExpansion(0.3);
 		this.dynT.setAABBExpansion(0.3);
+		this.sapBP.setAABBExpansion(0.3);
+		this.grid.setAABBExpansion(0.3);
+		this.arrT.setAABBExpansion(0.3);
 		TestCase.assertEquals(0.3, this.sapI.getAABBExpansion());
 		TestCase.assertEquals(0.3, this.sapBF.getAABBExpansion());
 		TestCase.assertEquals(0.3, this.sapT.getAABBExpansion());
 		TestCase.assertEquals(0.3, this.dynT.getAABBExpansion());
+		TestCase.assertEquals(0.3, this.sapBP.getAABBExpansion());
+		TestCase.assertEquals(0.3, this.grid.getAABBExpansion());
+		TestCase.assertEquals(0.3, this.arrT.getAABBExpansion());
 		
 		// test the new expansion value
 		CollidableTest ct = new CollidableTest(Geometry.createCircle(1.0));
@@ -510,12 +743,18 @@ public class BroadphaseTest {
 		this.sapBF.add(ct);
 		this.sapT.add(ct);
 		this.dynT.add(ct);
+		this.sapBP.add(ct);
+		this.grid.add(ct);
+		this.arrT.add(ct);
 		
 		// make sure they are there
 		AABB aabbSapI = this.sapI.getAABB(ct);
 		AABB aabbSapBF = this.sapBF.getAABB(ct);
 		AABB aabbSapT = this.sapT.getAABB(ct);
 		AABB aabbDynT = this.dynT.getAABB(ct);
+		AABB aabbSapBP = this.sapBP.getAABB(ct);
+		AABB aabbGrid = this.grid.getAABB(ct);
+		AABB aabbArrT = this.arrT.getAABB(ct);
 		
 		AABB aabb = ct.createAABB();
 		// don't forget that the aabb is expanded
@@ -524,6 +763,9 @@ public class BroadphaseTest {
 		TestCase.assertTrue(isEqual(aabbSapBF, aabb));
 		TestCase.assertTrue(isEqual(aabbSapT, aabb));
 		TestCase.assertTrue(isEqual(aabbDynT, aabb));
+		TestCase.assertTrue(isEqual(aabbSapBP, aabb));
+		TestCase.assertTrue(isEqual(aabbGrid, aabb));
+		TestCase.assertTrue(isEqual(aabbArrT, aabb));
 	}
 	
 	/**
@@ -546,6 +788,9 @@ public class BroadphaseTest {
 		this.sapBF.add(ct1); this.sapBF.add(ct2); this.sapBF.add(ct3); this.sapBF.add(ct4);
 		this.sapT.add(ct1); this.sapT.add(ct2); this.sapT.add(ct3); this.sapT.add(ct4);
 		this.dynT.add(ct1); this.dynT.add(ct2); this.dynT.add(ct3); this.dynT.add(ct4);
+		this.sapBP.add(ct1); this.sapBP.add(ct2); this.sapBP.add(ct3); this.sapBP.add(ct4);
+		this.grid.add(ct1); this.grid.add(ct2); this.grid.add(ct3); this.grid.add(ct4);
+		this.arrT.add(ct1); this.arrT.add(ct2); this.arrT.add(ct3); this.arrT.add(ct4);
 		
 		// perform a detect on the whole broadphase
 		List<BroadphasePair<CollidableTest>> pairs = this.sapI.detect();
@@ -556,6 +801,12 @@ public class BroadphaseTest {
 		TestCase.assertEquals(1, pairs.size());
 		pairs = this.dynT.detect();
 		TestCase.assertEquals(1, pairs.size());
+		pairs = this.sapBP.detect();
+		TestCase.assertEquals(1, pairs.size());
+		pairs = this.grid.detect();
+		TestCase.assertEquals(1, pairs.size());
+		pairs = this.arrT.detect();
+		TestCase.assertEquals(1, pairs.size());
 		
 		// shift the broadphases
 		Vector2 shift = new Vector2(1.0, -2.0);
@@ -563,6 +814,9 @@ public class BroadphaseTest {
 		this.sapBF.shiftCoordinates(shift);
 		this.sapT.shiftCoordinates(shift);
 		this.dynT.shiftCoordinates(shift);
+		this.sapBP.shiftCoordinates(shift);
+		this.grid.shiftCoordinates(shift);
+		this.arrT.shiftCoordinates(shift);
 		
 		// the number of pairs detected should be identical
 		pairs = this.sapI.detect();
@@ -573,6 +827,12 @@ public class BroadphaseTest {
 		TestCase.assertEquals(1, pairs.size());
 		pairs = this.dynT.detect();
 		TestCase.assertEquals(1, pairs.size());
+		pairs = this.sapBP.detect();
+		TestCase.assertEquals(1, pairs.size());
+		pairs = this.grid.detect();
+		TestCase.assertEquals(1, pairs.size());
+		pairs = this.arrT.detect();
+		TestCase.assertEquals(1, pairs.size());
 	}
 	
 	/**
@@ -606,4 +866,431 @@ public class BroadphaseTest {
 	public void DynamicAABBTreeNegativeInitialCapacity() {
 		new DynamicAABBTree<Collidable>(-10);
 	}
+	
+	/**
+	 * Tests creating an ArrayAABBTree detector using a negative capacity.
+	 * @since 3.1.11
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void ArrayAABBTreeNegativeInitialCapacity() {
+		new ArrayAABBTree<Collidable>(-10);
+	}
+	
+	/**
+	 * Tests that the {@link ArrayAABBTree} returns the same results as the
+	 * {@link DynamicAABBTree} through a number of adds, updates and removes.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void arrayTreeMatchesDynamicTree() {
+		// use a small initial capacity to force the arrays to grow
+		ArrayAABBTree<CollidableTest> arrT = new ArrayAABBTree<CollidableTest>(2);
+		Random random = new Random(12);
+		List<CollidableTest> collidables = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 200; i++) {
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 20.0, random.nextDouble() * 20.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			arrT.add(ct);
+		}
+		
+		for (int n = 0; n < 10; n++) {
+			// move every collidable
+			for (CollidableTest ct : collidables) {
+				ct.translate(random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+				this.dynT.update(ct);
+				arrT.update(ct);
+				TestCase.assertTrue(isEqual(this.dynT.getAABB(ct), arrT.getAABB(ct)));
+			}
+			// remove one and add a new one to reuse the freed nodes
+			CollidableTest removed = collidables.remove(random.nextInt(collidables.size()));
+			this.dynT.remove(removed);
+			arrT.remove(removed);
+			TestCase.assertNull(arrT.getAABB(removed));
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 20.0, random.nextDouble() * 20.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			arrT.add(ct);
+			
+			TestCase.assertEquals(this.dynT.detect().size(), arrT.detect().size());
+			AABB aabb = new AABB(5.0, 5.0, 10.0, 10.0);
+			TestCase.assertEquals(this.dynT.detect(aabb).size(), arrT.detect(aabb).size());
+		}
+		
+		// the tree should be reusable after clearing
+		arrT.clear();
+		TestCase.assertEquals(0, arrT.detect().size());
+		TestCase.assertNull(arrT.getAABB(collidables.get(0)));
+		arrT.add(collidables.get(0));
+		TestCase.assertNotNull(arrT.getAABB(collidables.get(0)));
+		TestCase.assertEquals(1, arrT.detect(arrT.getAABB(collidables.get(0))).size());
+	}
+	
+	/**
+	 * Tests that the {@link DynamicAABBTree} returns the same pairs with
+	 * the pair cache enabled through a number of adds, updates and removes.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void pairCache() {
+		DynamicAABBTree<CollidableTest> cached = new DynamicAABBTree<CollidableTest>();
+		cached.setPairCacheEnabled(true);
+		TestCase.assertTrue(cached.isPairCacheEnabled());
+		
+		Random random = new Random(7);
+		List<CollidableTest> collidables = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 100; i++) {
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 10.0, random.nextDouble() * 10.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			cached.add(ct);
+		}
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(cached.detect()));
+		
+		for (int n = 0; n < 10; n++) {
+			// only move some of the collidables
+			for (int i = 0; i < 10; i++) {
+				CollidableTest ct = collidables.get(random.nextInt(collidables.size()));
+				ct.translate(random.nextDouble() * 2.0 - 1.0, random.nextDouble() * 2.0 - 1.0);
+				this.dynT.update(ct);
+				cached.update(ct);
+			}
+			// remove one and add a new one
+			CollidableTest removed = collidables.remove(random.nextInt(collidables.size()));
+			this.dynT.remove(removed);
+			cached.remove(removed);
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 10.0, random.nextDouble() * 10.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			cached.add(ct);
+			
+			TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(cached.detect()));
+		}
+		
+		// detecting again without changes should return the same pairs
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(cached.detect()));
+		
+		// toggling the cache should not change the result
+		cached.setPairCacheEnabled(false);
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(cached.detect()));
+		cached.setPairCacheEnabled(true);
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(cached.detect()));
+	}
+	
+	/**
+	 * Returns the given pairs as a set of unordered handle pairs.
+	 * @param pairs the pairs
+	 * @return Set&lt;String&gt;
+	 * @since 3.1.11
+	 */
+	private Set<String> getPairs(List<BroadphasePair<CollidableTest>> pairs) {
+		Set<String> set = new HashSet<String>();
+		for (BroadphasePair<CollidableTest> pair : pairs) {
+			long a = pair.getA().getHandle();
+			long b = pair.getB().getHandle();
+			// each pair should only be reported once
+			TestCase.assertTrue(set.add(Math.min(a, b) + ":" + Math.max(a, b)));
+		}
+		return set;
+	}
+	
+	/**
+	 * Tests creating a HashGrid detector using a negative capacity.
+	 * @since 3.1.11
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void HashGridNegativeInitialCapacity() {
+		new HashGrid<Collidable>(-10, 1.0);
+	}
+	
+	/**
+	 * Tests creating a HashGrid detector using an invalid cell size.
+	 * @since 3.1.11
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void HashGridInvalidCellSize() {
+		new HashGrid<Collidable>(0.0);
+	}
+	
+	/**
+	 * Tests that the {@link HashGrid} returns the same pairs as the
+	 * {@link DynamicAABBTree} through a number of adds, updates and removes.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void hashGridMatchesDynamicTree() {
+		// use a cell size smaller than the collidables so that they span many cells
+		HashGrid<CollidableTest> grid = new HashGrid<CollidableTest>(0.4);
+		TestCase.assertEquals(0.4, grid.getCellSize());
+		
+		Random random = new Random(3);
+		List<CollidableTest> collidables = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 100; i++) {
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 10.0 - 5.0, random.nextDouble() * 10.0 - 5.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			grid.add(ct);
+		}
+		
+		for (int n = 0; n < 10; n++) {
+			// move every collidable
+			for (CollidableTest ct : collidables) {
+				ct.translate(random.nextDouble() - 0.5, random.nextDouble() - 0.5);
+				this.dynT.update(ct);
+				grid.update(ct);
+			}
+			// remove one and add a new one
+			CollidableTest removed = collidables.remove(random.nextInt(collidables.size()));
+			this.dynT.remove(removed);
+			grid.remove(removed);
+			TestCase.assertNull(grid.getAABB(removed));
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 10.0 - 5.0, random.nextDouble() * 10.0 - 5.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			grid.add(ct);
+			
+			TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(grid.detect()));
+			AABB aabb = new AABB(-2.0, -2.0, 3.0, 1.0);
+			TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.detect(aabb)), new HashSet<CollidableTest>(grid.detect(aabb)));
+			// a large aabb will test the occupied cells instead
+			aabb = new AABB(-100.0, -100.0, 100.0, 100.0);
+			TestCase.assertEquals(this.dynT.detect(aabb).size(), grid.detect(aabb).size());
+		}
+		
+		// the grid should return the same collidables as the tree
+		Ray ray = new Ray(new Vector2(-6.0, -4.0), new Vector2(1.0, 0.7));
+		List<CollidableTest> hits = grid.raycast(ray, 0.0);
+		TestCase.assertFalse(hits.isEmpty());
+		TestCase.assertEquals(hits.size(), new HashSet<CollidableTest>(hits).size());
+		TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.raycast(ray, 0.0)), new HashSet<CollidableTest>(hits));
+		hits = grid.raycast(ray, 4.0);
+		TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.raycast(ray, 4.0)), new HashSet<CollidableTest>(hits));
+		
+		// shifting should not change the pairs
+		Vector2 shift = new Vector2(0.3, -2.1);
+		grid.shiftCoordinates(shift);
+		this.dynT.shiftCoordinates(shift);
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(grid.detect()));
+	}
+	
+	/**
+	 * Tests that the {@link HashGrid} handles collidables that are far away
+	 * or that span many cells.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void hashGridLargeAndFarCollidables() {
+		HashGrid<CollidableTest> grid = new HashGrid<CollidableTest>(0.1);
+		
+		// a ground segment that spans far more cells than allowed
+		CollidableTest ground = new CollidableTest(Geometry.createRectangle(1.0e6, 1.0));
+		// another large collidable that overlaps the ground
+		CollidableTest wall = new CollidableTest(Geometry.createRectangle(1.0, 100.0));
+		wall.translate(10.0, 50.0);
+		// a collidable whose cells are beyond the range of an int
+		CollidableTest far = new CollidableTest(Geometry.createCircle(0.5));
+		far.translate(1.0e12, 1.0e12);
+		
+		List<CollidableTest> collidables = new ArrayList<CollidableTest>();
+		collidables.add(ground);
+		collidables.add(wall);
+		collidables.add(far);
+		Random random = new Random(7);
+		for (int i = 0; i < 20; i++) {
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.05));
+			ct.translate(random.nextDouble() * 20.0 - 10.0, random.nextDouble() * 2.0 - 1.0);
+			collidables.add(ct);
+		}
+		for (CollidableTest ct : collidables) {
+			this.dynT.add(ct);
+			grid.add(ct);
+		}
+		
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(grid.detect()));
+		AABB aabb = new AABB(-5.0, -1.0, 5.0, 1.0);
+		TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.detect(aabb)), new HashSet<CollidableTest>(grid.detect(aabb)));
+		aabb = new AABB(1.0e12 - 1.0, 1.0e12 - 1.0, 1.0e12 + 1.0, 1.0e12 + 1.0);
+		TestCase.assertEquals(1, grid.detect(aabb).size());
+		Ray ray = new Ray(new Vector2(-20.0, -0.2), new Vector2(1.0, 0.01));
+		TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.raycast(ray, 0.0)), new HashSet<CollidableTest>(grid.raycast(ray, 0.0)));
+		
+		// move the far collidable next to the others and the wall far away
+		far.translate(-1.0e12, -1.0e12);
+		wall.translate(1.0e12, 0.0);
+		this.dynT.update(far);
+		this.dynT.update(wall);
+		grid.update(far);
+		grid.update(wall);
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(grid.detect()));
+		
+		// removing and shifting shouldn't lose any of the large collidables
+		this.dynT.remove(ground);
+		grid.remove(ground);
+		Vector2 shift = new Vector2(-3.0, 2.0);
+		grid.shiftCoordinates(shift);
+		this.dynT.shiftCoordinates(shift);
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(grid.detect()));
+		TestCase.assertNotNull(grid.getAABB(wall));
+		TestCase.assertNull(grid.getAABB(ground));
+	}
+	
+	/**
+	 * Tests creating a SapBoxPruning detector using a negative capacity.
+	 * @since 3.1.11
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void SapBoxPruningNegativeInitialCapacity() {
+		new SapBoxPruning<Collidable>(-10);
+	}
+	
+	/**
+	 * Tests that the {@link SapBoxPruning} returns the same pairs as the
+	 * {@link DynamicAABBTree} when the sweep axis changes and when the
+	 * collidables are added, moved and removed.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void sapBoxPruningMatchesDynamicTree() {
+		SapBoxPruning<CollidableTest> sap = new SapBoxPruning<CollidableTest>(2);
+		
+		// start with a wide layout, including negative coordinates
+		Random random = new Random(5);
+		List<CollidableTest> collidables = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 150; i++) {
+			CollidableTest ct = new CollidableTest(Geometry.createRectangle(0.5 + random.nextDouble(), 0.5));
+			ct.translate(random.nextDouble() * 40.0 - 20.0, random.nextDouble() * 4.0 - 2.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			sap.add(ct);
+		}
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(sap.detect()));
+		
+		for (int n = 0; n < 10; n++) {
+			// small movements use the insertion sort
+			for (CollidableTest ct : collidables) {
+				ct.translate(random.nextDouble() * 0.6 - 0.3, random.nextDouble() * 0.6 - 0.3);
+				this.dynT.update(ct);
+				sap.update(ct);
+			}
+			// remove one and add a new one
+			CollidableTest removed = collidables.remove(random.nextInt(collidables.size()));
+			this.dynT.remove(removed);
+			sap.remove(removed);
+			TestCase.assertNull(sap.getAABB(removed));
+			CollidableTest ct = new CollidableTest(Geometry.createCircle(0.5));
+			ct.translate(random.nextDouble() * 40.0 - 20.0, random.nextDouble() * 4.0 - 2.0);
+			collidables.add(ct);
+			this.dynT.add(ct);
+			sap.add(ct);
+			
+			TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(sap.detect()));
+			AABB aabb = new AABB(-5.0, -1.0, 5.0, 1.0);
+			TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.detect(aabb)), new HashSet<CollidableTest>(sap.detect(aabb)));
+		}
+		
+		// rotate the layout so that it's tall to force the sweep axis to change
+		for (CollidableTest ct : collidables) {
+			Vector2 c = ct.getTransform().getTransformed(new Vector2());
+			ct.translate(c.y - c.x, c.x - c.y);
+			this.dynT.update(ct);
+			sap.update(ct);
+		}
+		TestCase.assertEquals(this.getPairs(this.dynT.detect()), this.getPairs(sap.detect()));
+		AABB aabb = new AABB(-1.0, -5.0, 1.0, 5.0);
+		TestCase.assertEquals(new HashSet<CollidableTest>(this.dynT.detect(aabb)), new HashSet<CollidableTest>(sap.detect(aabb)));
+	}
+	
+	/**
+	 * Tests that the updateAll methods produce the same expanded AABBs and pairs as
+	 * updating each collidable for all the broadphase detectors.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void updateAll() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			this.updateAll(new SapIncremental<CollidableTest>(), new SapIncremental<CollidableTest>(), new SapIncremental<CollidableTest>(), executor);
+			this.updateAll(new SapBruteForce<CollidableTest>(), new SapBruteForce<CollidableTest>(), new SapBruteForce<CollidableTest>(), executor);
+			this.updateAll(new SapTree<CollidableTest>(), new SapTree<CollidableTest>(), new SapTree<CollidableTest>(), executor);
+			this.updateAll(new DynamicAABBTree<CollidableTest>(), new DynamicAABBTree<CollidableTest>(), new DynamicAABBTree<CollidableTest>(), executor);
+			this.updateAll(new SapBoxPruning<CollidableTest>(), new SapBoxPruning<CollidableTest>(), new SapBoxPruning<CollidableTest>(), executor);
+			this.updateAll(new HashGrid<CollidableTest>(), new HashGrid<CollidableTest>(), new HashGrid<CollidableTest>(), executor);
+			this.updateAll(new ArrayAABBTree<CollidableTest>(), new ArrayAABBTree<CollidableTest>(), new ArrayAABBTree<CollidableTest>(), executor);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Updates the given detectors using the update, updateAll and parallel updateAll methods
+	 * respectively and verifies the results are the same.
+	 * @param single the detector updated one collidable at a time
+	 * @param batch the detector updated using the updateAll method
+	 * @param parallel the detector updated using the updateAll method with an executor
+	 * @param executor the executor
+	 * @since 3.1.11
+	 */
+	private void updateAll(BroadphaseDetector<CollidableTest> single, BroadphaseDetector<CollidableTest> batch, BroadphaseDetector<CollidableTest> parallel, ExecutorService executor) {
+		// use enough collidables for more than one task
+		Random random = new Random(7);
+		List<CollidableTest> collidables = new ArrayList<CollidableTest>();
+		for (int i = 0; i < 600; i++) {
+			CollidableTest ct;
+			if (i % 3 == 0) {
+				// multiple fixtures
+				List<BodyFixture> fixtures = new ArrayList<BodyFixture>();
+				fixtures.add(new BodyFixture(Geometry.createUnitCirclePolygon(5, 0.5)));
+				BodyFixture fixture = new BodyFixture(Geometry.createCircle(0.25));
+				fixture.getShape().translate(0.5, 0.0);
+				fixtures.add(fixture);
+				ct = new CollidableTest(fixtures);
+			} else {
+				ct = new CollidableTest(Geometry.createRectangle(0.5, 0.25));
+			}
+			ct.translate(random.nextDouble() * 60.0 - 30.0, random.nextDouble() * 60.0 - 30.0);
+			collidables.add(ct);
+			single.add(ct);
+			batch.add(ct);
+			parallel.add(ct);
+		}
+		
+		for (int n = 0; n < 5; n++) {
+			// move most of the collidables a little and some a lot
+			for (CollidableTest ct : collidables) {
+				double d = random.nextDouble() < 0.2 ? 2.0 : 0.05;
+				ct.translate(random.nextDouble() * d - d * 0.5, random.nextDouble() * d - d * 0.5);
+				single.update(ct);
+			}
+			batch.updateAll(collidables);
+			parallel.updateAll(collidables, executor);
+			
+			for (CollidableTest ct : collidables) {
+				AABB expected = single.getAABB(ct);
+				AABB aabb1 = batch.getAABB(ct);
+				AABB aabb2 = parallel.getAABB(ct);
+				TestCase.assertEquals(expected.getMinX(), aabb1.getMinX());
+				TestCase.assertEquals(expected.getMinY(), aabb1.getMinY());
+				TestCase.assertEquals(expected.getMaxX(), aabb1.getMaxX());
+				TestCase.assertEquals(expected.getMaxY(), aabb1.getMaxY());
+				TestCase.assertEquals(expected.getMinX(), aabb2.getMinX());
+				TestCase.assertEquals(expected.getMinY(), aabb2.getMinY());
+				TestCase.assertEquals(expected.getMaxX(), aabb2.getMaxX());
+				TestCase.assertEquals(expected.getMaxY(), aabb2.getMaxY());
+			}
+			Set<String> pairs = this.getPairs(single.detect());
+			TestCase.assertEquals(pairs, this.getPairs(batch.detect()));
+			TestCase.assertEquals(pairs, this.getPairs(parallel.detect()));
+		}
+		
+		// collidables that have not been added should be ignored
+		CollidableTest ct = new CollidableTest(Geometry.createCircle(1.0));
+		batch.updateAll(Arrays.asList(ct));
+		TestCase.assertNull(batch.getAABB(ct));
+	}
 }
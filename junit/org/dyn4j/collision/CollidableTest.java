@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.dyn4j.Handles;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Fixture;
 import org.dyn4j.dynamics.BodyFixture;
@@ -47,6 +48,9 @@ public class CollidableTest implements Collidable, Transformable {
 	/** The unique identifier */
 	protected UUID id = UUID.randomUUID();
 	
+	/** The handle */
+	protected long handle = Handles.next();
+	
 	/** The {@link BodyFixture}s list */
 	protected List<BodyFixture> fixtures;
 	
@@ -106,6 +110,14 @@ public class CollidableTest implements Collidable, Transformable {
 		return this.id;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Collidable#getHandle()
+	 */
+	@Override
+	public long getHandle() {
+		return this.handle;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.Collidable#getFixture(int)
 	 */
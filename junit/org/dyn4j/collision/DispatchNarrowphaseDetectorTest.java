@@ -0,0 +1,210 @@
+
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Gjk;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link DispatchNarrowphaseDetector} class.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public class DispatchNarrowphaseDetectorTest {
+	/** A listing of shape types */
+	private static final Convex[] TYPES = new Convex[] {
+		// Capsule
+		Geometry.createCapsule(1.0, 0.5),
+		// Circle
+		Geometry.createCircle(0.5),
+		// Ellipse
+		Geometry.createEllipse(1.0, 0.5),
+		// Segment
+		Geometry.createHorizontalSegment(1.0),
+		// Rectangle
+		Geometry.createRectangle(1.0, 2.0),
+		// Polygon
+		Geometry.createUnitCirclePolygon(5, 0.5),
+		// Triangle
+		Geometry.createEquilateralTriangle(1.0)
+	};
+	
+	/**
+	 * Tests the creation of the detector with a null fallback.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void createNullFallback() {
+		new DispatchNarrowphaseDetector(null);
+	}
+	
+	/**
+	 * Tests the pairs that are handled directly.
+	 */
+	@Test
+	public void supported() {
+		DispatchNarrowphaseDetector detector = new DispatchNarrowphaseDetector();
+		TestCase.assertTrue(detector.getFallbackNarrowphaseDetector() instanceof Gjk);
+		
+		TestCase.assertTrue(detector.isSupported(TYPES[0], TYPES[0]));
+		TestCase.assertTrue(detector.isSupported(TYPES[1], TYPES[3]));
+		TestCase.assertTrue(detector.isSupported(TYPES[3], TYPES[1]));
+		TestCase.assertTrue(detector.isSupported(TYPES[4], TYPES[6]));
+		TestCase.assertTrue(detector.isSupported(TYPES[0], TYPES[5]));
+		TestCase.assertFalse(detector.isSupported(TYPES[2], TYPES[1]));
+		TestCase.assertFalse(detector.isSupported(TYPES[3], TYPES[3]));
+		TestCase.assertFalse(detector.isSupported(TYPES[3], TYPES[4]));
+		
+		TestCase.assertTrue(detector.isManifoldSupported(TYPES[4], TYPES[6]));
+		TestCase.assertFalse(detector.isManifoldSupported(TYPES[0], TYPES[5]));
+	}
+	
+	/**
+	 * Tests that the results match {@link Gjk} for all pairs over a number of placements.
+	 */
+	@Test
+	public void matchesGjk() {
+		DispatchNarrowphaseDetector detector = new DispatchNarrowphaseDetector();
+		Gjk gjk = new Gjk();
+		
+		Transform t1 = new Transform();
+		t1.translate(0.1, -0.2);
+		t1.rotate(Math.toRadians(15), 0.1, -0.2);
+		Penetration p1 = new Penetration();
+		Penetration p2 = new Penetration();
+		
+		int collisions = 0;
+		for (int i = 0; i < TYPES.length; i++) {
+			for (int j = 0; j < TYPES.length; j++) {
+				for (int k = 0; k < 24; k++) {
+					double angle = Math.toRadians(k * 15.0);
+					for (double distance = 0.2; distance < 2.5; distance += 0.3) {
+						Transform t2 = new Transform();
+						t2.rotate(angle * 0.7);
+						t2.translate(distance * Math.cos(angle), distance * Math.sin(angle));
+						
+						boolean expected = gjk.detect(TYPES[i], t1, TYPES[j], t2, p1);
+						boolean actual = detector.detect(TYPES[i], t1, TYPES[j], t2, p2);
+						TestCase.assertEquals(expected, actual);
+						TestCase.assertEquals(expected, detector.detect(TYPES[i], t1, TYPES[j], t2));
+						if (expected) {
+							collisions++;
+							TestCase.assertEquals(p1.getDepth(), p2.getDepth(), 1.0e-3);
+							TestCase.assertEquals(1.0, p1.getNormal().dot(p2.getNormal()), 1.0e-3);
+						}
+					}
+				}
+			}
+		}
+		TestCase.assertTrue(collisions > 0);
+	}
+	
+	/**
+	 * Tests that the normal of the given {@link Penetration} is reused.
+	 */
+	@Test
+	public void reuseNormal() {
+		DispatchNarrowphaseDetector detector = new DispatchNarrowphaseDetector();
+		Penetration p = new Penetration();
+		
+		Transform t2 = new Transform();
+		t2.translate(0.8, 0.0);
+		TestCase.assertTrue(detector.detect(TYPES[1], new Transform(), TYPES[1], t2, p));
+		Vector2 normal = p.getNormal();
+		TestCase.assertEquals(1.0, normal.x, 1.0e-8);
+		TestCase.assertEquals(0.0, normal.y, 1.0e-8);
+		TestCase.assertEquals(0.2, p.getDepth(), 1.0e-8);
+		
+		t2.translate(-1.6, 0.0);
+		TestCase.assertTrue(detector.detect(TYPES[1], new Transform(), TYPES[1], t2, p));
+		TestCase.assertSame(normal, p.getNormal());
+		TestCase.assertEquals(-1.0, normal.x, 1.0e-8);
+	}
+	
+	/**
+	 * Tests that the generated manifolds match the {@link ClippingManifoldSolver} for
+	 * polygon pairs over a number of placements.
+	 */
+	@Test
+	public void manifoldMatchesClipping() {
+		DispatchNarrowphaseDetector detector = new DispatchNarrowphaseDetector();
+		ClippingManifoldSolver solver = new ClippingManifoldSolver();
+		
+		Transform t1 = new Transform();
+		t1.translate(0.1, -0.2);
+		t1.rotate(Math.toRadians(15), 0.1, -0.2);
+		Penetration p1 = new Penetration();
+		Manifold m1 = new Manifold();
+		Manifold m2 = new Manifold();
+		
+		int manifolds = 0;
+		for (int i = 4; i < TYPES.length; i++) {
+			for (int j = 4; j < TYPES.length; j++) {
+				for (int k = 0; k < 24; k++) {
+					double angle = Math.toRadians(k * 15.0);
+					for (double distance = 0.2; distance < 2.5; distance += 0.3) {
+						Transform t2 = new Transform();
+						t2.rotate(angle * 0.7);
+						t2.translate(distance * Math.cos(angle), distance * Math.sin(angle));
+						
+						if (!detector.detect(TYPES[i], t1, TYPES[j], t2, p1, m1)) continue;
+						Penetration p2 = new Penetration(p1.getNormal().copy(), p1.getDepth());
+						solver.getManifold(p2, TYPES[i], t1, TYPES[j], t2, m2);
+						
+						int size = m1.getPoints().size();
+						TestCase.assertEquals(m2.getPoints().size(), size);
+						if (size == 0) continue;
+						manifolds++;
+						
+						TestCase.assertEquals(m2.getNormal().x, m1.getNormal().x, 1.0e-8);
+						TestCase.assertEquals(m2.getNormal().y, m1.getNormal().y, 1.0e-8);
+						for (int l = 0; l < size; l++) {
+							ManifoldPoint mp1 = m1.getPoints().get(l);
+							ManifoldPoint mp2 = m2.getPoints().get(l);
+							TestCase.assertEquals(mp2.getPoint().x, mp1.getPoint().x, 1.0e-8);
+							TestCase.assertEquals(mp2.getPoint().y, mp1.getPoint().y, 1.0e-8);
+							TestCase.assertEquals(mp2.getDepth(), mp1.getDepth(), 1.0e-8);
+							TestCase.assertTrue(mp1.getId() instanceof IndexedManifoldPointId);
+						}
+					}
+				}
+			}
+		}
+		TestCase.assertTrue(manifolds > 0);
+	}
+}
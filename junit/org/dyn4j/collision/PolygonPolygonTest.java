@@ -24,12 +24,18 @@
  */
 package org.dyn4j.collision;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.TestCase;
 
 import org.dyn4j.collision.broadphase.BroadphasePair;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
 import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPoint;
 import org.dyn4j.collision.narrowphase.Gjk;
@@ -47,7 +53,7 @@ import org.junit.Test;
 /**
  * Test case for {@link Polygon} - {@link Polygon} collision detection.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class PolygonPolygonTest extends AbstractTest {
@@ -317,6 +323,100 @@ public class PolygonPolygonTest extends AbstractTest {
 		TestCase.assertFalse(this.gjk.detect(poly2, t2, poly1, t1));
 	}
 	
+	/**
+	 * Tests {@link Gjk} using the search direction of the previous test.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void detectGjkWarmStart() {
+		Penetration p = new Penetration();
+		Penetration wp = new Penetration();
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		Vector2 d = new Vector2();
+		
+		// test overlap
+		t1.translate(-1.0, 0.0);
+		TestCase.assertTrue(this.gjk.detect(poly1, t1, poly2, t2, p));
+		TestCase.assertTrue(this.gjk.detect(poly1, t1, poly2, t2, wp, d));
+		TestCase.assertFalse(d.isZero());
+		TestCase.assertEquals(p.getDepth(), wp.getDepth(), 1.0e-8);
+		TestCase.assertEquals(p.getNormal().x, wp.getNormal().x, 1.0e-8);
+		TestCase.assertEquals(p.getNormal().y, wp.getNormal().y, 1.0e-8);
+		
+		// the same result should be found when starting from the last direction
+		t1.translate(0.01, 0.0);
+		TestCase.assertTrue(this.gjk.detect(poly1, t1, poly2, t2, p));
+		TestCase.assertTrue(this.gjk.detect(poly1, t1, poly2, t2, wp, d));
+		TestCase.assertEquals(p.getDepth(), wp.getDepth(), 1.0e-8);
+		TestCase.assertEquals(p.getNormal().x, wp.getNormal().x, 1.0e-8);
+		TestCase.assertEquals(p.getNormal().y, wp.getNormal().y, 1.0e-8);
+		
+		// test AABB overlap
+		t2.translate(0.0, 1.1);
+		TestCase.assertFalse(this.gjk.detect(poly1, t1, poly2, t2, wp, d));
+		
+		// the direction should now be a separating axis
+		Vector2 s1 = poly1.getFarthestPoint(d, t1);
+		Vector2 s2 = poly2.getFarthestPoint(d.getNegative(), t2);
+		TestCase.assertTrue(s1.difference(s2).dot(d) <= 0.0);
+		
+		// and should still be after a small movement
+		t1.translate(0.0, -0.01);
+		TestCase.assertFalse(this.gjk.detect(poly1, t1, poly2, t2, wp, d));
+		TestCase.assertFalse(this.gjk.detect(poly1, t1, poly2, t2, p));
+	}
+	
+	/**
+	 * Tests that {@link Gjk} produces the same results when used from multiple threads
+	 * and that the penetration normal is set in place.
+	 * @throws Exception if a thread fails
+	 * @since 3.1.11
+	 */
+	@Test
+	public void detectGjkThreads() throws Exception {
+		final Gjk gjk = new Gjk();
+		final Transform t1 = new Transform();
+		final Transform t2 = new Transform();
+		t1.translate(-1.0, 0.0);
+		
+		Penetration p = new Penetration();
+		TestCase.assertTrue(gjk.detect(poly1, t1, poly2, t2, p));
+		final double depth = p.getDepth();
+		final Vector2 normal = p.getNormal().copy();
+		
+		// the normal should be reused
+		Vector2 n = p.getNormal();
+		TestCase.assertTrue(gjk.detect(poly2, t2, poly1, t1, p));
+		TestCase.assertSame(n, p.getNormal());
+		TestCase.assertEquals(-normal.x, n.x, 1.0e-8);
+		TestCase.assertEquals(-normal.y, n.y, 1.0e-8);
+		
+		// each thread should get the same result
+		ExecutorService service = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int i = 0; i < 8; i++) {
+				results.add(service.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for (int j = 0; j < 1000; j++) {
+							Penetration p = new Penetration();
+							if (!gjk.detect(poly1, t1, poly2, t2, p)) return false;
+							if (p.getDepth() != depth || !p.getNormal().equals(normal)) return false;
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				TestCase.assertTrue(result.get());
+			}
+		} finally {
+			service.shutdown();
+		}
+	}
+	
 	/**
 	 * Tests the {@link Gjk} distance method.
 	 */
@@ -485,4 +585,46 @@ public class PolygonPolygonTest extends AbstractTest {
 		TestCase.assertEquals(-0.203, p2.y, 1.0e-3);
 		TestCase.assertEquals(0.406, mp2.getDepth(), 1.0e-3);
 	}
+	
+	/**
+	 * Tests that the manifold points, ids and normal are reused when the same
+	 * {@link Manifold} is filled again.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getClipManifoldReuse() {
+		Manifold m = new Manifold();
+		Penetration p = new Penetration();
+		
+		Transform t1 = new Transform();
+		Transform t2 = new Transform();
+		t1.translate(-1.0, 0.0);
+		
+		this.gjk.detect(poly1, t1, poly2, t2, p);
+		TestCase.assertTrue(this.cmfs.getManifold(p, poly1, t1, poly2, t2, m));
+		TestCase.assertEquals(2, m.getPoints().size());
+		ManifoldPoint mp1 = m.getPoints().get(0);
+		ManifoldPoint mp2 = m.getPoints().get(1);
+		Vector2 p1 = mp1.getPoint();
+		Vector2 normal = m.getNormal();
+		IndexedManifoldPointId id = (IndexedManifoldPointId)mp1.getId();
+		// the ids are shared instances
+		TestCase.assertSame(id, IndexedManifoldPointId.valueOf(id.getReferenceEdge(), id.getIncidentEdge(), id.getIncidentVertex(), id.isFlipped()));
+		
+		// fill the same manifold again
+		TestCase.assertTrue(this.cmfs.getManifold(p, poly1, t1, poly2, t2, m));
+		TestCase.assertEquals(2, m.getPoints().size());
+		TestCase.assertSame(mp1, m.getPoints().get(0));
+		TestCase.assertSame(mp2, m.getPoints().get(1));
+		TestCase.assertSame(p1, mp1.getPoint());
+		TestCase.assertSame(normal, m.getNormal());
+		TestCase.assertSame(id, mp1.getId());
+		TestCase.assertEquals(0.000, p1.x, 1.0e-3);
+		TestCase.assertEquals(0.000, p1.y, 1.0e-3);
+		TestCase.assertEquals(0.433, mp1.getDepth(), 1.0e-3);
+		
+		// large indices are not shared
+		TestCase.assertNotSame(IndexedManifoldPointId.valueOf(8, 0, 0, false), IndexedManifoldPointId.valueOf(8, 0, 0, false));
+		TestCase.assertEquals(IndexedManifoldPointId.valueOf(8, 0, 0, false), IndexedManifoldPointId.valueOf(8, 0, 0, false));
+	}
 }
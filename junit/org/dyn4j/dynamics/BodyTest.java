@@ -68,7 +68,7 @@ public class BodyTest {
 		Body b = new Body();
 		
 		// these field should be defaulted
-		TestCase.assertNotNull(b.id);
+		TestCase.assertNotNull(b.getId());
 		TestCase.assertNotNull(b.contacts);
 		TestCase.assertNotNull(b.fixtures);
 		TestCase.assertNotNull(b.force);
@@ -1420,4 +1420,23 @@ public class BodyTest {
 		da = b.getChangeInOrientation();
 		TestCase.assertEquals(-10.000, Math.toDegrees(da), 1.0e-3);
 	}
+	
+	/**
+	 * Tests the id and handle of a body.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getHandle() {
+		Body b1 = new Body();
+		Body b2 = new Body();
+		
+		// the handles should be unique
+		TestCase.assertFalse(b1.getHandle() == b2.getHandle());
+		
+		// the id is created when first requested
+		TestCase.assertNull(b1.id);
+		TestCase.assertNotNull(b1.getId());
+		TestCase.assertSame(b1.getId(), b1.getId());
+		TestCase.assertFalse(b1.getId().equals(b2.getId()));
+	}
 }
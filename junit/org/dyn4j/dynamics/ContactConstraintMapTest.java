@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldPoint;
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactConstraintId;
+import org.dyn4j.dynamics.contact.ContactConstraintMap;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Vector2;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the methods of the {@link ContactConstraintMap} class.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public class ContactConstraintMapTest {
+	/** The world the contact constraints belong to */
+	private World world;
+	
+	/** The bodies */
+	private List<Body> bodies;
+	
+	/**
+	 * Sets up the test.
+	 */
+	@Before
+	public void setup() {
+		this.world = new World();
+		this.bodies = new ArrayList<Body>();
+		for (int i = 0; i < 20; i++) {
+			Body body = new Body();
+			body.addFixture(Geometry.createUnitCirclePolygon(5, 0.5));
+			this.bodies.add(body);
+		}
+	}
+	
+	/**
+	 * Returns a new contact constraint between the given bodies.
+	 * @param i the index of the first body
+	 * @param j the index of the second body
+	 * @return {@link ContactConstraint}
+	 */
+	private ContactConstraint create(int i, int j) {
+		Body b1 = this.bodies.get(i);
+		Body b2 = this.bodies.get(j);
+		Manifold manifold = new Manifold(new ArrayList<ManifoldPoint>(), new Vector2(1.0, 0.0));
+		return new ContactConstraint(b1, b1.getFixture(0), b2, b2.getFixture(0), manifold, this.world);
+	}
+	
+	/**
+	 * Tests the successful creation.
+	 */
+	@Test
+	public void createSuccess() {
+		ContactConstraintMap map = new ContactConstraintMap(100);
+		TestCase.assertTrue(map.isEmpty());
+		TestCase.assertTrue(map.getCapacity() * 3 / 4 >= 100);
+		
+		map = new ContactConstraintMap(0);
+		TestCase.assertTrue(map.isEmpty());
+	}
+	
+	/**
+	 * Tests the creation with a negative capacity.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void createNegativeCapacity() {
+		new ContactConstraintMap(-1);
+	}
+	
+	/**
+	 * Tests adding a null contact constraint.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void putNull() {
+		new ContactConstraintMap().put(null);
+	}
+	
+	/**
+	 * Tests the put, get and remove methods.
+	 */
+	@Test
+	public void putGetRemove() {
+		ContactConstraintMap map = new ContactConstraintMap();
+		ContactConstraint cc1 = this.create(0, 1);
+		ContactConstraint cc2 = this.create(0, 2);
+		
+		TestCase.assertNull(map.put(cc1));
+		TestCase.assertNull(map.put(cc2));
+		TestCase.assertEquals(2, map.size());
+		
+		// the order of the bodies shouldn't matter
+		Body b0 = this.bodies.get(0);
+		Body b1 = this.bodies.get(1);
+		ContactConstraintId id = new ContactConstraintId(b1, b1.getFixture(0), b0, b0.getFixture(0));
+		TestCase.assertSame(cc1, map.get(id));
+		TestCase.assertSame(cc2, map.get(cc2.getId()));
+		TestCase.assertNull(map.get(this.create(1, 2).getId()));
+		
+		// the same using the bodies and fixtures
+		TestCase.assertSame(cc1, map.get(b0, b0.getFixture(0), b1, b1.getFixture(0)));
+		TestCase.assertSame(cc1, map.get(b1, b1.getFixture(0), b0, b0.getFixture(0)));
+		TestCase.assertNull(map.get(b1, b1.getFixture(0), b1, b1.getFixture(0)));
+		
+		// replace
+		ContactConstraint cc3 = this.create(1, 0);
+		TestCase.assertSame(cc1, map.put(cc3));
+		TestCase.assertEquals(2, map.size());
+		TestCase.assertSame(cc3, map.get(id));
+		
+		// remove
+		TestCase.assertSame(cc3, map.remove(id));
+		TestCase.assertNull(map.remove(id));
+		TestCase.assertNull(map.get(id));
+		TestCase.assertEquals(1, map.size());
+		TestCase.assertSame(cc2, map.get(cc2.getId()));
+	}
+	
+	/**
+	 * Tests that the entries can be found after growing and removing many entries.
+	 */
+	@Test
+	public void growAndRemove() {
+		ContactConstraintMap map = new ContactConstraintMap(0);
+		List<ContactConstraint> ccs = new ArrayList<ContactConstraint>();
+		int n = this.bodies.size();
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				ContactConstraint cc = this.create(i, j);
+				ccs.add(cc);
+				map.put(cc);
+			}
+		}
+		TestCase.assertEquals(ccs.size(), map.size());
+		
+		// remove every other entry
+		for (int i = 0; i < ccs.size(); i += 2) {
+			TestCase.assertSame(ccs.get(i), map.remove(ccs.get(i).getId()));
+		}
+		
+		// make sure the rest can still be found
+		for (int i = 0; i < ccs.size(); i++) {
+			ContactConstraint cc = ccs.get(i);
+			if (i % 2 == 0) {
+				TestCase.assertNull(map.get(cc.getId()));
+			} else {
+				TestCase.assertSame(cc, map.get(cc.getId()));
+			}
+		}
+		
+		// count the occupied slots
+		int count = 0;
+		for (int i = 0; i < map.getCapacity(); i++) {
+			if (map.getValue(i) != null) count++;
+		}
+		TestCase.assertEquals(map.size(), count);
+	}
+	
+	/**
+	 * Tests the clear and reset methods.
+	 */
+	@Test
+	public void clearAndReset() {
+		ContactConstraintMap map = new ContactConstraintMap();
+		ContactConstraint cc1 = this.create(0, 1);
+		ContactConstraint cc2 = this.create(2, 3);
+		map.put(cc1);
+		map.put(cc2);
+		
+		map.clear();
+		TestCase.assertTrue(map.isEmpty());
+		TestCase.assertNull(map.get(cc1.getId()));
+		TestCase.assertNull(map.get(cc2.getId()));
+		for (int i = 0; i < map.getCapacity(); i++) {
+			TestCase.assertNull(map.getValue(i));
+		}
+		
+		// make sure the map is usable after clearing
+		TestCase.assertNull(map.put(cc2));
+		TestCase.assertEquals(1, map.size());
+		TestCase.assertSame(cc2, map.get(cc2.getId()));
+		
+		map.reset();
+		TestCase.assertTrue(map.isEmpty());
+		TestCase.assertNull(map.get(cc2.getId()));
+		TestCase.assertNull(map.put(cc1));
+		TestCase.assertSame(cc1, map.get(cc1.getId()));
+	}
+}
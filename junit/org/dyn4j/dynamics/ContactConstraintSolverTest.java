@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics;
+
+import junit.framework.TestCase;
+
+import org.dyn4j.dynamics.contact.ContactConstraintSolver;
+import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Transform;
+import org.junit.Test;
+
+/**
+ * Test case for the {@link ContactConstraintSolver} class.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public class ContactConstraintSolverTest {
+	/** 
+	 * The x, y and rotation of each box after 120 steps using the object based 
+	 * solver that was replaced by the packed solver.
+	 */
+	private static final double[][] EXPECTED = new double[][] {
+		{ -2.000398897793066, 0.49354938777076546, 2.975480616525815E-4 },
+		{ -2.003055453321582, 1.4861302919580477, 7.76415555732228E-4 },
+		{ -2.004661536287181, 2.47932614927444, 0.0011328721242897704 },
+		{ -2.0077640043277762, 3.473404159288243, 0.0013139626803300825 },
+		{ 7.612076222671042E-4, 0.49420831531174997, -0.0013867196826678517 },
+		{ -1.4624568876876027E-6, 1.487864098775836, -0.0036873646675813928 },
+		{ 4.4452088539690615E-5, 2.4817819100435363, -0.005371613700526999 },
+		{ 1.4450086296195687E-4, 3.4762092182596036, -0.006212281663070331 },
+		{ 2.00285571052282, 0.49389848815071785, -4.926601132646247E-4 },
+		{ 2.005479385485962, 1.4870803632533753, -0.0014313309879823198 },
+		{ 1.9995936256499502, 2.480753930183171, -0.0021287802914908447 },
+		{ 1.998958190084926, 3.475071874244267, -0.002484794214062228 }
+	};
+	
+	/**
+	 * Tests that the solver produces the same result as the object based
+	 * implementation it replaced for a few small stacks of boxes.
+	 */
+	@Test
+	public void sameAsReference() {
+		World world = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(20.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		floor.translate(0.0, -0.5);
+		world.addBody(floor);
+		
+		// the boxes are slightly rotated so that the stacks lean
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 4; j++) {
+				Body box = new Body();
+				box.addFixture(Geometry.createSquare(1.0));
+				box.setMass();
+				box.rotate(0.01 * (i - j));
+				box.translate(i * 2.0 - 2.0, j * 1.05 + 0.5);
+				world.addBody(box);
+			}
+		}
+		
+		world.step(120);
+		
+		// the arithmetic is the same so only allow for round off
+		// differences in the trigonometric functions
+		for (int i = 0; i < EXPECTED.length; i++) {
+			Transform t = world.getBody(i + 1).getTransform();
+			TestCase.assertEquals(EXPECTED[i][0], t.getTranslationX(), 1.0e-10);
+			TestCase.assertEquals(EXPECTED[i][1], t.getTranslationY(), 1.0e-10);
+			TestCase.assertEquals(EXPECTED[i][2], t.getRotation(), 1.0e-10);
+		}
+	}
+}
@@ -35,7 +35,9 @@ import org.dyn4j.collision.manifold.ManifoldPoint;
 import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.dynamics.contact.ContactAdapter;
 import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactEdge;
 import org.dyn4j.dynamics.contact.ContactListener;
 import org.dyn4j.dynamics.contact.ContactManager;
 import org.dyn4j.dynamics.contact.ContactPoint;
@@ -50,7 +52,7 @@ import org.junit.Test;
 /**
  * Used to test the {@link ContactManager} class.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.2
  */
 public class ContactManagerTest {
@@ -394,4 +396,172 @@ public class ContactManagerTest {
 	public void createFailureNullWorld() {
 		new ContactManager(null, Capacity.DEFAULT_CAPACITY);
 	}
+	
+	/**
+	 * Tests that contact constraints are recycled when object pooling is enabled.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void recycle() {
+		World w = new World();
+		w.getSettings().setObjectPoolingEnabled(true);
+		ContactManager cm = w.getContactManager();
+		
+		Convex c1 = Geometry.createCircle(1.0);
+		Convex c2 = Geometry.createSquare(1.0);
+		Body b1 = new Body();
+		BodyFixture f1 = b1.addFixture(c1);
+		Body b2 = new Body();
+		BodyFixture f2 = b2.addFixture(c2);
+		b2.translate(1.25, 0.0);
+		
+		Penetration p = new Penetration();
+		Manifold m = new Manifold();
+		TestCase.assertTrue(new Gjk().detect(c1, b1.transform, c2, b2.transform, p));
+		TestCase.assertTrue(new ClippingManifoldSolver().getManifold(p, c1, b1.transform, c2, b2.transform, m));
+		
+		// first step
+		ContactConstraint cc1 = cm.getContactConstraint(b1, f1, b2, f2, m);
+		cm.add(cc1);
+		cm.updateContacts();
+		
+		// second step, the first constraint is still needed for warm starting
+		cm.clear();
+		ContactConstraint cc2 = cm.getContactConstraint(b1, f1, b2, f2, m);
+		TestCase.assertNotSame(cc1, cc2);
+		cm.add(cc2);
+		cm.updateContacts();
+		
+		// third step, the first constraint should be reused
+		cm.clear();
+		ContactConstraint cc3 = cm.getContactConstraint(b2, f2, b1, f1, m);
+		TestCase.assertSame(cc1, cc3);
+		TestCase.assertSame(b2, cc3.getBody1());
+		TestCase.assertSame(f2, cc3.getFixture1());
+		TestCase.assertEquals(cc2.getId(), cc3.getId());
+		TestCase.assertEquals(m.getPoints().size(), cc3.getContacts().size());
+		TestCase.assertEquals(0.0, cc3.getContacts().get(0).getNormalImpulse());
+		
+		// constraints that were not added can be returned directly
+		cm.recycle(cc3);
+		TestCase.assertSame(cc3, cm.getContactConstraint(b1, f1, b2, f2, m));
+		
+		// contact edges are reused after the manager is cleared
+		ContactEdge ce = cm.getContactEdge(b1, cc3);
+		TestCase.assertSame(cc3, ce.getContactConstraint());
+		cm.clear();
+		TestCase.assertSame(ce, cm.getContactEdge(b2, cc2));
+		TestCase.assertSame(b2, ce.getOther());
+	}
+	
+	/**
+	 * Tests that the search directions are kept on the contact constraints.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getSearchDirection() {
+		World w = new World();
+		ContactManager cm = w.getContactManager();
+		
+		Body b1 = new Body();
+		BodyFixture f1 = b1.addFixture(Geometry.createCircle(1.0));
+		Body b2 = new Body();
+		BodyFixture f2 = b2.addFixture(Geometry.createSquare(1.0));
+		Manifold m = new Manifold(new ArrayList<ManifoldPoint>(), new Vector2(1.0, 0.0));
+		
+		// fixtures that were not in contact don't have a direction
+		TestCase.assertNull(cm.getSearchDirection(b1, f1, b2, f2));
+		
+		// the first request after the contact should return the zero vector
+		cm.add(new ContactConstraint(b1, f1, b2, f2, m, w));
+		cm.updateContacts();
+		Vector2 d = cm.getSearchDirection(b1, f1, b2, f2);
+		TestCase.assertTrue(d.isZero());
+		d.set(1.0, 2.0);
+		
+		// the direction should be copied to the next contact constraint
+		// regardless of the order of the bodies
+		cm.clear();
+		cm.add(new ContactConstraint(b2, f2, b1, f1, m, w));
+		cm.updateContacts();
+		Vector2 d2 = cm.getSearchDirection(b2, f2, b1, f1);
+		TestCase.assertNotSame(d, d2);
+		TestCase.assertEquals(1.0, d2.x);
+		TestCase.assertEquals(2.0, d2.y);
+		TestCase.assertSame(d2, cm.getSearchDirection(b1, f1, b2, f2));
+		
+		// directions of fixtures no longer in contact should be discarded
+		cm.clear();
+		cm.updateContacts();
+		TestCase.assertNull(cm.getSearchDirection(b1, f1, b2, f2));
+		
+		// reset should discard all directions
+		cm.clear();
+		cm.add(new ContactConstraint(b1, f1, b2, f2, m, w));
+		cm.updateContacts();
+		cm.reset();
+		TestCase.assertNull(cm.getSearchDirection(b1, f1, b2, f2));
+	}
+	
+	/**
+	 * Tests that the contact events are reused when object pooling is enabled.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void reuseContactPoints() {
+		World w = new World();
+		w.getSettings().setObjectPoolingEnabled(true);
+		final List<ContactPoint> points = new ArrayList<ContactPoint>();
+		w.addListener(new ContactAdapter() {
+			@Override
+			public boolean begin(ContactPoint point) {
+				points.add(point);
+				return true;
+			}
+			@Override
+			public void postSolve(SolvedContactPoint point) {
+				points.add(point);
+			}
+		});
+		ContactManager cm = w.getContactManager();
+		
+		Convex c1 = Geometry.createSquare(1.0);
+		Convex c2 = Geometry.createSquare(1.0);
+		Body b1 = new Body();
+		BodyFixture f1 = b1.addFixture(c1);
+		Body b2 = new Body();
+		BodyFixture f2 = b2.addFixture(c2);
+		b2.translate(0.75, 0.0);
+		
+		Penetration p = new Penetration();
+		Manifold m = new Manifold();
+		TestCase.assertTrue(new Gjk().detect(c1, b1.transform, c2, b2.transform, p));
+		TestCase.assertTrue(new ClippingManifoldSolver().getManifold(p, c1, b1.transform, c2, b2.transform, m));
+		TestCase.assertEquals(2, m.getPoints().size());
+		
+		cm.add(cm.getContactConstraint(b1, f1, b2, f2, m));
+		cm.updateContacts();
+		cm.postSolveNotify();
+		
+		// the same event objects should be used for each contact
+		TestCase.assertEquals(4, points.size());
+		TestCase.assertSame(points.get(0), points.get(1));
+		TestCase.assertSame(points.get(2), points.get(3));
+		TestCase.assertTrue(points.get(2) instanceof SolvedContactPoint);
+		TestCase.assertSame(b1, points.get(0).getBody1());
+		TestCase.assertSame(f2, points.get(0).getFixture2());
+		
+		// no events should be created without listeners
+		// and the contacts should remain enabled
+		w.removeAllListeners();
+		cm.clear();
+		ContactConstraint cc = cm.getContactConstraint(b1, f1, b2, f2, m);
+		cm.add(cc);
+		cm.updateContacts();
+		cm.preSolveNotify();
+		cm.postSolveNotify();
+		TestCase.assertEquals(4, points.size());
+		TestCase.assertTrue(cc.getContacts().get(0).isEnabled());
+		TestCase.assertTrue(cc.getContacts().get(1).isEnabled());
+	}
 }
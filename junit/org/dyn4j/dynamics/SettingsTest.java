@@ -34,7 +34,7 @@ import org.junit.Test;
 /**
  * Tests the methods of the {@link Settings} class.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class SettingsTest {
@@ -365,4 +365,116 @@ public class SettingsTest {
 		settings.setContinuousDetectionMode(ContinuousDetectionMode.NONE);
 		TestCase.assertEquals(ContinuousDetectionMode.NONE, settings.getContinuousDetectionMode());
 	}
+	
+	/**
+	 * Tests the set parallel island solving flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setParallelIslandSolvingEnabled() {
+		TestCase.assertFalse(settings.isParallelIslandSolvingEnabled());
+		settings.setParallelIslandSolvingEnabled(true);
+		TestCase.assertTrue(settings.isParallelIslandSolvingEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isParallelIslandSolvingEnabled());
+	}
+	
+	/**
+	 * Tests the set parallel narrow-phase flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setParallelNarrowphaseEnabled() {
+		TestCase.assertFalse(settings.isParallelNarrowphaseEnabled());
+		settings.setParallelNarrowphaseEnabled(true);
+		TestCase.assertTrue(settings.isParallelNarrowphaseEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isParallelNarrowphaseEnabled());
+	}
+	
+	/**
+	 * Tests the set parallel broad-phase update flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setParallelBroadphaseUpdateEnabled() {
+		TestCase.assertFalse(settings.isParallelBroadphaseUpdateEnabled());
+		settings.setParallelBroadphaseUpdateEnabled(true);
+		TestCase.assertTrue(settings.isParallelBroadphaseUpdateEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isParallelBroadphaseUpdateEnabled());
+	}
+	
+	/**
+	 * Tests the set parallel contact solving flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setParallelContactSolvingEnabled() {
+		TestCase.assertFalse(settings.isParallelContactSolvingEnabled());
+		settings.setParallelContactSolvingEnabled(true);
+		TestCase.assertTrue(settings.isParallelContactSolvingEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isParallelContactSolvingEnabled());
+	}
+	
+	/**
+	 * Tests the set object pooling flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setObjectPoolingEnabled() {
+		TestCase.assertFalse(settings.isObjectPoolingEnabled());
+		settings.setObjectPoolingEnabled(true);
+		TestCase.assertTrue(settings.isObjectPoolingEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isObjectPoolingEnabled());
+	}
+	
+	/**
+	 * Tests the set GJK warm start flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setGjkWarmStartEnabled() {
+		TestCase.assertFalse(settings.isGjkWarmStartEnabled());
+		settings.setGjkWarmStartEnabled(true);
+		TestCase.assertTrue(settings.isGjkWarmStartEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isGjkWarmStartEnabled());
+	}
+	
+	/**
+	 * Tests the set worker count method.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setWorkerCount() {
+		settings.setWorkerCount(3);
+		TestCase.assertEquals(3, settings.getWorkerCount());
+		settings.reset();
+		TestCase.assertEquals(Settings.DEFAULT_WORKER_COUNT, settings.getWorkerCount());
+	}
+	
+	/**
+	 * Tests the set worker count method passing zero.
+	 * @since 3.1.11
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setZeroWorkerCount() {
+		settings.setWorkerCount(0);
+	}
+	
+	/**
+	 * Tests the set frozen contacts flag.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void setFrozenContactsEnabled() {
+		TestCase.assertFalse(settings.isFrozenContactsEnabled());
+		settings.setFrozenContactsEnabled(true);
+		TestCase.assertTrue(settings.isFrozenContactsEnabled());
+		settings.reset();
+		TestCase.assertFalse(settings.isFrozenContactsEnabled());
+	}
 }
@@ -25,7 +25,14 @@
 package org.dyn4j.dynamics;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.TestCase;
 
@@ -39,10 +46,16 @@ import org.dyn4j.collision.broadphase.SapIncremental;
 import org.dyn4j.collision.continuous.ConservativeAdvancement;
 import org.dyn4j.collision.continuous.TimeOfImpactDetector;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldSolver;
+import org.dyn4j.collision.narrowphase.DispatchNarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.dynamics.contact.ContactAdapter;
+import org.dyn4j.dynamics.contact.ContactConstraint;
+import org.dyn4j.dynamics.contact.ContactConstraintSolver;
+import org.dyn4j.dynamics.contact.ContactListener;
 import org.dyn4j.dynamics.contact.ContactPoint;
 import org.dyn4j.dynamics.joint.DistanceJoint;
 import org.dyn4j.dynamics.joint.Joint;
@@ -50,13 +63,15 @@ import org.dyn4j.dynamics.joint.MouseJoint;
 import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Geometry;
+import org.dyn4j.geometry.Mass;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 import org.junit.Test;
 
 /**
  * Contains the test cases for the {@link World} class.
  * @author William Bittle
- * @version 3.1.10
+ * @version 3.1.11
  * @since 1.0.2
  */
 public class WorldTest {
@@ -935,6 +950,76 @@ public class WorldTest {
 		TestCase.assertEquals(14, listeners.size());
 	}
 	
+	/**
+	 * Tests that the cached listener arrays are updated when listeners
+	 * are added and removed.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void cachedListeners() {
+		World w = new World();
+		
+		// the world should begin with empty arrays
+		TestCase.assertEquals(0, w.stepListeners.length);
+		TestCase.assertEquals(0, w.collisionListeners.length);
+		TestCase.assertEquals(0, w.contactListeners.length);
+		
+		StepAdapter sa = new StepAdapter();
+		CollisionAdapter ca = new CollisionAdapter();
+		ContactAdapter na = new ContactAdapter();
+		w.addListener(sa);
+		w.addListener(ca);
+		w.addListener(na);
+		
+		TestCase.assertEquals(1, w.stepListeners.length);
+		TestCase.assertSame(sa, w.stepListeners[0]);
+		TestCase.assertEquals(1, w.collisionListeners.length);
+		TestCase.assertSame(ca, w.collisionListeners[0]);
+		TestCase.assertEquals(1, w.contactListeners.length);
+		TestCase.assertEquals(0, w.boundsListeners.length);
+		
+		// test removal
+		TestCase.assertTrue(w.removeListener(sa));
+		TestCase.assertEquals(0, w.stepListeners.length);
+		TestCase.assertFalse(w.removeListener(sa));
+		
+		TestCase.assertEquals(1, w.removeAllListeners(ContactListener.class));
+		TestCase.assertEquals(0, w.contactListeners.length);
+		
+		w.removeAllListeners();
+		TestCase.assertEquals(0, w.collisionListeners.length);
+	}
+	
+	/**
+	 * Tests that the contact listeners added after the world was created
+	 * are notified by the contact manager.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void cachedContactListeners() {
+		World w = this.createStacks(1);
+		
+		final int[] begin = new int[1];
+		ContactAdapter ca = new ContactAdapter() {
+			@Override
+			public boolean begin(ContactPoint point) {
+				begin[0]++;
+				return true;
+			}
+		};
+		w.addListener(ca);
+		w.step(1);
+		TestCase.assertTrue(begin[0] > 0);
+		
+		// once removed it should not be notified even
+		// when all the contacts are new again
+		w.removeListener(ca);
+		begin[0] = 0;
+		w.getContactManager().reset();
+		w.step(1);
+		TestCase.assertEquals(0, begin[0]);
+	}
+	
 	/**
 	 * Tests the get/set of the user data.
 	 */
@@ -966,4 +1051,646 @@ public class WorldTest {
 		   TestCase.fail();
 	   }
 	}
+	
+	/**
+	 * Creates a new world containing a static floor and the given
+	 * number of separated stacks of boxes.
+	 * @param stacks the number of stacks
+	 * @return {@link World}
+	 * @since 3.1.11
+	 */
+	private World createStacks(int stacks) {
+		World world = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(stacks * 4.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		floor.translate(stacks * 2.0, -0.5);
+		world.addBody(floor);
+		
+		for (int i = 0; i < stacks; i++) {
+			for (int j = 0; j < 5; j++) {
+				Body box = new Body();
+				box.addFixture(Geometry.createSquare(1.0));
+				box.setMass();
+				box.translate(i * 4.0 + 1.0, j * 1.05 + 0.5);
+				world.addBody(box);
+			}
+		}
+		
+		return world;
+	}
+	
+	/**
+	 * Tests that solving the islands in parallel produces the same
+	 * result as solving them serially.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void parallelIslandSolving() {
+		World serial = this.createStacks(10);
+		World parallel = this.createStacks(10);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			parallel.setExecutorService(executor);
+			parallel.getSettings().setParallelIslandSolvingEnabled(true);
+			parallel.getSettings().setWorkerCount(4);
+			
+			serial.step(60);
+			parallel.step(60);
+		} finally {
+			executor.shutdown();
+		}
+		
+		// the islands are independent so the results should be identical
+		int size = serial.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = serial.getBody(i).getTransform();
+			Transform t2 = parallel.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX());
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY());
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation());
+		}
+	}
+	
+	/**
+	 * Tests that solving the islands in parallel never modifies the static bodies
+	 * they share through contacts and joints.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void parallelIslandSolvingStatics() {
+		World serial = this.createStacks(10);
+		World parallel = this.createStacks(10);
+		
+		// attach the top box of each stack to the floor
+		World[] worlds = new World[] { serial, parallel };
+		for (World world : worlds) {
+			Body floor = world.getBody(0);
+			for (int i = 0; i < 10; i++) {
+				Body box = world.getBody(i * 5 + 5);
+				Vector2 c = box.getWorldCenter();
+				world.addJoint(new DistanceJoint(floor, box, new Vector2(c.x, -0.5), c));
+			}
+		}
+		
+		Transform transform = parallel.getBody(0).getTransform();
+		int version = transform.getVersion();
+		double x = transform.getTranslationX();
+		double y = transform.getTranslationY();
+		double r = transform.getRotation();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			parallel.setExecutorService(executor);
+			parallel.getSettings().setParallelIslandSolvingEnabled(true);
+			parallel.getSettings().setWorkerCount(4);
+			
+			serial.step(60);
+			parallel.step(60);
+		} finally {
+			executor.shutdown();
+		}
+		
+		// the floor should never be modified
+		TestCase.assertEquals(version, transform.getVersion());
+		TestCase.assertEquals(x, transform.getTranslationX());
+		TestCase.assertEquals(y, transform.getTranslationY());
+		TestCase.assertEquals(r, transform.getRotation());
+		
+		// and the results should be identical
+		int size = serial.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = serial.getBody(i).getTransform();
+			Transform t2 = parallel.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX());
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY());
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation());
+		}
+	}
+	
+	/**
+	 * Tests that generating the manifolds during the narrow-phase produces the
+	 * same result as the manifold solver.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void manifoldDetector() {
+		World solver = this.createStacks(2);
+		World detector = this.createStacks(2);
+		solver.setNarrowphaseDetector(new DispatchNarrowphaseDetector());
+		detector.setNarrowphaseDetector(new DispatchNarrowphaseDetector());
+		// the manifolds are only generated during the narrow-phase for the clipping manifold solver
+		final ManifoldSolver clipping = new ClippingManifoldSolver();
+		solver.setManifoldSolver(new ManifoldSolver() {
+			@Override
+			public boolean getManifold(Penetration penetration, Convex convex1, Transform transform1, Convex convex2, Transform transform2, Manifold manifold) {
+				return clipping.getManifold(penetration, convex1, transform1, convex2, transform2, manifold);
+			}
+		});
+		
+		solver.step(60);
+		detector.step(60);
+		
+		int size = solver.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = solver.getBody(i).getTransform();
+			Transform t2 = detector.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX(), 1.0e-8);
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY(), 1.0e-8);
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation(), 1.0e-8);
+		}
+	}
+	
+	/**
+	 * Tests that islands are solved serially when no executor service is set.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void parallelIslandSolvingWithoutExecutor() {
+		World world = this.createStacks(2);
+		world.getSettings().setParallelIslandSolvingEnabled(true);
+		world.step(1);
+		TestCase.assertNull(world.getExecutorService());
+		TestCase.assertTrue(world.islands.isEmpty());
+	}
+	
+	/**
+	 * Tests that performing the narrow-phase in parallel produces the same
+	 * result and notifies the listeners in the same order as the serial
+	 * narrow-phase.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void parallelNarrowphase() {
+		World serial = this.createStacks(10);
+		World parallel = this.createStacks(10);
+		
+		final List<ContactConstraint> serialContacts = new ArrayList<ContactConstraint>();
+		final List<ContactConstraint> parallelContacts = new ArrayList<ContactConstraint>();
+		serial.addListener(new CollisionAdapter() {
+			@Override
+			public boolean collision(ContactConstraint contactConstraint) {
+				serialContacts.add(contactConstraint);
+				return true;
+			}
+		});
+		parallel.addListener(new CollisionAdapter() {
+			@Override
+			public boolean collision(ContactConstraint contactConstraint) {
+				parallelContacts.add(contactConstraint);
+				return true;
+			}
+		});
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			parallel.setExecutorService(executor);
+			parallel.getSettings().setParallelNarrowphaseEnabled(true);
+			parallel.getSettings().setWorkerCount(4);
+			
+			serial.step(60);
+			parallel.step(60);
+		} finally {
+			executor.shutdown();
+		}
+		
+		// the listeners should be notified in the same order
+		TestCase.assertFalse(serialContacts.isEmpty());
+		TestCase.assertEquals(serialContacts.size(), parallelContacts.size());
+		for (int i = 0; i < serialContacts.size(); i++) {
+			ContactConstraint c1 = serialContacts.get(i);
+			ContactConstraint c2 = parallelContacts.get(i);
+			TestCase.assertEquals(serial.bodies.indexOf(c1.getBody1()), parallel.bodies.indexOf(c2.getBody1()));
+			TestCase.assertEquals(serial.bodies.indexOf(c1.getBody2()), parallel.bodies.indexOf(c2.getBody2()));
+		}
+		
+		// and the simulation should be identical
+		int size = serial.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = serial.getBody(i).getTransform();
+			Transform t2 = parallel.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX());
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY());
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation());
+		}
+	}
+	
+	/**
+	 * Tests that pooling the collision objects produces the same result
+	 * and reuses the contact constraints.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void objectPooling() {
+		World serial = this.createStacks(4);
+		World pooled = this.createStacks(4);
+		pooled.getSettings().setObjectPoolingEnabled(true);
+		
+		final List<ContactConstraint> created = new ArrayList<ContactConstraint>();
+		final IdentityHashMap<ContactConstraint, Boolean> instances = new IdentityHashMap<ContactConstraint, Boolean>();
+		pooled.addListener(new CollisionAdapter() {
+			@Override
+			public boolean collision(ContactConstraint contactConstraint) {
+				created.add(contactConstraint);
+				instances.put(contactConstraint, Boolean.TRUE);
+				return true;
+			}
+		});
+		
+		serial.step(60);
+		pooled.step(60);
+		
+		// the constraints should be reused
+		TestCase.assertFalse(created.isEmpty());
+		TestCase.assertTrue(instances.size() < created.size());
+		
+		int size = serial.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Body b1 = serial.getBody(i);
+			Body b2 = pooled.getBody(i);
+			Transform t1 = b1.getTransform();
+			Transform t2 = b2.getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX());
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY());
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation());
+			TestCase.assertEquals(b1.getContacts(false).size(), b2.getContacts(false).size());
+		}
+	}
+	
+	/**
+	 * Tests that caching the GJK search direction produces the same contacts.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void gjkWarmStart() {
+		World serial = this.createStacks(4);
+		World cached = this.createStacks(4);
+		cached.getSettings().setGjkWarmStartEnabled(true);
+		
+		for (int i = 0; i < 60; i++) {
+			serial.step(1);
+			cached.step(1);
+			
+			int size = serial.getBodyCount();
+			for (int j = 0; j < size; j++) {
+				TestCase.assertEquals(serial.getBody(j).getContacts(false).size(), cached.getBody(j).getContacts(false).size());
+			}
+		}
+		
+		int size = serial.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = serial.getBody(i).getTransform();
+			Transform t2 = cached.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX(), 1.0e-6);
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY(), 1.0e-6);
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation(), 1.0e-6);
+		}
+	}
+	
+	/**
+	 * Creates a world with a fast moving circle fired at a thin static wall.
+	 * @param mode the continuous collision detection mode
+	 * @return {@link World}
+	 */
+	private World createBullet(Settings.ContinuousDetectionMode mode) {
+		World world = new World();
+		world.setGravity(World.ZERO_GRAVITY);
+		world.getSettings().setContinuousDetectionMode(mode);
+		
+		Body wall = new Body();
+		wall.addFixture(Geometry.createRectangle(0.1, 4.0));
+		wall.translate(5.0, 0.0);
+		wall.setMass(Mass.Type.INFINITE);
+		world.addBody(wall);
+		
+		Body bullet = new Body();
+		bullet.addFixture(Geometry.createCircle(0.1));
+		bullet.setMass(Mass.Type.NORMAL);
+		bullet.setLinearVelocity(300.0, 0.0);
+		world.addBody(bullet);
+		
+		return world;
+	}
+	
+	/**
+	 * Tests that speculative contacts prevent tunneling.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void speculativeContacts() {
+		World none = this.createBullet(Settings.ContinuousDetectionMode.NONE);
+		World speculative = this.createBullet(Settings.ContinuousDetectionMode.SPECULATIVE);
+		World pooled = this.createBullet(Settings.ContinuousDetectionMode.SPECULATIVE);
+		pooled.getSettings().setObjectPoolingEnabled(true);
+		
+		none.step(10);
+		speculative.step(10);
+		pooled.step(10);
+		
+		// without continuous detection the bullet passes through the wall
+		TestCase.assertTrue(none.getBody(1).getWorldCenter().x > 5.0);
+		// with speculative contacts the bullet stops at the wall
+		TestCase.assertTrue(speculative.getBody(1).getWorldCenter().x < 5.0);
+		// reusing the separation and manifold should give the same result
+		TestCase.assertEquals(speculative.getBody(1).getWorldCenter().x, pooled.getBody(1).getWorldCenter().x);
+	}
+	
+	/**
+	 * Tests that two bullets whose paths cross during a step are found by
+	 * the time of impact solver even though their AABBs don't overlap
+	 * at the beginning or at the end of the step.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void crossingBullets() {
+		World world = new World();
+		world.setGravity(World.ZERO_GRAVITY);
+		
+		Body b1 = new Body();
+		b1.addFixture(Geometry.createCircle(0.1));
+		b1.setMass(Mass.Type.NORMAL);
+		b1.translate(-0.9, 0.0);
+		b1.setLinearVelocity(108.0, 0.0);
+		b1.setBullet(true);
+		world.addBody(b1);
+		
+		Body b2 = new Body();
+		b2.addFixture(Geometry.createCircle(0.1));
+		b2.setMass(Mass.Type.NORMAL);
+		b2.translate(0.0, -0.9);
+		b2.setLinearVelocity(0.0, 108.0);
+		b2.setBullet(true);
+		world.addBody(b2);
+		
+		world.step(1);
+		
+		// both bullets should be stopped before the crossing point
+		TestCase.assertTrue(b1.getWorldCenter().x < 0.0);
+		TestCase.assertTrue(b2.getWorldCenter().y < 0.0);
+	}
+	
+	/**
+	 * Tests that the time of impact solver finds a static body that was moved
+	 * into the path of a bullet after the last collision detection.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void movedStaticBody() {
+		World world = new World();
+		world.setGravity(World.ZERO_GRAVITY);
+		
+		Body wall = new Body();
+		wall.addFixture(Geometry.createRectangle(0.1, 4.0));
+		wall.setMass(Mass.Type.INFINITE);
+		wall.translate(50.0, 0.0);
+		world.addBody(wall);
+		
+		Body bullet = new Body();
+		bullet.addFixture(Geometry.createCircle(0.1));
+		bullet.setMass(Mass.Type.NORMAL);
+		bullet.setLinearVelocity(108.0, 0.0);
+		bullet.setBullet(true);
+		world.addBody(bullet);
+		
+		world.step(1);
+		
+		// move the wall in front of the bullet
+		wall.translate(-47.0, 0.0);
+		world.step(1);
+		
+		TestCase.assertTrue(bullet.getWorldCenter().x < 3.0);
+	}
+	
+	/**
+	 * Creates a world with a single large island of touching boxes.
+	 * @return {@link World}
+	 */
+	private World createPile() {
+		World world = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(50.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		floor.translate(20.0, -0.5);
+		world.addBody(floor);
+		
+		// the columns slightly overlap so that all the boxes are in contact
+		for (int i = 0; i < 40; i++) {
+			for (int j = 0; j < 8; j++) {
+				Body box = new Body();
+				box.addFixture(Geometry.createSquare(1.0));
+				box.setMass();
+				box.translate(i * 0.995 + 0.5, j * 0.995 + 0.5);
+				world.addBody(box);
+			}
+		}
+		
+		return world;
+	}
+	
+	/**
+	 * Tests that solving the contacts of one large island in parallel produces
+	 * nearly the same result as solving them serially.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void parallelContactSolving() {
+		World serial = this.createPile();
+		World parallel = this.createPile();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			parallel.setExecutorService(executor);
+			parallel.getSettings().setParallelContactSolvingEnabled(true);
+			parallel.getSettings().setWorkerCount(4);
+			
+			serial.step(60);
+			parallel.step(60);
+			
+			TestCase.assertSame(executor, parallel.island.contactConstraintSolver.getExecutorService());
+			TestCase.assertNull(serial.island.contactConstraintSolver.getExecutorService());
+		} finally {
+			executor.shutdown();
+		}
+		
+		// the contacts are solved in a different order so the results differ slightly
+		int size = serial.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = serial.getBody(i).getTransform();
+			Transform t2 = parallel.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX(), 0.05);
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY(), 0.05);
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation(), 0.05);
+		}
+	}
+	
+	/**
+	 * Tests that no two contact constraints of the same color share a body with finite
+	 * mass and that solving the contacts in parallel never modifies the static bodies.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void parallelContactSolvingColors() {
+		World world = this.createPile();
+		final List<ContactConstraint> contactConstraints = new ArrayList<ContactConstraint>();
+		world.addListener(new CollisionAdapter() {
+			@Override
+			public boolean collision(ContactConstraint contactConstraint) {
+				contactConstraints.add(contactConstraint);
+				return true;
+			}
+		});
+		// the second step only detects the contacts once
+		world.step(1);
+		contactConstraints.clear();
+		world.step(1);
+		
+		Body floor = world.getBody(0);
+		Transform transform = floor.getTransform();
+		int version = transform.getVersion();
+		double x = transform.getTranslationX();
+		double y = transform.getTranslationY();
+		double r = transform.getRotation();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ColorSolver solver = new ColorSolver(world);
+			solver.setExecutorService(executor);
+			solver.setup(contactConstraints);
+			
+			// the bodies with finite mass can only be used once per color
+			Map<Integer, Set<Body>> colors = new HashMap<Integer, Set<Body>>();
+			boolean shared = false;
+			int size = contactConstraints.size();
+			for (int i = 0; i < size; i++) {
+				int color = solver.getColor(i);
+				TestCase.assertTrue(color >= 0);
+				Set<Body> bodies = colors.get(color);
+				if (bodies == null) {
+					bodies = new HashSet<Body>();
+					colors.put(color, bodies);
+				}
+				ContactConstraint cc = contactConstraints.get(i);
+				Body[] pair = new Body[] { cc.getBody1(), cc.getBody2() };
+				for (Body body : pair) {
+					if (body.getMass().isInfinite()) {
+						shared |= !bodies.add(body);
+					} else {
+						TestCase.assertTrue(bodies.add(body));
+					}
+				}
+			}
+			// the floor should be shared by contact constraints of the same color
+			TestCase.assertTrue(shared);
+			
+			world.setExecutorService(executor);
+			world.getSettings().setParallelContactSolvingEnabled(true);
+			world.getSettings().setWorkerCount(4);
+			world.step(60);
+		} finally {
+			executor.shutdown();
+		}
+		
+		// the floor should never be modified
+		TestCase.assertEquals(version, transform.getVersion());
+		TestCase.assertEquals(x, transform.getTranslationX());
+		TestCase.assertEquals(y, transform.getTranslationY());
+		TestCase.assertEquals(r, transform.getRotation());
+	}
+	
+	/**
+	 * Contact constraint solver used to inspect the coloring.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class ColorSolver extends ContactConstraintSolver {
+		/**
+		 * Full constructor.
+		 * @param world the world
+		 */
+		public ColorSolver(World world) {
+			super(world);
+		}
+		
+		/* (non-Javadoc)
+		 * @see org.dyn4j.dynamics.contact.ContactConstraintSolver#getColor(int)
+		 */
+		@Override
+		protected int getColor(int index) {
+			return super.getColor(index);
+		}
+	}
+	
+	/**
+	 * Creates a world with a small stack of boxes on a floor.
+	 * @return {@link World}
+	 * @since 3.1.11
+	 */
+	private World createStack() {
+		World world = new World();
+		
+		Body floor = new Body();
+		floor.addFixture(Geometry.createRectangle(10.0, 1.0));
+		floor.setMass(Mass.Type.INFINITE);
+		floor.translate(0.0, -0.5);
+		world.addBody(floor);
+		
+		for (int i = 0; i < 3; i++) {
+			Body box = new Body();
+			box.addFixture(Geometry.createSquare(1.0));
+			box.setMass();
+			box.translate(0.0, i + 0.5);
+			world.addBody(box);
+		}
+		
+		return world;
+	}
+	
+	/**
+	 * Tests that freezing the contacts of sleeping bodies produces the same
+	 * result as detecting them each step.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void frozenContacts() {
+		World world = this.createStack();
+		World frozen = this.createStack();
+		frozen.getSettings().setFrozenContactsEnabled(true);
+		frozen.getSettings().setObjectPoolingEnabled(true);
+		
+		// let the stack fall asleep
+		world.step(200);
+		frozen.step(200);
+		
+		Body top = frozen.getBody(3);
+		TestCase.assertTrue(top.isAsleep());
+		TestCase.assertTrue(top.isFrozen());
+		// the frozen contacts should be kept
+		TestCase.assertEquals(1, top.contacts.size());
+		TestCase.assertEquals(2, frozen.getBody(2).contacts.size());
+		TestCase.assertEquals(1, frozen.getBody(0).contacts.size());
+		TestCase.assertSame(top, frozen.getBody(2).contacts.get(1).getOther());
+		TestCase.assertSame(top.contacts.get(0).getContactConstraint(), 
+				frozen.getBody(2).contacts.get(1).getContactConstraint());
+		
+		// waking a body should unfreeze it
+		world.getBody(3).applyImpulse(new Vector2(0.5, 0.0));
+		top.applyImpulse(new Vector2(0.5, 0.0));
+		TestCase.assertFalse(top.isFrozen());
+		
+		world.step(10);
+		frozen.step(10);
+		
+		int size = world.getBodyCount();
+		for (int i = 0; i < size; i++) {
+			Transform t1 = world.getBody(i).getTransform();
+			Transform t2 = frozen.getBody(i).getTransform();
+			TestCase.assertEquals(t1.getTranslationX(), t2.getTranslationX());
+			TestCase.assertEquals(t1.getTranslationY(), t2.getTranslationY());
+			TestCase.assertEquals(t1.getRotation(), t2.getRotation());
+		}
+	}
 }
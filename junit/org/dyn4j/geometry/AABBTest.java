@@ -34,7 +34,7 @@ import org.junit.Test;
 /**
  * Test case for the AABB class.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 3.0.0
  */
 public class AABBTest {
@@ -239,6 +239,20 @@ public class AABBTest {
 		TestCase.assertFalse(aabb4.contains(aabb1));
 	}
 	
+	/**
+	 * Test the contains bounds method.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void containsBounds() {
+		AABB aabb = new AABB(-2.0, 0.0, 2.0, 1.0);
+		TestCase.assertFalse(aabb.contains(-1.0, -2.0, 5.0, 2.0));
+		TestCase.assertFalse(aabb.contains(3.0, 2.0, 4.0, 3.0));
+		TestCase.assertTrue(aabb.contains(-1.0, 0.25, 1.0, 0.75));
+		// the bounds are inclusive
+		TestCase.assertTrue(aabb.contains(-2.0, 0.0, 2.0, 1.0));
+	}
+	
 	/**
 	 * Tests the getWidth method.
 	 * @since 3.0.2
@@ -36,7 +36,7 @@ import org.junit.Test;
 /**
  * Test case for the {@link Polygon} class.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class PolygonTest {
@@ -369,4 +369,171 @@ public class PolygonTest {
 		TestCase.assertEquals( 2.366, aabb.getMaxX(), 1.0e-3);
 		TestCase.assertEquals( 2.866, aabb.getMaxY(), 1.0e-3);
 	}
+	
+	/**
+	 * Tests the hill climbing support function against testing every vertex.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getFarthestLargePolygon() {
+		Polygon p = Geometry.createUnitCirclePolygon(64, 1.0);
+		Vector2[] vertices = p.getVertices();
+		
+		Transform tx = new Transform();
+		tx.rotate(Math.toRadians(12.0));
+		tx.translate(1.0, -2.0);
+		
+		// test many directions, including the edge normals
+		for (int i = 0; i < 512; i++) {
+			Vector2 n = new Vector2(Math.PI * 2.0 * i / 512.0);
+			
+			// find the farthest vertex by testing all of them
+			Vector2 ln = tx.getInverseTransformedR(n);
+			int expected = 0;
+			for (int j = 1; j < vertices.length; j++) {
+				if (ln.dot(vertices[j]) > ln.dot(vertices[expected])) {
+					expected = j;
+				}
+			}
+			
+			// no starting index
+			TestCase.assertEquals(expected, p.getFarthestVertexIndex(n, tx, -1));
+			
+			// every starting index
+			for (int j = 0; j < vertices.length; j++) {
+				TestCase.assertEquals(expected, p.getFarthestVertexIndex(n, tx, j));
+			}
+			
+			// the support functions
+			Vector2 point = p.getFarthestPoint(n, tx);
+			TestCase.assertTrue(point.equals(tx.getTransformed(vertices[expected])));
+			
+			Edge edge = p.getFarthestFeature(n, tx);
+			TestCase.assertTrue(edge.getMaximum().getPoint().equals(tx.getTransformed(vertices[expected])));
+		}
+	}
+	
+	/**
+	 * Tests the world space vertices and normals are reused until the transform or polygon changes.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getWorldVertices() {
+		Polygon p = Geometry.createUnitCirclePolygon(5, 1.0);
+		Vector2[] vertices = p.getVertices();
+		Vector2[] normals = p.getNormals();
+		
+		Transform tx = new Transform();
+		tx.setCacheable(true);
+		tx.rotate(Math.toRadians(30.0));
+		tx.translate(1.0, 2.0);
+		
+		double[] wv = p.getWorldVertices(tx);
+		double[] wn = p.getWorldNormals(tx);
+		TestCase.assertEquals(vertices.length * 2, wv.length);
+		for (int i = 0; i < vertices.length; i++) {
+			Vector2 v = tx.getTransformed(vertices[i]);
+			Vector2 n = tx.getTransformedR(normals[i]);
+			TestCase.assertEquals(v.x, wv[i * 2]);
+			TestCase.assertEquals(v.y, wv[i * 2 + 1]);
+			TestCase.assertEquals(n.x, wn[i * 2]);
+			TestCase.assertEquals(n.y, wn[i * 2 + 1]);
+		}
+		
+		// the same transform should reuse the data
+		TestCase.assertSame(wv, p.getWorldVertices(tx));
+		p.createAABB(tx);
+		TestCase.assertSame(wv, p.getWorldVertices(tx));
+		
+		// an equal, but different, transform should not
+		Transform tx2 = tx.copy();
+		tx2.setCacheable(true);
+		TestCase.assertNotSame(wv, p.getWorldVertices(tx2));
+		
+		// a transform that isn't cacheable should never reuse the data
+		Transform tx3 = tx.copy();
+		TestCase.assertFalse(tx3.isCacheable());
+		TestCase.assertNotSame(p.getWorldVertices(tx3), p.getWorldVertices(tx3));
+		TestCase.assertEquals(wv[0], p.getWorldVertices(tx3)[0]);
+		
+		// modifying the transform should update the data in place
+		wv = p.getWorldVertices(tx);
+		double x = wv[0];
+		double y = wv[1];
+		tx.translate(1.0, 0.0);
+		double[] wv2 = p.getWorldVertices(tx);
+		TestCase.assertSame(wv, wv2);
+		TestCase.assertEquals(x + 1.0, wv2[0], 1.0e-10);
+		TestCase.assertEquals(y, wv2[1], 1.0e-10);
+		
+		// modifying the polygon should not
+		p.translate(0.0, 1.0);
+		double[] wv3 = p.getWorldVertices(tx);
+		Vector2 t = tx.getTransformedR(new Vector2(0.0, 1.0));
+		TestCase.assertNotSame(wv2, wv3);
+		TestCase.assertEquals(wv2[0] + t.x, wv3[0], 1.0e-10);
+		TestCase.assertEquals(wv2[1] + t.y, wv3[1], 1.0e-10);
+		
+		// and the bounds should match, with or without the cache
+		AABB aabb = p.createAABB(tx);
+		AABB aabb2 = p.createAABB(tx.copy());
+		TestCase.assertEquals(aabb.getMinX(), aabb2.getMinX(), 1.0e-10);
+		TestCase.assertEquals(aabb.getMinY(), aabb2.getMinY(), 1.0e-10);
+		TestCase.assertEquals(aabb.getMaxX(), aabb2.getMaxX(), 1.0e-10);
+		TestCase.assertEquals(aabb.getMaxY(), aabb2.getMaxY(), 1.0e-10);
+		Interval i1 = p.project(Vector2.X_AXIS, tx);
+		Interval i2 = p.project(Vector2.X_AXIS, tx.copy());
+		TestCase.assertEquals(i1.getMin(), i2.getMin(), 1.0e-10);
+		TestCase.assertEquals(i1.getMax(), i2.getMax(), 1.0e-10);
+		double minX = wv3[0], maxX = wv3[0], minY = wv3[1], maxY = wv3[1];
+		for (int i = 1; i < vertices.length; i++) {
+			minX = Math.min(minX, wv3[i * 2]);
+			maxX = Math.max(maxX, wv3[i * 2]);
+			minY = Math.min(minY, wv3[i * 2 + 1]);
+			maxY = Math.max(maxY, wv3[i * 2 + 1]);
+		}
+		TestCase.assertEquals(minX, aabb.getMinX());
+		TestCase.assertEquals(maxX, aabb.getMaxX());
+		TestCase.assertEquals(minY, aabb.getMinY());
+		TestCase.assertEquals(maxY, aabb.getMaxY());
+	}
+	
+	/**
+	 * Tests that the world space data of a polygon shared by a few transforms is
+	 * reused for each transform.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getWorldVerticesShared() {
+		Polygon p = Geometry.createUnitCirclePolygon(5, 1.0);
+		
+		Transform[] transforms = new Transform[4];
+		double[][] vertices = new double[4][];
+		for (int i = 0; i < 4; i++) {
+			transforms[i] = new Transform();
+			transforms[i].setCacheable(true);
+			transforms[i].translate(i, 0.0);
+			vertices[i] = p.getWorldVertices(transforms[i]);
+		}
+		
+		// each transform should reuse its own data
+		for (int i = 0; i < 4; i++) {
+			p.createAABB(transforms[i]);
+			TestCase.assertSame(vertices[i], p.getWorldVertices(transforms[i]));
+		}
+		
+		// a fifth transform should replace the oldest data
+		Transform transform = new Transform();
+		transform.setCacheable(true);
+		p.getWorldVertices(transform);
+		TestCase.assertNotSame(vertices[0], p.getWorldVertices(transforms[0]));
+		TestCase.assertSame(vertices[2], p.getWorldVertices(transforms[2]));
+		
+		// a new transform should reuse the arrays of stale data
+		transforms[3].translate(1.0, 0.0);
+		transform = new Transform();
+		transform.setCacheable(true);
+		TestCase.assertSame(vertices[3], p.getWorldVertices(transform));
+		TestCase.assertSame(vertices[2], p.getWorldVertices(transforms[2]));
+	}
 }
@@ -432,4 +432,39 @@ public class TransformTest {
 	public void identityTranslate2() {
 		Transform.IDENTITY.translate(2, 3);
 	}
+	
+	/**
+	 * Tests the version changes when the transform is modified.
+	 * @since 3.1.11
+	 */
+	@Test
+	public void getVersion() {
+		Transform tx = new Transform();
+		int version = tx.getVersion();
+		
+		tx.translate(1.0, 0.0);
+		TestCase.assertTrue(version != tx.getVersion());
+		version = tx.getVersion();
+		
+		tx.rotate(0.5);
+		TestCase.assertTrue(version != tx.getVersion());
+		version = tx.getVersion();
+		
+		tx.setTranslationY(2.0);
+		TestCase.assertTrue(version != tx.getVersion());
+		version = tx.getVersion();
+		
+		tx.identity();
+		TestCase.assertTrue(version != tx.getVersion());
+		version = tx.getVersion();
+		
+		tx.lerp(new Transform(), 0.5);
+		TestCase.assertTrue(version != tx.getVersion());
+		version = tx.getVersion();
+		
+		// queries should not change the version
+		tx.getTransformed(new Vector2(1.0, 1.0));
+		tx.getRotation();
+		TestCase.assertEquals(version, tx.getVersion());
+	}
 }
@@ -60,6 +60,7 @@ public class SettingsPanel extends JPanel implements InputPanel {
 	private static final ComboItem[] CCD_MODES = new ComboItem[] {
 		new ComboItem(Messages.getString("ccd.mode.all"), Settings.ContinuousDetectionMode.ALL),
 		new ComboItem(Messages.getString("ccd.mode.bulletsOnly"), Settings.ContinuousDetectionMode.BULLETS_ONLY),
+		new ComboItem(Messages.getString("ccd.mode.speculative"), Settings.ContinuousDetectionMode.SPECULATIVE),
 		new ComboItem(Messages.getString("ccd.mode.none"), Settings.ContinuousDetectionMode.NONE)
 	};
 	
@@ -737,6 +737,8 @@ public class XmlReader extends DefaultHandler {
 				this.settings.setContinuousDetectionMode(Settings.ContinuousDetectionMode.BULLETS_ONLY);
 			} else if (Settings.ContinuousDetectionMode.NONE.toString().equalsIgnoreCase(s)) {
 				this.settings.setContinuousDetectionMode(Settings.ContinuousDetectionMode.NONE);
+			} else if (Settings.ContinuousDetectionMode.SPECULATIVE.toString().equalsIgnoreCase(s)) {
+				this.settings.setContinuousDetectionMode(Settings.ContinuousDetectionMode.SPECULATIVE);
 			} else {
 				throw new SAXException(MessageFormat.format(Messages.getString("exception.persist.unknownCCDMode"), s));
 			}
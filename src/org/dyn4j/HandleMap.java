@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents a map of handles to values.
+ * <p>
+ * This map uses open addressing with primitive long keys so that look ups do not
+ * require boxing or object hashing.  It's intended to be used with the handles
+ * generated by the {@link Handles} class.
+ * <p>
+ * Null values are not allowed.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ * @param <V> the value type
+ */
+public class HandleMap<V> {
+	/** The default initial capacity */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/** The keys */
+	protected long[] keys;
+	
+	/** The values; a null value denotes an empty slot */
+	protected Object[] values;
+	
+	/** The number of entries */
+	protected int size;
+	
+	/** The mask used to wrap slot indices */
+	protected int mask;
+	
+	/** The number of entries before the arrays are grown */
+	protected int threshold;
+	
+	/**
+	 * Default constructor.
+	 */
+	public HandleMap() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * The map will grow past the initial capacity if necessary.
+	 * @param initialCapacity the estimated number of entries
+	 * @throws IllegalArgumentException if initialCapacity is less than zero
+	 */
+	public HandleMap(int initialCapacity) {
+		if (initialCapacity < 0) throw new IllegalArgumentException(Messages.getString("handleMap.invalidInitialCapacity"));
+		// find the smallest power of two that keeps the load under 3/4
+		int capacity = 2;
+		while (capacity * 3 / 4 < initialCapacity) {
+			capacity <<= 1;
+		}
+		this.allocate(capacity);
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("HandleMap[Size=").append(this.size)
+		.append("|Capacity=").append(this.keys.length)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Allocates the arrays for the given capacity.
+	 * @param capacity the capacity; must be a power of two
+	 */
+	private void allocate(int capacity) {
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+		this.threshold = capacity * 3 / 4;
+	}
+	
+	/**
+	 * Returns the slot index for the given handle.
+	 * @param handle the handle
+	 * @return int
+	 */
+	private int slot(long handle) {
+		// handles are typically sequential so mix the bits
+		long h = handle * 0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32)) & this.mask;
+	}
+	
+	/**
+	 * Returns the value for the given handle or null if the handle
+	 * is not in this map.
+	 * @param handle the handle
+	 * @return V
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long handle) {
+		int i = this.slot(handle);
+		Object value;
+		while ((value = this.values[i]) != null) {
+			if (this.keys[i] == handle) {
+				return (V)value;
+			}
+			i = (i + 1) & this.mask;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns true if the given handle is in this map.
+	 * @param handle the handle
+	 * @return boolean
+	 */
+	public boolean containsKey(long handle) {
+		return this.get(handle) != null;
+	}
+	
+	/**
+	 * Adds the given handle and value to this map.
+	 * <p>
+	 * Returns the previous value for the handle or null if the
+	 * handle was not in this map.
+	 * @param handle the handle
+	 * @param value the value
+	 * @return V
+	 * @throws NullPointerException if value is null
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long handle, V value) {
+		if (value == null) throw new NullPointerException(Messages.getString("handleMap.nullValue"));
+		int i = this.slot(handle);
+		Object current;
+		while ((current = this.values[i]) != null) {
+			if (this.keys[i] == handle) {
+				// replace the value
+				this.values[i] = value;
+				return (V)current;
+			}
+			i = (i + 1) & this.mask;
+		}
+		// add to the empty slot
+		this.keys[i] = handle;
+		this.values[i] = value;
+		this.size++;
+		// check if we need to grow
+		if (this.size > this.threshold) {
+			this.grow();
+		}
+		return null;
+	}
+	
+	/**
+	 * Removes the given handle from this map.
+	 * <p>
+	 * Returns the value for the handle or null if the handle was
+	 * not in this map.
+	 * @param handle the handle
+	 * @return V
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long handle) {
+		int i = this.slot(handle);
+		Object value;
+		while ((value = this.values[i]) != null) {
+			if (this.keys[i] == handle) {
+				this.values[i] = null;
+				this.size--;
+				// shift back any entries that were displaced
+				// past the removed slot so that they can still be found
+				int j = (i + 1) & this.mask;
+				while (this.values[j] != null) {
+					int k = this.slot(this.keys[j]);
+					// check if the entry's home slot is cyclically outside (i, j]
+					if ((j > i && (k <= i || k > j)) || (j < i && (k <= i && k > j))) {
+						this.keys[i] = this.keys[j];
+						this.values[i] = this.values[j];
+						this.values[j] = null;
+						i = j;
+					}
+					j = (j + 1) & this.mask;
+				}
+				return (V)value;
+			}
+			i = (i + 1) & this.mask;
+		}
+		return null;
+	}
+	
+	/**
+	 * Doubles the capacity of this map.
+	 */
+	private void grow() {
+		long[] keys = this.keys;
+		Object[] values = this.values;
+		this.allocate(keys.length << 1);
+		// re-insert the entries
+		for (int i = 0; i < keys.length; i++) {
+			Object value = values[i];
+			if (value != null) {
+				int j = this.slot(keys[i]);
+				while (this.values[j] != null) {
+					j = (j + 1) & this.mask;
+				}
+				this.keys[j] = keys[i];
+				this.values[j] = value;
+			}
+		}
+	}
+	
+	/**
+	 * Removes all the entries from this map.
+	 */
+	public void clear() {
+		if (this.size == 0) return;
+		int capacity = this.values.length;
+		for (int i = 0; i < capacity; i++) {
+			this.values[i] = null;
+		}
+		this.size = 0;
+	}
+	
+	/**
+	 * Returns the number of entries in this map.
+	 * @return int
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Returns true if this map has no entries.
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class used to generate handles for objects.
+ * <p>
+ * A handle is a compact identifier that is unique among all the handles generated
+ * by this class during the life of the application.  Unlike a {@link java.util.UUID}, 
+ * a handle is cheap to create, compare and hash.
+ * <p>
+ * Handles are not unique between applications or runs of the same application and
+ * should not be persisted.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public final class Handles {
+	/** The next handle */
+	private static final AtomicLong NEXT = new AtomicLong();
+	
+	/**
+	 * Hidden default constructor.
+	 */
+	private Handles() {}
+	
+	/**
+	 * Returns a new unique handle.
+	 * <p>
+	 * This method is thread safe.
+	 * @return long
+	 */
+	public static final long next() {
+		return NEXT.getAndIncrement();
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.dyn4j.resources.Messages;
+
+/**
+ * Class used to execute tasks in parallel using an {@link ExecutorService}.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public final class Tasks {
+	/**
+	 * Hidden default constructor.
+	 */
+	private Tasks() {}
+	
+	/**
+	 * Executes the given tasks using the given {@link ExecutorService} and waits for
+	 * all of them to complete.
+	 * <p>
+	 * If any task fails, its exception is rethrown on the calling thread.
+	 * @param executorService the {@link ExecutorService}
+	 * @param tasks the tasks to execute
+	 * @throws IllegalStateException if the calling thread is interrupted while waiting
+	 */
+	public static final <T> void invokeAll(ExecutorService executorService, Collection<? extends Callable<T>> tasks) {
+		try {
+			List<Future<T>> futures = executorService.invokeAll(tasks);
+			int size = futures.size();
+			for (int i = 0; i < size; i++) {
+				futures.get(i).get();
+			}
+		} catch (InterruptedException e) {
+			// restore the interrupted status
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(Messages.getString("tasks.interrupted"), e);
+		} catch (ExecutionException e) {
+			// rethrow the exception of the failed task
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if (cause instanceof Error) throw (Error)cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+}
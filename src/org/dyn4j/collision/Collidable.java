@@ -34,7 +34,7 @@ import org.dyn4j.geometry.Transformable;
 /**
  * Represents an object that can collide with other objects.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  */
 public interface Collidable extends Transformable {
@@ -45,6 +45,18 @@ public interface Collidable extends Transformable {
 	 */
 	public abstract UUID getId();
 	
+	/**
+	 * Returns a compact unique identifier for this {@link Collidable}.
+	 * <p>
+	 * Unlike the {@link #getId()}, the handle is cheap to create, compare and hash and
+	 * is used by the broad-phase to look up this {@link Collidable}.  The handle must
+	 * not change for the life of this {@link Collidable}.  Use {@link org.dyn4j.Handles#next()}
+	 * to generate a handle.
+	 * @return long the handle
+	 * @since 3.1.11
+	 */
+	public abstract long getHandle();
+	
 	/**
 	 * Creates an {@link AABB} from this {@link Collidable}.
 	 * <p>
@@ -27,6 +27,7 @@ package org.dyn4j.collision;
 import java.util.UUID;
 
 import org.dyn4j.collision.Filter;
+import org.dyn4j.Handles;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.resources.Messages;
@@ -37,12 +38,15 @@ import org.dyn4j.resources.Messages;
  * A {@link Fixture} has a one-to-one relationship with a {@link Convex} {@link Shape}.
  * Each {@link Collidable} can have any number of {@link Fixture}s attached.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 2.0.0
  */
 public class Fixture {
-	/** The id for the fixture */
-	protected UUID id = UUID.randomUUID();
+	/** The id for the fixture; created when first requested */
+	protected volatile UUID id;
+	
+	/** The handle for the fixture */
+	protected long handle = Handles.next();
 	
 	/** The convex shape for this fixture */
 	protected Convex shape;
@@ -74,7 +78,7 @@ public class Fixture {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("Fixture[Id=").append(this.id)
+		sb.append("Fixture[Id=").append(this.getId())
 		.append("|Shape=").append(this.shape)
 		.append("|Filter=").append(this.filter)
 		.append("|IsSensor=").append(this.sensor)
@@ -88,7 +92,32 @@ public class Fixture {
 	 * @return UUID
 	 */
 	public UUID getId() {
-		return this.id;
+		// create the id when its first needed (double checked since the
+		// id could be requested from several threads at the same time)
+		UUID id = this.id;
+		if (id == null) {
+			synchronized (this) {
+				id = this.id;
+				if (id == null) {
+					id = UUID.randomUUID();
+					this.id = id;
+				}
+			}
+		}
+		return id;
+	}
+	
+	/**
+	 * Returns the handle for this fixture.
+	 * <p>
+	 * The handle is a compact unique identifier that is cheaper to compare
+	 * and hash than the {@link #getId()}.
+	 * @return long
+	 * @see Handles
+	 * @since 3.1.11
+	 */
+	public long getHandle() {
+		return this.handle;
 	}
 	
 	/**
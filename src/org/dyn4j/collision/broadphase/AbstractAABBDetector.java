@@ -24,7 +24,15 @@
  */
 package org.dyn4j.collision.broadphase;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.dyn4j.Tasks;
 import org.dyn4j.collision.Collidable;
+import org.dyn4j.collision.Fixture;
 import org.dyn4j.geometry.AABB;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Transform;
@@ -33,14 +41,147 @@ import org.dyn4j.geometry.Transform;
  * Abstract implementation of a {@link BroadphaseDetector} providing AABB
  * (Axis Aligned Bounding Box) detection methods.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.1.11
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
 public abstract class AbstractAABBDetector<E extends Collidable> implements BroadphaseDetector<E> {
+	/** The number of collidables computed by each task of a parallel batch update */
+	private static final int SHARD_SIZE = 256;
+	
 	/** The {@link AABB} expansion value */
 	protected double expansion = BroadphaseDetector.DEFAULT_AABB_EXPANSION;
 	
+	/** The reusable bounds of the last batch update as min x, min y, max x, max y values */
+	private double[] batchBounds = new double[0];
+	
+	/** The reusable flags of the last batch update; true if the collidable must be reinserted */
+	private boolean[] batchMoved = new boolean[0];
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#updateAll(java.util.List)
+	 */
+	@Override
+	public void updateAll(List<E> collidables) {
+		this.updateAll(collidables, null);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#updateAll(java.util.List, java.util.concurrent.ExecutorService)
+	 */
+	@Override
+	public void updateAll(final List<E> collidables, ExecutorService executorService) {
+		final int size = collidables.size();
+		// make sure the arrays are big enough
+		if (this.batchMoved.length < size) {
+			this.batchBounds = new double[size * 4];
+			this.batchMoved = new boolean[size];
+		}
+		final double[] bounds = this.batchBounds;
+		final boolean[] moved = this.batchMoved;
+		
+		// compute the aabbs and test them against the expanded aabbs
+		if (executorService == null || size <= SHARD_SIZE) {
+			this.updateBounds(collidables, 0, size, bounds, moved);
+		} else {
+			int shards = (size + SHARD_SIZE - 1) / SHARD_SIZE;
+			List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(shards);
+			for (int i = 0; i < shards; i++) {
+				final int start = i * SHARD_SIZE;
+				final int end = Math.min(size, start + SHARD_SIZE);
+				tasks.add(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						updateBounds(collidables, start, end, bounds, moved);
+						return null;
+					}
+				});
+			}
+			Tasks.invokeAll(executorService, tasks);
+		}
+		
+		// reinsert the collidables that moved out of their expanded aabbs
+		for (int i = 0; i < size; i++) {
+			if (moved[i]) {
+				int j = i * 4;
+				this.update(collidables.get(i), bounds[j], bounds[j + 1], bounds[j + 2], bounds[j + 3]);
+			}
+		}
+	}
+	
+	/**
+	 * Computes the bounds of the given range of {@link Collidable}s and tests them against
+	 * their expanded {@link AABB}s.
+	 * <p>
+	 * This method only reads the state of this broadphase so that ranges can be computed
+	 * concurrently.
+	 * @param collidables the {@link Collidable}s
+	 * @param start the index of the first {@link Collidable} (inclusive)
+	 * @param end the index of the last {@link Collidable} (exclusive)
+	 * @param bounds the destination for the bounds
+	 * @param moved the destination for the flags; true if the bounds are not contained
+	 */
+	private void updateBounds(List<E> collidables, int start, int end, double[] bounds, boolean[] moved) {
+		for (int i = start; i < end; i++) {
+			E collidable = collidables.get(i);
+			int j = i * 4;
+			double minX = 0.0, minY = 0.0, maxX = 0.0, maxY = 0.0;
+			// union the fixture aabbs
+			Transform transform = collidable.getTransform();
+			int fSize = collidable.getFixtureCount();
+			for (int k = 0; k < fSize; k++) {
+				AABB aabb = collidable.getFixture(k).getShape().createAABB(transform);
+				if (k == 0) {
+					minX = aabb.getMinX(); minY = aabb.getMinY();
+					maxX = aabb.getMaxX(); maxY = aabb.getMaxY();
+				} else {
+					minX = Math.min(minX, aabb.getMinX()); minY = Math.min(minY, aabb.getMinY());
+					maxX = Math.max(maxX, aabb.getMaxX()); maxY = Math.max(maxY, aabb.getMaxY());
+				}
+			}
+			bounds[j] = minX;
+			bounds[j + 1] = minY;
+			bounds[j + 2] = maxX;
+			bounds[j + 3] = maxY;
+			moved[i] = !this.contains(collidable, minX, minY, maxX, maxY);
+		}
+	}
+	
+	/**
+	 * Returns true if the expanded {@link AABB} of the given {@link Collidable} contains
+	 * the given bounds or if the given {@link Collidable} has not been added to this broadphase.
+	 * <p>
+	 * This method must only read the state of this broadphase since it's called concurrently
+	 * by the {@link #updateAll(List, ExecutorService)} method.
+	 * @param collidable the {@link Collidable}
+	 * @param minX the minimum x coordinate of the bounds
+	 * @param minY the minimum y coordinate of the bounds
+	 * @param maxX the maximum x coordinate of the bounds
+	 * @param maxY the maximum y coordinate of the bounds
+	 * @return boolean
+	 * @since 3.1.11
+	 */
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		AABB aabb = this.getAABB(collidable);
+		return aabb == null || aabb.contains(minX, minY, maxX, maxY);
+	}
+	
+	/**
+	 * Updates the given {@link Collidable} using the given bounds.
+	 * <p>
+	 * Does nothing if the given bounds are still contained in the expanded {@link AABB} of 
+	 * the given {@link Collidable} or it has not been added to this broadphase.
+	 * @param collidable the {@link Collidable}
+	 * @param minX the minimum x coordinate of the bounds
+	 * @param minY the minimum y coordinate of the bounds
+	 * @param maxX the maximum x coordinate of the bounds
+	 * @param maxY the maximum y coordinate of the bounds
+	 * @since 3.1.11
+	 */
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
+		this.update(collidable);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.collision.Collidable, org.dyn4j.collision.Collidable)
 	 */
@@ -73,6 +214,66 @@ public abstract class AbstractAABBDetector<E extends Collidable> implements Broa
 		return false;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.collision.Collidable, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public List<E> detect(E collidable, Transform initialTransform, Transform finalTransform) {
+		// compute the swept AABB
+		AABB aabb = this.createSweptAABB(collidable, initialTransform, finalTransform);
+		
+		// find the overlapping collidables
+		List<E> list = this.detect(aabb);
+		
+		// remove the given collidable
+		Iterator<E> it = list.iterator();
+		while (it.hasNext()) {
+			if (it.next() == collidable) {
+				it.remove();
+				break;
+			}
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * Returns the expanded {@link AABB} containing the given {@link Collidable} at
+	 * both the given initial and final {@link Transform}s.
+	 * <p>
+	 * A degenerate {@link AABB} at the final position is returned if the given
+	 * {@link Collidable} does not have any fixtures.
+	 * @param collidable the {@link Collidable}
+	 * @param initialTransform the initial {@link Transform}
+	 * @param finalTransform the final {@link Transform}
+	 * @return {@link AABB}
+	 * @since 3.1.11
+	 */
+	protected AABB createSweptAABB(E collidable, Transform initialTransform, Transform finalTransform) {
+		int size = collidable.getFixtureCount();
+		if (size == 0) {
+			double x = finalTransform.getTranslationX();
+			double y = finalTransform.getTranslationY();
+			return new AABB(x, y, x, y);
+		}
+		
+		// union the fixture AABBs at both transforms
+		Fixture fixture = collidable.getFixture(0);
+		Convex convex = fixture.getShape();
+		AABB aabb = convex.createAABB(initialTransform);
+		aabb.union(convex.createAABB(finalTransform));
+		for (int i = 1; i < size; i++) {
+			fixture = collidable.getFixture(i);
+			convex = fixture.getShape();
+			aabb.union(convex.createAABB(initialTransform));
+			aabb.union(convex.createAABB(finalTransform));
+		}
+		
+		// expand it to match the broadphase AABBs
+		aabb.expand(this.expansion);
+		return aabb;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#getAABBExpansion()
 	 */
@@ -0,0 +1,985 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.broadphase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dyn4j.HandleMap;
+import org.dyn4j.collision.Collidable;
+import org.dyn4j.collision.Collisions;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Implementation of an axis-aligned bounding box tree that stores its nodes in parallel arrays.
+ * <p>
+ * This class uses the same self-balancing binary tree and perimeter heuristic as the 
+ * {@link DynamicAABBTree}, however, nodes are indices into primitive arrays rather than 
+ * objects.  Removed nodes are placed on a free list and reused, which means that adding, 
+ * removing and updating collidables does not allocate internal nodes or {@link AABB}s once 
+ * the arrays have grown to the required size.  The contiguous storage also reduces cache 
+ * misses when traversing the tree.
+ * <p>
+ * The {@link #getAABB(Collidable)} method returns a new {@link AABB} on each invocation
+ * since the bounds are not stored as {@link AABB} objects.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ * @param <E> the {@link Collidable} type
+ */
+public class ArrayAABBTree<E extends Collidable> extends AbstractAABBDetector<E> implements BroadphaseDetector<E> {
+	/** The index used to represent the absence of a node */
+	protected static final int NULL_NODE = -1;
+	
+	/** The minimum x value of each node's aabb */
+	protected double[] minX;
+	
+	/** The minimum y value of each node's aabb */
+	protected double[] minY;
+	
+	/** The maximum x value of each node's aabb */
+	protected double[] maxX;
+	
+	/** The maximum y value of each node's aabb */
+	protected double[] maxY;
+	
+	/** The parent of each node; the next free node for nodes on the free list */
+	protected int[] parent;
+	
+	/** The left child of each node; {@link #NULL_NODE} for leaf nodes */
+	protected int[] left;
+	
+	/** The right child of each node; {@link #NULL_NODE} for leaf nodes */
+	protected int[] right;
+	
+	/** The height of each node's subtree */
+	protected int[] height;
+	
+	/** The collidable of each node; null if the node is not a leaf node */
+	protected Object[] collidables;
+	
+	/** Flag used to determine if a node has been tested before */
+	protected boolean[] tested;
+	
+	/** The index of each leaf node in the {@link #proxies} array */
+	protected int[] proxyIndex;
+	
+	/** The number of nodes currently in use */
+	protected int nodeCount;
+	
+	/** The head of the free node list */
+	protected int freeList;
+	
+	/** The root node of the tree */
+	protected int root;
+	
+	/** The unsorted list of leaf nodes */
+	protected int[] proxies;
+	
+	/** The number of leaf nodes */
+	protected int proxyCount;
+	
+	/** Id to node map for fast lookup */
+	protected HandleMap<Integer> proxyMap;
+	
+	/**
+	 * Default constructor.
+	 */
+	public ArrayAABBTree() {
+		this(64);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * Allows fine tuning of the initial capacity of local storage for faster running times.
+	 * @param initialCapacity the initial capacity of local storage
+	 * @throws IllegalArgumentException if initialCapacity is less than zero
+	 */
+	public ArrayAABBTree(int initialCapacity) {
+		this.proxyMap = new HandleMap<Integer>(initialCapacity);
+		// a tree with n leaf nodes has 2n - 1 nodes
+		int capacity = Math.max(2, initialCapacity * 2);
+		this.minX = new double[capacity];
+		this.minY = new double[capacity];
+		this.maxX = new double[capacity];
+		this.maxY = new double[capacity];
+		this.parent = new int[capacity];
+		this.left = new int[capacity];
+		this.right = new int[capacity];
+		this.height = new int[capacity];
+		this.collidables = new Object[capacity];
+		this.tested = new boolean[capacity];
+		this.proxyIndex = new int[capacity];
+		this.proxies = new int[Math.max(1, initialCapacity)];
+		this.root = NULL_NODE;
+		this.link(0);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#add(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void add(E collidable) {
+		// create an aabb for the collidable
+		AABB aabb = collidable.createAABB();
+		// expand the aabb
+		aabb.expand(this.expansion);
+		// create a new node for the collidable
+		int node = this.allocate();
+		this.collidables[node] = collidable;
+		this.setAABB(node, aabb);
+		// add the proxy to the list
+		if (this.proxyCount == this.proxies.length) {
+			int[] temp = new int[this.proxies.length * 2];
+			System.arraycopy(this.proxies, 0, temp, 0, this.proxyCount);
+			this.proxies = temp;
+		}
+		this.proxyIndex[node] = this.proxyCount;
+		this.proxies[this.proxyCount++] = node;
+		// add the proxy to the map
+		this.proxyMap.put(collidable.getHandle(), node);
+		// insert the node into the tree
+		this.insert(node);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#remove(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void remove(E collidable) {
+		// find the node in the map and remove it
+		Integer index = this.proxyMap.remove(collidable.getHandle());
+		// make sure it was found
+		if (index != null) {
+			int node = index;
+			// remove the node from the tree
+			this.remove(node);
+			// remove the node from the list by moving the
+			// last proxy into its place
+			int i = this.proxyIndex[node];
+			int last = this.proxies[--this.proxyCount];
+			this.proxies[i] = last;
+			this.proxyIndex[last] = i;
+			// return the node to the free list
+			this.free(node);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#update(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void update(E collidable) {
+		// create the new aabb
+		AABB aabb = collidable.createAABB();
+		// update using its bounds
+		this.update(collidable, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#contains(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		Integer index = this.proxyMap.get(collidable.getHandle());
+		if (index == null) return true;
+		int node = index;
+		return this.minX[node] <= minX && this.maxX[node] >= maxX &&
+			this.minY[node] <= minY && this.maxY[node] >= maxY;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#update(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
+		// get the node from the map
+		Integer index = this.proxyMap.get(collidable.getHandle());
+		// make sure we found it
+		if (index != null) {
+			int node = index;
+			// see if the old aabb contains the new one
+			if (this.minX[node] <= minX && this.maxX[node] >= maxX &&
+				this.minY[node] <= minY && this.maxY[node] >= maxY) {
+				// if so, don't do anything
+				return;
+			}
+			// otherwise expand the new aabb
+			AABB aabb = new AABB(minX, minY, maxX, maxY);
+			aabb.expand(this.expansion);
+			// remove the current node from the tree
+			this.remove(node);
+			// set the new aabb
+			this.setAABB(node, aabb);
+			// reinsert the node
+			this.insert(node);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#clear()
+	 */
+	@Override
+	public void clear() {
+		this.proxyMap.clear();
+		this.proxyCount = 0;
+		this.nodeCount = 0;
+		this.root = NULL_NODE;
+		// release the collidable references
+		int size = this.collidables.length;
+		for (int i = 0; i < size; i++) {
+			this.collidables[i] = null;
+		}
+		// put all the nodes back on the free list
+		this.link(0);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#getAABB(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public AABB getAABB(E collidable) {
+		Integer index = this.proxyMap.get(collidable.getHandle());
+		if (index != null) {
+			int node = index;
+			return new AABB(this.minX[node], this.minY[node], this.maxX[node], this.maxY[node]);
+		}
+		return null;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect()
+	 */
+	@Override
+	public List<BroadphasePair<E>> detect() {
+		// get the number of proxies
+		int size = this.proxyCount;
+		
+		// check the size
+		if (size == 0) {
+			// return the empty list
+			return Collections.emptyList();
+		}
+		
+		// clear all the tested flags on the nodes
+		for (int i = 0; i < size; i++) {
+			this.tested[this.proxies[i]] = false;
+		}
+		
+		// the estimated size of the pair list
+		int eSize = Collisions.getEstimatedCollisionPairs(size);
+		List<BroadphasePair<E>> pairs = new ArrayList<BroadphasePair<E>>(eSize);
+		
+		// test each collidable in the list
+		for (int i = 0; i < size; i++) {
+			// get the current collidable to test
+			int node = this.proxies[i];
+			// perform a stackless detection routine
+			this.detectNonRecursive(node, this.root, pairs);
+			// update the tested flag
+			this.tested[node] = true;
+		}
+		
+		// return the list of pairs
+		return pairs;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.geometry.AABB)
+	 */
+	@Override
+	public List<E> detect(AABB aabb) {
+		return this.detectNonRecursive(aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY(), this.root);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#raycast(org.dyn4j.geometry.Ray, double)
+	 */
+	@Override
+	public List<E> raycast(Ray ray, double length) {
+		// check the size of the proxy list
+		if (this.proxyCount == 0) {
+			// return an empty list
+			return Collections.emptyList();
+		}
+		
+		// create an aabb from the ray
+		Vector2 s = ray.getStart();
+		Vector2 d = ray.getDirectionVector();
+		
+		// get the length
+		double l = length;
+		if (length <= 0.0) l = Double.MAX_VALUE;
+		
+		// compute the coordinates
+		double x1 = s.x;
+		double x2 = s.x + d.x * l;
+		double y1 = s.y;
+		double y2 = s.y + d.y * l;
+		
+		// pass the extents to the aabb detection routine
+		return this.detectNonRecursive(
+				Math.min(x1, x2),
+				Math.min(y1, y2),
+				Math.max(x1, x2),
+				Math.max(y1, y2),
+				this.root);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#shiftCoordinates(org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void shiftCoordinates(Vector2 shift) {
+		// we need to update all nodes in the tree (not just the
+		// nodes that contain the bodies) so just translate the
+		// arrays (translating the free nodes is harmless)
+		int size = this.minX.length;
+		for (int i = 0; i < size; i++) {
+			this.minX[i] += shift.x;
+			this.minY[i] += shift.y;
+			this.maxX[i] += shift.x;
+			this.maxY[i] += shift.y;
+		}
+	}
+	
+	/**
+	 * Returns true if the given node's aabb overlaps the given extents.
+	 * @param node the node
+	 * @param minX the minimum x value
+	 * @param minY the minimum y value
+	 * @param maxX the maximum x value
+	 * @param maxY the maximum y value
+	 * @return boolean
+	 */
+	protected boolean overlaps(int node, double minX, double minY, double maxX, double maxY) {
+		return !(this.minX[node] > maxX || this.maxX[node] < minX || 
+				 this.minY[node] > maxY || this.maxY[node] < minY);
+	}
+	
+	/**
+	 * Internal non-recursive detection method.
+	 * @param node the node to test
+	 * @param root the root node of the subtree
+	 * @param pairs the list of pairs to add to
+	 */
+	@SuppressWarnings("unchecked")
+	protected void detectNonRecursive(int node, int root, List<BroadphasePair<E>> pairs) {
+		// get the extents of the desired node
+		double x0 = this.minX[node];
+		double y0 = this.minY[node];
+		double x1 = this.maxX[node];
+		double y1 = this.maxY[node];
+		Object collidable = this.collidables[node];
+		// start at the root node
+		int n = root;
+		// perform a iterative, stack-less, traversal of the tree
+		while (n != NULL_NODE) {
+			// check if the current node overlaps the desired node
+			if (this.overlaps(n, x0, y0, x1, y1)) {
+				// if they do overlap, then check the left child node
+				if (this.left[n] != NULL_NODE) {
+					// if the left is not null, then check that subtree
+					n = this.left[n];
+					continue;
+				} else {
+					// if both are null, then this is a leaf node
+					// check the tested flag to avoid duplicates and
+					// verify we aren't testing the same collidable against
+					// itself
+					if (!this.tested[n] && this.collidables[n] != collidable) {
+						// its a leaf so add the pair
+						BroadphasePair<E> pair = new BroadphasePair<E>(
+								(E)collidable,				// A
+								(E)this.collidables[n]);	// B
+						// add the pair to the list of pairs
+						pairs.add(pair);
+					}
+					// if its a leaf node then we need to go back up the
+					// tree and test nodes we haven't yet
+				}
+			}
+			// go back up the tree until we find the first left
+			// node (every internal node has two children)
+			n = this.next(n);
+		}
+	}
+	
+	/**
+	 * Internal non-recursive {@link AABB} detection method.
+	 * @param minX the minimum x value of the {@link AABB} to test
+	 * @param minY the minimum y value of the {@link AABB} to test
+	 * @param maxX the maximum x value of the {@link AABB} to test
+	 * @param maxY the maximum y value of the {@link AABB} to test
+	 * @param node the root node of the subtree
+	 * @return List a list containing the results
+	 */
+	@SuppressWarnings("unchecked")
+	protected List<E> detectNonRecursive(double minX, double minY, double maxX, double maxY, int node) {
+		// get the estimated collision count
+		int eSize = Collisions.getEstimatedCollisions();
+		List<E> list = new ArrayList<E>(eSize);
+		// perform a iterative, stack-less, traversal of the tree
+		while (node != NULL_NODE) {
+			// check if the current node overlaps the desired node
+			if (this.overlaps(node, minX, minY, maxX, maxY)) {
+				// if they do overlap, then check the left child node
+				if (this.left[node] != NULL_NODE) {
+					// if the left is not null, then check that subtree
+					node = this.left[node];
+					continue;
+				} else {
+					// if both are null, then this is a leaf node
+					list.add((E)this.collidables[node]);
+				}
+			}
+			// go back up the tree until we find the first left
+			// node (every internal node has two children)
+			node = this.next(node);
+		}
+		
+		return list;
+	}
+	
+	/**
+	 * Returns the next node in a stack-less traversal after the given
+	 * node's subtree has been processed.
+	 * <p>
+	 * Returns {@link #NULL_NODE} if the traversal is complete.
+	 * @param node the current node
+	 * @return int
+	 */
+	protected int next(int node) {
+		int p = this.parent[node];
+		while (p != NULL_NODE) {
+			// check if the current node the left child of its parent
+			if (this.left[p] == node) {
+				// the sibling node is the next node
+				return this.right[p];
+			}
+			// otherwise go to the parent node
+			node = p;
+			p = this.parent[node];
+		}
+		return NULL_NODE;
+	}
+	
+	/**
+	 * Internal method to insert a node into the tree.
+	 * @param item the node to insert
+	 */
+	protected void insert(int item) {
+		// make sure the root is not null
+		if (this.root == NULL_NODE) {
+			// if it is then set this node as the root
+			this.root = item;
+			this.parent[item] = NULL_NODE;
+			// return from the insert method
+			return;
+		}
+		
+		// get the new node's aabb
+		double ix0 = this.minX[item];
+		double iy0 = this.minY[item];
+		double ix1 = this.maxX[item];
+		double iy1 = this.maxY[item];
+		
+		// start looking for the insertion point at the root
+		int node = this.root;
+		// loop until node is a leaf or we find a better location
+		while (this.left[node] != NULL_NODE) {
+			// the perimeter heuristic is better than area for 2D because
+			// a line segment aligned with the x or y axis will generate
+			// zero area
+			
+			// get its perimeter
+			double perimeter = this.getPerimeter(node);
+			
+			// get the perimeter of the union of the new node's aabb and the current aabb
+			double unionPerimeter = this.getUnionPerimeter(node, ix0, iy0, ix1, iy1);
+			
+			// compute the cost of creating a new parent for the new
+			// node and the current node
+			double cost = 2 * unionPerimeter;
+			
+			// compute the minimum cost of descending further down the tree
+			double descendCost = 2 * (unionPerimeter - perimeter);
+			
+			// get the left and right nodes
+			int left = this.left[node];
+			int right = this.right[node];
+			
+			// compute the cost of descending to the left
+			double costl = this.getUnionPerimeter(left, ix0, iy0, ix1, iy1) + descendCost;
+			if (this.left[left] != NULL_NODE) {
+				costl -= this.getPerimeter(left);
+			}
+			// compute the cost of descending to the right
+			double costr = this.getUnionPerimeter(right, ix0, iy0, ix1, iy1) + descendCost;
+			if (this.left[right] != NULL_NODE) {
+				costr -= this.getPerimeter(right);
+			}
+			
+			// see if the cost to create a new parent node for the new
+			// node and the current node is better than the children of
+			// this node
+			if (cost < costl && cost < costr) {
+				break;
+			}
+			
+			// if not then choose the next best node to try
+			if (costl < costr) {
+				node = left;
+			} else {
+				node = right;
+			}
+		}
+		
+		// now that we have found a suitable place, insert a new root
+		// node for node and item
+		int oldParent = this.parent[node];
+		int newParent = this.allocate();
+		this.parent[newParent] = oldParent;
+		this.setUnion(newParent, node, item);
+		this.height[newParent] = this.height[node] + 1;
+		
+		if (oldParent != NULL_NODE) {
+			// node is not the root node
+			if (this.left[oldParent] == node) {
+				this.left[oldParent] = newParent;
+			} else {
+				this.right[oldParent] = newParent;
+			}
+		} else {
+			// node is the root item
+			this.root = newParent;
+		}
+		
+		this.left[newParent] = node;
+		this.right[newParent] = item;
+		this.parent[node] = newParent;
+		this.parent[item] = newParent;
+		
+		// fix the heights and aabbs
+		this.refit(newParent);
+	}
+	
+	/**
+	 * Internal method to remove a node from the tree.
+	 * <p>
+	 * The given node is not returned to the free list.
+	 * @param node the node to remove
+	 */
+	protected void remove(int node) {
+		// check for an empty tree
+		if (this.root == NULL_NODE) return;
+		// check the root node
+		if (node == this.root) {
+			// set the root to null
+			this.root = NULL_NODE;
+			// return from the remove method
+			return;
+		}
+		
+		// get the node's parent, grandparent, and sibling
+		int parent = this.parent[node];
+		int grandparent = this.parent[parent];
+		int other;
+		if (this.left[parent] == node) {
+			other = this.right[parent];
+		} else {
+			other = this.left[parent];
+		}
+		
+		// the parent node is no longer needed
+		this.parent[node] = NULL_NODE;
+		this.free(parent);
+		
+		// check if the grandparent is null
+		// indicating that the parent is the root
+		if (grandparent != NULL_NODE) {
+			// remove the node by overwriting the parent node
+			// reference in the grandparent with the sibling
+			if (this.left[grandparent] == parent) {
+				this.left[grandparent] = other;
+			} else {
+				this.right[grandparent] = other;
+			}
+			// set the siblings parent to the grandparent
+			this.parent[other] = grandparent;
+			
+			// finally rebalance the tree
+			this.refit(grandparent);
+		} else {
+			// the parent is the root so set the root to the sibling
+			this.root = other;
+			// set the siblings parent to null
+			this.parent[other] = NULL_NODE;
+		}
+	}
+	
+	/**
+	 * Balances and updates the heights and aabbs of the given node
+	 * and all its ancestors.
+	 * @param node the node to start at
+	 */
+	protected void refit(int node) {
+		while (node != NULL_NODE) {
+			// balance the current subtree
+			node = this.balance(node);
+			
+			int left = this.left[node];
+			int right = this.right[node];
+			
+			// neither node should be null
+			this.height[node] = 1 + Math.max(this.height[left], this.height[right]);
+			this.setUnion(node, left, right);
+			
+			node = this.parent[node];
+		}
+	}
+	
+	/**
+	 * Balances the subtree using node as the root.
+	 * @param node the root node of the subtree to balance
+	 * @return int the new root of the subtree
+	 */
+	protected int balance(int node) {
+		int a = node;
+		
+		// see if the node is a leaf node or if
+		// it doesn't have enough children to be unbalanced
+		if (this.left[a] == NULL_NODE || this.height[a] < 2) {
+			// return since there isn't any work to perform
+			return a;
+		}
+		
+		// get the nodes left and right children
+		int b = this.left[a];
+		int c = this.right[a];
+		
+		// compute the balance factor for node a
+		int balance = this.height[c] - this.height[b];
+		
+		// if the balance is off on the right side
+		if (balance > 1) {
+			// get the c's left and right nodes
+			int f = this.left[c];
+			int g = this.right[c];
+			
+			// switch a and c
+			this.left[c] = a;
+			this.parent[c] = this.parent[a];
+			this.parent[a] = c;
+			
+			// update c's parent to point to c instead of a
+			this.replaceChild(this.parent[c], a, c);
+			
+			// compare the balance of the children of c
+			if (this.height[f] > this.height[g]) {
+				// rotate left
+				this.right[c] = f;
+				this.right[a] = g;
+				this.parent[g] = a;
+				// update the aabb
+				this.setUnion(a, b, g);
+				this.setUnion(c, a, f);
+				// update the heights
+				this.height[a] = 1 + Math.max(this.height[b], this.height[g]);
+				this.height[c] = 1 + Math.max(this.height[a], this.height[f]);
+			} else {
+				// rotate right
+				this.right[c] = g;
+				this.right[a] = f;
+				this.parent[f] = a;
+				// update the aabb
+				this.setUnion(a, b, f);
+				this.setUnion(c, a, g);
+				// update the heights
+				this.height[a] = 1 + Math.max(this.height[b], this.height[f]);
+				this.height[c] = 1 + Math.max(this.height[a], this.height[g]);
+			}
+			// c is the new root node of the subtree
+			return c;
+		}
+		// if the balance is off on the left side
+		if (balance < -1) {
+			// get b's children
+			int d = this.left[b];
+			int e = this.right[b];
+			
+			// switch a and b
+			this.left[b] = a;
+			this.parent[b] = this.parent[a];
+			this.parent[a] = b;
+			
+			// update b's parent to point to b instead of a
+			this.replaceChild(this.parent[b], a, b);
+			
+			// compare the balance of the children of b
+			if (this.height[d] > this.height[e]) {
+				// rotate left
+				this.right[b] = d;
+				this.left[a] = e;
+				this.parent[e] = a;
+				// update the aabb
+				this.setUnion(a, c, e);
+				this.setUnion(b, a, d);
+				// update the heights
+				this.height[a] = 1 + Math.max(this.height[c], this.height[e]);
+				this.height[b] = 1 + Math.max(this.height[a], this.height[d]);
+			} else {
+				// rotate right
+				this.right[b] = e;
+				this.left[a] = d;
+				this.parent[d] = a;
+				// update the aabb
+				this.setUnion(a, c, d);
+				this.setUnion(b, a, e);
+				// update the heights
+				this.height[a] = 1 + Math.max(this.height[c], this.height[d]);
+				this.height[b] = 1 + Math.max(this.height[a], this.height[e]);
+			}
+			// b is the new root node of the subtree
+			return b;
+		}
+		// no balancing required so return the original subtree root node
+		return a;
+	}
+	
+	/**
+	 * Replaces the given child of the given parent node with the new child.
+	 * <p>
+	 * If the parent is {@link #NULL_NODE} the new child becomes the root.
+	 * @param parent the parent node
+	 * @param child the current child node
+	 * @param newChild the new child node
+	 */
+	protected void replaceChild(int parent, int child, int newChild) {
+		if (parent != NULL_NODE) {
+			if (this.left[parent] == child) {
+				this.left[parent] = newChild;
+			} else {
+				this.right[parent] = newChild;
+			}
+		} else {
+			this.root = newChild;
+		}
+	}
+	
+	/**
+	 * Sets the aabb of the given node.
+	 * @param node the node
+	 * @param aabb the aabb
+	 */
+	protected void setAABB(int node, AABB aabb) {
+		this.minX[node] = aabb.getMinX();
+		this.minY[node] = aabb.getMinY();
+		this.maxX[node] = aabb.getMaxX();
+		this.maxY[node] = aabb.getMaxY();
+	}
+	
+	/**
+	 * Sets the aabb of the given node to the union of the aabbs of nodes a and b.
+	 * @param node the node to set
+	 * @param a the first node
+	 * @param b the second node
+	 */
+	protected void setUnion(int node, int a, int b) {
+		this.minX[node] = Math.min(this.minX[a], this.minX[b]);
+		this.minY[node] = Math.min(this.minY[a], this.minY[b]);
+		this.maxX[node] = Math.max(this.maxX[a], this.maxX[b]);
+		this.maxY[node] = Math.max(this.maxY[a], this.maxY[b]);
+	}
+	
+	/**
+	 * Returns the perimeter of the given node's aabb.
+	 * @param node the node
+	 * @return double
+	 */
+	protected double getPerimeter(int node) {
+		return 2 * (this.maxX[node] - this.minX[node] + this.maxY[node] - this.minY[node]);
+	}
+	
+	/**
+	 * Returns the perimeter of the union of the given node's aabb and the given extents.
+	 * @param node the node
+	 * @param minX the minimum x value
+	 * @param minY the minimum y value
+	 * @param maxX the maximum x value
+	 * @param maxY the maximum y value
+	 * @return double
+	 */
+	protected double getUnionPerimeter(int node, double minX, double minY, double maxX, double maxY) {
+		double w = Math.max(this.maxX[node], maxX) - Math.min(this.minX[node], minX);
+		double h = Math.max(this.maxY[node], maxY) - Math.min(this.minY[node], minY);
+		return 2 * (w + h);
+	}
+	
+	/**
+	 * Returns a node from the free list, growing the arrays if necessary.
+	 * @return int the node
+	 */
+	protected int allocate() {
+		// check for an empty free list
+		if (this.freeList == NULL_NODE) {
+			// double the capacity
+			int capacity = this.minX.length;
+			int size = capacity * 2;
+			this.minX = this.grow(this.minX, size);
+			this.minY = this.grow(this.minY, size);
+			this.maxX = this.grow(this.maxX, size);
+			this.maxY = this.grow(this.maxY, size);
+			this.parent = this.grow(this.parent, size);
+			this.left = this.grow(this.left, size);
+			this.right = this.grow(this.right, size);
+			this.height = this.grow(this.height, size);
+			this.proxyIndex = this.grow(this.proxyIndex, size);
+			boolean[] tested = new boolean[size];
+			System.arraycopy(this.tested, 0, tested, 0, capacity);
+			this.tested = tested;
+			Object[] collidables = new Object[size];
+			System.arraycopy(this.collidables, 0, collidables, 0, capacity);
+			this.collidables = collidables;
+			// add the new nodes to the free list
+			this.link(capacity);
+		}
+		// pop the head of the free list
+		int node = this.freeList;
+		this.freeList = this.parent[node];
+		this.parent[node] = NULL_NODE;
+		this.left[node] = NULL_NODE;
+		this.right[node] = NULL_NODE;
+		this.height[node] = 0;
+		this.tested[node] = false;
+		this.nodeCount++;
+		return node;
+	}
+	
+	/**
+	 * Returns the given node to the free list.
+	 * @param node the node
+	 */
+	protected void free(int node) {
+		this.collidables[node] = null;
+		this.parent[node] = this.freeList;
+		this.height[node] = -1;
+		this.freeList = node;
+		this.nodeCount--;
+	}
+	
+	/**
+	 * Links all nodes from the given index to the end of the arrays
+	 * and makes them the free list.
+	 * @param start the first node
+	 */
+	private void link(int start) {
+		int size = this.parent.length;
+		for (int i = start; i < size - 1; i++) {
+			this.parent[i] = i + 1;
+			this.height[i] = -1;
+		}
+		this.parent[size - 1] = NULL_NODE;
+		this.height[size - 1] = -1;
+		this.freeList = start;
+	}
+	
+	/**
+	 * Returns a copy of the given array with the given length.
+	 * @param array the array
+	 * @param size the new length
+	 * @return double[]
+	 */
+	private double[] grow(double[] array, int size) {
+		double[] temp = new double[size];
+		System.arraycopy(array, 0, temp, 0, array.length);
+		return temp;
+	}
+	
+	/**
+	 * Returns a copy of the given array with the given length.
+	 * @param array the array
+	 * @param size the new length
+	 * @return int[]
+	 */
+	private int[] grow(int[] array, int size) {
+		int[] temp = new int[size];
+		System.arraycopy(array, 0, temp, 0, array.length);
+		return temp;
+	}
+	
+	/**
+	 * Internal recursive method used to validate the state of the
+	 * subtree with the given node as the root.
+	 * <p>
+	 * Used for testing only.  Test using the -ea flag on the command line.
+	 * @param node the root of the subtree to validate
+	 */
+	protected void validate(int node) {
+		// just return if the given node is null
+		if (node == NULL_NODE) {
+			return;
+		}
+		// check if the node is the root node
+		if (node == this.root) {
+			// if so, then make sure its parent is null
+			assert(this.parent[node] == NULL_NODE);
+		}
+		
+		// get the left and right children
+		int left = this.left[node];
+		int right = this.right[node];
+		
+		// check if the node is a leaf
+		if (left == NULL_NODE) {
+			// if so, then both children should be null
+			// the height should be zero and the collidable
+			// should not be null
+			assert(right == NULL_NODE);
+			assert(this.height[node] == 0);
+			assert(this.collidables[node] != null);
+			return;
+		}
+		
+		// if its not a leaf node then check that both the right
+		// and the left aabbs are contained within this aabb
+		assert(this.minX[node] <= this.minX[left] && this.maxX[node] >= this.maxX[left]);
+		assert(this.minY[node] <= this.minY[left] && this.maxY[node] >= this.maxY[left]);
+		assert(this.minX[node] <= this.minX[right] && this.maxX[node] >= this.maxX[right]);
+		assert(this.minY[node] <= this.minY[right] && this.maxY[node] >= this.maxY[right]);
+		
+		// make sure the parent nodes of the children point to this node
+		assert(this.parent[left] == node);
+		assert(this.parent[right] == node);
+		
+		// validate the child subtrees
+		this.validate(left);
+		this.validate(right);
+	}
+}
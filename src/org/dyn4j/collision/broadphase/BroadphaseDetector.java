@@ -25,6 +25,7 @@
 package org.dyn4j.collision.broadphase;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
@@ -49,14 +50,15 @@ import org.dyn4j.geometry.Vector2;
  * returns the expanded {@link AABB}.  This expansion is used to reduce the number of updates to the
  * broadphase.  See the {@link #setAABBExpansion(double)} for more details on this value.
  * <p>
- * The {@link #detect()}, {@link #detect(AABB)}, {@link #raycast(Ray, double)} methods use the current state of
+ * The {@link #detect()}, {@link #detect(AABB)}, {@link #detect(Collidable, Transform, Transform)}, 
+ * {@link #raycast(Ray, double)} methods use the current state of
  * all the collidables that have been added.  Make sure that all changes have been reflected to the broadphase
  * using the {@link #update(Collidable)} method before calling these methods.
  * <p>
  * The {@link #detect(Collidable, Collidable)} and {@link #detect(Convex, Transform, Convex, Transform)} methods do not
  * use the current state of the broadphase.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.1.11
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -87,6 +89,40 @@ public interface BroadphaseDetector<E extends Collidable> {
 	 */
 	public void update(E collidable);
 	
+	/**
+	 * Updates all the given {@link Collidable}s.
+	 * <p>
+	 * This method has the same effect as calling the {@link #update(Collidable)} method
+	 * for each collidable, but computes the {@link AABB}s of all the collidables into 
+	 * primitive arrays in one pass and tests them against the expanded {@link AABB}s before
+	 * any collidable is reinserted.
+	 * <p>
+	 * The {@link AABB}s are computed from the fixtures and {@link Transform} of each collidable.
+	 * @param collidables the {@link Collidable}s
+	 * @since 3.1.11
+	 */
+	public void updateAll(List<E> collidables);
+	
+	/**
+	 * Updates all the given {@link Collidable}s using the given {@link ExecutorService}.
+	 * <p>
+	 * The {@link AABB}s and the expanded {@link AABB} containment tests are computed 
+	 * concurrently using the given {@link ExecutorService}.  The collidables whose {@link AABB}s
+	 * are no longer contained are then reinserted serially.  The {@link Convex} {@link Shape}s
+	 * of the collidables must be safe to use from multiple threads.  All the shapes in this 
+	 * library are.
+	 * <p>
+	 * The collidables are updated serially if the given {@link ExecutorService} is null or
+	 * there are too few collidables to benefit.  This method blocks until all the collidables
+	 * have been updated.
+	 * @param collidables the {@link Collidable}s
+	 * @param executorService the {@link ExecutorService}; can be null
+	 * @throws IllegalStateException if the calling thread is interrupted while waiting
+	 * @see #updateAll(List)
+	 * @since 3.1.11
+	 */
+	public void updateAll(List<E> collidables, ExecutorService executorService);
+	
 	/**
 	 * Clears all {@link Collidable}s from the broadphase.
 	 * @since 3.0.0
@@ -118,6 +154,25 @@ public interface BroadphaseDetector<E extends Collidable> {
 	 * @since 3.0.0
 	 */
 	public List<E> detect(AABB aabb);
+	
+	/**
+	 * Performs a broadphase collision test using the {@link AABB} swept by the given
+	 * {@link Collidable} from the given initial {@link Transform} to the given final
+	 * {@link Transform}.
+	 * <p>
+	 * The swept {@link AABB} is the union of the {@link AABB}s of the given {@link Collidable}
+	 * at both transforms, expanded by the expansion value.  It's tested against the current
+	 * {@link AABB}s of the collidables in this broadphase, so the motion of the other 
+	 * collidables isn't taken into account.
+	 * <p>
+	 * The returned list does not contain the given {@link Collidable}.
+	 * @param collidable the {@link Collidable}
+	 * @param initialTransform the initial {@link Transform}
+	 * @param finalTransform the final {@link Transform}
+	 * @return List list of all {@link Collidable}s whose {@link AABB}s overlap the swept {@link AABB}
+	 * @since 3.1.11
+	 */
+	public List<E> detect(E collidable, Transform initialTransform, Transform finalTransform);
 
 	/**
 	 * Performs a preliminary raycast over all the collidables in the broadphase to improve performance of the
@@ -26,11 +26,9 @@ package org.dyn4j.collision.broadphase;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
+import org.dyn4j.HandleMap;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Collisions;
 import org.dyn4j.geometry.AABB;
@@ -42,6 +40,11 @@ import org.dyn4j.geometry.Vector2;
  * <p>
  * This class uses a self-balancing binary tree to store the AABBs.  The AABBs are sorted using the perimeter.
  * The perimeter hueristic is better than area for 2D because axis aligned segments have zero area.
+ * <p>
+ * The pair cache can be enabled via the {@link #setPairCacheEnabled(boolean)} method.  When enabled, 
+ * the pairs are maintained across calls to {@link #detect()} and only the collidables whose expanded 
+ * {@link AABB} was reinserted in the tree since the last call are queried.  This is beneficial when 
+ * most of the collidables are not moving.
  * @author William Bittle
  * @version 3.1.11
  * @since 3.0.0
@@ -51,7 +54,7 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	/**
 	 * Represents a node in the tree.
 	 * @author William Bittle
-	 * @version 3.0.0
+	 * @version 3.1.11
 	 * @since 3.0.0
 	 */
 	protected class Node {
@@ -76,6 +79,12 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		/** Flag used to determine if a node has been tested before */
 		public boolean tested = false;
 		
+		/** Flag used to determine if a node is in the move buffer */
+		public boolean moved = false;
+		
+		/** The leaf nodes this leaf node overlaps; only used when the pair cache is enabled */
+		public List<Node> neighbors;
+		
 		/**
 		 * Returns true if this node is a leaf node.
 		 * @return boolean true if this node is a leaf node
@@ -92,7 +101,13 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	protected List<Node> proxyList;
 	
 	/** Id to node map for fast lookup */
-	protected Map<UUID, Node> proxyMap;
+	protected HandleMap<Node> proxyMap;
+	
+	/** True if the pairs should be maintained across calls to {@link #detect()} */
+	protected boolean pairCacheEnabled;
+	
+	/** The leaf nodes that have been added or reinserted since the last call to {@link #detect()} */
+	protected List<Node> moveBuffer;
 	
 	/**
 	 * Default constructor.
@@ -111,10 +126,9 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	 */
 	public DynamicAABBTree(int initialCapacity) {
 		this.proxyList = new ArrayList<Node>(initialCapacity);
-		// 0.75 = 3/4, we can garuantee that the hashmap will not need to be rehashed
-		// if we take capacity / load factor
-		// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
-		this.proxyMap = new HashMap<UUID, Node>(initialCapacity * 4 / 3 + 1, 0.75f);
+		this.proxyMap = new HandleMap<Node>(initialCapacity);
+		this.pairCacheEnabled = false;
+		this.moveBuffer = new ArrayList<Node>();
 	}
 	
 	/* (non-Javadoc)
@@ -133,9 +147,11 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		// add the proxy to the list
 		this.proxyList.add(node);
 		// add the proxy to the map
-		this.proxyMap.put(collidable.getId(), node);
+		this.proxyMap.put(collidable.getHandle(), node);
 		// insert the node into the tree
 		this.insert(node);
+		// the new node needs to be queried
+		this.bufferMove(node);
 	}
 	
 	/* (non-Javadoc)
@@ -144,15 +160,23 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	@Override
 	public void remove(E collidable) {
 		// find the node in the map
-		Node node = this.proxyMap.get(collidable.getId());
+		Node node = this.proxyMap.get(collidable.getHandle());
 		// make sure it was found
 		if (node != null) {
 			// remove the node from the tree
 			this.remove(node);
+			// remove any cached pairs with the node
+			if (this.pairCacheEnabled) {
+				this.unlink(node);
+				if (node.moved) {
+					this.moveBuffer.remove(node);
+					node.moved = false;
+				}
+			}
 			// remove the node from the list
 			this.proxyList.remove(node);
 			// remove the node from the map
-			this.proxyMap.remove(collidable.getId());
+			this.proxyMap.remove(collidable.getHandle());
 		}
 		
 	}
@@ -162,18 +186,37 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	 */
 	@Override
 	public void update(E collidable) {
+		// create the new aabb
+		AABB aabb = collidable.createAABB();
+		// update using its bounds
+		this.update(collidable, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#contains(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		Node node = this.proxyMap.get(collidable.getHandle());
+		return node == null || node.aabb.contains(minX, minY, maxX, maxY);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#update(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
 		// get the node from the map
-		Node node = this.proxyMap.get(collidable.getId());
+		Node node = this.proxyMap.get(collidable.getHandle());
 		// make sure we found it
 		if (node != null) {
-			// create the new aabb
-			AABB aabb = collidable.createAABB();
 			// see if the old aabb contains the new one
-			if (node.aabb.contains(aabb)) {
+			if (node.aabb.contains(minX, minY, maxX, maxY)) {
 				// if so, don't do anything
 				return;
 			}
 			// otherwise expand the new aabb
+			AABB aabb = new AABB(minX, minY, maxX, maxY);
 			aabb.expand(this.expansion);
 			// remove the current node from the tree
 			this.remove(node);
@@ -181,6 +224,8 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			node.aabb = aabb;
 			// reinsert the node
 			this.insert(node);
+			// the node's pairs may have changed
+			this.bufferMove(node);
 		}
 	}
 
@@ -191,6 +236,7 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	public void clear() {
 		this.proxyList.clear();
 		this.proxyMap.clear();
+		this.moveBuffer.clear();
 		this.root = null;
 	}
 
@@ -199,7 +245,7 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 	 */
 	@Override
 	public AABB getAABB(E collidable) {
-		Node node = this.proxyMap.get(collidable.getId());
+		Node node = this.proxyMap.get(collidable.getHandle());
 		if (node != null) {
 			return node.aabb;
 		}
@@ -220,6 +266,11 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 			return Collections.emptyList();
 		}
 		
+		// check for the pair cache
+		if (this.pairCacheEnabled) {
+			return this.detectIncremental();
+		}
+		
 		// clear all the tested flags on the nodes
 		for (int i = 0; i < size; i++) {
 			Node node = this.proxyList.get(i);
@@ -245,6 +296,124 @@ public class DynamicAABBTree<E extends Collidable> extends AbstractAABBDetector<
 		return pairs;
 	}
 	
+	/**
+	 * Returns true if the pair cache is enabled.
+	 * @return boolean
+	 * @see #setPairCacheEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isPairCacheEnabled() {
+		return this.pairCacheEnabled;
+	}
+	
+	/**
+	 * Toggles the pair cache.
+	 * <p>
+	 * When enabled, the pairs are stored across calls to the {@link #detect()} method and only
+	 * the collidables that were added or whose expanded {@link AABB} was reinserted by the
+	 * {@link #update(Collidable)} method are queried against the tree.  The {@link #detect()}
+	 * method still returns all the overlapping pairs.
+	 * <p>
+	 * This is beneficial when most of the collidables are static or not moving.
+	 * @param flag true if the pair cache should be enabled
+	 * @since 3.1.11
+	 */
+	public void setPairCacheEnabled(boolean flag) {
+		// check for no change
+		if (this.pairCacheEnabled == flag) return;
+		this.pairCacheEnabled = flag;
+		this.moveBuffer.clear();
+		int size = this.proxyList.size();
+		for (int i = 0; i < size; i++) {
+			Node node = this.proxyList.get(i);
+			node.moved = false;
+			node.neighbors = null;
+			// when enabling, all the proxies need to be queried
+			this.bufferMove(node);
+		}
+	}
+	
+	/**
+	 * Adds the given leaf node to the move buffer if the pair cache is enabled.
+	 * @param node the leaf node
+	 * @since 3.1.11
+	 */
+	protected void bufferMove(Node node) {
+		if (this.pairCacheEnabled && !node.moved) {
+			node.moved = true;
+			this.moveBuffer.add(node);
+		}
+	}
+	
+	/**
+	 * Removes all the cached pairs of the given leaf node.
+	 * @param node the leaf node
+	 * @since 3.1.11
+	 */
+	protected void unlink(Node node) {
+		List<Node> neighbors = node.neighbors;
+		if (neighbors == null) return;
+		int size = neighbors.size();
+		for (int i = 0; i < size; i++) {
+			neighbors.get(i).neighbors.remove(node);
+		}
+		neighbors.clear();
+	}
+	
+	/**
+	 * Updates the cached pairs using the nodes in the move buffer and
+	 * returns all the cached pairs.
+	 * @return List&lt;{@link BroadphasePair}&gt;
+	 * @since 3.1.11
+	 */
+	protected List<BroadphasePair<E>> detectIncremental() {
+		// remove the stale pairs of the moved nodes
+		int mSize = this.moveBuffer.size();
+		for (int i = 0; i < mSize; i++) {
+			this.unlink(this.moveBuffer.get(i));
+		}
+		
+		// query the tree for each moved node
+		for (int i = 0; i < mSize; i++) {
+			Node node = this.moveBuffer.get(i);
+			List<E> collidables = this.detectNonRecursive(node.aabb, this.root);
+			int cSize = collidables.size();
+			for (int j = 0; j < cSize; j++) {
+				Node other = this.proxyMap.get(collidables.get(j).getHandle());
+				// moved nodes that haven't been processed yet will
+				// find this node when they are processed
+				if (other.collidable == node.collidable || other.moved) continue;
+				// link the nodes
+				if (node.neighbors == null) node.neighbors = new ArrayList<Node>();
+				if (other.neighbors == null) other.neighbors = new ArrayList<Node>();
+				node.neighbors.add(other);
+				other.neighbors.add(node);
+			}
+			node.moved = false;
+		}
+		this.moveBuffer.clear();
+		
+		// build the list of pairs, reporting each pair once
+		int size = this.proxyList.size();
+		int eSize = Collisions.getEstimatedCollisionPairs(size);
+		List<BroadphasePair<E>> pairs = new ArrayList<BroadphasePair<E>>(eSize);
+		for (int i = 0; i < size; i++) {
+			Node node = this.proxyList.get(i);
+			List<Node> neighbors = node.neighbors;
+			if (neighbors == null) continue;
+			long handle = node.collidable.getHandle();
+			int nSize = neighbors.size();
+			for (int j = 0; j < nSize; j++) {
+				Node other = neighbors.get(j);
+				if (handle < other.collidable.getHandle()) {
+					pairs.add(new BroadphasePair<E>(node.collidable, other.collidable));
+				}
+			}
+		}
+		
+		return pairs;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.geometry.AABB)
 	 */
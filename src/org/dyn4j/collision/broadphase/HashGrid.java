@@ -0,0 +1,641 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.broadphase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dyn4j.HandleMap;
+import org.dyn4j.collision.Collidable;
+import org.dyn4j.collision.Collisions;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Implementation of a hashed uniform grid broad-phase collision detection algorithm.
+ * <p>
+ * The space is divided into square cells of a fixed size.  Each {@link Collidable}'s expanded
+ * {@link AABB} is added to all the cells it overlaps.  Only the occupied cells are stored, so 
+ * the grid is unbounded.
+ * <p>
+ * The {@link #detect()} method only tests the {@link Collidable}s that share a cell, giving
+ * linear performance when the {@link Collidable}s are similar in size and the cell size is 
+ * chosen appropriately.  A good cell size is slightly larger than the typical {@link Collidable}.
+ * {@link Collidable}s that would occupy more than {@link #MAXIMUM_CELL_COUNT} cells are not 
+ * added to any cell.  Instead they are kept in a separate list and tested against all the 
+ * other {@link Collidable}s.  Many of these will degrade performance.
+ * <p>
+ * Like the other detectors, the {@link #raycast(Ray, double)} method returns the 
+ * {@link Collidable}s whose expanded {@link AABB} overlaps the {@link AABB} of the ray.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ * @param <E> the {@link Collidable} type
+ */
+public class HashGrid<E extends Collidable> extends AbstractAABBDetector<E> implements BroadphaseDetector<E> {
+	/** The default cell size */
+	public static final double DEFAULT_CELL_SIZE = 1.0;
+	
+	/** The maximum number of cells a proxy can occupy before its kept in the large proxy list */
+	public static final int MAXIMUM_CELL_COUNT = 64;
+	
+	/** The maximum absolute cell index; cell indices are clamped to this value */
+	protected static final int MAXIMUM_CELL_INDEX = 1 << 30;
+	
+	/**
+	 * Internal class to hold the {@link Collidable} to {@link AABB} relationship.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	protected class Proxy {
+		/** The collidable */
+		public E collidable;
+		
+		/** The collidable's aabb */
+		public AABB aabb;
+		
+		/** The minimum cell x index */
+		public int minX;
+		
+		/** The minimum cell y index */
+		public int minY;
+		
+		/** The maximum cell x index */
+		public int maxX;
+		
+		/** The maximum cell y index */
+		public int maxY;
+		
+		/** The index of this proxy in the proxy list */
+		public int index;
+		
+		/** The stamp of the last query that returned this proxy */
+		public int stamp;
+		
+		/** True if this proxy is in the large proxy list rather than the cells */
+		public boolean large;
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append("Proxy[Collidable=").append(this.collidable.getId())
+			.append("|AABB=").append(this.aabb)
+			.append("|Cells=").append(this.minX).append(",").append(this.minY)
+			.append(" to ").append(this.maxX).append(",").append(this.maxY)
+			.append("]");
+			return sb.toString();
+		}
+	}
+	
+	/**
+	 * Represents an occupied cell in the grid.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	protected class Cell {
+		/** The cell x index */
+		public int x;
+		
+		/** The cell y index */
+		public int y;
+		
+		/** The proxies that overlap this cell */
+		public List<Proxy> proxies = new ArrayList<Proxy>(4);
+		
+		/** The index of this cell in the cell list */
+		public int index;
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append("Cell[X=").append(this.x)
+			.append("|Y=").append(this.y)
+			.append("|ProxyCount=").append(this.proxies.size())
+			.append("]");
+			return sb.toString();
+		}
+	}
+	
+	/** The size of each cell */
+	protected double cellSize;
+	
+	/** The inverse of the cell size */
+	protected double invCellSize;
+	
+	/** The unsorted list of proxies */
+	protected List<Proxy> proxyList;
+	
+	/** Id to proxy map for fast lookup */
+	protected HandleMap<Proxy> proxyMap;
+	
+	/** The list of proxies that span too many cells */
+	protected List<Proxy> largeProxyList;
+	
+	/** The list of occupied cells */
+	protected List<Cell> cellList;
+	
+	/** Cell key to cell map for fast lookup */
+	protected HandleMap<Cell> cellMap;
+	
+	/** The current query stamp used to avoid returning duplicates */
+	protected int stamp;
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses the {@link #DEFAULT_CELL_SIZE}.
+	 */
+	public HashGrid() {
+		this(64, DEFAULT_CELL_SIZE);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * @param cellSize the cell size
+	 * @throws IllegalArgumentException if cellSize is less than or equal to zero
+	 */
+	public HashGrid(double cellSize) {
+		this(64, cellSize);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * Allows fine tuning of the initial capacity of local storage for faster running times.
+	 * @param initialCapacity the initial capacity of local storage
+	 * @param cellSize the cell size
+	 * @throws IllegalArgumentException if initialCapacity is less than zero or if cellSize is less than or equal to zero
+	 */
+	public HashGrid(int initialCapacity, double cellSize) {
+		if (cellSize <= 0.0) throw new IllegalArgumentException(Messages.getString("collision.broadphase.hashGrid.invalidCellSize"));
+		this.proxyMap = new HandleMap<Proxy>(initialCapacity);
+		this.proxyList = new ArrayList<Proxy>(initialCapacity);
+		this.largeProxyList = new ArrayList<Proxy>();
+		this.cellMap = new HandleMap<Cell>(initialCapacity);
+		this.cellList = new ArrayList<Cell>(initialCapacity);
+		this.cellSize = cellSize;
+		this.invCellSize = 1.0 / cellSize;
+		this.stamp = 0;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#add(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void add(E collidable) {
+		// create an aabb for the collidable
+		AABB aabb = collidable.createAABB();
+		// expand the aabb
+		aabb.expand(this.expansion);
+		// create a new proxy for the collidable
+		Proxy proxy = new Proxy();
+		proxy.collidable = collidable;
+		proxy.aabb = aabb;
+		proxy.index = this.proxyList.size();
+		// add the proxy to the list and map
+		this.proxyList.add(proxy);
+		this.proxyMap.put(collidable.getHandle(), proxy);
+		// add the proxy to the cells
+		this.insert(proxy);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#remove(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void remove(E collidable) {
+		// find the proxy and remove it from the map
+		Proxy proxy = this.proxyMap.remove(collidable.getHandle());
+		// make sure it was found
+		if (proxy != null) {
+			// remove the proxy from the cells
+			this.remove(proxy);
+			// remove the proxy from the list by moving the last
+			// proxy into its place
+			Proxy last = this.proxyList.remove(this.proxyList.size() - 1);
+			if (last != proxy) {
+				last.index = proxy.index;
+				this.proxyList.set(proxy.index, last);
+			}
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#update(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void update(E collidable) {
+		// create the new aabb
+		AABB aabb = collidable.createAABB();
+		// update using its bounds
+		this.update(collidable, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#contains(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		return proxy == null || proxy.aabb.contains(minX, minY, maxX, maxY);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#update(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
+		// get the proxy from the map
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		// make sure we found it
+		if (proxy != null) {
+			// see if the old aabb contains the new one
+			if (proxy.aabb.contains(minX, minY, maxX, maxY)) {
+				// if so, don't do anything
+				return;
+			}
+			// otherwise expand the new aabb
+			AABB aabb = new AABB(minX, minY, maxX, maxY);
+			aabb.expand(this.expansion);
+			proxy.aabb = aabb;
+			// check if the proxy still occupies the same cells
+			if (proxy.minX == this.getCell(aabb.getMinX()) &&
+				proxy.minY == this.getCell(aabb.getMinY()) &&
+				proxy.maxX == this.getCell(aabb.getMaxX()) &&
+				proxy.maxY == this.getCell(aabb.getMaxY())) {
+				return;
+			}
+			// move the proxy to the new cells
+			this.remove(proxy);
+			this.insert(proxy);
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#clear()
+	 */
+	@Override
+	public void clear() {
+		this.proxyList.clear();
+		this.proxyMap.clear();
+		this.largeProxyList.clear();
+		this.cellList.clear();
+		this.cellMap.clear();
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#getAABB(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public AABB getAABB(E collidable) {
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		if (proxy != null) {
+			return proxy.aabb;
+		}
+		return null;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect()
+	 */
+	@Override
+	public List<BroadphasePair<E>> detect() {
+		// get the number of proxies
+		int size = this.proxyList.size();
+		
+		// check the size
+		if (size == 0) {
+			// return the empty list
+			return Collections.emptyList();
+		}
+		
+		// the estimated size of the pair list
+		int eSize = Collisions.getEstimatedCollisionPairs(size);
+		List<BroadphasePair<E>> pairs = new ArrayList<BroadphasePair<E>>(eSize);
+		
+		// test all the proxies in each cell against each other
+		int cSize = this.cellList.size();
+		for (int i = 0; i < cSize; i++) {
+			Cell cell = this.cellList.get(i);
+			List<Proxy> proxies = cell.proxies;
+			int pSize = proxies.size();
+			for (int j = 0; j < pSize - 1; j++) {
+				Proxy a = proxies.get(j);
+				for (int k = j + 1; k < pSize; k++) {
+					Proxy b = proxies.get(k);
+					// don't bother returning a pair of the same object
+					if (a.collidable == b.collidable) continue;
+					if (a.aabb.overlaps(b.aabb)) {
+						// the pair could share many cells so only report it in the 
+						// cell that contains the minimum of the overlapping region
+						if (cell.x == Math.max(a.minX, b.minX) && cell.y == Math.max(a.minY, b.minY)) {
+							pairs.add(new BroadphasePair<E>(a.collidable, b.collidable));
+						}
+					}
+				}
+			}
+		}
+		
+		// test the large proxies against all the other proxies
+		int lSize = this.largeProxyList.size();
+		for (int i = 0; i < lSize; i++) {
+			Proxy a = this.largeProxyList.get(i);
+			for (int j = 0; j < size; j++) {
+				Proxy b = this.proxyList.get(j);
+				// pairs of large proxies are only reported once
+				if (b.large && b.index <= a.index) continue;
+				// don't bother returning a pair of the same object
+				if (a.collidable == b.collidable) continue;
+				if (a.aabb.overlaps(b.aabb)) {
+					pairs.add(new BroadphasePair<E>(a.collidable, b.collidable));
+				}
+			}
+		}
+		
+		// return the list of pairs
+		return pairs;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.geometry.AABB)
+	 */
+	@Override
+	public List<E> detect(AABB aabb) {
+		// check the size of the proxy list
+		if (this.proxyList.size() == 0) {
+			// return an empty list
+			return Collections.emptyList();
+		}
+		
+		// get the estimated collision count
+		int eSize = Collisions.getEstimatedCollisions();
+		List<E> list = new ArrayList<E>(eSize);
+		
+		int stamp = this.nextStamp();
+		
+		// get the cells the aabb overlaps
+		int minX = this.getCell(aabb.getMinX());
+		int minY = this.getCell(aabb.getMinY());
+		int maxX = this.getCell(aabb.getMaxX());
+		int maxY = this.getCell(aabb.getMaxY());
+		long count = ((long)maxX - minX + 1) * ((long)maxY - minY + 1);
+		
+		if (count <= this.cellList.size()) {
+			// look up each cell in the range
+			for (int x = minX; x <= maxX; x++) {
+				for (int y = minY; y <= maxY; y++) {
+					Cell cell = this.cellMap.get(this.getKey(x, y));
+					if (cell != null) {
+						this.detect(aabb, cell, stamp, list);
+					}
+				}
+			}
+		} else {
+			// its cheaper to test all the occupied cells
+			int size = this.cellList.size();
+			for (int i = 0; i < size; i++) {
+				Cell cell = this.cellList.get(i);
+				if (cell.x >= minX && cell.x <= maxX && cell.y >= minY && cell.y <= maxY) {
+					this.detect(aabb, cell, stamp, list);
+				}
+			}
+		}
+		
+		// test the large proxies
+		int size = this.largeProxyList.size();
+		for (int i = 0; i < size; i++) {
+			Proxy proxy = this.largeProxyList.get(i);
+			if (aabb.overlaps(proxy.aabb)) {
+				list.add(proxy.collidable);
+			}
+		}
+		
+		return list;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#raycast(org.dyn4j.geometry.Ray, double)
+	 */
+	@Override
+	public List<E> raycast(Ray ray, double length) {
+		// check the size of the proxy list
+		if (this.proxyList.size() == 0) {
+			// return an empty list
+			return Collections.emptyList();
+		}
+		
+		// create an aabb from the ray
+		Vector2 s = ray.getStart();
+		Vector2 d = ray.getDirectionVector();
+		
+		// get the length
+		double l = length;
+		if (length <= 0.0) l = Double.MAX_VALUE;
+		
+		// compute the coordinates
+		double x1 = s.x;
+		double x2 = s.x + d.x * l;
+		double y1 = s.y;
+		double y2 = s.y + d.y * l;
+		
+		// create the aabb
+		AABB aabb = new AABB(
+				Math.min(x1, x2),
+				Math.min(y1, y2),
+				Math.max(x1, x2),
+				Math.max(y1, y2));
+		
+		// pass it to the aabb detection routine; the cell range
+		// of an infinite ray is clamped so this will test the
+		// occupied cells instead
+		return this.detect(aabb);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#shiftCoordinates(org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void shiftCoordinates(Vector2 shift) {
+		// the cells will change so we need to rebuild the grid
+		this.cellList.clear();
+		this.cellMap.clear();
+		this.largeProxyList.clear();
+		int size = this.proxyList.size();
+		for (int i = 0; i < size; i++) {
+			Proxy proxy = this.proxyList.get(i);
+			proxy.aabb.translate(shift);
+			this.insert(proxy);
+		}
+	}
+	
+	/**
+	 * Returns the cell size.
+	 * @return double
+	 */
+	public double getCellSize() {
+		return this.cellSize;
+	}
+	
+	/**
+	 * Returns the cell index for the given coordinate.
+	 * <p>
+	 * The index is clamped to &plusmn;{@link #MAXIMUM_CELL_INDEX} so that iterating over a
+	 * range of cells can't overflow.
+	 * @param value the x or y coordinate
+	 * @return int
+	 */
+	protected int getCell(double value) {
+		double cell = Math.floor(value * this.invCellSize);
+		if (cell > MAXIMUM_CELL_INDEX) return MAXIMUM_CELL_INDEX;
+		if (cell < -MAXIMUM_CELL_INDEX) return -MAXIMUM_CELL_INDEX;
+		return (int)cell;
+	}
+	
+	/**
+	 * Returns the key for the given cell.
+	 * @param x the cell x index
+	 * @param y the cell y index
+	 * @return long
+	 */
+	protected long getKey(int x, int y) {
+		return ((long)x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Returns the next query stamp.
+	 * @return int
+	 */
+	protected int nextStamp() {
+		this.stamp++;
+		// the stamp wrapped so reset all the proxies
+		if (this.stamp == 0) {
+			int size = this.proxyList.size();
+			for (int i = 0; i < size; i++) {
+				this.proxyList.get(i).stamp = 0;
+			}
+			this.stamp = 1;
+		}
+		return this.stamp;
+	}
+	
+	/**
+	 * Adds the proxies in the given cell that overlap the given {@link AABB} to the given list.
+	 * @param aabb the {@link AABB}
+	 * @param cell the cell
+	 * @param stamp the query stamp
+	 * @param list the list of results
+	 */
+	protected void detect(AABB aabb, Cell cell, int stamp, List<E> list) {
+		List<Proxy> proxies = cell.proxies;
+		int size = proxies.size();
+		for (int i = 0; i < size; i++) {
+			Proxy proxy = proxies.get(i);
+			if (proxy.stamp != stamp && aabb.overlaps(proxy.aabb)) {
+				proxy.stamp = stamp;
+				list.add(proxy.collidable);
+			}
+		}
+	}
+	
+	/**
+	 * Adds the given proxy to all the cells its {@link AABB} overlaps.
+	 * <p>
+	 * If the proxy would occupy more than {@link #MAXIMUM_CELL_COUNT} cells it's
+	 * added to the large proxy list instead.
+	 * @param proxy the proxy
+	 */
+	protected void insert(Proxy proxy) {
+		AABB aabb = proxy.aabb;
+		proxy.minX = this.getCell(aabb.getMinX());
+		proxy.minY = this.getCell(aabb.getMinY());
+		proxy.maxX = this.getCell(aabb.getMaxX());
+		proxy.maxY = this.getCell(aabb.getMaxY());
+		long count = ((long)proxy.maxX - proxy.minX + 1) * ((long)proxy.maxY - proxy.minY + 1);
+		if (count > MAXIMUM_CELL_COUNT) {
+			proxy.large = true;
+			this.largeProxyList.add(proxy);
+			return;
+		}
+		proxy.large = false;
+		for (int x = proxy.minX; x <= proxy.maxX; x++) {
+			for (int y = proxy.minY; y <= proxy.maxY; y++) {
+				long key = this.getKey(x, y);
+				Cell cell = this.cellMap.get(key);
+				if (cell == null) {
+					// create a new cell
+					cell = new Cell();
+					cell.x = x;
+					cell.y = y;
+					cell.index = this.cellList.size();
+					this.cellList.add(cell);
+					this.cellMap.put(key, cell);
+				}
+				cell.proxies.add(proxy);
+			}
+		}
+	}
+	
+	/**
+	 * Removes the given proxy from all the cells it occupies.
+	 * <p>
+	 * Cells that become empty are removed.
+	 * @param proxy the proxy
+	 */
+	protected void remove(Proxy proxy) {
+		if (proxy.large) {
+			this.largeProxyList.remove(proxy);
+			proxy.large = false;
+			return;
+		}
+		for (int x = proxy.minX; x <= proxy.maxX; x++) {
+			for (int y = proxy.minY; y <= proxy.maxY; y++) {
+				long key = this.getKey(x, y);
+				Cell cell = this.cellMap.get(key);
+				if (cell == null) continue;
+				cell.proxies.remove(proxy);
+				if (cell.proxies.isEmpty()) {
+					// remove the cell by moving the last cell into its place
+					this.cellMap.remove(key);
+					Cell last = this.cellList.remove(this.cellList.size() - 1);
+					if (last != cell) {
+						last.index = cell.index;
+						this.cellList.set(cell.index, last);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,611 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.broadphase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.dyn4j.HandleMap;
+import org.dyn4j.collision.Collidable;
+import org.dyn4j.collision.Collisions;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Implementation of the Sweep and Prune broad-phase collision detection algorithm using 
+ * box pruning over primitive arrays.
+ * <p>
+ * Each time the {@link #detect()} method is called the {@link AABB}s are sorted by their minimum
+ * value along the sweep axis and copied into primitive arrays in that order.  The sweep then 
+ * only tests the {@link AABB}s whose intervals overlap along the sweep axis and rejects 
+ * those that do not overlap along the other axis before creating a pair.
+ * <p>
+ * The sweep axis is the axis along which the centers of the {@link AABB}s are most spread out.  
+ * This avoids the degenerate case of sweeping along an axis where most of the {@link AABB}s 
+ * overlap, for example, a level that is mostly horizontal will be swept along the x-axis
+ * and a tall stack will be swept along the y-axis.
+ * <p>
+ * The sorted order is kept between calls to {@link #detect()} so that an insertion sort, 
+ * which is close to linear when the {@link Collidable}s move a small amount, can be used.  When 
+ * many {@link Collidable}s are added or the sweep axis changes a radix sort is used instead.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ * @param <E> the {@link Collidable} type
+ */
+public class SapBoxPruning<E extends Collidable> extends AbstractAABBDetector<E> implements BroadphaseDetector<E> {
+	/** The x-axis */
+	protected static final int X_AXIS = 0;
+	
+	/** The y-axis */
+	protected static final int Y_AXIS = 1;
+	
+	/** The factor the variance of the other axis must exceed the sweep axis by to switch axes */
+	protected static final double AXIS_SWITCH_FACTOR = 1.25;
+	
+	/**
+	 * Internal class to hold the {@link Collidable} to {@link AABB} relationship.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	protected class Proxy {
+		/** The collidable */
+		public E collidable;
+		
+		/** The collidable's aabb */
+		public AABB aabb;
+		
+		/** The index of this proxy in the proxy list */
+		public int index;
+		
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return this.aabb.toString();
+		}
+	}
+	
+	/** The unsorted list of proxies */
+	protected List<Proxy> proxyList;
+	
+	/** Id to proxy map for fast lookup */
+	protected HandleMap<Proxy> proxyMap;
+	
+	/** The proxy list indices in sorted order */
+	protected int[] order;
+	
+	/** The number of entries in the order array */
+	protected int orderCount;
+	
+	/** The minimum values along the sweep axis in sorted order */
+	protected double[] min;
+	
+	/** The maximum values along the sweep axis in sorted order */
+	protected double[] max;
+	
+	/** The minimum values along the other axis in sorted order */
+	protected double[] otherMin;
+	
+	/** The maximum values along the other axis in sorted order */
+	protected double[] otherMax;
+	
+	/** The radix sort keys */
+	protected long[] keys;
+	
+	/** Temporary storage for the radix sort */
+	protected long[] keysTemp;
+	
+	/** Temporary storage for the radix sort */
+	protected int[] orderTemp;
+	
+	/** The radix sort digit counts */
+	protected int[] counts;
+	
+	/** The current sweep axis */
+	protected int axis;
+	
+	/** The number of proxies added since the last sort */
+	protected int added;
+	
+	/** True if the next sort must be a full sort */
+	protected boolean resort;
+	
+	/**
+	 * Default constructor.
+	 */
+	public SapBoxPruning() {
+		this(64);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * Allows fine tuning of the initial capacity of local storage for faster running times.
+	 * @param initialCapacity the initial capacity of local storage
+	 * @throws IllegalArgumentException if initialCapacity is less than zero
+	 */
+	public SapBoxPruning(int initialCapacity) {
+		this.proxyList = new ArrayList<Proxy>(initialCapacity);
+		this.proxyMap = new HandleMap<Proxy>(initialCapacity);
+		this.allocate(Math.max(1, initialCapacity));
+		this.counts = new int[257];
+		this.axis = X_AXIS;
+		this.resort = true;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#add(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void add(E collidable) {
+		// create an aabb for the collidable
+		AABB aabb = collidable.createAABB();
+		// expand the aabb
+		aabb.expand(this.expansion);
+		// create a new proxy for the collidable
+		Proxy proxy = new Proxy();
+		proxy.collidable = collidable;
+		proxy.aabb = aabb;
+		proxy.index = this.proxyList.size();
+		// add the proxy to the list and map
+		this.proxyList.add(proxy);
+		this.proxyMap.put(collidable.getHandle(), proxy);
+		// add the proxy to the end of the sorted order
+		if (this.orderCount == this.order.length) {
+			this.allocate(this.order.length * 2);
+		}
+		this.order[this.orderCount++] = proxy.index;
+		this.added++;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#remove(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void remove(E collidable) {
+		// find the proxy and remove it from the map
+		Proxy proxy = this.proxyMap.remove(collidable.getHandle());
+		// make sure it was found
+		if (proxy != null) {
+			// remove the proxy from the list by moving the
+			// last proxy into its place
+			int index = proxy.index;
+			int lastIndex = this.proxyList.size() - 1;
+			Proxy last = this.proxyList.remove(lastIndex);
+			if (last != proxy) {
+				last.index = index;
+				this.proxyList.set(index, last);
+			}
+			// remove the proxy from the sorted order and point
+			// the moved proxy to its new index
+			int n = 0;
+			for (int i = 0; i < this.orderCount; i++) {
+				int id = this.order[i];
+				if (id == index) continue;
+				if (id == lastIndex) id = index;
+				this.order[n++] = id;
+			}
+			this.orderCount = n;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#update(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public void update(E collidable) {
+		// create the new aabb
+		AABB aabb = collidable.createAABB();
+		// update using its bounds
+		this.update(collidable, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#contains(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		return proxy == null || proxy.aabb.contains(minX, minY, maxX, maxY);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#update(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
+		// get the proxy from the map
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		// make sure we found it
+		if (proxy != null) {
+			// see if the old aabb contains the new one
+			if (proxy.aabb.contains(minX, minY, maxX, maxY)) {
+				// if so, don't do anything
+				return;
+			}
+			// otherwise expand the new aabb
+			AABB aabb = new AABB(minX, minY, maxX, maxY);
+			aabb.expand(this.expansion);
+			// the sorted order is fixed on the next sort
+			proxy.aabb = aabb;
+		}
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#clear()
+	 */
+	@Override
+	public void clear() {
+		this.proxyList.clear();
+		this.proxyMap.clear();
+		this.orderCount = 0;
+		this.added = 0;
+		this.resort = true;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#getAABB(org.dyn4j.collision.Collidable)
+	 */
+	@Override
+	public AABB getAABB(E collidable) {
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		if (proxy != null) {
+			return proxy.aabb;
+		}
+		return null;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect()
+	 */
+	@Override
+	public List<BroadphasePair<E>> detect() {
+		// get the number of proxies
+		int size = this.proxyList.size();
+		
+		// check the size
+		if (size == 0) {
+			// return the empty list
+			return Collections.emptyList();
+		}
+		
+		// choose the sweep axis
+		this.chooseAxis();
+		// sort the proxies along the sweep axis
+		this.sort();
+		
+		// the estimated size of the pair list
+		int eSize = Collisions.getEstimatedCollisionPairs(size);
+		List<BroadphasePair<E>> pairs = new ArrayList<BroadphasePair<E>>(eSize);
+		
+		double[] min = this.min;
+		double[] max = this.max;
+		double[] otherMin = this.otherMin;
+		double[] otherMax = this.otherMax;
+		
+		// sweep the sorted proxies
+		for (int i = 0; i < size; i++) {
+			double maxi = max[i];
+			double omini = otherMin[i];
+			double omaxi = otherMax[i];
+			// only the proxies that start before this one
+			// ends can overlap along the sweep axis
+			for (int j = i + 1; j < size && min[j] <= maxi; j++) {
+				// reject the proxies that don't overlap along the other axis
+				if (otherMin[j] > omaxi || otherMax[j] < omini) continue;
+				Proxy a = this.proxyList.get(this.order[i]);
+				Proxy b = this.proxyList.get(this.order[j]);
+				// don't bother returning a pair of the same object
+				if (a.collidable == b.collidable) continue;
+				pairs.add(new BroadphasePair<E>(a.collidable, b.collidable));
+			}
+		}
+		
+		// return the list of pairs
+		return pairs;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#detect(org.dyn4j.geometry.AABB)
+	 */
+	@Override
+	public List<E> detect(AABB aabb) {
+		// get the number of proxies
+		int size = this.proxyList.size();
+		
+		// check the size
+		if (size == 0) {
+			// return the empty list
+			return Collections.emptyList();
+		}
+		
+		// make sure the arrays reflect the current aabbs
+		this.sort();
+		
+		double amin, amax, aomin, aomax;
+		if (this.axis == X_AXIS) {
+			amin = aabb.getMinX(); amax = aabb.getMaxX();
+			aomin = aabb.getMinY(); aomax = aabb.getMaxY();
+		} else {
+			amin = aabb.getMinY(); amax = aabb.getMaxY();
+			aomin = aabb.getMinX(); aomax = aabb.getMaxX();
+		}
+		
+		List<E> list = new ArrayList<E>(Collisions.getEstimatedCollisions());
+		
+		// test all the proxies that start before the aabb ends
+		for (int i = 0; i < size && this.min[i] <= amax; i++) {
+			if (this.max[i] < amin) continue;
+			if (this.otherMin[i] > aomax || this.otherMax[i] < aomin) continue;
+			list.add(this.proxyList.get(this.order[i]).collidable);
+		}
+		
+		return list;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#raycast(org.dyn4j.geometry.Ray, double)
+	 */
+	@Override
+	public List<E> raycast(Ray ray, double length) {
+		// check the size of the proxy list
+		if (this.proxyList.size() == 0) {
+			// return an empty list
+			return Collections.emptyList();
+		}
+		
+		// create an aabb from the ray
+		Vector2 s = ray.getStart();
+		Vector2 d = ray.getDirectionVector();
+		
+		// get the length
+		double l = length;
+		if (length <= 0.0) l = Double.MAX_VALUE;
+		
+		// compute the coordinates
+		double x1 = s.x;
+		double x2 = s.x + d.x * l;
+		double y1 = s.y;
+		double y2 = s.y + d.y * l;
+		
+		// create the aabb
+		AABB aabb = new AABB(
+				Math.min(x1, x2),
+				Math.min(y1, y2),
+				Math.max(x1, x2),
+				Math.max(y1, y2));
+		
+		// pass it to the aabb detection routine
+		return this.detect(aabb);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#shiftCoordinates(org.dyn4j.geometry.Vector2)
+	 */
+	@Override
+	public void shiftCoordinates(Vector2 shift) {
+		// shifting doesn't change the sorted order
+		int size = this.proxyList.size();
+		for (int i = 0; i < size; i++) {
+			this.proxyList.get(i).aabb.translate(shift);
+		}
+	}
+	
+	/**
+	 * Chooses the axis along which the centers of the proxies are most spread out.
+	 * <p>
+	 * The axis is only switched when the variance along the other axis is significantly
+	 * larger to avoid resorting every time the two are similar.
+	 */
+	protected void chooseAxis() {
+		int size = this.proxyList.size();
+		double sx = 0.0, sy = 0.0, sxx = 0.0, syy = 0.0;
+		for (int i = 0; i < size; i++) {
+			AABB aabb = this.proxyList.get(i).aabb;
+			double cx = (aabb.getMinX() + aabb.getMaxX()) * 0.5;
+			double cy = (aabb.getMinY() + aabb.getMaxY()) * 0.5;
+			sx += cx;
+			sy += cy;
+			sxx += cx * cx;
+			syy += cy * cy;
+		}
+		double varX = sxx - sx * sx / size;
+		double varY = syy - sy * sy / size;
+		if (this.axis == X_AXIS && varY > varX * AXIS_SWITCH_FACTOR) {
+			this.axis = Y_AXIS;
+			this.resort = true;
+		} else if (this.axis == Y_AXIS && varX > varY * AXIS_SWITCH_FACTOR) {
+			this.axis = X_AXIS;
+			this.resort = true;
+		}
+	}
+	
+	/**
+	 * Sorts the proxies along the sweep axis and copies their {@link AABB}s 
+	 * into the primitive arrays in sorted order.
+	 */
+	protected void sort() {
+		int size = this.orderCount;
+		// fill the sort keys using the current aabbs
+		this.fill(size);
+		// a radix sort is faster when the order isn't coherent
+		if (this.resort || this.added > (size >> 2)) {
+			this.radixSort(size);
+			this.fill(size);
+		} else {
+			this.insertionSort(size);
+		}
+		this.resort = false;
+		this.added = 0;
+	}
+	
+	/**
+	 * Copies the {@link AABB}s of the proxies into the primitive arrays in the current order.
+	 * @param size the number of proxies
+	 */
+	protected void fill(int size) {
+		boolean x = this.axis == X_AXIS;
+		for (int i = 0; i < size; i++) {
+			AABB aabb = this.proxyList.get(this.order[i]).aabb;
+			if (x) {
+				this.min[i] = aabb.getMinX();
+				this.max[i] = aabb.getMaxX();
+				this.otherMin[i] = aabb.getMinY();
+				this.otherMax[i] = aabb.getMaxY();
+			} else {
+				this.min[i] = aabb.getMinY();
+				this.max[i] = aabb.getMaxY();
+				this.otherMin[i] = aabb.getMinX();
+				this.otherMax[i] = aabb.getMaxX();
+			}
+		}
+	}
+	
+	/**
+	 * Performs an insertion sort on the primitive arrays using the minimum
+	 * value along the sweep axis.
+	 * <p>
+	 * This is nearly linear when the order is mostly sorted.
+	 * @param size the number of proxies
+	 */
+	protected void insertionSort(int size) {
+		double[] min = this.min;
+		double[] max = this.max;
+		double[] otherMin = this.otherMin;
+		double[] otherMax = this.otherMax;
+		int[] order = this.order;
+		for (int i = 1; i < size; i++) {
+			double key = min[i];
+			// check if its already in order
+			if (min[i - 1] <= key) continue;
+			double mx = max[i];
+			double omn = otherMin[i];
+			double omx = otherMax[i];
+			int id = order[i];
+			int j = i - 1;
+			// shift the larger values up
+			while (j >= 0 && min[j] > key) {
+				min[j + 1] = min[j];
+				max[j + 1] = max[j];
+				otherMin[j + 1] = otherMin[j];
+				otherMax[j + 1] = otherMax[j];
+				order[j + 1] = order[j];
+				j--;
+			}
+			min[j + 1] = key;
+			max[j + 1] = mx;
+			otherMin[j + 1] = omn;
+			otherMax[j + 1] = omx;
+			order[j + 1] = id;
+		}
+	}
+	
+	/**
+	 * Performs a least significant digit radix sort of the order array using the 
+	 * minimum value along the sweep axis.
+	 * <p>
+	 * The doubles are converted to longs whose unsigned order matches the order
+	 * of the doubles.  Passes where all the keys have the same digit are skipped.
+	 * @param size the number of proxies
+	 */
+	protected void radixSort(int size) {
+		long[] keys = this.keys;
+		long[] keysTemp = this.keysTemp;
+		int[] order = this.order;
+		int[] orderTemp = this.orderTemp;
+		int[] counts = this.counts;
+		
+		// create the keys
+		for (int i = 0; i < size; i++) {
+			long bits = Double.doubleToLongBits(this.min[i]);
+			// flip all the bits of negative values and only
+			// the sign bit of positive values
+			keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+		}
+		
+		for (int shift = 0; shift < 64; shift += 8) {
+			// count the digits
+			for (int i = 0; i < 257; i++) {
+				counts[i] = 0;
+			}
+			for (int i = 0; i < size; i++) {
+				counts[(int)((keys[i] >>> shift) & 0xFF) + 1]++;
+			}
+			// skip the pass if all the keys have the same digit
+			boolean skip = false;
+			for (int i = 1; i < 257; i++) {
+				if (counts[i] == size) {
+					skip = true;
+					break;
+				}
+			}
+			if (skip) continue;
+			// compute the offsets
+			for (int i = 1; i < 257; i++) {
+				counts[i] += counts[i - 1];
+			}
+			// distribute the keys
+			for (int i = 0; i < size; i++) {
+				int digit = (int)((keys[i] >>> shift) & 0xFF);
+				int j = counts[digit]++;
+				keysTemp[j] = keys[i];
+				orderTemp[j] = order[i];
+			}
+			// swap the arrays
+			long[] lt = keys; keys = keysTemp; keysTemp = lt;
+			int[] it = order; order = orderTemp; orderTemp = it;
+		}
+		
+		// store the arrays since they may have been swapped
+		this.keys = keys;
+		this.keysTemp = keysTemp;
+		this.order = order;
+		this.orderTemp = orderTemp;
+	}
+	
+	/**
+	 * Grows the arrays to the given capacity.
+	 * @param capacity the new capacity
+	 */
+	protected void allocate(int capacity) {
+		int[] order = new int[capacity];
+		if (this.order != null) {
+			System.arraycopy(this.order, 0, order, 0, this.orderCount);
+		}
+		this.order = order;
+		this.orderTemp = new int[capacity];
+		this.min = new double[capacity];
+		this.max = new double[capacity];
+		this.otherMin = new double[capacity];
+		this.otherMax = new double[capacity];
+		this.keys = new long[capacity];
+		this.keysTemp = new long[capacity];
+	}
+}
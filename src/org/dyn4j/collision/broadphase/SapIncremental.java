@@ -26,12 +26,10 @@ package org.dyn4j.collision.broadphase;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
+import org.dyn4j.HandleMap;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Collisions;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
@@ -86,7 +84,7 @@ import org.dyn4j.geometry.Vector2;
  * However, allowing this causes more work for the {@link NarrowphaseDetector}s whose
  * algorithms are more complex.  These situations should be avoided for maximum performance.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -124,8 +122,10 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 				} else if (diff < 0) {
 					return -1;
 				} else {
-					// finally if their y values are the same then compare on the ids
-					return this.collidable.getId().compareTo(o.collidable.getId());
+					// finally if their y values are the same then compare on the handles
+					long h1 = this.collidable.getHandle();
+					long h2 = o.collidable.getHandle();
+					return h1 < h2 ? -1 : (h1 == h2 ? 0 : 1);
 				}
 			}
 		}
@@ -157,7 +157,7 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 	protected List<Proxy> proxyList;
 	
 	/** Id to proxy map for fast lookup */
-	protected Map<UUID, Proxy> proxyMap;
+	protected HandleMap<Proxy> proxyMap;
 
 	/** Reusable list for storing potential detected pairs along the x-axis */
 	protected ArrayList<PairList> potentialPairs;
@@ -177,10 +177,7 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 	 */
 	public SapIncremental(int initialCapacity) {
 		this.proxyList = new ArrayList<Proxy>(initialCapacity);
-		// 0.75 = 3/4, we can garuantee that the hashmap will not need to be rehashed
-		// if we take capacity / load factor
-		// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
-		this.proxyMap = new HashMap<UUID, Proxy>(initialCapacity * 4 / 3 + 1, 0.75f);
+		this.proxyMap = new HandleMap<Proxy>(initialCapacity);
 		this.potentialPairs = new ArrayList<PairList>(initialCapacity);
 	}
 	
@@ -189,8 +186,8 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 	 */
 	@Override
 	public void add(E collidable) {
-		// get the id
-		UUID id = collidable.getId();
+		// get the handle
+		long handle = collidable.getHandle();
 		// create an aabb from the collidable
 		AABB aabb = collidable.createAABB();
 		// expand the aabb by some factor
@@ -211,7 +208,7 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 		// insert the proxy into the sorted list
 		this.proxyList.add(index, p);
 		// insert the proxy into the map
-		this.proxyMap.put(id, p);
+		this.proxyMap.put(handle, p);
 	}
 	
 	/* (non-Javadoc)
@@ -233,7 +230,7 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 			}
 		}
 		// finally remove it from the map
-		this.proxyMap.remove(collidable.getId());
+		this.proxyMap.remove(collidable.getHandle());
 	}
 	
 	/* (non-Javadoc)
@@ -241,21 +238,41 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 	 */
 	@Override
 	public void update(E collidable) {
+		// create the new aabb
+		AABB aabb = collidable.createAABB();
+		// update using its bounds
+		this.update(collidable, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#contains(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		return proxy == null || proxy.aabb.contains(minX, minY, maxX, maxY);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#update(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
 		// get the proxy
-		Proxy p0 = this.proxyMap.get(collidable.getId());
+		Proxy p0 = this.proxyMap.get(collidable.getHandle());
 		// check for not found
 		if (p0 == null) return;
 		// test if we need to update
-		AABB aabb = collidable.createAABB();
-		if (p0.aabb.contains(aabb)) {
+		if (p0.aabb.contains(minX, minY, maxX, maxY)) {
 			// if the object is still inside the old aabb then don't
 			// bother updating, just continue to use the current aabb
 			return;
-		} else {
-			// otherwise use the new aabb and expand it
-			aabb.expand(this.expansion);
 		}
 		
+		// otherwise use the new aabb and expand it
+		AABB aabb = new AABB(minX, minY, maxX, maxY);
+		aabb.expand(this.expansion);
+		
 		// remove the proxy
 		this.proxyList.remove(p0);
 		
@@ -287,7 +304,7 @@ public class SapIncremental<E extends Collidable> extends AbstractAABBDetector<E
 	 */
 	@Override
 	public AABB getAABB(E collidable) {
-		Proxy proxy = this.proxyMap.get(collidable.getId());
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
 		if (proxy != null) {
 			return proxy.aabb;
 		}
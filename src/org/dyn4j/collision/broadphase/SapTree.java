@@ -26,14 +26,12 @@ package org.dyn4j.collision.broadphase;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.UUID;
 
+import org.dyn4j.HandleMap;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Collisions;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
@@ -88,7 +86,7 @@ import org.dyn4j.geometry.Vector2;
  * However, allowing this causes more work for the {@link NarrowphaseDetector}s whose
  * algorithms are more complex.  These situations should be avoided for maximum performance.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  * @param <E> the {@link Collidable} type
  */
@@ -134,8 +132,10 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 					} else if (this.collidable == null) {
 						return -1;
 					}
-					// finally if they y values are the same compare on the ids
-					return this.collidable.getId().compareTo(o.collidable.getId());
+					// finally if they y values are the same compare on the handles
+					long h1 = this.collidable.getHandle();
+					long h2 = o.collidable.getHandle();
+					return h1 < h2 ? -1 : (h1 == h2 ? 0 : 1);
 				}
 			}
 		}
@@ -167,7 +167,7 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 	protected TreeSet<Proxy> proxyTree;
 	
 	/** Id to proxy map for fast lookup */
-	protected Map<UUID, Proxy> proxyMap;
+	protected HandleMap<Proxy> proxyMap;
 
 	/** Reusable list for storing potential detected pairs along the x-axis */
 	protected ArrayList<PairList> potentialPairs;
@@ -187,10 +187,7 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 	 */
 	public SapTree(int initialCapacity) {
 		this.proxyTree = new TreeSet<Proxy>();
-		// 0.75 = 3/4, we can garuantee that the hashmap will not need to be rehashed
-		// if we take capacity / load factor
-		// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
-		this.proxyMap = new HashMap<UUID, Proxy>(initialCapacity * 4 / 3 + 1, 0.75f);
+		this.proxyMap = new HandleMap<Proxy>(initialCapacity);
 		this.potentialPairs = new ArrayList<PairList>(initialCapacity);
 	}
 	
@@ -199,8 +196,8 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 	 */
 	@Override
 	public void add(E collidable) {
-		// get the id of the collidable
-		UUID id = collidable.getId();
+		// get the handle of the collidable
+		long handle = collidable.getHandle();
 		// create an aabb for this collidable
 		AABB aabb = collidable.createAABB();
 		// expand it
@@ -212,7 +209,7 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 		// add it to the tree
 		this.proxyTree.add(p);
 		// add it to the map
-		this.proxyMap.put(id, p);
+		this.proxyMap.put(handle, p);
 	}
 	
 	/* (non-Javadoc)
@@ -221,7 +218,7 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 	@Override
 	public void remove(E collidable) {
 		// remove it from the map
-		Proxy p = this.proxyMap.remove(collidable.getId());
+		Proxy p = this.proxyMap.remove(collidable.getHandle());
 		// make sure its found
 		if (p != null) {
 			// remove it from the tree
@@ -234,23 +231,42 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 	 */
 	@Override
 	public void update(E collidable) {
+		// create the new aabb
+		AABB aabb = collidable.createAABB();
+		// update using its bounds
+		this.update(collidable, aabb.getMinX(), aabb.getMinY(), aabb.getMaxX(), aabb.getMaxY());
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#contains(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected boolean contains(E collidable, double minX, double minY, double maxX, double maxY) {
+		Proxy proxy = this.proxyMap.get(collidable.getHandle());
+		return proxy == null || proxy.aabb.contains(minX, minY, maxX, maxY);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.broadphase.AbstractAABBDetector#update(org.dyn4j.collision.Collidable, double, double, double, double)
+	 */
+	@Override
+	protected void update(E collidable, double minX, double minY, double maxX, double maxY) {
 		// get the proxy for this collidable
-		Proxy p = this.proxyMap.get(collidable.getId());
+		Proxy p = this.proxyMap.get(collidable.getHandle());
 		// check for not found
 		if (p == null) return;
 		
-		// create a new aabb
-		AABB aabb = collidable.createAABB();
 		// check the aabb
-		if (p.aabb.contains(aabb)) {
+		if (p.aabb.contains(minX, minY, maxX, maxY)) {
 			// if the aabb is still inside the expanded
 			// aabb then just return
 			return;
-		} else {
-			// otherwise expand the new aabb
-			aabb.expand(this.expansion);
 		}
 		
+		// otherwise expand the new aabb
+		AABB aabb = new AABB(minX, minY, maxX, maxY);
+		aabb.expand(this.expansion);
+		
 		// remove the proxy from the tree
 		this.proxyTree.remove(p);
 		// update the aabb
@@ -272,7 +288,7 @@ public class SapTree<E extends Collidable> extends AbstractAABBDetector<E> imple
 	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#getAABB(org.dyn4j.collision.Collidable)
 	 */
 	public AABB getAABB(E collidable) {
-		Proxy p = this.proxyMap.get(collidable.getId());
+		Proxy p = this.proxyMap.get(collidable.getHandle());
 		if (p != null) {
 			return p.aabb;
 		}
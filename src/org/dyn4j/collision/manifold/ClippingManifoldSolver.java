@@ -27,11 +27,13 @@ package org.dyn4j.collision.manifold;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.dyn4j.Epsilon;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.Edge;
 import org.dyn4j.geometry.Feature;
+import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
@@ -46,12 +48,103 @@ import org.dyn4j.geometry.Vertex;
  * <p>
  * Uses SutherlandHodgman clipping to clip the closest features of the two {@link Convex} {@link Shape}s to obtain
  * a contact {@link Manifold}.
+ * <p>
+ * The features and clipped points are kept in objects reused by each call on the same thread and the 
+ * {@link Manifold} is filled using the {@link Manifold#addPoint(ManifoldPointId, double, double, double)} method.
+ * The features of {@link Polygon}s are found directly from their vertices rather than by the 
+ * {@link Convex#getFarthestFeature(Vector2, Transform)} method, so generating the {@link Manifold} of two
+ * {@link Polygon}s doesn't create any objects.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.0.2
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class ClippingManifoldSolver implements ManifoldSolver {
+	/** The objects reused by each call on the same thread */
+	private final ThreadLocal<Workspace> workspace = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace();
+		}
+	};
+	
+	/**
+	 * Represents the objects reused by each {@link ClippingManifoldSolver} call on a single thread.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class Workspace {
+		/** The feature of the first {@link Convex} */
+		final ClippingFeature feature1 = new ClippingFeature();
+		
+		/** The feature of the second {@link Convex} */
+		final ClippingFeature feature2 = new ClippingFeature();
+		
+		/** A temporary vector */
+		final Vector2 temp = new Vector2();
+		
+		/** The clipped points as x, y pairs */
+		final double[] clip = new double[4];
+		
+		/** The vertex indices of the clipped points */
+		final int[] clipIndices = new int[2];
+	}
+	
+	/**
+	 * Represents a vertex or edge feature using primitive fields.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class ClippingFeature {
+		/** True if the feature is a vertex; the vertex is stored in the maximum */
+		boolean vertex;
+		
+		/** The first vertex of the edge */
+		double x1, y1;
+		
+		/** The second vertex of the edge */
+		double x2, y2;
+		
+		/** The vertex of maximum projection */
+		double maxX, maxY;
+		
+		/** The indices of the first and second vertices of the edge */
+		int index1, index2;
+		
+		/** The index of the edge */
+		int index;
+		
+		/**
+		 * Sets this feature to the given {@link Feature}.
+		 * @param feature the {@link Feature}
+		 */
+		void set(Feature feature) {
+			if (feature.isVertex()) {
+				Vector2 point = ((Vertex)feature).getPoint();
+				this.vertex = true;
+				this.maxX = point.x;
+				this.maxY = point.y;
+			} else {
+				Edge edge = (Edge)feature;
+				Vertex v1 = edge.getVertex1();
+				Vertex v2 = edge.getVertex2();
+				Vector2 max = edge.getMaximum().getPoint();
+				this.vertex = false;
+				this.x1 = v1.getPoint().x;
+				this.y1 = v1.getPoint().y;
+				this.x2 = v2.getPoint().x;
+				this.y2 = v2.getPoint().y;
+				this.maxX = max.x;
+				this.maxY = max.y;
+				this.index1 = v1.getIndex();
+				this.index2 = v2.getIndex();
+				this.index = edge.getIndex();
+			}
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.collision.manifold.ManifoldSolver#getManifold(org.dyn4j.collision.narrowphase.Penetration, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.manifold.Manifold)
 	 */
@@ -60,96 +153,111 @@ public class ClippingManifoldSolver implements ManifoldSolver {
 		// make sure the manifold passed in is cleared
 		manifold.clear();
 		
+		Workspace ws = this.workspace.get();
+		
 		// get the penetration normal
 		Vector2 n = penetration.getNormal();
+		double nx = n.x;
+		double ny = n.y;
 		
 		// get the reference feature for the first convex shape
-		Feature feature1 = convex1.getFarthestFeature(n, transform1);
+		ClippingFeature feature1 = ws.feature1;
+		this.getFarthestFeature(convex1, transform1, nx, ny, feature1, ws.temp);
 		// check for vertex
-		if (feature1.isVertex()) {
+		if (feature1.vertex) {
 			// if the maximum
-			Vertex vertex = (Vertex) feature1;
-			ManifoldPoint mp = new ManifoldPoint(ManifoldPointId.DISTANCE, vertex.getPoint(), penetration.getDepth());
-			manifold.points.add(mp);
+			manifold.addPoint(ManifoldPointId.DISTANCE, feature1.maxX, feature1.maxY, penetration.getDepth());
 			manifold.normal = n.negate();
 			return true;
 		}
 		
 		// get the reference feature for the second convex shape
-		Feature feature2 = convex2.getFarthestFeature(n.getNegative(), transform2);
+		ClippingFeature feature2 = ws.feature2;
+		this.getFarthestFeature(convex2, transform2, -nx, -ny, feature2, ws.temp);
 		// check for vertex
-		if (feature2.isVertex()) {
-			Vertex vertex = (Vertex) feature2;
-			ManifoldPoint mp = new ManifoldPoint(ManifoldPointId.DISTANCE, vertex.getPoint(), penetration.getDepth());
-			manifold.points.add(mp);
+		if (feature2.vertex) {
+			manifold.addPoint(ManifoldPointId.DISTANCE, feature2.maxX, feature2.maxY, penetration.getDepth());
 			manifold.normal = n.negate();
 			return true;
 		}
 		
 		// both features are edge features
-		Edge reference = (Edge) feature1;
-		Edge incident = (Edge) feature2;
+		ClippingFeature reference = feature1;
+		ClippingFeature incident = feature2;
 		
 		// choose the reference and incident edges
 		boolean flipped = false;
 		// which edge is more perpendicular?
-		Vector2 e1 = reference.getEdge();
-		Vector2 e2 = incident.getEdge();
-		if (Math.abs(e1.dot(n)) > Math.abs(e2.dot(n))) {
+		double e1 = (reference.x2 - reference.x1) * nx + (reference.y2 - reference.y1) * ny;
+		double e2 = (incident.x2 - incident.x1) * nx + (incident.y2 - incident.y1) * ny;
+		if (Math.abs(e1) > Math.abs(e2)) {
 			// shape2's edge is more perpendicular
 			// so swap the reference and incident edges
-			Edge e = reference;
-			reference = incident;
-			incident = e;
+			reference = feature2;
+			incident = feature1;
 			// flag that the features flipped
 			flipped = true;
 		}
 		
 		// create the reference edge vector
-		Vector2 refev = reference.getEdge();
+		double rx = reference.x2 - reference.x1;
+		double ry = reference.y2 - reference.y1;
 		// normalize it
-		refev.normalize();
+		double magnitude = Math.sqrt(rx * rx + ry * ry);
+		if (magnitude > Epsilon.E) {
+			double m = 1.0 / magnitude;
+			rx *= m;
+			ry *= m;
+		}
 		
 		// compute the offsets of the reference edge points along the reference edge
-		double offset1 = -refev.dot(reference.getVertex1().getPoint());
-		double offset2 = refev.dot(reference.getVertex2().getPoint());
+		double offset1 = -(rx * reference.x1 + ry * reference.y1);
+		double offset2 = rx * reference.x2 + ry * reference.y2;
+		
+		double[] clip = ws.clip;
+		int[] indices = ws.clipIndices;
+		clip[0] = incident.x1;
+		clip[1] = incident.y1;
+		clip[2] = incident.x2;
+		clip[3] = incident.y2;
+		indices[0] = incident.index1;
+		indices[1] = incident.index2;
 		
 		// clip the incident edge by the reference edge's left edge
-		List<Vertex> clip1 = this.clip(incident.getVertex1(), incident.getVertex2(), refev.getNegative(), offset1);
-		// check the number of points
-		if (clip1.size() < 2) {
+		if (!clip(clip, indices, -rx, -ry, offset1)) {
 			return false;
 		}
 		
-		// clip the clip1 edge by the reference edge's right edge
-		List<Vertex> clip2 = this.clip(clip1.get(0), clip1.get(1), refev, offset2);
-		// check the number of points
-		if (clip2.size() < 2) {
+		// clip the clipped edge by the reference edge's right edge
+		if (!clip(clip, indices, rx, ry, offset2)) {
 			return false;
 		}
 		
 		// we need to change the normal to the reference edge's normal
 		// since they may not have been the same
-		Vector2 frontNormal = refev.cross(1.0);
+		double fx = -ry;
+		double fy = rx;
 		// also get the maximum point's depth
-		double frontOffset = frontNormal.dot(reference.getMaximum().getPoint());
+		double frontOffset = fx * reference.maxX + fy * reference.maxY;
 		
 		// set the normal
-		manifold.normal = flipped ? frontNormal.getNegative() : frontNormal;
+		if (flipped) {
+			manifold.setNormal(-fx, -fy);
+		} else {
+			manifold.setNormal(fx, fy);
+		}
 		
 		// test if the clip points are behind the reference edge
-		for (int i = 0; i < clip2.size(); i++) {
-			Vertex vertex = clip2.get(i);
-			Vector2 point = vertex.getPoint();
-			double depth = frontNormal.dot(point) - frontOffset;
+		for (int i = 0; i < 2; i++) {
+			double x = clip[i * 2];
+			double y = clip[i * 2 + 1];
+			double depth = fx * x + fy * y - frontOffset;
 			// make sure the point is behind the front normal
 			if (depth >= 0.0) {
-				// create an id for the manifold point
-				IndexedManifoldPointId id = new IndexedManifoldPointId(reference.getIndex(), incident.getIndex(), vertex.getIndex(), flipped);
-				// create the manifold point
-				ManifoldPoint mp = new ManifoldPoint(id, point, depth);
-				// add it to the list
-				manifold.points.add(mp);
+				// get the id for the manifold point
+				ManifoldPointId id = IndexedManifoldPointId.valueOf(reference.index, incident.index, indices[i], flipped);
+				// add the manifold point
+				manifold.addPoint(id, x, y, depth);
 			}
 		}
 		// make sure we didn't clip all the points
@@ -158,6 +266,111 @@ public class ClippingManifoldSolver implements ManifoldSolver {
 		return true;
 	}
 	
+	/**
+	 * Places the farthest feature of the given {@link Convex} along the given direction in the 
+	 * given {@link ClippingFeature}.
+	 * <p>
+	 * The feature is the same as the one returned by the {@link Convex#getFarthestFeature(Vector2, Transform)}
+	 * method, but is found without creating any objects for {@link Polygon}s.
+	 * @param convex the {@link Convex}
+	 * @param transform the {@link Convex}'s {@link Transform}
+	 * @param nx the x component of the direction
+	 * @param ny the y component of the direction
+	 * @param feature the {@link ClippingFeature} to fill
+	 * @param temp a temporary vector
+	 */
+	private void getFarthestFeature(Convex convex, Transform transform, double nx, double ny, ClippingFeature feature, Vector2 temp) {
+		temp.x = nx;
+		temp.y = ny;
+		if (!(convex instanceof Polygon)) {
+			feature.set(convex.getFarthestFeature(temp, transform));
+			return;
+		}
+		
+		Polygon polygon = (Polygon)convex;
+		Vector2[] vertices = polygon.getVertices();
+		Vector2[] normals = polygon.getNormals();
+		int count = vertices.length;
+		int index = polygon.getFarthestVertexIndex(temp, transform, -1);
+		
+		// transform the direction into local space
+		transform.getInverseTransformedR(temp, temp);
+		double lx = temp.x;
+		double ly = temp.y;
+		
+		// create the maximum point for the feature
+		transform.getTransformed(vertices[index], temp);
+		feature.vertex = false;
+		feature.maxX = temp.x;
+		feature.maxY = temp.y;
+		
+		// once we have the point of maximum
+		// see which edge is most perpendicular
+		Vector2 leftN = normals[index == 0 ? count - 1 : index - 1];
+		Vector2 rightN = normals[index];
+		if (leftN.x * lx + leftN.y * ly < rightN.x * lx + rightN.y * ly) {
+			int l = index + 1 == count ? 0 : index + 1;
+			transform.getTransformed(vertices[l], temp);
+			feature.x1 = feature.maxX;
+			feature.y1 = feature.maxY;
+			feature.x2 = temp.x;
+			feature.y2 = temp.y;
+			feature.index1 = index;
+			feature.index2 = l;
+			feature.index = index + 1;
+		} else {
+			int r = index - 1 < 0 ? count - 1 : index - 1;
+			transform.getTransformed(vertices[r], temp);
+			feature.x1 = temp.x;
+			feature.y1 = temp.y;
+			feature.x2 = feature.maxX;
+			feature.y2 = feature.maxY;
+			feature.index1 = r;
+			feature.index2 = index;
+			feature.index = index;
+		}
+	}
+	
+	/**
+	 * Clips the segment given by the two points in the given array by the given line.
+	 * <p>
+	 * This produces the same result as the {@link #clip(Vertex, Vertex, Vector2, double)} method
+	 * but places the clipped segment back into the given arrays.
+	 * @param points the points of the segment as x, y pairs
+	 * @param indices the vertex indices of the points
+	 * @param nx the x component of the clipping plane/line
+	 * @param ny the y component of the clipping plane/line
+	 * @param offset the offset of the end point of the segment to be clipped
+	 * @return boolean false if less than two points remain
+	 */
+	private static boolean clip(double[] points, int[] indices, double nx, double ny, double offset) {
+		// calculate the distance between the end points of the edge and the clip line
+		double d1 = nx * points[0] + ny * points[1] - offset;
+		double d2 = nx * points[2] + ny * points[3] - offset;
+		
+		// check if they are on opposing sides of the line
+		if (d1 * d2 < 0.0) {
+			// clip to obtain another point
+			double u = d1 / (d1 - d2);
+			double x = (points[2] - points[0]) * u + points[0];
+			double y = (points[3] - points[1]) * u + points[1];
+			if (d1 > 0.0) {
+				// the point behind the line comes first
+				points[0] = points[2];
+				points[1] = points[3];
+				int index = indices[0];
+				indices[0] = indices[1];
+				indices[1] = index;
+			}
+			points[2] = x;
+			points[3] = y;
+			return true;
+		}
+		
+		// both points must be behind the line
+		return d1 <= 0.0 && d2 <= 0.0;
+	}
+	
 	/**
 	 * Clips the segment given by s1 and s2 by n.
 	 * @param v1 the first vertex of the segment to be clipped
@@ -165,7 +378,9 @@ public class ClippingManifoldSolver implements ManifoldSolver {
 	 * @param n the clipping plane/line
 	 * @param offset the offset of the end point of the segment to be clipped
 	 * @return List&lt;{@link Vector2}&gt; the clipped segment
+	 * @deprecated no longer used by the {@link #getManifold(Penetration, Convex, Transform, Convex, Transform, Manifold)} method in 3.1.11
 	 */
+	@Deprecated
 	protected List<Vertex> clip(Vertex v1, Vertex v2, Vector2 n, double offset) {
 		List<Vertex> points = new ArrayList<Vertex>(2);
 		Vector2 p1 = v1.getPoint();
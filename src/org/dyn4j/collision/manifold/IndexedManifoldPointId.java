@@ -26,11 +26,31 @@ package org.dyn4j.collision.manifold;
 
 /**
  * Represents a {@link ManifoldPointId} that uses indexing.
+ * <p>
+ * Use the {@link #valueOf(int, int, int, boolean)} method to obtain a shared instance
+ * for small indices rather than creating a new one.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class IndexedManifoldPointId implements ManifoldPointId {
+	/** The number of cached indices for each edge and vertex index */
+	private static final int CACHE_SIZE = 8;
+	
+	/** The cached instances for the indices less than {@link #CACHE_SIZE} */
+	private static final IndexedManifoldPointId[] CACHE = new IndexedManifoldPointId[CACHE_SIZE * CACHE_SIZE * CACHE_SIZE * 2];
+	
+	static {
+		for (int i = 0; i < CACHE_SIZE; i++) {
+			for (int j = 0; j < CACHE_SIZE; j++) {
+				for (int k = 0; k < CACHE_SIZE; k++) {
+					CACHE[getCacheIndex(i, j, k, false)] = new IndexedManifoldPointId(i, j, k, false);
+					CACHE[getCacheIndex(i, j, k, true)] = new IndexedManifoldPointId(i, j, k, true);
+				}
+			}
+		}
+	}
+	
 	/** The reference edge index */
 	protected int referenceEdge;
 	
@@ -74,6 +94,40 @@ public class IndexedManifoldPointId implements ManifoldPointId {
 		this.flipped = flipped;
 	}
 	
+	/**
+	 * Returns an {@link IndexedManifoldPointId} for the given indices.
+	 * <p>
+	 * A shared instance is returned when all the indices are between 0 and 7 inclusive,
+	 * otherwise a new instance is created.  This avoids creating objects for the manifold 
+	 * points of the common shapes.  The shared instances must not be modified.
+	 * @param referenceEdge the reference edge index
+	 * @param incidentEdge the incident edge index
+	 * @param incidentVertex the incident vertex index
+	 * @param flipped whether the reference and incident features flipped
+	 * @return {@link IndexedManifoldPointId}
+	 * @since 3.1.11
+	 */
+	public static IndexedManifoldPointId valueOf(int referenceEdge, int incidentEdge, int incidentVertex, boolean flipped) {
+		if (referenceEdge >= 0 && referenceEdge < CACHE_SIZE
+		 && incidentEdge >= 0 && incidentEdge < CACHE_SIZE
+		 && incidentVertex >= 0 && incidentVertex < CACHE_SIZE) {
+			return CACHE[getCacheIndex(referenceEdge, incidentEdge, incidentVertex, flipped)];
+		}
+		return new IndexedManifoldPointId(referenceEdge, incidentEdge, incidentVertex, flipped);
+	}
+	
+	/**
+	 * Returns the index of the cached instance for the given indices.
+	 * @param referenceEdge the reference edge index
+	 * @param incidentEdge the incident edge index
+	 * @param incidentVertex the incident vertex index
+	 * @param flipped whether the reference and incident features flipped
+	 * @return int
+	 */
+	private static int getCacheIndex(int referenceEdge, int incidentEdge, int incidentVertex, boolean flipped) {
+		return ((referenceEdge * CACHE_SIZE + incidentEdge) * CACHE_SIZE + incidentVertex) * 2 + (flipped ? 1 : 0);
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#equals(java.lang.Object)
 	 */
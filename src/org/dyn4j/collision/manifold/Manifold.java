@@ -35,17 +35,31 @@ import org.dyn4j.geometry.Vector2;
  * A {@link Manifold} has a list of {@link ManifoldPoint}s for a given penetration normal.
  * <p>
  * All {@link ManifoldPoint}s are in world space.
+ * <p>
+ * The {@link #addPoint(ManifoldPointId, double, double, double)} and {@link #setNormal(double, double)}
+ * methods reuse objects owned by this {@link Manifold} so that a {@link Manifold} can be filled 
+ * repeatedly without creating any objects.  The reused objects are overwritten the next time
+ * this {@link Manifold} is filled.
  * @author William Bittle
- * @version 3.0.2
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class Manifold {
+	/** The number of {@link ManifoldPoint}s reused by this {@link Manifold}; a 2D manifold never has more than two */
+	private static final int REUSED_POINT_COUNT = 2;
+	
 	/** The {@link ManifoldPoint} in world space */
 	protected List<ManifoldPoint> points;
 	
 	/** The penetration normal */
 	protected Vector2 normal;
 	
+	/** The reused {@link ManifoldPoint}s; created on first use */
+	private ManifoldPoint[] reusedPoints;
+	
+	/** The reused normal; created on first use */
+	private Vector2 reusedNormal;
+	
 	/**
 	 * Default constructor.
 	 */
@@ -88,6 +102,42 @@ public class Manifold {
 		this.normal = null;
 	}
 	
+	/**
+	 * Adds a {@link ManifoldPoint} with the given id, point and depth to this {@link Manifold}.
+	 * <p>
+	 * The first two points added after the {@link #clear()} method is called reuse the 
+	 * {@link ManifoldPoint}s and point {@link Vector2}s owned by this {@link Manifold}.
+	 * @param id the id for the manifold point
+	 * @param x the x coordinate of the point in world coordinates
+	 * @param y the y coordinate of the point in world coordinates
+	 * @param depth the penetration depth
+	 * @return {@link ManifoldPoint} the added point
+	 * @since 3.1.11
+	 */
+	public ManifoldPoint addPoint(ManifoldPointId id, double x, double y, double depth) {
+		int size = this.points.size();
+		ManifoldPoint mp;
+		if (size < REUSED_POINT_COUNT) {
+			if (this.reusedPoints == null) {
+				this.reusedPoints = new ManifoldPoint[REUSED_POINT_COUNT];
+			}
+			mp = this.reusedPoints[size];
+			if (mp == null) {
+				mp = new ManifoldPoint(id, new Vector2(x, y), depth);
+				this.reusedPoints[size] = mp;
+			} else {
+				mp.id = id;
+				mp.point.x = x;
+				mp.point.y = y;
+				mp.depth = depth;
+			}
+		} else {
+			mp = new ManifoldPoint(id, new Vector2(x, y), depth);
+		}
+		this.points.add(mp);
+		return mp;
+	}
+	
 	/**
 	 * Returns the list of manifold points.
 	 * @return List&lt;{@link ManifoldPoint}&gt;
@@ -121,4 +171,21 @@ public class Manifold {
 	public void setNormal(Vector2 normal) {
 		this.normal = normal;
 	}
+	
+	/**
+	 * Sets the manifold normal to the given components.
+	 * <p>
+	 * The normal {@link Vector2} owned by this {@link Manifold} is reused.  Must be normalized.
+	 * @param x the x component of the normal
+	 * @param y the y component of the normal
+	 * @since 3.1.11
+	 */
+	public void setNormal(double x, double y) {
+		if (this.reusedNormal == null) {
+			this.reusedNormal = new Vector2();
+		}
+		this.reusedNormal.x = x;
+		this.reusedNormal.y = y;
+		this.normal = this.reusedNormal;
+	}
 }
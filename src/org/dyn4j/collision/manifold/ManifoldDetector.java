@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.manifold;
+
+import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
+import org.dyn4j.collision.narrowphase.Penetration;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Shape;
+import org.dyn4j.geometry.Transform;
+
+/**
+ * Interface representing a {@link NarrowphaseDetector} that can also generate the contact 
+ * {@link Manifold} in the same pass for some pairs of {@link Convex} {@link Shape}s.
+ * <p>
+ * The generated {@link Manifold}s should be the same as the ones generated by the 
+ * {@link ClippingManifoldSolver} using {@link IndexedManifoldPointId}s.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public interface ManifoldDetector extends NarrowphaseDetector {
+	/**
+	 * Returns true if the {@link Manifold} can be generated by this detector for
+	 * the given pair of {@link Convex} {@link Shape}s.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @return boolean
+	 */
+	public boolean isManifoldSupported(Convex convex1, Convex convex2);
+	
+	/**
+	 * Returns true if the two {@link Convex} {@link Shape}s intersect and fills the given 
+	 * {@link Penetration} object with the penetration vector and depth.
+	 * <p>
+	 * The given {@link Manifold} is cleared and, if the pair is supported, filled with the 
+	 * points, depths, and normal.  The {@link Manifold} is left empty if the pair is not
+	 * supported or a valid {@link Manifold} doesn't exist.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param penetration the {@link Penetration} object to fill
+	 * @param manifold the {@link Manifold} object to fill
+	 * @return boolean
+	 * @see #isManifoldSupported(Convex, Convex)
+	 */
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, Manifold manifold);
+}
@@ -0,0 +1,914 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.collision.narrowphase;
+
+import org.dyn4j.Epsilon;
+import org.dyn4j.collision.manifold.ClippingManifoldSolver;
+import org.dyn4j.collision.manifold.IndexedManifoldPointId;
+import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldDetector;
+import org.dyn4j.geometry.Capsule;
+import org.dyn4j.geometry.Circle;
+import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
+import org.dyn4j.geometry.Segment;
+import org.dyn4j.geometry.Transform;
+import org.dyn4j.geometry.Vector2;
+
+/**
+ * Represents a {@link NarrowphaseDetector} that dispatches on the types of the given {@link Convex} shapes
+ * to specialized closed form routines and uses a fallback {@link NarrowphaseDetector} for all other pairs.
+ * <p>
+ * The following pairs are handled directly:
+ * <ul>
+ * <li>{@link Circle} - {@link Circle}</li>
+ * <li>{@link Circle} - {@link Polygon}</li>
+ * <li>{@link Circle} - {@link Capsule}</li>
+ * <li>{@link Circle} - {@link Segment}</li>
+ * <li>{@link Capsule} - {@link Capsule}</li>
+ * <li>{@link Capsule} - {@link Polygon}</li>
+ * <li>{@link Polygon} - {@link Polygon} (using the separating axis theorem)</li>
+ * </ul>
+ * The {@link Polygon} type includes its sub classes like {@link org.dyn4j.geometry.Rectangle} and 
+ * {@link org.dyn4j.geometry.Triangle}.  The fallback {@link NarrowphaseDetector} is also used for the
+ * degenerate cases of the routines above, like coincident {@link Circle} centers or a {@link Capsule}
+ * whose core segment intersects a {@link Polygon}.
+ * <p>
+ * The routines do not create any objects other than the {@link Penetration} normal if the given
+ * {@link Penetration} doesn't have one and the {@link Manifold} points beyond the ones it reuses.
+ * <p>
+ * This class is thread safe provided the fallback {@link NarrowphaseDetector} is.
+ * <p>
+ * This class also generates the contact {@link Manifold} for {@link Polygon} - {@link Polygon} pairs 
+ * by clipping the incident edge against the reference edge found by the separating axis test.  This
+ * avoids both the expanding polytope algorithm and the feature searches of the 
+ * {@link ClippingManifoldSolver}.  See {@link #detect(Convex, Transform, Convex, Transform, Penetration, Manifold)}.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public class DispatchNarrowphaseDetector implements NarrowphaseDetector, ManifoldDetector {
+	/** The type for {@link Circle}s */
+	private static final int CIRCLE = 0;
+	
+	/** The type for {@link Polygon}s */
+	private static final int POLYGON = 1;
+	
+	/** The type for {@link Capsule}s */
+	private static final int CAPSULE = 2;
+	
+	/** The type for {@link Segment}s */
+	private static final int SEGMENT = 3;
+	
+	/** The type for all other {@link Convex} shapes */
+	private static final int OTHER = 4;
+	
+	/** The routine for pairs handled by the fallback {@link NarrowphaseDetector} */
+	private static final int FALLBACK = 0;
+	
+	/** The {@link Circle} - {@link Circle} routine */
+	private static final int CIRCLE_CIRCLE = 1;
+	
+	/** The {@link Polygon} - {@link Circle} routine */
+	private static final int POLYGON_CIRCLE = 2;
+	
+	/** The {@link Segment} or {@link Capsule} - {@link Circle} routine */
+	private static final int SEGMENT_CIRCLE = 3;
+	
+	/** The {@link Capsule} - {@link Capsule} routine */
+	private static final int CAPSULE_CAPSULE = 4;
+	
+	/** The {@link Polygon} - {@link Capsule} routine */
+	private static final int POLYGON_CAPSULE = 5;
+	
+	/** The {@link Polygon} - {@link Polygon} routine */
+	private static final int POLYGON_POLYGON = 6;
+	
+	/** 
+	 * The routine for each pair of types.  A negative value indicates that the routine 
+	 * expects the shapes in the opposite order.
+	 */
+	private static final int[][] ROUTINES = new int[][] {
+		//  CIRCLE           POLYGON           CAPSULE           SEGMENT          OTHER
+		{ CIRCLE_CIRCLE,   -POLYGON_CIRCLE,  -SEGMENT_CIRCLE,  -SEGMENT_CIRCLE,  FALLBACK }, // CIRCLE
+		{ POLYGON_CIRCLE,   POLYGON_POLYGON,  POLYGON_CAPSULE,  FALLBACK,        FALLBACK }, // POLYGON
+		{ SEGMENT_CIRCLE,  -POLYGON_CAPSULE,  CAPSULE_CAPSULE,  FALLBACK,        FALLBACK }, // CAPSULE
+		{ SEGMENT_CIRCLE,   FALLBACK,         FALLBACK,         FALLBACK,        FALLBACK }, // SEGMENT
+		{ FALLBACK,         FALLBACK,         FALLBACK,         FALLBACK,        FALLBACK }  // OTHER
+	};
+	
+	/** The result when the shapes are separated */
+	private static final int SEPARATED = 0;
+	
+	/** The result when the shapes are colliding */
+	private static final int COLLIDING = 1;
+	
+	/** The result when the routine can't determine the result (degenerate cases) */
+	private static final int UNDETERMINED = 2;
+	
+	/** 
+	 * The tolerance used to prefer the first {@link Polygon}'s edges as the reference
+	 * when the separations are nearly equal to avoid flip flopping between steps 
+	 */
+	private static final double REFERENCE_TOLERANCE = 1.0e-4;
+	
+	/** 
+	 * The distance below which the closest points are considered coincident; the normal
+	 * is not reliable below this distance due to round off so the fallback is used instead
+	 */
+	private static final double DISTANCE_TOLERANCE = 1.0e-9;
+	
+	/** The fallback {@link NarrowphaseDetector} */
+	protected NarrowphaseDetector fallbackNarrowphaseDetector;
+	
+	/** The objects reused by each test on the same thread */
+	private final ThreadLocal<Workspace> workspace = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace();
+		}
+	};
+	
+	/**
+	 * Represents the objects reused by each {@link DispatchNarrowphaseDetector} test on a single thread.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class Workspace {
+		/** The penetration used when the caller doesn't need one */
+		final Penetration penetration = new Penetration();
+		
+		/** The first scratch point */
+		final Vector2 a = new Vector2();
+		
+		/** The second scratch point */
+		final Vector2 b = new Vector2();
+		
+		/** The third scratch point */
+		final Vector2 c = new Vector2();
+		
+		/** The fourth scratch point */
+		final Vector2 d = new Vector2();
+		
+		/** The closest point on the first segment of the last segment-segment test */
+		double px, py;
+		
+		/** The closest point on the second segment of the last segment-segment test */
+		double qx, qy;
+		
+		/** The shared world space vertices and normals of the first {@link Polygon} of the last test */
+		double[] vertices1, normals1;
+		
+		/** The shared world space vertices and normals of the second {@link Polygon} of the last test */
+		double[] vertices2, normals2;
+		
+		/** The index of the edge with the maximum separation of the last separation test */
+		int edge;
+		
+		/** The index of the reference edge of the last {@link Polygon} - {@link Polygon} test */
+		int reference;
+		
+		/** True if the reference edge of the last {@link Polygon} - {@link Polygon} test is on the second {@link Polygon} */
+		boolean flipped;
+		
+		/** The number of vertices of the {@link Polygon}s of the last {@link Polygon} - {@link Polygon} test */
+		int count1, count2;
+		
+		/** The clipped points as x, y pairs */
+		final double[] clip = new double[4];
+		
+		/** The vertex indices of the clipped points */
+		final int[] clipIndices = new int[2];
+	}
+	
+	/**
+	 * Default constructor.
+	 * <p>
+	 * Uses {@link Gjk} as the fallback {@link NarrowphaseDetector}.
+	 */
+	public DispatchNarrowphaseDetector() {
+		this(new Gjk());
+	}
+	
+	/**
+	 * Full constructor.
+	 * @param fallbackNarrowphaseDetector the fallback {@link NarrowphaseDetector}
+	 * @throws NullPointerException if fallbackNarrowphaseDetector is null
+	 */
+	public DispatchNarrowphaseDetector(NarrowphaseDetector fallbackNarrowphaseDetector) {
+		if (fallbackNarrowphaseDetector == null) throw new NullPointerException();
+		this.fallbackNarrowphaseDetector = fallbackNarrowphaseDetector;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
+		Workspace ws = this.workspace.get();
+		int result = this.dispatch(convex1, transform1, convex2, transform2, ws.penetration, ws);
+		if (result == UNDETERMINED) {
+			return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2);
+		}
+		return result == COLLIDING;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.narrowphase.NarrowphaseDetector#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration)
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration) {
+		Workspace ws = this.workspace.get();
+		int result = this.dispatch(convex1, transform1, convex2, transform2, penetration, ws);
+		if (result == UNDETERMINED) {
+			return this.fallbackNarrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+		return result == COLLIDING;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.manifold.ManifoldDetector#isManifoldSupported(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Convex)
+	 */
+	@Override
+	public boolean isManifoldSupported(Convex convex1, Convex convex2) {
+		return convex1 instanceof Polygon && convex2 instanceof Polygon;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The incident edge is the edge of the other {@link Polygon} whose normal is most anti-parallel
+	 * to the reference edge normal.  The incident edge is clipped by the sides of the reference edge
+	 * and the points behind the reference edge are kept.  The {@link IndexedManifoldPointId}s use the
+	 * same edge and vertex indexing as the {@link ClippingManifoldSolver}, except that the edge from the
+	 * last vertex to the first is always index zero.
+	 */
+	@Override
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, Manifold manifold) {
+		manifold.clear();
+		if (!this.isManifoldSupported(convex1, convex2)) {
+			return this.detect(convex1, transform1, convex2, transform2, penetration);
+		}
+		
+		Workspace ws = this.workspace.get();
+		if (this.detect((Polygon)convex1, transform1, (Polygon)convex2, transform2, penetration, ws) != COLLIDING) {
+			return false;
+		}
+		
+		clip(manifold, ws);
+		return true;
+	}
+	
+	/**
+	 * Returns true if the given pair of {@link Convex} shapes is handled directly by
+	 * this detector rather than the fallback {@link NarrowphaseDetector}.
+	 * <p>
+	 * Even if true is returned, the fallback {@link NarrowphaseDetector} may be used
+	 * for degenerate cases.
+	 * @param convex1 the first {@link Convex}
+	 * @param convex2 the second {@link Convex}
+	 * @return boolean
+	 */
+	public boolean isSupported(Convex convex1, Convex convex2) {
+		return ROUTINES[getType(convex1)][getType(convex2)] != FALLBACK;
+	}
+	
+	/**
+	 * Returns the fallback {@link NarrowphaseDetector}.
+	 * @return {@link NarrowphaseDetector}
+	 */
+	public NarrowphaseDetector getFallbackNarrowphaseDetector() {
+		return this.fallbackNarrowphaseDetector;
+	}
+	
+	/**
+	 * Returns the type of the given {@link Convex}.
+	 * @param convex the {@link Convex}
+	 * @return int
+	 */
+	private static int getType(Convex convex) {
+		if (convex instanceof Circle) return CIRCLE;
+		if (convex instanceof Polygon) return POLYGON;
+		if (convex instanceof Capsule) return CAPSULE;
+		if (convex instanceof Segment) return SEGMENT;
+		return OTHER;
+	}
+	
+	/**
+	 * Performs the routine for the given pair of {@link Convex} shapes.
+	 * @param convex1 the first {@link Convex}
+	 * @param transform1 the first {@link Convex}'s {@link Transform}
+	 * @param convex2 the second {@link Convex}
+	 * @param transform2 the second {@link Convex}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param ws the {@link Workspace}
+	 * @return int one of {@link #SEPARATED}, {@link #COLLIDING} or {@link #UNDETERMINED}
+	 */
+	private int dispatch(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, Workspace ws) {
+		int routine = ROUTINES[getType(convex1)][getType(convex2)];
+		// check if the routine expects the shapes in the opposite order
+		boolean flip = routine < 0;
+		if (flip) {
+			Convex c = convex1;
+			convex1 = convex2;
+			convex2 = c;
+			Transform t = transform1;
+			transform1 = transform2;
+			transform2 = t;
+			routine = -routine;
+		}
+		
+		switch (routine) {
+			case CIRCLE_CIRCLE:
+				return this.detect((Circle)convex1, transform1, (Circle)convex2, transform2, penetration, ws);
+			case POLYGON_CIRCLE:
+				return this.detect((Polygon)convex1, transform1, (Circle)convex2, transform2, penetration, flip, ws);
+			case SEGMENT_CIRCLE:
+				// segments are capsules without a radius
+				if (convex1 instanceof Capsule) {
+					Capsule capsule = (Capsule)convex1;
+					capsule.getFocus(0, transform1, ws.a);
+					capsule.getFocus(1, transform1, ws.b);
+					return this.detect(ws.a, ws.b, capsule.getCapRadius(), (Circle)convex2, transform2, penetration, flip, ws);
+				}
+				Vector2[] vertices = ((Segment)convex1).getVertices();
+				transform1.getTransformed(vertices[0], ws.a);
+				transform1.getTransformed(vertices[1], ws.b);
+				return this.detect(ws.a, ws.b, 0.0, (Circle)convex2, transform2, penetration, flip, ws);
+			case CAPSULE_CAPSULE:
+				return this.detect((Capsule)convex1, transform1, (Capsule)convex2, transform2, penetration, ws);
+			case POLYGON_CAPSULE:
+				return this.detect((Polygon)convex1, transform1, (Capsule)convex2, transform2, penetration, flip, ws);
+			case POLYGON_POLYGON:
+				return this.detect((Polygon)convex1, transform1, (Polygon)convex2, transform2, penetration, ws);
+			default:
+				return UNDETERMINED;
+		}
+	}
+	
+	/**
+	 * Sets the normal and depth of the given {@link Penetration}.
+	 * <p>
+	 * The normal is set in place if the {@link Penetration} already has one.
+	 * @param penetration the {@link Penetration}
+	 * @param nx the normal x component
+	 * @param ny the normal y component
+	 * @param depth the depth
+	 */
+	private static void set(Penetration penetration, double nx, double ny, double depth) {
+		if (penetration.normal == null) {
+			penetration.normal = new Vector2(nx, ny);
+		} else {
+			penetration.normal.set(nx, ny);
+		}
+		penetration.depth = depth;
+	}
+	
+	/**
+	 * Performs the {@link Circle} - {@link Circle} routine.
+	 * @param circle1 the first {@link Circle}
+	 * @param transform1 the first {@link Circle}'s {@link Transform}
+	 * @param circle2 the second {@link Circle}
+	 * @param transform2 the second {@link Circle}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param ws the {@link Workspace}
+	 * @return int
+	 */
+	private int detect(Circle circle1, Transform transform1, Circle circle2, Transform transform2, Penetration penetration, Workspace ws) {
+		transform1.getTransformed(circle1.getCenter(), ws.a);
+		transform2.getTransformed(circle2.getCenter(), ws.b);
+		double dx = ws.b.x - ws.a.x;
+		double dy = ws.b.y - ws.a.y;
+		double radii = circle1.getRadius() + circle2.getRadius();
+		double d2 = dx * dx + dy * dy;
+		if (d2 >= radii * radii) return SEPARATED;
+		double d = Math.sqrt(d2);
+		// coincident centers don't have a normal
+		if (d <= DISTANCE_TOLERANCE) return UNDETERMINED;
+		set(penetration, dx / d, dy / d, radii - d);
+		return COLLIDING;
+	}
+	
+	/**
+	 * Performs the {@link Polygon} - {@link Circle} routine.
+	 * <p>
+	 * The {@link Circle} center is moved into the {@link Polygon}'s local space and 
+	 * tested against the edge with the maximum separation and its vertices.
+	 * @param polygon the {@link Polygon}
+	 * @param transform1 the {@link Polygon}'s {@link Transform}
+	 * @param circle the {@link Circle}
+	 * @param transform2 the {@link Circle}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param flip true if the {@link Circle} was the first shape
+	 * @param ws the {@link Workspace}
+	 * @return int
+	 */
+	private int detect(Polygon polygon, Transform transform1, Circle circle, Transform transform2, Penetration penetration, boolean flip, Workspace ws) {
+		// get the circle center in the polygon's local space
+		transform2.getTransformed(circle.getCenter(), ws.a);
+		transform1.getInverseTransformed(ws.a, ws.b);
+		double cx = ws.b.x;
+		double cy = ws.b.y;
+		double r = circle.getRadius();
+		
+		Vector2[] vertices = polygon.getVertices();
+		Vector2[] normals = polygon.getNormals();
+		int n = vertices.length;
+		
+		// find the edge with the maximum separation
+		double max = Double.NEGATIVE_INFINITY;
+		int index = 0;
+		for (int i = 0; i < n; i++) {
+			Vector2 v = vertices[i];
+			Vector2 normal = normals[i];
+			double s = normal.x * (cx - v.x) + normal.y * (cy - v.y);
+			// exit early if the circle is completely on the outside
+			if (s >= r) return SEPARATED;
+			if (s > max) {
+				max = s;
+				index = i;
+			}
+		}
+		
+		Vector2 v1 = vertices[index];
+		Vector2 v2 = vertices[index + 1 == n ? 0 : index + 1];
+		double nx, ny, depth;
+		if (max < Epsilon.E) {
+			// the center is inside the polygon
+			nx = normals[index].x;
+			ny = normals[index].y;
+			depth = r - max;
+		} else {
+			// the center is outside so check the vertex regions of the edge
+			double u1 = (cx - v1.x) * (v2.x - v1.x) + (cy - v1.y) * (v2.y - v1.y);
+			double u2 = (cx - v2.x) * (v1.x - v2.x) + (cy - v2.y) * (v1.y - v2.y);
+			if (u1 <= 0.0 || u2 <= 0.0) {
+				Vector2 v = u1 <= 0.0 ? v1 : v2;
+				double dx = cx - v.x;
+				double dy = cy - v.y;
+				double d2 = dx * dx + dy * dy;
+				if (d2 >= r * r) return SEPARATED;
+				double d = Math.sqrt(d2);
+				nx = dx / d;
+				ny = dy / d;
+				depth = r - d;
+			} else {
+				nx = normals[index].x;
+				ny = normals[index].y;
+				depth = r - max;
+			}
+		}
+		
+		// the normal points from the polygon to the circle in the polygon's local space
+		ws.c.set(nx, ny);
+		transform1.transformR(ws.c);
+		if (flip) {
+			ws.c.negate();
+		}
+		set(penetration, ws.c.x, ws.c.y, depth);
+		return COLLIDING;
+	}
+	
+	/**
+	 * Performs the {@link Segment} - {@link Circle} routine.
+	 * <p>
+	 * The segment is given in world space and can have a radius to support {@link Capsule}s.
+	 * @param p1 the first point of the segment
+	 * @param p2 the second point of the segment
+	 * @param radius the radius of the segment
+	 * @param circle the {@link Circle}
+	 * @param transform the {@link Circle}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param flip true if the {@link Circle} was the first shape
+	 * @param ws the {@link Workspace}
+	 * @return int
+	 */
+	private int detect(Vector2 p1, Vector2 p2, double radius, Circle circle, Transform transform, Penetration penetration, boolean flip, Workspace ws) {
+		transform.getTransformed(circle.getCenter(), ws.c);
+		double cx = ws.c.x;
+		double cy = ws.c.y;
+		
+		// find the closest point on the segment to the center
+		double ex = p2.x - p1.x;
+		double ey = p2.y - p1.y;
+		double e2 = ex * ex + ey * ey;
+		double t = 0.0;
+		if (e2 > Epsilon.E) {
+			t = ((cx - p1.x) * ex + (cy - p1.y) * ey) / e2;
+			t = t < 0.0 ? 0.0 : (t > 1.0 ? 1.0 : t);
+		}
+		double dx = cx - (p1.x + ex * t);
+		double dy = cy - (p1.y + ey * t);
+		double radii = radius + circle.getRadius();
+		double d2 = dx * dx + dy * dy;
+		if (d2 >= radii * radii) return SEPARATED;
+		double d = Math.sqrt(d2);
+		// a center on the segment doesn't have a normal
+		if (d <= DISTANCE_TOLERANCE) return UNDETERMINED;
+		double s = flip ? -1.0 / d : 1.0 / d;
+		set(penetration, dx * s, dy * s, radii - d);
+		return COLLIDING;
+	}
+	
+	/**
+	 * Performs the {@link Capsule} - {@link Capsule} routine.
+	 * <p>
+	 * The closest points of the core segments of the {@link Capsule}s are used.
+	 * @param capsule1 the first {@link Capsule}
+	 * @param transform1 the first {@link Capsule}'s {@link Transform}
+	 * @param capsule2 the second {@link Capsule}
+	 * @param transform2 the second {@link Capsule}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param ws the {@link Workspace}
+	 * @return int
+	 */
+	private int detect(Capsule capsule1, Transform transform1, Capsule capsule2, Transform transform2, Penetration penetration, Workspace ws) {
+		capsule1.getFocus(0, transform1, ws.a);
+		capsule1.getFocus(1, transform1, ws.b);
+		capsule2.getFocus(0, transform2, ws.c);
+		capsule2.getFocus(1, transform2, ws.d);
+		double radii = capsule1.getCapRadius() + capsule2.getCapRadius();
+		double d2 = closest(ws.a.x, ws.a.y, ws.b.x, ws.b.y, ws.c.x, ws.c.y, ws.d.x, ws.d.y, ws);
+		if (d2 >= radii * radii) return SEPARATED;
+		double d = Math.sqrt(d2);
+		// intersecting core segments don't have a normal
+		if (d <= DISTANCE_TOLERANCE) return UNDETERMINED;
+		set(penetration, (ws.qx - ws.px) / d, (ws.qy - ws.py) / d, radii - d);
+		return COLLIDING;
+	}
+	
+	/**
+	 * Performs the {@link Polygon} - {@link Capsule} routine.
+	 * <p>
+	 * The core segment of the {@link Capsule} is moved into the {@link Polygon}'s local space and
+	 * the closest points between it and the edges of the {@link Polygon} are used.
+	 * @param polygon the {@link Polygon}
+	 * @param transform1 the {@link Polygon}'s {@link Transform}
+	 * @param capsule the {@link Capsule}
+	 * @param transform2 the {@link Capsule}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param flip true if the {@link Capsule} was the first shape
+	 * @param ws the {@link Workspace}
+	 * @return int
+	 */
+	private int detect(Polygon polygon, Transform transform1, Capsule capsule, Transform transform2, Penetration penetration, boolean flip, Workspace ws) {
+		// get the core segment in the polygon's local space
+		capsule.getFocus(0, transform2, ws.c);
+		capsule.getFocus(1, transform2, ws.d);
+		transform1.getInverseTransformed(ws.c, ws.a);
+		transform1.getInverseTransformed(ws.d, ws.b);
+		double ax = ws.a.x, ay = ws.a.y;
+		double bx = ws.b.x, by = ws.b.y;
+		double r = capsule.getCapRadius();
+		
+		Vector2[] vertices = polygon.getVertices();
+		Vector2[] normals = polygon.getNormals();
+		int n = vertices.length;
+		
+		// check if the core segment is outside any edge
+		boolean outside = false;
+		for (int i = 0; i < n; i++) {
+			Vector2 v = vertices[i];
+			Vector2 normal = normals[i];
+			double s1 = normal.x * (ax - v.x) + normal.y * (ay - v.y);
+			double s2 = normal.x * (bx - v.x) + normal.y * (by - v.y);
+			double s = s1 < s2 ? s1 : s2;
+			// exit early if the capsule is completely on the outside
+			if (s >= r) return SEPARATED;
+			if (s > 0.0) outside = true;
+		}
+		
+		// check if the polygon is on one side of the core segment
+		if (!outside) {
+			double mx = ay - by;
+			double my = bx - ax;
+			boolean positive = false;
+			boolean negative = false;
+			for (int i = 0; i < n; i++) {
+				Vector2 v = vertices[i];
+				double s = mx * (v.x - ax) + my * (v.y - ay);
+				if (s > 0.0) positive = true; else negative = true;
+			}
+			// the core segment intersects the polygon
+			if (positive && negative) return UNDETERMINED;
+		}
+		
+		// find the closest points between the core segment and the edges
+		double min = Double.POSITIVE_INFINITY;
+		double px = 0.0, py = 0.0, qx = 0.0, qy = 0.0;
+		for (int i = 0; i < n; i++) {
+			Vector2 v1 = vertices[i];
+			Vector2 v2 = vertices[i + 1 == n ? 0 : i + 1];
+			double d2 = closest(v1.x, v1.y, v2.x, v2.y, ax, ay, bx, by, ws);
+			if (d2 < min) {
+				min = d2;
+				px = ws.px; py = ws.py;
+				qx = ws.qx; qy = ws.qy;
+			}
+		}
+		
+		if (min >= r * r) return SEPARATED;
+		double d = Math.sqrt(min);
+		if (d <= DISTANCE_TOLERANCE) return UNDETERMINED;
+		
+		// the normal points from the polygon to the capsule in the polygon's local space
+		ws.c.set((qx - px) / d, (qy - py) / d);
+		transform1.transformR(ws.c);
+		if (flip) {
+			ws.c.negate();
+		}
+		set(penetration, ws.c.x, ws.c.y, r - d);
+		return COLLIDING;
+	}
+	
+	/**
+	 * Performs the {@link Polygon} - {@link Polygon} routine.
+	 * <p>
+	 * Uses the separating axis theorem with the edge normals of both {@link Polygon}s.  The
+	 * edge with the minimum penetration is the reference edge; the first {@link Polygon}'s edges
+	 * are preferred when the penetrations are nearly equal.
+	 * @param polygon1 the first {@link Polygon}
+	 * @param transform1 the first {@link Polygon}'s {@link Transform}
+	 * @param polygon2 the second {@link Polygon}
+	 * @param transform2 the second {@link Polygon}'s {@link Transform}
+	 * @param penetration the {@link Penetration} to fill
+	 * @param ws the {@link Workspace}
+	 * @return int
+	 */
+	private int detect(Polygon polygon1, Transform transform1, Polygon polygon2, Transform transform2, Penetration penetration, Workspace ws) {
+		// use the world space vertices and normals cached by the polygons
+		int n1 = polygon1.getVertices().length;
+		int n2 = polygon2.getVertices().length;
+		ws.vertices1 = polygon1.getWorldVertices(transform1);
+		ws.normals1 = polygon1.getWorldNormals(transform1);
+		ws.vertices2 = polygon2.getWorldVertices(transform2);
+		ws.normals2 = polygon2.getWorldNormals(transform2);
+		
+		double separation1 = separation(ws.vertices1, ws.normals1, n1, ws.vertices2, n2, ws);
+		if (separation1 >= 0.0) return SEPARATED;
+		int edge1 = ws.edge;
+		
+		double separation2 = separation(ws.vertices2, ws.normals2, n2, ws.vertices1, n1, ws);
+		if (separation2 >= 0.0) return SEPARATED;
+		int edge2 = ws.edge;
+		
+		// use the edge with the least penetration as the reference
+		ws.count1 = n1;
+		ws.count2 = n2;
+		if (separation2 > separation1 + REFERENCE_TOLERANCE) {
+			// the normal must point from the first polygon to the second
+			set(penetration, -ws.normals2[edge2 * 2], -ws.normals2[edge2 * 2 + 1], -separation2);
+			ws.reference = edge2;
+			ws.flipped = true;
+		} else {
+			set(penetration, ws.normals1[edge1 * 2], ws.normals1[edge1 * 2 + 1], -separation1);
+			ws.reference = edge1;
+			ws.flipped = false;
+		}
+		return COLLIDING;
+	}
+	
+	/**
+	 * Fills the given {@link Manifold} using the reference edge of the last {@link Polygon} - {@link Polygon}
+	 * test in the given {@link Workspace}.
+	 * <p>
+	 * The {@link Manifold} is left empty if all the points are clipped.
+	 * @param manifold the {@link Manifold} to fill
+	 * @param ws the {@link Workspace}
+	 */
+	private static void clip(Manifold manifold, Workspace ws) {
+		boolean flipped = ws.flipped;
+		double[] rv = flipped ? ws.vertices2 : ws.vertices1;
+		double[] rn = flipped ? ws.normals2 : ws.normals1;
+		double[] iv = flipped ? ws.vertices1 : ws.vertices2;
+		double[] in = flipped ? ws.normals1 : ws.normals2;
+		int rc = flipped ? ws.count2 : ws.count1;
+		int ic = flipped ? ws.count1 : ws.count2;
+		
+		// the reference edge and its outward normal
+		int r1 = ws.reference;
+		int r2 = r1 + 1 == rc ? 0 : r1 + 1;
+		double nx = rn[r1 * 2];
+		double ny = rn[r1 * 2 + 1];
+		
+		// find the incident edge
+		int i1 = 0;
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < ic; i++) {
+			double d = in[i * 2] * nx + in[i * 2 + 1] * ny;
+			if (d < min) {
+				min = d;
+				i1 = i;
+			}
+		}
+		int i2 = i1 + 1 == ic ? 0 : i1 + 1;
+		
+		// the reference edge direction (the normals are the right hand normals of the edges)
+		double tx = -ny;
+		double ty = nx;
+		
+		// clip the incident edge by the sides of the reference edge
+		double[] clip = ws.clip;
+		int[] indices = ws.clipIndices;
+		clip[0] = iv[i1 * 2];
+		clip[1] = iv[i1 * 2 + 1];
+		clip[2] = iv[i2 * 2];
+		clip[3] = iv[i2 * 2 + 1];
+		indices[0] = i1;
+		indices[1] = i2;
+		if (!clip(clip, indices, -tx, -ty, -(tx * rv[r1 * 2] + ty * rv[r1 * 2 + 1]))) return;
+		if (!clip(clip, indices, tx, ty, tx * rv[r2 * 2] + ty * rv[r2 * 2 + 1])) return;
+		
+		double offset = nx * rv[r1 * 2] + ny * rv[r1 * 2 + 1];
+		for (int i = 0; i < 2; i++) {
+			double x = clip[i * 2];
+			double y = clip[i * 2 + 1];
+			double depth = offset - (nx * x + ny * y);
+			// make sure the point is behind the reference edge
+			if (depth >= 0.0) {
+				// the edges are identified by the index of their second vertex
+				manifold.addPoint(IndexedManifoldPointId.valueOf(r2, i2, indices[i], flipped), x, y, depth);
+			}
+		}
+		
+		// the manifold normal points from the second polygon to the first
+		if (!manifold.getPoints().isEmpty()) {
+			if (flipped) {
+				manifold.setNormal(nx, ny);
+			} else {
+				manifold.setNormal(-nx, -ny);
+			}
+		}
+	}
+	
+	/**
+	 * Clips the segment given by the two points in the given array by the given line.
+	 * <p>
+	 * The points in front of the line are replaced by the intersection with the line and take
+	 * the index of the point they replaced, the same as the {@link ClippingManifoldSolver}.
+	 * @param points the points of the segment as x, y pairs
+	 * @param indices the vertex indices of the points
+	 * @param nx the line normal x component
+	 * @param ny the line normal y component
+	 * @param offset the line offset along the normal
+	 * @return boolean false if the segment is completely in front of the line
+	 */
+	private static boolean clip(double[] points, int[] indices, double nx, double ny, double offset) {
+		double d1 = nx * points[0] + ny * points[1] - offset;
+		double d2 = nx * points[2] + ny * points[3] - offset;
+		
+		// check if they are on opposing sides of the line
+		if (d1 * d2 < 0.0) {
+			double u = d1 / (d1 - d2);
+			double x = points[0] + (points[2] - points[0]) * u;
+			double y = points[1] + (points[3] - points[1]) * u;
+			if (d1 > 0.0) {
+				// keep the second point first like the clipping manifold solver
+				points[0] = points[2];
+				points[1] = points[3];
+				int index = indices[0];
+				indices[0] = indices[1];
+				indices[1] = index;
+			}
+			points[2] = x;
+			points[3] = y;
+		} else if (d1 > 0.0 || d2 > 0.0) {
+			// at most one point is behind the line
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the maximum separation of the second polygon from the edges of the first.
+	 * <p>
+	 * The index of the edge with the maximum separation is placed in the {@link Workspace}.
+	 * A positive value means the polygons are separated.
+	 * @param vertices1 the world space vertices of the first polygon
+	 * @param normals1 the world space normals of the first polygon
+	 * @param n1 the number of vertices of the first polygon
+	 * @param vertices2 the world space vertices of the second polygon
+	 * @param n2 the number of vertices of the second polygon
+	 * @param ws the {@link Workspace}
+	 * @return double
+	 */
+	private static double separation(double[] vertices1, double[] normals1, int n1, double[] vertices2, int n2, Workspace ws) {
+		double max = Double.NEGATIVE_INFINITY;
+		int index = 0;
+		for (int i = 0; i < n1; i++) {
+			double nx = normals1[i * 2];
+			double ny = normals1[i * 2 + 1];
+			double vx = vertices1[i * 2];
+			double vy = vertices1[i * 2 + 1];
+			// find the deepest vertex of the second polygon along the normal
+			double min = Double.POSITIVE_INFINITY;
+			for (int j = 0; j < n2; j++) {
+				double s = nx * (vertices2[j * 2] - vx) + ny * (vertices2[j * 2 + 1] - vy);
+				if (s < min) min = s;
+			}
+			if (min > max) {
+				max = min;
+				index = i;
+				// exit early if this is a separating axis
+				if (max >= 0.0) break;
+			}
+		}
+		ws.edge = index;
+		return max;
+	}
+	
+	/**
+	 * Returns the squared distance between the closest points of the segments (a, b) and (c, d).
+	 * <p>
+	 * The closest points are placed in the {@link Workspace}.
+	 * @param ax the x coordinate of the first point of the first segment
+	 * @param ay the y coordinate of the first point of the first segment
+	 * @param bx the x coordinate of the second point of the first segment
+	 * @param by the y coordinate of the second point of the first segment
+	 * @param cx the x coordinate of the first point of the second segment
+	 * @param cy the y coordinate of the first point of the second segment
+	 * @param dx the x coordinate of the second point of the second segment
+	 * @param dy the y coordinate of the second point of the second segment
+	 * @param ws the {@link Workspace}
+	 * @return double
+	 */
+	private static double closest(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy, Workspace ws) {
+		double d1x = bx - ax, d1y = by - ay;
+		double d2x = dx - cx, d2y = dy - cy;
+		double rx = ax - cx, ry = ay - cy;
+		double a = d1x * d1x + d1y * d1y;
+		double e = d2x * d2x + d2y * d2y;
+		double f = d2x * rx + d2y * ry;
+		
+		double s, t;
+		if (a <= Epsilon.E && e <= Epsilon.E) {
+			// both segments are points
+			s = 0.0;
+			t = 0.0;
+		} else if (a <= Epsilon.E) {
+			// the first segment is a point
+			s = 0.0;
+			t = clamp(f / e);
+		} else {
+			double c = d1x * rx + d1y * ry;
+			if (e <= Epsilon.E) {
+				// the second segment is a point
+				t = 0.0;
+				s = clamp(-c / a);
+			} else {
+				double b = d1x * d2x + d1y * d2y;
+				double denominator = a * e - b * b;
+				// parallel segments can use any s
+				s = denominator != 0.0 ? clamp((b * f - c * e) / denominator) : 0.0;
+				t = (b * s + f) / e;
+				if (t < 0.0) {
+					t = 0.0;
+					s = clamp(-c / a);
+				} else if (t > 1.0) {
+					t = 1.0;
+					s = clamp((b - c) / a);
+				}
+			}
+		}
+		
+		ws.px = ax + d1x * s;
+		ws.py = ay + d1y * s;
+		ws.qx = cx + d2x * t;
+		ws.qy = cy + d2y * t;
+		double x = ws.qx - ws.px;
+		double y = ws.qy - ws.py;
+		return x * x + y * y;
+	}
+	
+	/**
+	 * Clamps the given value to the range [0, 1].
+	 * @param value the value
+	 * @return double
+	 */
+	private static double clamp(double value) {
+		return value < 0.0 ? 0.0 : (value > 1.0 ? 1.0 : value);
+	}
+}
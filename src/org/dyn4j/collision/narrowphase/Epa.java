@@ -57,6 +57,10 @@ import org.dyn4j.resources.Messages;
  * <p>
  * {@link Epa} will terminate in a finite number of iterations if the two shapes are {@link Polygon}s.
  * If either shape has curved surfaces the algorithm requires an expected accuracy epsilon.
+ * <p>
+ * The points added to the simplex and the closest edge are stored in a workspace that is reused
+ * by each call from the same thread.  The penetration normal is set in place if the {@link Penetration}
+ * object already has a normal.
  * @author William Bittle
  * @version 3.1.11
  * @since 1.0.0
@@ -74,6 +78,14 @@ public class Epa implements MinkowskiPenetrationSolver {
 	/** The {@link Epa} distance epsilon in meters */
 	protected double distanceEpsilon = Epa.DEFAULT_DISTANCE_EPSILON;
 	
+	/** The reusable objects of each thread using this solver */
+	private final ThreadLocal<Workspace> workspace = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace();
+		}
+	};
+	
 	/**
 	 * Represents an {@link Edge} of the simplex.
 	 * @author William Bittle
@@ -104,6 +116,47 @@ public class Epa implements MinkowskiPenetrationSolver {
 		}
 	}
 	
+	/**
+	 * Represents the objects reused by each {@link Epa} expansion on a single thread.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class Workspace {
+		/** The closest edge */
+		final Edge edge = new Edge();
+		
+		/** The edge normal being tested */
+		final Vector2 normal = new Vector2();
+		
+		/** The storage for the points added to the simplex */
+		Vector2[] points = new Vector2[0];
+		
+		/** Default constructor */
+		Workspace() {
+			this.edge.normal = new Vector2();
+		}
+		
+		/**
+		 * Returns the point at the given index creating it if necessary.
+		 * @param index the index
+		 * @return {@link Vector2}
+		 */
+		Vector2 getPoint(int index) {
+			Vector2[] points = this.points;
+			if (index >= points.length) {
+				// grow to fit the iteration count
+				Vector2[] temp = new Vector2[Math.max(index + 1, points.length * 2)];
+				System.arraycopy(points, 0, temp, 0, points.length);
+				for (int i = points.length; i < temp.length; i++) {
+					temp[i] = new Vector2();
+				}
+				this.points = points = temp;
+			}
+			return points[index];
+		}
+	}
+	
 	/**
 	 * Returns the penetration in the given penetration object given the simplex
 	 * created by {@link Gjk} and the {@link MinkowskiSum}.
@@ -120,16 +173,19 @@ public class Epa implements MinkowskiPenetrationSolver {
 		// the winding may be different depending on the points added by GJK
 		// however EPA will preserve the winding so we only need to compute this once
 		int winding = this.getWinding(simplex);
+		// reuse the closest edge and simplex points
+		Workspace ws = this.workspace.get();
 		// store the last point added to the simplex
 		Vector2 point = null;
 		// the current closest edge
-		Edge edge = null;
+		Edge edge = ws.edge;
 		// start the loop
 		for (int i = 0; i < this.maxIterations; i++) {
 			// get the closest edge to the origin
-			edge = this.findClosestEdge(simplex, winding);
+			this.findClosestEdge(simplex, winding, edge, ws.normal);
 			// get a new support point in the direction of the edge normal
-			point = minkowskiSum.support(edge.normal);
+			point = ws.getPoint(i);
+			minkowskiSum.support(edge.normal, point);
 			
 			// see if the new point is significantly past the edge
 			double projection = point.dot(edge.normal);
@@ -139,8 +195,7 @@ public class Epa implements MinkowskiPenetrationSolver {
 				// return n as the direction and the projection
 				// as the depth since this is the closest found
 				// edge and it cannot increase any more
-				penetration.normal = edge.normal;
-				penetration.depth = projection;
+				this.setPenetration(penetration, edge.normal, projection);
 				return;
 			}
 			
@@ -152,8 +207,25 @@ public class Epa implements MinkowskiPenetrationSolver {
 		// if we made it here then we know that we hit the maximum number of iterations
 		// this is really a catch all termination case
 		// set the normal and depth equal to the last edge we created
-		penetration.normal = edge.normal;
-		penetration.depth = point.dot(edge.normal);
+		this.setPenetration(penetration, edge.normal, point.dot(edge.normal));
+	}
+	
+	/**
+	 * Sets the given {@link Penetration} to the given normal and depth.
+	 * <p>
+	 * The normal is copied since the given normal is reused.
+	 * @param penetration the {@link Penetration} object to fill
+	 * @param normal the penetration normal
+	 * @param depth the penetration depth
+	 * @since 3.1.11
+	 */
+	private void setPenetration(Penetration penetration, Vector2 normal, double depth) {
+		if (penetration.normal == null) {
+			penetration.normal = normal.copy();
+		} else {
+			penetration.normal.set(normal);
+		}
+		penetration.depth = depth;
 	}
 	
 	/**
@@ -163,15 +235,30 @@ public class Epa implements MinkowskiPenetrationSolver {
 	 * @return {@link Edge} the closest edge to the origin
 	 */
 	protected Edge findClosestEdge(List<Vector2> simplex, int winding) {
-		// get the current size of the simplex
-		int size = simplex.size();
 		// create an edge
 		Edge edge = new Edge();
+		edge.normal = new Vector2();
+		this.findClosestEdge(simplex, winding, edge, new Vector2());
+		// return the closest edge
+		return edge;
+	}
+	
+	/**
+	 * Sets the given edge to the edge on the simplex that is closest to the origin.
+	 * @param simplex the simplex
+	 * @param winding the simplex winding
+	 * @param edge the {@link Edge} to set; its normal must not be null
+	 * @param normal a reusable vector for the edge normals
+	 * @since 3.1.11
+	 */
+	private void findClosestEdge(List<Vector2> simplex, int winding, Edge edge, Vector2 normal) {
+		// get the current size of the simplex
+		int size = simplex.size();
 		// set edge's distance to the max double value
 		edge.distance = Double.MAX_VALUE;
-		edge.normal = new Vector2();
-		// create a reusable vector for the normal
-		Vector2 normal = new Vector2();
+		edge.normal.x = 0.0;
+		edge.normal.y = 0.0;
+		edge.index = 0;
 		// find the edge on the simplex closest to the origin
 		for (int i = 0; i < size; i++) {
 			// compute j
@@ -208,8 +295,6 @@ public class Epa implements MinkowskiPenetrationSolver {
 				edge.index = j;
 			}
 		}
-		// return the closest edge
-		return edge;
 	}
 	
 	/**
@@ -115,6 +115,10 @@ import org.dyn4j.resources.Messages;
  * {@link Gjk}'s original intent was to find the minimum distance between two {@link Convex}
  * {@link Shape}s.  Refer to {@link Gjk#distance(Convex, Transform, Convex, Transform, Separation)}
  * for details on the implementation.
+ * <p>
+ * The simplex, {@link MinkowskiSum} and simplex points used by the algorithms are stored in a
+ * workspace that is reused by each call from the same thread.  This avoids creating garbage for
+ * every test while still allowing a single instance to be used from multiple threads.
  * @author William Bittle
  * @version 3.1.11
  * @since 1.0.0
@@ -138,6 +142,61 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 	/** The {@link Gjk} distance epsilon in meters */
 	protected double distanceEpsilon = Gjk.DEFAULT_DISTANCE_EPSILON;
 	
+	/** The reusable objects of each thread using this detector */
+	private final ThreadLocal<Workspace> workspace = new ThreadLocal<Workspace>() {
+		@Override
+		protected Workspace initialValue() {
+			return new Workspace();
+		}
+	};
+	
+	/**
+	 * Represents the objects reused by each {@link Gjk} test on a single thread.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class Workspace {
+		/** The simplex */
+		final List<Vector2> simplex = new ArrayList<Vector2>(3);
+		
+		/** The Minkowski sum */
+		final MinkowskiSum minkowskiSum = new MinkowskiSum(null, null, null, null);
+		
+		/** The storage for the simplex points; one more than the largest simplex */
+		final Vector2[] points = new Vector2[] { new Vector2(), new Vector2(), new Vector2(), new Vector2() };
+		
+		/** The search direction */
+		final Vector2 direction = new Vector2();
+		
+		/** The first {@link MinkowskiSum.Point} of the distance simplex */
+		final MinkowskiSum.Point a = new MinkowskiSum.Point();
+		
+		/** The second {@link MinkowskiSum.Point} of the distance simplex */
+		final MinkowskiSum.Point b = new MinkowskiSum.Point();
+		
+		/** The third {@link MinkowskiSum.Point} of the distance simplex */
+		final MinkowskiSum.Point c = new MinkowskiSum.Point();
+		
+		/**
+		 * Returns the cleared simplex and the {@link MinkowskiSum} of the given {@link Convex}s.
+		 * @param convex1 the first {@link Convex}
+		 * @param transform1 the first {@link Convex}'s {@link Transform}
+		 * @param convex2 the second {@link Convex}
+		 * @param transform2 the second {@link Convex}'s {@link Transform}
+		 * @return {@link MinkowskiSum}
+		 */
+		MinkowskiSum reset(Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
+			this.simplex.clear();
+			MinkowskiSum ms = this.minkowskiSum;
+			ms.setConvex1(convex1);
+			ms.setConvex2(convex2);
+			ms.setTransform1(transform1);
+			ms.setTransform2(transform2);
+			return ms;
+		}
+	}
+	
 	/**
 	 * Default constructor.
 	 */
@@ -164,14 +223,14 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
 		}
 		
-		// define the simplex
-		List<Vector2> simplex = new ArrayList<Vector2>(3);
-		
-		// create a Minkowski sum
-		MinkowskiSum ms = new MinkowskiSum(convex1, transform1, convex2, transform2);
+		// reuse the simplex and Minkowski sum
+		Workspace ws = this.workspace.get();
+		MinkowskiSum ms = ws.reset(convex1, transform1, convex2, transform2);
+		List<Vector2> simplex = ws.simplex;
 		
 		// choose some search direction
-		Vector2 d = this.getInitialDirection(convex1, transform1, convex2, transform2);
+		Vector2 d = ws.direction;
+		this.getInitialDirection(convex1, transform1, convex2, transform2, d);
 		
 		// perform the detection
 		if (this.detect(ms, simplex, d)) {
@@ -193,17 +252,72 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2);
 		}
 		
-		// define the simplex
-		List<Vector2> simplex = new ArrayList<Vector2>(3);
-		
-		// create a Minkowski sum
-		MinkowskiSum ms = new MinkowskiSum(convex1, transform1, convex2, transform2);
+		// reuse the simplex and Minkowski sum
+		Workspace ws = this.workspace.get();
+		MinkowskiSum ms = ws.reset(convex1, transform1, convex2, transform2);
 		
 		// choose some search direction
-		Vector2 d = this.getInitialDirection(convex1, transform1, convex2, transform2);
+		Vector2 d = ws.direction;
+		this.getInitialDirection(convex1, transform1, convex2, transform2, d);
+		
+		// perform the detection
+		return detect(ms, ws.simplex, d);
+	}
+	
+	/**
+	 * Returns true if the two {@link Convex} {@link Shape}s intersect and fills
+	 * the {@link Penetration} object with the penetration vector and depth.
+	 * <p>
+	 * This method is the same as the {@link #detect(Convex, Transform, Convex, Transform, Penetration)}
+	 * method except that the given direction is used as the initial search direction.  If the direction
+	 * is the zero vector, the direction set by {@link #getInitialDirection(Convex, Transform, Convex, Transform, Vector2)}
+	 * is used instead.
+	 * <p>
+	 * Upon return, the direction is set to the final search direction.  When the shapes do not intersect, 
+	 * this is a separating axis.  Passing the same vector for the next test of the same shapes allows the
+	 * test to terminate in fewer iterations when the shapes have not moved much, since the previous separating 
+	 * axis is usually still a separating axis.
+	 * @param convex1 the first {@link Convex} {@link Shape}
+	 * @param transform1 the first {@link Shape}'s {@link Transform}
+	 * @param convex2 the second {@link Convex} {@link Shape}
+	 * @param transform2 the second {@link Shape}'s {@link Transform}
+	 * @param penetration the {@link Penetration} object to fill
+	 * @param direction the initial search direction; or the zero vector
+	 * @return boolean true if the two {@link Convex} {@link Shape}s intersect
+	 * @since 3.1.11
+	 */
+	public boolean detect(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Penetration penetration, Vector2 direction) {
+		// check for circles
+		if (convex1 instanceof Circle && convex2 instanceof Circle) {
+			// if its a circle - circle collision use the faster method
+			return CircleDetector.detect((Circle) convex1, transform1, (Circle) convex2, transform2, penetration);
+		}
+		
+		// reuse the simplex and Minkowski sum
+		Workspace ws = this.workspace.get();
+		MinkowskiSum ms = ws.reset(convex1, transform1, convex2, transform2);
+		List<Vector2> simplex = ws.simplex;
+		
+		// use the given search direction if its available
+		Vector2 d = ws.direction;
+		if (direction.isZero()) {
+			this.getInitialDirection(convex1, transform1, convex2, transform2, d);
+		} else {
+			d.set(direction);
+		}
 		
 		// perform the detection
-		return detect(ms, simplex, d);
+		boolean found = this.detect(ms, simplex, d);
+		
+		// save the final search direction
+		direction.set(d);
+		
+		if (found) {
+			this.minkowskiPenetrationSolver.getPenetration(simplex, ms, penetration);
+			return true;
+		}
+		
+		return false;
 	}
 	
 	/**
@@ -215,13 +329,39 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 	 * @param convex2 the second convex
 	 * @param transform2 the second convex's transform
 	 * @return Vector2
+	 * @deprecated no longer used by the detect and distance methods in 3.1.11; override {@link #getInitialDirection(Convex, Transform, Convex, Transform, Vector2)} instead
 	 */
+	@Deprecated
 	protected Vector2 getInitialDirection(Convex convex1, Transform transform1, Convex convex2, Transform transform2) {
-		// transform into world space if transform is not null
-		Vector2 c1 = transform1.getTransformed(convex1.getCenter());
-		Vector2 c2 = transform2.getTransformed(convex2.getCenter());
+		Vector2 direction = new Vector2();
+		this.getInitialDirection(convex1, transform1, convex2, transform2, direction);
+		return direction;
+	}
+	
+	/**
+	 * Sets the given vector to the initial direction for the GJK algorithm.
+	 * <p>
+	 * This implementation uses the vector from the center of the first convex to the center of the second.
+	 * <p>
+	 * This method is used by the detect methods.  Subclasses should override this method to change the initial
+	 * direction.
+	 * @param convex1 the first convex
+	 * @param transform1 the first convex's transform
+	 * @param convex2 the second convex
+	 * @param transform2 the second convex's transform
+	 * @param direction the vector to set
+	 * @since 3.1.11
+	 */
+	protected void getInitialDirection(Convex convex1, Transform transform1, Convex convex2, Transform transform2, Vector2 direction) {
+		// transform the first center into world space
+		transform1.getTransformed(convex1.getCenter(), direction);
+		double x = direction.x;
+		double y = direction.y;
+		// transform the second center into world space
+		transform2.getTransformed(convex2.getCenter(), direction);
 		// choose some search direction
-		return c2.subtract(c1);
+		direction.x -= x;
+		direction.y -= y;
 	}
 	
 	/**
@@ -232,16 +372,20 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 	 * The simplex and direction parameters will reflect the state of the algorithm at termination, whether
 	 * a collision was found or not.  This is useful for subsequent algorithms that use the GJK simplex to
 	 * find the collision information ({@link Epa} for example).
+	 * <p>
+	 * The points added to the simplex are reused by the next test on the same thread.
 	 * @param ms the {@link MinkowskiSum}
 	 * @param simplex the simplex; should be an empty list
 	 * @param d the initial direction
 	 * @return boolean
 	 */
 	protected boolean detect(MinkowskiSum ms, List<Vector2> simplex, Vector2 d) {
+		// get the storage for the simplex points
+		Vector2[] points = this.workspace.get().points;
 		// check for a zero direction vector
 		if (d.isZero()) d.set(1.0, 0.0);
 		// add the first point
-		simplex.add(ms.support(d));
+		simplex.add(this.support(ms, d, simplex, points));
 		// is the support point past the origin along d?
 		if (simplex.get(0).dot(d) <= 0.0) {
 			return false;
@@ -251,7 +395,7 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		// start the loop
 		while (true) {
 			// always add another point to the simplex at the beginning of the loop
-			simplex.add(ms.support(d));
+			simplex.add(this.support(ms, d, simplex, points));
 			// make sure that the last point we added was past the origin
 			if (simplex.get(simplex.size() - 1).dot(d) <= 0.0) {
 				// a is not past the origin so therefore the shapes do not intersect
@@ -271,6 +415,40 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		}
 	}
 	
+	/**
+	 * Returns the farthest point in the given {@link MinkowskiSum} in the given direction.
+	 * <p>
+	 * The returned point is one of the given points that is not currently in the simplex.
+	 * @param ms the {@link MinkowskiSum}
+	 * @param d the search direction
+	 * @param simplex the simplex
+	 * @param points the storage for the simplex points
+	 * @return {@link Vector2}
+	 * @since 3.1.11
+	 */
+	private Vector2 support(MinkowskiSum ms, Vector2 d, List<Vector2> simplex, Vector2[] points) {
+		// find a point that isn't being used by the simplex
+		// the simplex never has more than 3 points
+		int size = simplex.size();
+		for (int i = 0; i < points.length; i++) {
+			Vector2 point = points[i];
+			boolean used = false;
+			for (int j = 0; j < size; j++) {
+				if (simplex.get(j) == point) {
+					used = true;
+					break;
+				}
+			}
+			if (!used) {
+				ms.support(d, point);
+				return point;
+			}
+		}
+		// this should only happen if the simplex was
+		// given points before the detection started
+		return ms.support(d);
+	}
+	
 	/**
 	 * Determines whether the given simplex contains the origin.  If it does contain the origin,
 	 * then this method will return true.  If it does not, this method will update both the given
@@ -290,20 +468,29 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 		// get the last point added (a)
 		Vector2 a = simplex.get(simplex.size() - 1);
 		// this is the same as a.to(ORIGIN);
-		Vector2 ao = a.getNegative();
+		double aox = -a.x;
+		double aoy = -a.y;
 		// check to see what type of simplex we have
 		if (simplex.size() == 3) {
 			// then we have a triangle
 			Vector2 b = simplex.get(1);
 			Vector2 c = simplex.get(0);
 			// get the edges
-			Vector2 ab = a.to(b);
-			Vector2 ac = a.to(c);
+			double abx = b.x - a.x;
+			double aby = b.y - a.y;
+			double acx = c.x - a.x;
+			double acy = c.y - a.y;
 			// get the edge normals
-			Vector2 abPerp = Vector2.tripleProduct(ac, ab, ab);
-			Vector2 acPerp = Vector2.tripleProduct(ab, ac, ac);
+			// inline Vector2.tripleProduct(ac, ab, ab) and Vector2.tripleProduct(ab, ac, ac)
+			double acab = acx * abx + acy * aby;
+			double abab = abx * abx + aby * aby;
+			double acac = acx * acx + acy * acy;
+			double abPerpx = abx * acab - acx * abab;
+			double abPerpy = aby * acab - acy * abab;
+			double acPerpx = acx * acab - abx * acac;
+			double acPerpy = acy * acab - aby * acac;
 			// see where the origin is at
-			double acLocation = acPerp.dot(ao);
+			double acLocation = acPerpx * aox + acPerpy * aoy;
 			if (acLocation >= 0.0) {
 				// the origin lies on the right side of A->C
 				// because of the condition for the gjk loop to continue the origin 
@@ -314,9 +501,10 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 				// but was changed since the origin may lie on the segment created
 				// by a -> c in which case would produce a zero vector normal
 				// calculating ac's normal using b is more robust
-				direction.set(acPerp);
+				direction.x = acPerpx;
+				direction.y = acPerpy;
 			} else {
-				double abLocation = abPerp.dot(ao);
+				double abLocation = abPerpx * aox + abPerpy * aoy;
 				// the origin lies on the left side of A->C
 				if (abLocation < 0.0) {
 					// the origin lies on the right side of A->B and therefore in the
@@ -330,23 +518,30 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 					// but was changed since the origin may lie on the segment created
 					// by a -> b in which case would produce a zero vector normal
 					// calculating ab's normal using c is more robust
-					direction.set(abPerp);
+					direction.x = abPerpx;
+					direction.y = abPerpy;
 				}
 			}
 		} else {
 			// get the b point
 			Vector2 b = simplex.get(0);
-			Vector2 ab = a.to(b);
+			double abx = b.x - a.x;
+			double aby = b.y - a.y;
 			// otherwise we have 2 points (line segment)
 			// because of the condition for the gjk loop to continue the origin 
 			// must lie in between A and B, so keep both points in the simplex and
 			// set the direction to the perp of the line segment towards the origin
-			direction.set(Vector2.tripleProduct(ab, ao, ab));
+			// inline Vector2.tripleProduct(ab, ao, ab)
+			double abab = abx * abx + aby * aby;
+			double aoab = aox * abx + aoy * aby;
+			direction.x = aox * abab - abx * aoab;
+			direction.y = aoy * abab - aby * aoab;
 			// check for degenerate cases where the origin lies on the segment
 			// created by a -> b which will yield a zero edge normal
 			if (direction.getMagnitudeSquared() <= Epsilon.E) {
 				// in this case just choose either normal (left or right)
-				direction.set(ab.left());
+				direction.x = aby;
+				direction.y = -abx;
 			}
 		}
 		return false;
@@ -362,12 +557,12 @@ public class Gjk implements NarrowphaseDetector, DistanceDetector, RaycastDetect
 			// if its a circle - circle collision use the faster method
 			return CircleDetector.distance((Circle) convex1, transform1, (Circle) convex2, transform2, separation);
 		}
-		// create a Minkowski sum
-		MinkowskiSum ms = new MinkowskiSum(convex1, transform1, convex2, transform2);
-		// create some Minkowski points
-		MinkowskiSum.Point a = new MinkowskiSum.Point();
-		MinkowskiSum.Point b = new MinkowskiSum.Point();
-		MinkowskiSum.Point c = new MinkowskiSum.Point();
+		// reuse the Minkowski sum and Minkowski points
+		Workspace ws = this.workspace.get();
+		MinkowskiSum ms = ws.reset(convex1, transform1, convex2, transform2);
+		MinkowskiSum.Point a = ws.a;
+		MinkowskiSum.Point b = ws.b;
+		MinkowskiSum.Point c = ws.c;
 		// transform into world space if transform is not null
 		Vector2 c1 = transform1.getTransformed(convex1.getCenter());
 		Vector2 c2 = transform2.getTransformed(convex2.getCenter());
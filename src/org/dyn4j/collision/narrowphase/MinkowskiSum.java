@@ -25,6 +25,7 @@
 package org.dyn4j.collision.narrowphase;
 
 import org.dyn4j.geometry.Convex;
+import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Shape;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
@@ -33,8 +34,13 @@ import org.dyn4j.geometry.Vector2;
  * Represents the Minkowski sum of the given {@link Convex} {@link Shape}s.
  * <p>
  * This class is used by the {@link Gjk} and {@link Epa} classes.
+ * <p>
+ * When a {@link Convex} is a {@link Polygon}, the index of the last support vertex is
+ * retained and used to start the next support query.  Successive queries of the same 
+ * Minkowski sum typically use similar directions so the next support vertex is 
+ * usually the same or an adjacent vertex.
  * @author William Bittle
- * @version 3.0.2
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class MinkowskiSum {
@@ -50,6 +56,15 @@ public class MinkowskiSum {
 	/** The second {@link Convex}'s {@link Transform} */
 	protected Transform transform2;
 	
+	/** The index of the last support vertex of the first {@link Convex} if its a {@link Polygon}; or -1 */
+	protected int index1;
+	
+	/** The index of the last support vertex of the second {@link Convex} if its a {@link Polygon}; or -1 */
+	protected int index2;
+	
+	/** Temporary storage for the support point of the second {@link Convex} */
+	private final Vector2 point2 = new Vector2();
+	
 	/**
 	 * Represents a point in the {@link MinkowskiSum}.
 	 * @author William Bittle
@@ -125,6 +140,8 @@ public class MinkowskiSum {
 		this.convex2 = convex2;
 		this.transform1 = transform1;
 		this.transform2 = transform2;
+		this.index1 = -1;
+		this.index2 = -1;
 	}
 	
 	/* (non-Javadoc)
@@ -148,15 +165,37 @@ public class MinkowskiSum {
 	 */
 	public Vector2 support(Vector2 direction) {
 		// get the farthest point in the given direction in convex1
-		Vector2 point1 = this.convex1.getFarthestPoint(direction, this.transform1);
+		Vector2 point1 = this.getFarthestPoint1(direction);
 		direction.negate();
 		// get the farthest point in the opposite direction in convex2
-		Vector2 point2 = this.convex2.getFarthestPoint(direction, this.transform2);
+		Vector2 point2 = this.getFarthestPoint2(direction);
 		direction.negate();
 		// return the Minkowski sum point
 		return point1.subtract(point2);
 	}
 	
+	/**
+	 * Returns the farthest point in the Minkowski sum given the direction
+	 * in the given {@link Vector2}.
+	 * <p>
+	 * This method does not create any objects when both {@link Convex}s are {@link Polygon}s.
+	 * @param direction the search direction
+	 * @param point the {@link Vector2} to fill
+	 * @since 3.1.11
+	 */
+	public void support(Vector2 direction, Vector2 point) {
+		// get the farthest point in the given direction in convex1
+		this.getFarthestPoint1(direction, point);
+		direction.negate();
+		// get the farthest point in the opposite direction in convex2
+		Vector2 point2 = this.point2;
+		this.getFarthestPoint2(direction, point2);
+		direction.negate();
+		// compute the Minkowski sum point
+		point.x -= point2.x;
+		point.y -= point2.y;
+	}
+	
 	/**
 	 * Returns the farthest point in the Minkowski sum given the direction
 	 * in the given {@link MinkowskiSum.Point} object.
@@ -165,15 +204,81 @@ public class MinkowskiSum {
 	 */
 	public void support(Vector2 direction, MinkowskiSum.Point p) {
 		// get the farthest point in the given direction in convex1
-		Vector2 point1 = this.convex1.getFarthestPoint(direction, this.transform1);
+		Vector2 point1 = this.getFarthestPoint1(direction);
 		direction.negate();
 		// get the farthest point in the opposite direction in convex2
-		Vector2 point2 = this.convex2.getFarthestPoint(direction, this.transform2);
+		Vector2 point2 = this.getFarthestPoint2(direction);
 		direction.negate();
 		// set the Minkowski sum point given the support points
 		p.set(point1, point2);
 	}
 	
+	/**
+	 * Returns the farthest point in the first {@link Convex} in the given direction.
+	 * @param direction the search direction
+	 * @return {@link Vector2}
+	 * @since 3.1.11
+	 */
+	private Vector2 getFarthestPoint1(Vector2 direction) {
+		if (this.convex1 instanceof Polygon) {
+			Polygon polygon = (Polygon)this.convex1;
+			// start from the last support vertex
+			this.index1 = polygon.getFarthestVertexIndex(direction, this.transform1, this.index1);
+			return this.transform1.getTransformed(polygon.getVertices()[this.index1]);
+		}
+		return this.convex1.getFarthestPoint(direction, this.transform1);
+	}
+	
+	/**
+	 * Sets the given point to the farthest point in the first {@link Convex} in the given direction.
+	 * @param direction the search direction
+	 * @param point the {@link Vector2} to set
+	 * @since 3.1.11
+	 */
+	private void getFarthestPoint1(Vector2 direction, Vector2 point) {
+		if (this.convex1 instanceof Polygon) {
+			Polygon polygon = (Polygon)this.convex1;
+			// start from the last support vertex
+			this.index1 = polygon.getFarthestVertexIndex(direction, this.transform1, this.index1);
+			this.transform1.getTransformed(polygon.getVertices()[this.index1], point);
+		} else {
+			point.set(this.convex1.getFarthestPoint(direction, this.transform1));
+		}
+	}
+	
+	/**
+	 * Returns the farthest point in the second {@link Convex} in the given direction.
+	 * @param direction the search direction
+	 * @return {@link Vector2}
+	 * @since 3.1.11
+	 */
+	private Vector2 getFarthestPoint2(Vector2 direction) {
+		if (this.convex2 instanceof Polygon) {
+			Polygon polygon = (Polygon)this.convex2;
+			// start from the last support vertex
+			this.index2 = polygon.getFarthestVertexIndex(direction, this.transform2, this.index2);
+			return this.transform2.getTransformed(polygon.getVertices()[this.index2]);
+		}
+		return this.convex2.getFarthestPoint(direction, this.transform2);
+	}
+	
+	/**
+	 * Sets the given point to the farthest point in the second {@link Convex} in the given direction.
+	 * @param direction the search direction
+	 * @param point the {@link Vector2} to set
+	 * @since 3.1.11
+	 */
+	private void getFarthestPoint2(Vector2 direction, Vector2 point) {
+		if (this.convex2 instanceof Polygon) {
+			Polygon polygon = (Polygon)this.convex2;
+			// start from the last support vertex
+			this.index2 = polygon.getFarthestVertexIndex(direction, this.transform2, this.index2);
+			this.transform2.getTransformed(polygon.getVertices()[this.index2], point);
+		} else {
+			point.set(this.convex2.getFarthestPoint(direction, this.transform2));
+		}
+	}
+	
 	/**
 	 * Returns the first {@link Convex}.
 	 * @return {@link Convex}
@@ -188,6 +293,7 @@ public class MinkowskiSum {
 	 */
 	public void setConvex1(Convex convex1) {
 		this.convex1 = convex1;
+		this.index1 = -1;
 	}
 	
 	/**
@@ -204,6 +310,7 @@ public class MinkowskiSum {
 	 */
 	public void setConvex2(Convex convex2) {
 		this.convex2 = convex2;
+		this.index2 = -1;
 	}
 	
 	/**
@@ -69,6 +69,9 @@
  * 	<li>{@link org.dyn4j.collision.broadphase.SapBruteForce}</li>
  *	<li>{@link org.dyn4j.collision.broadphase.SapTree}</li>
  * 	<li>{@link org.dyn4j.collision.broadphase.DynamicAABBTree}</li>
+ * 	<li>{@link org.dyn4j.collision.broadphase.ArrayAABBTree}</li>
+ * 	<li>{@link org.dyn4j.collision.broadphase.HashGrid}</li>
+ * 	<li>{@link org.dyn4j.collision.broadphase.SapBoxPruning}</li>
  * 	</ul>
  * </li>
  * <li>{@link org.dyn4j.collision.narrowphase.NarrowphaseDetector}
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.dyn4j.Epsilon;
+import org.dyn4j.Handles;
 import org.dyn4j.collision.Collidable;
 import org.dyn4j.collision.Collisions;
 import org.dyn4j.dynamics.contact.Contact;
@@ -83,7 +84,7 @@ import org.dyn4j.resources.Messages;
  * setting in the world's {@link Settings}.  Use this if the body is a fast moving
  * body, but be careful as this will incur a performance hit.
  * @author William Bittle
- * @version 3.1.8
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class Body implements Collidable, Transformable {
@@ -111,17 +112,26 @@ public class Body implements Collidable, Transformable {
 	/** The state flag indicating the {@link Body} is a really fast object and requires CCD */
 	protected static final int BULLET = 16;
 	
+	/** The state flag indicating the {@link Body}'s contacts are frozen while it's asleep */
+	protected static final int FROZEN = 32;
+	
 	/** The world this body belongs to */
 	protected World world;
 	
-	/** The {@link Body}'s unique identifier */
-	protected UUID id;
+	/** The {@link Body}'s unique identifier; created when first requested */
+	protected volatile UUID id;
+	
+	/** The {@link Body}'s handle */
+	protected long handle;
 	
 	/** The beginning transform for CCD */
 	protected Transform transform0;
 	
 	/** The current {@link Transform} */
 	protected Transform transform;
+	
+	/** The version of the {@link Transform} when the broad-phase was last updated */
+	protected int broadphaseVersion;
 
 	/** The {@link BodyFixture}s list */
 	protected List<BodyFixture> fixtures;
@@ -198,9 +208,13 @@ public class Body implements Collidable, Transformable {
 		this.fixtures = new ArrayList<BodyFixture>(fixtureCount);
 		this.radius = 0.0;
 		this.mass = new Mass();
-		this.id = UUID.randomUUID();
+		this.handle = Handles.next();
 		this.transform0 = new Transform();
 		this.transform = new Transform();
+		// the transforms live as long as the body so let
+		// the shapes cache their world space data
+		this.transform0.setCacheable(true);
+		this.transform.setCacheable(true);
 		this.velocity = new Vector2();
 		this.angularVelocity = 0.0;
 		this.force = new Vector2();
@@ -227,7 +241,7 @@ public class Body implements Collidable, Transformable {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("Body[Id=").append(id).append("|Fixtures={");
+		sb.append("Body[Id=").append(this.getId()).append("|Fixtures={");
 		// append all the shapes
 		int size = this.fixtures.size();
 		for (int i = 0; i < size; i++) {
@@ -1063,7 +1077,7 @@ public class Body implements Collidable, Transformable {
 			if ((this.state & Body.ASLEEP) == Body.ASLEEP) {
 				// if the body is asleep then wake it up
 				this.sleepTime = 0.0;
-				this.state &= ~Body.ASLEEP;
+				this.state &= ~(Body.ASLEEP | Body.FROZEN);
 			}
 			// otherwise do nothing
 		}
@@ -1119,6 +1133,32 @@ public class Body implements Collidable, Transformable {
 		}
 	}
 	
+	/**
+	 * Returns true if this {@link Body}'s contacts are frozen.
+	 * <p>
+	 * A {@link Body} is frozen if it was asleep during the last collision detection
+	 * and hasn't been woken since.
+	 * @return boolean
+	 * @see Settings#setFrozenContactsEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	protected boolean isFrozen() {
+		return (this.state & Body.FROZEN) == Body.FROZEN;
+	}
+	
+	/**
+	 * Sets the flag indicating that this {@link Body}'s contacts are frozen.
+	 * @param flag true if this {@link Body}'s contacts are frozen
+	 * @since 3.1.11
+	 */
+	protected void setFrozen(boolean flag) {
+		if (flag) {
+			this.state |= Body.FROZEN;
+		} else {
+			this.state &= ~Body.FROZEN;
+		}
+	}
+	
 	/**
 	 * Returns true if this {@link Body} is a bullet.
 	 * @see #setBullet(boolean)
@@ -1505,7 +1545,26 @@ public class Body implements Collidable, Transformable {
 	 * @see org.dyn4j.collision.Collidable#getId()
 	 */
 	public UUID getId() {
-		return this.id;
+		// create the id when its first needed (double checked since the
+		// id could be requested from several threads at the same time)
+		UUID id = this.id;
+		if (id == null) {
+			synchronized (this) {
+				id = this.id;
+				if (id == null) {
+					id = UUID.randomUUID();
+					this.id = id;
+				}
+			}
+		}
+		return id;
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.dyn4j.collision.Collidable#getHandle()
+	 */
+	public long getHandle() {
+		return this.handle;
 	}
 	
 	/* (non-Javadoc)
@@ -72,7 +72,7 @@ public class BodyFixture extends Fixture {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("BodyFixture[Id=").append(this.id)
+		sb.append("BodyFixture[Id=").append(this.getId())
 		.append("|Shape=").append(this.shape)
 		.append("|Filter=").append(this.filter)
 		.append("|IsSensor=").append(this.sensor)
@@ -300,6 +300,9 @@ public class Island {
 			if (minSleepTime >= sleepTime && positionConstraintsSolved) {
 				for (int i = 0; i < size; i++) {
 					Body body = this.bodies.get(i);
+					// static bodies can be shared by other islands that are
+					// being solved at the same time so leave them alone
+					if (body.isStatic()) continue;
 					body.setAsleep(true);
 				}
 			}
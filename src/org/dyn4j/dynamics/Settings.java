@@ -29,14 +29,14 @@ import org.dyn4j.resources.Messages;
 /**
  * Responsible for housing all of the dynamics engine's settings.
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class Settings {
 	/**
 	 * Enumeration of Continuous Collision Detection modes.
 	 * @author William Bittle
-	 * @version 2.2.3
+	 * @version 3.1.11
 	 * @since 2.2.3
 	 */
 	public static enum ContinuousDetectionMode {
@@ -62,7 +62,22 @@ public class Settings {
 		 * <li>Bullet vs. Dynamic</li>
 		 * </ul> 
 		 */
-		ALL
+		ALL,
+		/**
+		 * CCD is performed by creating speculative contacts instead of solving the time of impact.
+		 * <p>
+		 * During collision detection, the AABB swept by each awake dynamic body over the next
+		 * step is used to find the bodies it could reach.  A single point contact is created 
+		 * between the closest points of any fixtures that are separated by less than their relative 
+		 * speed times the step frequency.  These contacts have a negative depth equal to the 
+		 * separation and are solved with the other contacts, allowing the bodies to approach
+		 * each other by the separation, but no further, during the next step.
+		 * <p>
+		 * Since the speculative contacts are normal contacts, the {@link CollisionListener}s
+		 * and {@link org.dyn4j.dynamics.contact.ContactListener}s are notified of them.
+		 * @since 3.1.11
+		 */
+		SPECULATIVE
 	}
 	
 	/** The default step frequency of the dynamics engine; in seconds */
@@ -107,6 +122,9 @@ public class Settings {
 	/** The default baumgarte */
 	public static final double DEFAULT_BAUMGARTE = 0.2;
 	
+	/** The default number of worker tasks used when solving in parallel */
+	public static final int DEFAULT_WORKER_COUNT = Runtime.getRuntime().availableProcessors();
+	
 	/** The step frequency of the dynamics engine */
 	private double stepFrequency = Settings.DEFAULT_STEP_FREQUENCY;
 	
@@ -188,6 +206,30 @@ public class Settings {
 	/** The continuous collision detection flag */
 	private ContinuousDetectionMode continuousDetectionMode = ContinuousDetectionMode.ALL;
 	
+	/** Whether {@link Island}s are solved in parallel */
+	private boolean parallelIslandSolvingEnabled = false;
+	
+	/** Whether the narrowphase is performed in parallel */
+	private boolean parallelNarrowphaseEnabled = false;
+	
+	/** Whether the broadphase AABBs are computed in parallel */
+	private boolean parallelBroadphaseUpdateEnabled = false;
+	
+	/** Whether the contact constraints of large {@link Island}s are solved in parallel */
+	private boolean parallelContactSolvingEnabled = false;
+	
+	/** The maximum number of worker tasks used when solving in parallel */
+	private int workerCount = Settings.DEFAULT_WORKER_COUNT;
+	
+	/** Whether the contact generation objects are pooled and reused */
+	private boolean objectPoolingEnabled = false;
+	
+	/** Whether the {@link org.dyn4j.collision.narrowphase.Gjk} search direction is cached for each fixture pair */
+	private boolean gjkWarmStartEnabled = false;
+	
+	/** Whether the contacts of sleeping {@link Body}s are frozen during collision detection */
+	private boolean frozenContactsEnabled = false;
+	
 	/** Default constructor */
 	public Settings() {}
 	
@@ -214,6 +256,14 @@ public class Settings {
 		.append("|MaximumAngularCorrection=").append(this.maximumAngularCorrection)
 		.append("|Baumgarte=").append(this.baumgarte)
 		.append("|ContinuousDetectionMode=").append(this.continuousDetectionMode)
+		.append("|ParallelIslandSolvingEnabled=").append(this.parallelIslandSolvingEnabled)
+		.append("|ParallelNarrowphaseEnabled=").append(this.parallelNarrowphaseEnabled)
+		.append("|ParallelBroadphaseUpdateEnabled=").append(this.parallelBroadphaseUpdateEnabled)
+		.append("|ParallelContactSolvingEnabled=").append(this.parallelContactSolvingEnabled)
+		.append("|WorkerCount=").append(this.workerCount)
+		.append("|ObjectPoolingEnabled=").append(this.objectPoolingEnabled)
+		.append("|GjkWarmStartEnabled=").append(this.gjkWarmStartEnabled)
+		.append("|FrozenContactsEnabled=").append(this.frozenContactsEnabled)
 		.append("]");
 		return sb.toString();
 	}
@@ -247,6 +297,14 @@ public class Settings {
 		this.angularToleranceSquared = Settings.DEFAULT_ANGULAR_TOLERANCE * Settings.DEFAULT_ANGULAR_TOLERANCE;
 		this.baumgarte = Settings.DEFAULT_BAUMGARTE;
 		this.continuousDetectionMode = ContinuousDetectionMode.ALL;
+		this.parallelIslandSolvingEnabled = false;
+		this.parallelNarrowphaseEnabled = false;
+		this.parallelBroadphaseUpdateEnabled = false;
+		this.parallelContactSolvingEnabled = false;
+		this.workerCount = Settings.DEFAULT_WORKER_COUNT;
+		this.objectPoolingEnabled = false;
+		this.gjkWarmStartEnabled = false;
+		this.frozenContactsEnabled = false;
 	}
 	
 	/**
@@ -748,4 +806,234 @@ public class Settings {
 		// set the mode
 		this.continuousDetectionMode = mode;
 	}
+	
+	/**
+	 * Returns true if {@link Island}s are solved in parallel.
+	 * @return boolean
+	 * @see #setParallelIslandSolvingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isParallelIslandSolvingEnabled() {
+		return this.parallelIslandSolvingEnabled;
+	}
+	
+	/**
+	 * Sets whether {@link Island}s are solved in parallel.
+	 * <p>
+	 * Islands are independent by construction, so when enabled, all the islands are
+	 * found first and then solved concurrently using the {@link World}'s executor service.
+	 * If the {@link World} does not have an executor service, the islands are solved
+	 * serially.
+	 * @param flag true if islands should be solved in parallel
+	 * @see World#setExecutorService(java.util.concurrent.ExecutorService)
+	 * @since 3.1.11
+	 */
+	public void setParallelIslandSolvingEnabled(boolean flag) {
+		this.parallelIslandSolvingEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the narrowphase is performed in parallel.
+	 * @return boolean
+	 * @see #setParallelNarrowphaseEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isParallelNarrowphaseEnabled() {
+		return this.parallelNarrowphaseEnabled;
+	}
+	
+	/**
+	 * Sets whether the narrowphase is performed in parallel.
+	 * <p>
+	 * When enabled, the narrowphase collision detection and manifold generation for all the
+	 * broadphase pairs is performed concurrently using the {@link World}'s executor service.
+	 * The {@link CollisionListener}s are then notified and the contacts created serially in
+	 * broadphase pair order.  If the {@link World} does not have an executor service, the
+	 * narrowphase is performed serially.
+	 * <p>
+	 * The {@link World}'s {@link org.dyn4j.collision.narrowphase.NarrowphaseDetector} and
+	 * {@link org.dyn4j.collision.manifold.ManifoldSolver} must be safe to use from multiple
+	 * threads when this mode is enabled.  All the detectors and solvers in this library are.
+	 * @param flag true if the narrowphase should be performed in parallel
+	 * @see World#setExecutorService(java.util.concurrent.ExecutorService)
+	 * @since 3.1.11
+	 */
+	public void setParallelNarrowphaseEnabled(boolean flag) {
+		this.parallelNarrowphaseEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the broadphase AABBs are computed in parallel.
+	 * @return boolean
+	 * @see #setParallelBroadphaseUpdateEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isParallelBroadphaseUpdateEnabled() {
+		return this.parallelBroadphaseUpdateEnabled;
+	}
+	
+	/**
+	 * Sets whether the broadphase AABBs are computed in parallel.
+	 * <p>
+	 * When enabled, the AABBs of all the {@link Body}s and the tests against their 
+	 * expanded AABBs are computed concurrently using the {@link World}'s executor service.
+	 * The {@link Body}s that moved out of their expanded AABBs are then reinserted into
+	 * the broadphase serially.  If the {@link World} does not have an executor service, the 
+	 * AABBs are computed serially.
+	 * <p>
+	 * The shapes of the {@link Body}s must be safe to use from multiple threads when this 
+	 * mode is enabled.  All the shapes in this library are.
+	 * @param flag true if the broadphase AABBs should be computed in parallel
+	 * @see World#setExecutorService(java.util.concurrent.ExecutorService)
+	 * @see org.dyn4j.collision.broadphase.BroadphaseDetector#updateAll(java.util.List, java.util.concurrent.ExecutorService)
+	 * @since 3.1.11
+	 */
+	public void setParallelBroadphaseUpdateEnabled(boolean flag) {
+		this.parallelBroadphaseUpdateEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the contact constraints of large {@link Island}s are solved in parallel.
+	 * @return boolean
+	 * @see #setParallelContactSolvingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isParallelContactSolvingEnabled() {
+		return this.parallelContactSolvingEnabled;
+	}
+	
+	/**
+	 * Sets whether the contact constraints of large {@link Island}s are solved in parallel.
+	 * <p>
+	 * When enabled, the contact constraints of an {@link Island} are colored so that no two
+	 * contact constraints of the same color share a dynamic body.  Each color is then solved
+	 * concurrently using the {@link World}'s executor service for each velocity and position
+	 * iteration.  Joints are still solved serially.  This helps when a single large island,
+	 * a pile of debris for example, dominates the time step.
+	 * <p>
+	 * The contact constraints are solved in color order rather than in the order they were
+	 * found, so the results will differ slightly from serial solving.  Islands solved 
+	 * in parallel via {@link #setParallelIslandSolvingEnabled(boolean)} are not also solved
+	 * in parallel internally.  If the {@link World} does not have an executor service, the
+	 * contact constraints are solved serially.
+	 * @param flag true if the contact constraints should be solved in parallel
+	 * @see World#setExecutorService(java.util.concurrent.ExecutorService)
+	 * @since 3.1.11
+	 */
+	public void setParallelContactSolvingEnabled(boolean flag) {
+		this.parallelContactSolvingEnabled = flag;
+	}
+	
+	/**
+	 * Returns the maximum number of worker tasks used when solving in parallel.
+	 * @return int
+	 * @see #setWorkerCount(int)
+	 * @since 3.1.11
+	 */
+	public int getWorkerCount() {
+		return this.workerCount;
+	}
+	
+	/**
+	 * Sets the maximum number of worker tasks used when solving in parallel.
+	 * <p>
+	 * This should typically be the number of threads of the {@link World}'s executor
+	 * service.  Defaults to the number of available processors.
+	 * <p>
+	 * Valid values are in the range [1, &infin;]
+	 * @param workerCount the maximum number of worker tasks
+	 * @throws IllegalArgumentException if workerCount is less than 1
+	 * @since 3.1.11
+	 */
+	public void setWorkerCount(int workerCount) {
+		if (workerCount < 1) throw new IllegalArgumentException(Messages.getString("dynamics.settings.invalidWorkerCount"));
+		this.workerCount = workerCount;
+	}
+	
+	/**
+	 * Returns true if the contact generation objects are pooled and reused.
+	 * @return boolean
+	 * @see #setObjectPoolingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isObjectPoolingEnabled() {
+		return this.objectPoolingEnabled;
+	}
+	
+	/**
+	 * Sets whether the contact generation objects are pooled and reused.
+	 * <p>
+	 * When enabled, the {@link World} reuses the {@link org.dyn4j.collision.narrowphase.Penetration}, 
+	 * {@link org.dyn4j.collision.manifold.Manifold}, {@link org.dyn4j.dynamics.contact.ContactConstraint}
+	 * and {@link org.dyn4j.dynamics.contact.ContactEdge} objects from step to step rather than creating
+	 * new ones for every collision.  This reduces the garbage created each step when there are many
+	 * contacts.  The {@link org.dyn4j.dynamics.contact.ContactPoint}s passed to the 
+	 * {@link org.dyn4j.dynamics.contact.ContactListener}s are reused as well.
+	 * <p>
+	 * Since the objects are reused, references to them should not be kept.  The penetration and manifold
+	 * objects passed to the {@link CollisionListener}s and the contact points passed to the contact listeners
+	 * are only valid during the notification and the contact constraints and contact edges are only valid 
+	 * until the next collision detection.
+	 * @param flag true if the contact generation objects should be pooled
+	 * @since 3.1.11
+	 */
+	public void setObjectPoolingEnabled(boolean flag) {
+		this.objectPoolingEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the {@link org.dyn4j.collision.narrowphase.Gjk} search direction is cached for each fixture pair.
+	 * @return boolean
+	 * @see #setGjkWarmStartEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isGjkWarmStartEnabled() {
+		return this.gjkWarmStartEnabled;
+	}
+	
+	/**
+	 * Sets whether the {@link org.dyn4j.collision.narrowphase.Gjk} search direction is cached for each fixture pair.
+	 * <p>
+	 * When enabled, and the {@link World}'s narrowphase detector is {@link org.dyn4j.collision.narrowphase.Gjk}, 
+	 * the final search direction of each fixture pair's narrowphase test is saved and used as the initial search 
+	 * direction of the next step's test of the same fixture pair.  Since bodies typically move very little from 
+	 * step to step, this reduces the number of {@link org.dyn4j.collision.narrowphase.Gjk} iterations, especially 
+	 * for fixture pairs whose AABBs overlap but that are not colliding.
+	 * @param flag true if the search direction should be cached
+	 * @see org.dyn4j.collision.narrowphase.Gjk#detect(org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.geometry.Convex, org.dyn4j.geometry.Transform, org.dyn4j.collision.narrowphase.Penetration, org.dyn4j.geometry.Vector2)
+	 * @since 3.1.11
+	 */
+	public void setGjkWarmStartEnabled(boolean flag) {
+		this.gjkWarmStartEnabled = flag;
+	}
+	
+	/**
+	 * Returns true if the contacts of sleeping {@link Body}s are frozen during collision detection.
+	 * @return boolean
+	 * @see #setFrozenContactsEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isFrozenContactsEnabled() {
+		return this.frozenContactsEnabled;
+	}
+	
+	/**
+	 * Sets whether the contacts of sleeping {@link Body}s are frozen during collision detection.
+	 * <p>
+	 * When enabled, a {@link Body} that was already asleep during the last collision detection
+	 * is skipped entirely: its bounds are not checked and the broad-phase is not updated.  The contacts
+	 * between such bodies, or between such a body and a static body, are not tested again and instead
+	 * the existing contact constraints are kept until either body is woken.  This greatly reduces the 
+	 * cost of collision detection when most of the {@link World} is asleep.
+	 * <p>
+	 * Since sleeping bodies are assumed not to move, a sleeping body that is moved manually should be 
+	 * woken via {@link Body#setAsleep(boolean)}.  Likewise, a static body that is moved manually should
+	 * wake the bodies it's in contact with.  Alternatively, {@link World#setUpdateRequired(boolean)} can
+	 * be used to force a full collision detection.
+	 * @param flag true if the contacts of sleeping bodies should be frozen
+	 * @since 3.1.11
+	 */
+	public void setFrozenContactsEnabled(boolean flag) {
+		this.frozenContactsEnabled = flag;
+	}
 }
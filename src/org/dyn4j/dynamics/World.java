@@ -29,8 +29,12 @@ import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dyn4j.Listener;
+import org.dyn4j.Tasks;
 import org.dyn4j.collision.Bounds;
 import org.dyn4j.collision.BoundsListener;
 import org.dyn4j.collision.Filter;
@@ -43,12 +47,16 @@ import org.dyn4j.collision.continuous.TimeOfImpact;
 import org.dyn4j.collision.continuous.TimeOfImpactDetector;
 import org.dyn4j.collision.manifold.ClippingManifoldSolver;
 import org.dyn4j.collision.manifold.Manifold;
+import org.dyn4j.collision.manifold.ManifoldDetector;
+import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.collision.manifold.ManifoldSolver;
+import org.dyn4j.collision.narrowphase.DistanceDetector;
 import org.dyn4j.collision.narrowphase.Gjk;
 import org.dyn4j.collision.narrowphase.NarrowphaseDetector;
 import org.dyn4j.collision.narrowphase.Penetration;
 import org.dyn4j.collision.narrowphase.Raycast;
 import org.dyn4j.collision.narrowphase.RaycastDetector;
+import org.dyn4j.collision.narrowphase.Separation;
 import org.dyn4j.dynamics.Settings.ContinuousDetectionMode;
 import org.dyn4j.dynamics.contact.Contact;
 import org.dyn4j.dynamics.contact.ContactConstraint;
@@ -91,6 +99,41 @@ public class World {
 	
 	/** Zero gravity constant */
 	public static final Vector2 ZERO_GRAVITY = new Vector2(0.0, 0.0);
+	
+	/**
+	 * Represents the narrowphase result for a pair of {@link BodyFixture}s
+	 * found during the parallel narrowphase.
+	 * <p>
+	 * The results for the same {@link Body} pair are linked in fixture order.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	protected static class NarrowphaseCollision {
+		/** The first fixture */
+		public BodyFixture fixture1;
+		
+		/** The second fixture */
+		public BodyFixture fixture2;
+		
+		/** The penetration */
+		public Penetration penetration;
+		
+		/** The manifold; null if a manifold could not be found */
+		public Manifold manifold;
+		
+		/** The penetration normal x value the manifold was generated with */
+		public double nx;
+		
+		/** The penetration normal y value the manifold was generated with */
+		public double ny;
+		
+		/** The penetration depth the manifold was generated with */
+		public double depth;
+		
+		/** The next result for the same {@link Body} pair */
+		public NarrowphaseCollision next;
+	}
 
 	// settings
 	
@@ -131,11 +174,41 @@ public class World {
 	
 	/** The {@link TimeOfImpactSolver} */
 	protected TimeOfImpactSolver timeOfImpactSolver;
+	
+	/** The {@link ExecutorService} used for parallel solving; can be null */
+	protected ExecutorService executorService;
 
 	// listeners
 	
 	/** The list of listeners for this world */
 	protected List<Listener> listeners;
+
+	/** The cached {@link StepListener}s */
+	protected StepListener[] stepListeners;
+
+	/** The cached {@link CollisionListener}s */
+	protected CollisionListener[] collisionListeners;
+
+	/** The cached {@link BoundsListener}s */
+	protected BoundsListener[] boundsListeners;
+
+	/** The cached {@link TimeOfImpactListener}s */
+	protected TimeOfImpactListener[] timeOfImpactListeners;
+
+	/** The cached {@link DestructionListener}s */
+	protected DestructionListener[] destructionListeners;
+
+	/** The cached {@link RaycastListener}s */
+	protected RaycastListener[] raycastListeners;
+
+	/** The cached {@link ConvexCastListener}s */
+	protected ConvexCastListener[] convexCastListeners;
+
+	/** The cached {@link DetectListener}s */
+	protected DetectListener[] detectListeners;
+
+	/** The cached {@link ContactListener}s */
+	protected ContactListener[] contactListeners;
 	
 	// bodies/joints
 	
@@ -153,6 +226,33 @@ public class World {
 	/** The reusable island */
 	protected Island island;
 	
+	/** The reusable islands used when solving islands in parallel */
+	protected List<Island> islands;
+	
+	/** The reusable penetration object used when object pooling is enabled */
+	protected Penetration penetration;
+	
+	/** The reusable manifold object used when object pooling is enabled */
+	protected Manifold manifold;
+	
+	/** The reusable separation object used for speculative contacts when object pooling is enabled */
+	protected Separation separation;
+	
+	/** The distance detector used for speculative contacts when the narrow-phase detector isn't a {@link DistanceDetector} */
+	protected DistanceDetector distanceDetector;
+	
+	/** The reusable list of contact constraints kept from the last collision detection for frozen bodies */
+	protected List<ContactConstraint> frozenContactConstraints;
+	
+	/** The reusable list of bodies whose broadphase AABBs are updated during collision detection */
+	protected List<Body> broadphaseBodies;
+	
+	/** The reusable list of bodies with infinite mass that moved since the last collision detection */
+	protected List<Body> movedKinematicBodies;
+	
+	/** The reusable list of dynamic bodies that moved since the last collision detection */
+	protected List<Body> movedDynamicBodies;
+	
 	/** The accumulated time */
 	protected double time;
 	
@@ -236,6 +336,18 @@ public class World {
 		this.timeOfImpactSolver = new TimeOfImpactSolver(this);
 		this.contactManager = new ContactManager(this, initialCapacity);
 		this.island = new Island(this, initialCapacity);
+		this.islands = new ArrayList<Island>();
+		this.penetration = new Penetration();
+		this.manifold = new Manifold();
+		this.separation = new Separation();
+		this.distanceDetector = new Gjk();
+		this.frozenContactConstraints = new ArrayList<ContactConstraint>();
+		this.broadphaseBodies = new ArrayList<Body>();
+		this.movedKinematicBodies = new ArrayList<Body>();
+		this.movedDynamicBodies = new ArrayList<Body>();
+		
+		// create the cached listener arrays
+		this.updateListeners();
 		
 		this.time = 0.0;
 		this.updateRequired = true;
@@ -397,7 +509,7 @@ public class World {
 	 */
 	protected void step() {
 		// get all the step listeners
-		List<StepListener> listeners = this.getListeners(StepListener.class);
+		StepListener[] listeners = this.stepListeners;
 		
 		// notify the step listeners
 		for (StepListener sl : listeners) {
@@ -422,6 +534,16 @@ public class World {
 		// check for CCD
 		ContinuousDetectionMode continuousDetectionMode = this.settings.getContinuousDetectionMode();
 		
+		// check for parallel island solving
+		boolean parallel = this.settings.isParallelIslandSolvingEnabled() && this.executorService != null;
+		int islandCount = 0;
+		
+		// the contacts of islands solved on this thread can be solved in parallel
+		ExecutorService contactExecutorService = null;
+		if (this.settings.isParallelContactSolvingEnabled() && !parallel) {
+			contactExecutorService = this.executorService;
+		}
+		
 		// get the number of bodies
 		int size = this.bodies.size();
 		
@@ -459,8 +581,13 @@ public class World {
 			// skip if asleep, in active, static, or already on an island
 			if (seed.isOnIsland() || seed.isAsleep() || !seed.isActive() || seed.isStatic()) continue;
 			
-			// set the island to the reusable island
+			// set the island to the reusable island or, if solving in
+			// parallel, to the next reusable island
 			Island island = this.island;
+			if (parallel) {
+				island = this.getIsland(islandCount++);
+			}
+			island.contactConstraintSolver.setExecutorService(contactExecutorService);
 			
 			island.clear();
 			stack.clear();
@@ -528,23 +655,32 @@ public class World {
 				}
 			}
 			
-			// solve the island
-			island.solve();
+			// solve the island now unless we are solving in parallel
+			if (!parallel) {
+				island.solve();
+			}
 			
 			// allow static bodies to participate in other islands
-			for (int j = 0; j < size; j++) {
-				Body body = this.bodies.get(j);
+			// (only the bodies on this island could have been flagged)
+			int iSize = island.bodies.size();
+			for (int j = 0; j < iSize; j++) {
+				Body body = island.bodies.get(j);
 				if (body.isStatic()) {
 					body.setOnIsland(false);
 				}
 			}
 		}
 		
+		// solve all the islands we found
+		if (parallel && islandCount > 0) {
+			this.solveIslands(islandCount);
+		}
+		
 		// notify of the all solved contacts
 		this.contactManager.postSolveNotify();
 		
-		// make sure CCD is enabled
-		if (continuousDetectionMode != ContinuousDetectionMode.NONE) {
+		// make sure CCD is enabled (speculative contacts are handled during detection)
+		if (continuousDetectionMode != ContinuousDetectionMode.NONE && continuousDetectionMode != ContinuousDetectionMode.SPECULATIVE) {
 			// solve time of impact
 			this.solveTOI(continuousDetectionMode);
 		}
@@ -563,6 +699,96 @@ public class World {
 		}
 	}
 	
+	/**
+	 * Returns the reusable {@link Island} at the given index creating
+	 * a new one if necessary.
+	 * <p>
+	 * The returned island is cleared.
+	 * @param index the island index
+	 * @return {@link Island}
+	 * @since 3.1.11
+	 */
+	private Island getIsland(int index) {
+		Island island;
+		if (index < this.islands.size()) {
+			island = this.islands.get(index);
+		} else {
+			// each island has its own contact constraint solver so
+			// that it can be solved independently of the others
+			island = new Island(this);
+			this.islands.add(island);
+		}
+		island.clear();
+		return island;
+	}
+	
+	/**
+	 * Solves the first count reusable {@link Island}s in parallel using the
+	 * {@link ExecutorService}.
+	 * <p>
+	 * Islands are independent of one another with the exception of static
+	 * {@link Body}s which can be shared.  Static bodies have infinite mass and
+	 * therefore only ever receive zero impulses and corrections.
+	 * <p>
+	 * The islands are distributed over at most {@link Settings#getWorkerCount()}
+	 * tasks.  Each task takes the next unsolved island until all islands have
+	 * been solved.  This method blocks until all islands are solved.
+	 * @param count the number of islands to solve
+	 * @since 3.1.11
+	 */
+	protected void solveIslands(final int count) {
+		// no need to use the executor for one island
+		if (count == 1) {
+			Island island = this.islands.get(0);
+			// the island is solved on this thread so its contacts can be solved in parallel
+			if (this.settings.isParallelContactSolvingEnabled()) {
+				island.contactConstraintSolver.setExecutorService(this.executorService);
+			}
+			island.solve();
+			return;
+		}
+		
+		// the index of the next island to solve
+		final AtomicInteger next = new AtomicInteger();
+		int workers = Math.min(count, this.settings.getWorkerCount());
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(workers);
+		for (int i = 0; i < workers; i++) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					int index;
+					while ((index = next.getAndIncrement()) < count) {
+						islands.get(index).solve();
+					}
+					return null;
+				}
+			});
+		}
+		
+		Tasks.invokeAll(this.executorService, tasks);
+	}
+	
+	/**
+	 * Updates the {@link BroadphaseDetector} with the current {@link AABB}s of the given
+	 * {@link Body}s, in parallel if enabled.
+	 * @param bodies the {@link Body}s
+	 * @see Settings#setParallelBroadphaseUpdateEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	private void updateBroadphase(List<Body> bodies) {
+		// save the transform versions so that the bodies moved since can be found
+		int size = bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body = bodies.get(i);
+			body.broadphaseVersion = body.transform.getVersion();
+		}
+		if (this.settings.isParallelBroadphaseUpdateEnabled()) {
+			this.broadphaseDetector.updateAll(bodies, this.executorService);
+		} else {
+			this.broadphaseDetector.updateAll(bodies);
+		}
+	}
+	
 	/**
 	 * Finds new contacts for all bodies in this world.
 	 * <p>
@@ -588,8 +814,18 @@ public class World {
 	 */
 	protected void detect() {
 		// get the bounds listeners
-		List<BoundsListener> boundsListeners = this.getListeners(BoundsListener.class);
-		List<CollisionListener> collisionListeners = this.getListeners(CollisionListener.class);
+		BoundsListener[] boundsListeners = this.boundsListeners;
+		CollisionListener[] collisionListeners = this.collisionListeners;
+		
+		// check if the collision objects are reused
+		boolean pooling = this.settings.isObjectPoolingEnabled();
+		
+		// check if the contacts of sleeping bodies are frozen (a full
+		// detection is performed if an update was requested)
+		boolean freezing = this.settings.isFrozenContactsEnabled();
+		boolean freeze = freezing && !this.updateRequired;
+		List<ContactConstraint> frozen = this.frozenContactConstraints;
+		List<Body> updated = this.broadphaseBodies;
 		
 		// clear the old contact list (does NOT clear the contact map
 		// which is used to warm start)
@@ -604,7 +840,19 @@ public class World {
 		for (int i = 0; i < size; i++) {
 			Body body = this.bodies.get(i);
 			// skip if already not active
-			if (!body.isActive()) continue;
+			if (!body.isActive()) {
+				// the old contacts will be reused so they cannot be kept
+				if (pooling) body.contacts.clear();
+				// the contacts must be found again once active
+				body.setFrozen(false);
+				continue;
+			}
+			// skip the body entirely if its contacts are frozen
+			if (freeze && body.isFrozen()) {
+				this.freeze(body, frozen);
+				continue;
+			}
+			body.setFrozen(false);
 			// clear all the old contacts
 			body.contacts.clear();
 			// check if bounds have been set
@@ -619,9 +867,22 @@ public class World {
 					}
 				}
 			}
-			// update the broadphase with the new position/orientation
-			this.broadphaseDetector.update(body);
+			// update the broadphase with the new position/orientation below
+			updated.add(body);
+		}
+		
+		// update the broadphase for all the bodies in one pass
+		this.updateBroadphase(updated);
+		updated.clear();
+		
+		// keep the contact constraints of the frozen bodies
+		int fSize = frozen.size();
+		for (int i = 0; i < fSize; i++) {
+			ContactConstraint contactConstraint = frozen.get(i);
+			this.addContactEdges(contactConstraint, pooling);
+			this.contactManager.add(contactConstraint);
 		}
+		frozen.clear();
 		
 		// make sure there are some bodies
 		if (size > 0) {
@@ -629,6 +890,13 @@ public class World {
 			List<BroadphasePair<Body>> pairs = this.broadphaseDetector.detect();
 			int pSize = pairs.size();
 			
+			// perform the narrow-phase for all pairs up front if
+			// its enabled, the listeners are still notified serially below
+			NarrowphaseCollision[] collisions = null;
+			if (this.settings.isParallelNarrowphaseEnabled() && this.executorService != null) {
+				collisions = this.detectParallel(pairs);
+			}
+			
 			// using the broad-phase results, test for narrow-phase
 			for (int i = 0; i < pSize; i++) {
 				BroadphasePair<Body> pair = pairs.get(i);
@@ -643,6 +911,8 @@ public class World {
 				if (!body1.isDynamic() && !body2.isDynamic()) continue;
 				// check for connected pairs who's collision is not allowed
 				if (body1.isConnected(body2, false)) continue;
+				// frozen pairs keep their contact constraints
+				if (this.isFrozen(body1, body2)) continue;
 				
 				// notify of the broadphase collision
 				boolean allow = true;
@@ -655,6 +925,16 @@ public class World {
 					}
 				}
 				if (!allow) continue;
+				
+				// use the results of the parallel narrow-phase if performed
+				if (collisions != null) {
+					NarrowphaseCollision collision = collisions[i];
+					while (collision != null) {
+						this.merge(body1, body2, collision, collisionListeners);
+						collision = collision.next;
+					}
+					continue;
+				}
 	
 				// get their transforms
 				Transform transform1 = body1.transform;
@@ -681,14 +961,20 @@ public class World {
 						Convex convex2 = fixture2.getShape();
 						Convex convex1 = fixture1.getShape();
 						
-						Penetration penetration = new Penetration();
+						Penetration penetration = pooling ? this.penetration : new Penetration();
+						Manifold manifold = pooling ? this.manifold : new Manifold();
 						// test the two convex shapes
-						if (this.narrowphaseDetector.detect(convex1, transform1, convex2, transform2, penetration)) {
+						if (this.narrowphase(body1, fixture1, body2, fixture2, penetration, manifold)) {
 							// check for zero penetration
 							if (penetration.getDepth() == 0.0) {
 								// this should only happen if numerical error occurs
 								continue;
 							}
+							// save the penetration used to generate the manifold
+							Vector2 n = penetration.getNormal();
+							double nx = n.x;
+							double ny = n.y;
+							double depth = penetration.getDepth();
 							// notify of the narrow-phase collision
 							allow = true;
 							for (CollisionListener cl : collisionListeners) {
@@ -700,61 +986,484 @@ public class World {
 								}
 							}
 							if (!allow) continue;
-							Manifold manifold = new Manifold();
-							// if there is penetration then find a contact manifold
-							// using the filled in penetration object
-							if (this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform2, manifold)) {
-								// check for zero points
-								if (manifold.getPoints().size() == 0) {
-									// this should only happen if numerical error occurs
+							// if the narrow-phase didn't generate the manifold or the listeners 
+							// modified the penetration then find a contact manifold using the 
+							// filled in penetration object
+							n = penetration.getNormal();
+							if (manifold.getPoints().size() == 0 || n.x != nx || n.y != ny || penetration.getDepth() != depth) {
+								if (!this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform2, manifold)) {
 									continue;
 								}
-								// notify of the manifold solving result
-								allow = true;
-								for (CollisionListener cl : collisionListeners) {
-									if (!cl.collision(body1, fixture1, body2, fixture2, manifold)) {
-										// if any collision listener returned false then skip this collision
-										// we must allow all the listeners to get notified first, then skip
-										// the collision
-										allow = false;
-									}
-								}
-								if (!allow) continue;
-								// create a contact constraint
-								ContactConstraint contactConstraint = new ContactConstraint(body1, fixture1, 
-										                                                    body2, fixture2, 
-										                                                    manifold, this);
-								
-								allow = true;
-								// notify of the created contact constraint
-								for (CollisionListener cl : collisionListeners) {
-									if (!cl.collision(contactConstraint)) {
-										// if any collision listener returned false then skip this collision
-										// we must allow all the listeners to get notified first, then skip
-										// the collision
-										allow = false;
-									}
-								}
-								if (!allow) continue;
-								
-								// add a contact edge to both bodies
-								ContactEdge contactEdge1 = new ContactEdge(body2, contactConstraint);
-								ContactEdge contactEdge2 = new ContactEdge(body1, contactConstraint);
-								body1.contacts.add(contactEdge1);
-								body2.contacts.add(contactEdge2);
-								// add the contact constraint to the contact manager
-								this.contactManager.add(contactConstraint);
 							}
+							// check for zero points
+							if (manifold.getPoints().size() == 0) {
+								// this should only happen if numerical error occurs
+								continue;
+							}
+							// notify and create the contact constraint
+							this.addContactConstraint(body1, fixture1, body2, fixture2, manifold, collisionListeners);
 						}
 					}
 				}
 			}
+			
+			// check for speculative contacts
+			if (this.settings.getContinuousDetectionMode() == ContinuousDetectionMode.SPECULATIVE) {
+				this.detectSpeculative(collisionListeners);
+			}
+		}
+		
+		// the bodies that are asleep now can be frozen during the next detection
+		if (freezing) {
+			for (int i = 0; i < size; i++) {
+				Body body = this.bodies.get(i);
+				if (body.isActive() && body.isAsleep()) {
+					body.setFrozen(true);
+				}
+			}
 		}
 		
 		// warm start the contact constraints
 		this.contactManager.updateContacts();
 	}
 	
+	/**
+	 * Finds the speculative contacts for all active, awake, dynamic {@link Body}s.
+	 * <p>
+	 * The swept {@link AABB} of each {@link Body}, using its current velocity over
+	 * one step, is tested against the broad-phase to find candidate {@link Body}s.  
+	 * Each candidate that isn't already in contact is tested for separation and, if the
+	 * separation can be closed within one step at the current relative velocity, a single 
+	 * point {@link ContactConstraint} with a negative depth (the separation distance) is added.
+	 * <p>
+	 * The {@link ContactConstraintSolver} allows the {@link Body}s to close the separation
+	 * but no more, avoiding the need for the time of impact pass.
+	 * @param listeners the {@link CollisionListener}s to notify
+	 * @see Settings.ContinuousDetectionMode#SPECULATIVE
+	 * @since 3.1.11
+	 */
+	private void detectSpeculative(CollisionListener[] listeners) {
+		// use the narrow-phase detector for distance if it supports it
+		DistanceDetector detector = this.narrowphaseDetector instanceof DistanceDetector ? 
+				(DistanceDetector)this.narrowphaseDetector : this.distanceDetector;
+		double dt = this.step.getDeltaTime();
+		boolean pooling = this.settings.isObjectPoolingEnabled();
+		
+		int size = this.bodies.size();
+		for (int i = 0; i < size; i++) {
+			Body body1 = this.bodies.get(i);
+			// only active, awake, dynamic bodies generate speculative contacts
+			if (!body1.isActive() || body1.isAsleep() || !body1.isDynamic()) continue;
+			
+			// get the predicted transform for the next step
+			Vector2 v1 = body1.getLinearVelocity();
+			Transform transform1 = body1.transform;
+			Transform predicted = transform1.copy();
+			predicted.translate(v1.x * dt, v1.y * dt);
+			
+			// find the candidates using the swept AABB
+			AABB aabb = body1.createSweptAABB(transform1, predicted);
+			List<Body> candidates = this.broadphaseDetector.detect(aabb);
+			int cSize = candidates.size();
+			for (int j = 0; j < cSize; j++) {
+				Body body2 = candidates.get(j);
+				
+				// skip ourselves and inactive bodies
+				if (body1 == body2 || !body2.isActive()) continue;
+				// skip bodies already in contact (this includes speculative
+				// contacts already found from the other body)
+				if (body1.isInContact(body2)) continue;
+				// check for connected pairs who's collision is not allowed
+				if (body1.isConnected(body2, false)) continue;
+				
+				// notify of the broadphase collision
+				boolean allow = true;
+				for (CollisionListener cl : listeners) {
+					if (!cl.collision(body1, body2)) {
+						allow = false;
+					}
+				}
+				if (!allow) continue;
+				
+				Transform transform2 = body2.transform;
+				Vector2 c1 = body1.getWorldCenter();
+				Vector2 c2 = body2.getWorldCenter();
+				
+				int b1Size = body1.getFixtureCount();
+				int b2Size = body2.getFixtureCount();
+				for (int k = 0; k < b1Size; k++) {
+					BodyFixture fixture1 = body1.getFixture(k);
+					// sensors don't have a collision response
+					if (fixture1.isSensor()) continue;
+					Filter filter1 = fixture1.getFilter();
+					for (int l = 0; l < b2Size; l++) {
+						BodyFixture fixture2 = body2.getFixture(l);
+						if (fixture2.isSensor()) continue;
+						// test the filter
+						if (!filter1.isAllowed(fixture2.getFilter())) continue;
+						
+						// get the separation (returns false if they are overlapping)
+						Separation separation = pooling ? this.separation : new Separation();
+						if (!detector.distance(fixture1.getShape(), transform1, fixture2.getShape(), transform2, separation)) continue;
+						
+						// get the relative velocity of the closest points
+						Vector2 p1 = separation.getPoint1();
+						Vector2 p2 = separation.getPoint2();
+						Vector2 lv1 = c1.to(p1).cross(body1.getAngularVelocity()).add(v1);
+						Vector2 lv2 = c2.to(p2).cross(body2.getAngularVelocity()).add(body2.getLinearVelocity());
+						
+						// only create a contact if the separation could be closed this step
+						double distance = separation.getDistance();
+						if (distance >= lv1.subtract(lv2).getMagnitude() * dt) continue;
+						
+						// create a single point manifold at the midpoint with a negative depth
+						Manifold manifold = pooling ? this.manifold : new Manifold();
+						manifold.clear();
+						manifold.addPoint(ManifoldPointId.DISTANCE, (p1.x + p2.x) * 0.5, (p1.y + p2.y) * 0.5, -distance);
+						Vector2 n = separation.getNormal();
+						manifold.setNormal(-n.x, -n.y);
+						
+						// notify and create the contact constraint
+						this.addContactConstraint(body1, fixture1, body2, fixture2, manifold, listeners);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Notifies the given {@link CollisionListener}s of the given contact {@link Manifold}
+	 * and, if allowed, creates a {@link ContactConstraint} and adds it to the {@link ContactManager}
+	 * and the contact edges of both {@link Body}s.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @param manifold the contact {@link Manifold}
+	 * @param listeners the {@link CollisionListener}s to notify
+	 * @since 3.1.11
+	 */
+	private void addContactConstraint(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Manifold manifold, CollisionListener[] listeners) {
+		// notify of the manifold solving result
+		boolean allow = true;
+		for (CollisionListener cl : listeners) {
+			if (!cl.collision(body1, fixture1, body2, fixture2, manifold)) {
+				// if any collision listener returned false then skip this collision
+				// we must allow all the listeners to get notified first, then skip
+				// the collision
+				allow = false;
+			}
+		}
+		if (!allow) return;
+		// create a contact constraint
+		boolean pooling = this.settings.isObjectPoolingEnabled();
+		ContactConstraint contactConstraint = pooling ? 
+				this.contactManager.getContactConstraint(body1, fixture1, body2, fixture2, manifold) :
+				new ContactConstraint(body1, fixture1, body2, fixture2, manifold, this);
+		
+		allow = true;
+		// notify of the created contact constraint
+		for (CollisionListener cl : listeners) {
+			if (!cl.collision(contactConstraint)) {
+				// if any collision listener returned false then skip this collision
+				// we must allow all the listeners to get notified first, then skip
+				// the collision
+				allow = false;
+			}
+		}
+		if (!allow) {
+			// return the unused contact constraint to the pool
+			if (pooling) this.contactManager.recycle(contactConstraint);
+			return;
+		}
+		
+		// add a contact edge to both bodies
+		this.addContactEdges(contactConstraint, pooling);
+		// add the contact constraint to the contact manager
+		this.contactManager.add(contactConstraint);
+	}
+	
+	/**
+	 * Adds a {@link ContactEdge} for the given {@link ContactConstraint} to both of its {@link Body}s.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @param pooling true if the {@link ContactEdge}s should be reused
+	 * @since 3.1.11
+	 */
+	private void addContactEdges(ContactConstraint contactConstraint, boolean pooling) {
+		Body body1 = contactConstraint.getBody1();
+		Body body2 = contactConstraint.getBody2();
+		ContactEdge contactEdge1 = pooling ? this.contactManager.getContactEdge(body2, contactConstraint) : new ContactEdge(body2, contactConstraint);
+		ContactEdge contactEdge2 = pooling ? this.contactManager.getContactEdge(body1, contactConstraint) : new ContactEdge(body1, contactConstraint);
+		body1.contacts.add(contactEdge1);
+		body2.contacts.add(contactEdge2);
+	}
+	
+	/**
+	 * Adds the {@link ContactConstraint}s of the given frozen {@link Body} that should be kept to the
+	 * given list and clears the {@link Body}'s contacts.
+	 * <p>
+	 * The contact constraints with other frozen bodies, added only once for each pair, and with static 
+	 * bodies are kept.  The rest are found again by the narrow-phase.
+	 * @param body the frozen {@link Body}
+	 * @param frozen the list of contact constraints to keep
+	 * @see Settings#setFrozenContactsEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	private void freeze(Body body, List<ContactConstraint> frozen) {
+		int size = body.contacts.size();
+		for (int i = 0; i < size; i++) {
+			ContactEdge contactEdge = body.contacts.get(i);
+			ContactConstraint contactConstraint = contactEdge.getContactConstraint();
+			Body other = contactEdge.getOther();
+			// the other body must be active and frozen or static
+			if (!other.isActive()) continue;
+			if (other.isFrozen() ? contactConstraint.getBody1() == body : other.isStatic()) {
+				frozen.add(contactConstraint);
+			}
+		}
+		// the contact edges may be reused so rebuild them
+		body.contacts.clear();
+	}
+	
+	/**
+	 * Returns true if the contact constraints between the given {@link Body}s are frozen.
+	 * <p>
+	 * The contact constraints are frozen if one body is frozen and the other is either
+	 * frozen or static.
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @return boolean
+	 * @see Settings#setFrozenContactsEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	private boolean isFrozen(Body body1, Body body2) {
+		boolean frozen1 = body1.isFrozen();
+		boolean frozen2 = body2.isFrozen();
+		return (frozen1 && (frozen2 || body2.isStatic())) || (frozen2 && body1.isStatic());
+	}
+	
+	/**
+	 * Performs the narrow-phase collision detection and manifold generation for all
+	 * the given broad-phase pairs in parallel using the {@link ExecutorService}.
+	 * <p>
+	 * This method does not notify any listeners or modify any {@link Body}.  The
+	 * returned array contains the results for each pair at the pair's index, or null
+	 * if the pair was skipped or not colliding.
+	 * <p>
+	 * The pairs are split into contiguous shards that are distributed over at most
+	 * {@link Settings#getWorkerCount()} tasks.  This method blocks until all the shards
+	 * have been processed.
+	 * @param pairs the broad-phase pairs
+	 * @return {@link NarrowphaseCollision}[]
+	 * @since 3.1.11
+	 */
+	protected NarrowphaseCollision[] detectParallel(final List<BroadphasePair<Body>> pairs) {
+		final int size = pairs.size();
+		final NarrowphaseCollision[] collisions = new NarrowphaseCollision[size];
+		// check for no pairs
+		if (size == 0) return collisions;
+		
+		// use more shards than workers to balance the load
+		int workers = Math.min(size, this.settings.getWorkerCount());
+		final int shards = Math.min(size, workers * 4);
+		// the index of the next shard to process
+		final AtomicInteger next = new AtomicInteger();
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(workers);
+		for (int i = 0; i < workers; i++) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					int shard;
+					while ((shard = next.getAndIncrement()) < shards) {
+						int start = (int)((long)shard * size / shards);
+						int end = (int)((long)(shard + 1) * size / shards);
+						for (int j = start; j < end; j++) {
+							collisions[j] = narrowphase(pairs.get(j));
+						}
+					}
+					return null;
+				}
+			});
+		}
+		
+		Tasks.invokeAll(this.executorService, tasks);
+		return collisions;
+	}
+	
+	/**
+	 * Performs the narrow-phase collision detection and manifold generation for the
+	 * given broad-phase pair without notifying any listeners.
+	 * <p>
+	 * Returns null if the pair should be skipped or none of the fixtures are colliding.
+	 * @param pair the broad-phase pair
+	 * @return {@link NarrowphaseCollision} the first result for the pair
+	 * @since 3.1.11
+	 */
+	private NarrowphaseCollision narrowphase(BroadphasePair<Body> pair) {
+		// get the bodies
+		Body body1 = pair.getA();
+		Body body2 = pair.getB();
+		
+		// perform the same checks as the serial narrow-phase
+		if (!body1.isActive() || !body2.isActive()) return null;
+		if (!body1.isDynamic() && !body2.isDynamic()) return null;
+		if (body1.isConnected(body2, false)) return null;
+		if (this.isFrozen(body1, body2)) return null;
+		
+		// get their transforms
+		Transform transform1 = body1.transform;
+		Transform transform2 = body2.transform;
+		
+		NarrowphaseCollision first = null;
+		NarrowphaseCollision last = null;
+		
+		// loop through the fixtures of body 1
+		int b1Size = body1.getFixtureCount();
+		int b2Size = body2.getFixtureCount();
+		for (int j = 0; j < b1Size; j++) {
+			BodyFixture fixture1 = body1.getFixture(j);
+			Filter filter1 = fixture1.getFilter();
+			
+			// test against each fixture of body 2
+			for (int k = 0; k < b2Size; k++) {
+				BodyFixture fixture2 = body2.getFixture(k);
+				Filter filter2 = fixture2.getFilter();
+				
+				// test the filter
+				if (!filter1.isAllowed(filter2)) continue;
+				
+				Convex convex1 = fixture1.getShape();
+				Convex convex2 = fixture2.getShape();
+				
+				Penetration penetration = new Penetration();
+				Manifold manifold = new Manifold();
+				// test the two convex shapes
+				if (!this.narrowphase(body1, fixture1, body2, fixture2, penetration, manifold)) continue;
+				// check for zero penetration
+				if (penetration.getDepth() == 0.0) continue;
+				
+				// the manifold is generated even though the listeners have
+				// not been notified of the penetration yet
+				if (manifold.getPoints().size() == 0 
+				 && (!this.manifoldSolver.getManifold(penetration, convex1, transform1, convex2, transform2, manifold)
+				  || manifold.getPoints().size() == 0)) {
+					// the listeners must still be notified of the penetration
+					manifold = null;
+				}
+				
+				NarrowphaseCollision collision = new NarrowphaseCollision();
+				collision.fixture1 = fixture1;
+				collision.fixture2 = fixture2;
+				collision.penetration = penetration;
+				collision.manifold = manifold;
+				// save the penetration used to generate the manifold
+				Vector2 n = penetration.getNormal();
+				collision.nx = n.x;
+				collision.ny = n.y;
+				collision.depth = penetration.getDepth();
+				
+				// link the results in fixture order
+				if (first == null) {
+					first = collision;
+				} else {
+					last.next = collision;
+				}
+				last = collision;
+			}
+		}
+		
+		return first;
+	}
+	
+	/**
+	 * Tests the given fixtures for collision using the narrow-phase detector.
+	 * <p>
+	 * When {@link Gjk} warm starting is enabled and the narrow-phase detector is {@link Gjk}, the 
+	 * search direction saved on the {@link ContactConstraint} of the same fixtures from the last 
+	 * collision detection, if any, is used as the initial search direction.
+	 * <p>
+	 * When the narrow-phase detector is a {@link ManifoldDetector} that supports the fixtures and the 
+	 * manifold solver is a {@link ClippingManifoldSolver}, the given {@link Manifold} is generated along 
+	 * with the {@link Penetration}.  Otherwise the given {@link Manifold} is cleared.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @param penetration the {@link Penetration} object to fill
+	 * @param manifold the {@link Manifold} object to fill if supported
+	 * @return boolean true if the fixtures are colliding
+	 * @see Settings#setGjkWarmStartEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	private boolean narrowphase(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Penetration penetration, Manifold manifold) {
+		Convex convex1 = fixture1.getShape();
+		Convex convex2 = fixture2.getShape();
+		manifold.clear();
+		if (this.narrowphaseDetector instanceof ManifoldDetector && this.manifoldSolver instanceof ClippingManifoldSolver) {
+			ManifoldDetector detector = (ManifoldDetector)this.narrowphaseDetector;
+			if (detector.isManifoldSupported(convex1, convex2)) {
+				// generate the manifold in the same pass
+				return detector.detect(convex1, body1.transform, convex2, body2.transform, penetration, manifold);
+			}
+		}
+		if (this.settings.isGjkWarmStartEnabled() && this.narrowphaseDetector instanceof Gjk) {
+			// start from the last search direction for these fixtures if they were in contact
+			Vector2 direction = this.contactManager.getSearchDirection(body1, fixture1, body2, fixture2);
+			if (direction != null) {
+				return ((Gjk)this.narrowphaseDetector).detect(convex1, body1.transform, convex2, body2.transform, penetration, direction);
+			}
+		}
+		return this.narrowphaseDetector.detect(convex1, body1.transform, convex2, body2.transform, penetration);
+	}
+	
+	/**
+	 * Notifies the given {@link CollisionListener}s of the given parallel narrow-phase
+	 * result and creates the {@link ContactConstraint} if allowed.
+	 * <p>
+	 * Since the {@link CollisionListener}s are allowed to modify the {@link Penetration},
+	 * the {@link Manifold} is generated again if the penetration was modified.
+	 * @param body1 the first {@link Body}
+	 * @param body2 the second {@link Body}
+	 * @param collision the narrow-phase result
+	 * @param listeners the {@link CollisionListener}s to notify
+	 * @since 3.1.11
+	 */
+	private void merge(Body body1, Body body2, NarrowphaseCollision collision, CollisionListener[] listeners) {
+		BodyFixture fixture1 = collision.fixture1;
+		BodyFixture fixture2 = collision.fixture2;
+		Penetration penetration = collision.penetration;
+		
+		// notify of the narrow-phase collision
+		boolean allow = true;
+		for (CollisionListener cl : listeners) {
+			if (!cl.collision(body1, fixture1, body2, fixture2, penetration)) {
+				// if any collision listener returned false then skip this collision
+				// we must allow all the listeners to get notified first, then skip
+				// the collision
+				allow = false;
+			}
+		}
+		if (!allow) return;
+		
+		Manifold manifold = collision.manifold;
+		// check if the penetration was modified by the listeners
+		Vector2 n = penetration.getNormal();
+		if (n.x != collision.nx || n.y != collision.ny || penetration.getDepth() != collision.depth) {
+			// if so, we need to generate the manifold again
+			manifold = this.settings.isObjectPoolingEnabled() ? this.manifold : new Manifold();
+			if (!this.manifoldSolver.getManifold(penetration, fixture1.getShape(), body1.transform, fixture2.getShape(), body2.transform, manifold)
+			  || manifold.getPoints().size() == 0) {
+				return;
+			}
+		}
+		
+		// check for no manifold
+		if (manifold == null) return;
+		
+		// notify and create the contact constraint
+		this.addContactConstraint(body1, fixture1, body2, fixture2, manifold, listeners);
+	}
+	
 	/**
 	 * Solves the time of impact for all the {@link Body}s in this {@link World}.
 	 * <p>
@@ -776,10 +1485,26 @@ public class World {
 	 * @since 1.2.0
 	 */
 	protected void solveTOI(ContinuousDetectionMode mode) {
-		List<TimeOfImpactListener> listeners = this.getListeners(TimeOfImpactListener.class);
+		TimeOfImpactListener[] listeners = this.timeOfImpactListeners;
 		// get the number of bodies
 		int size = this.bodies.size();
 		
+		// find the bodies that moved since the last collision detection; the broadphase
+		// only has their old AABBs so they are tested directly instead
+		List<Body> kinematic = this.movedKinematicBodies;
+		List<Body> dynamic = this.movedDynamicBodies;
+		kinematic.clear();
+		dynamic.clear();
+		for (int i = 0; i < size; i++) {
+			Body body = this.bodies.get(i);
+			if (!body.isActive() || body.transform.getVersion() == body.broadphaseVersion) continue;
+			if (body.isDynamic()) {
+				dynamic.add(body);
+			} else {
+				kinematic.add(body);
+			}
+		}
+		
 		// check the CCD mode
 		boolean bulletsOnly = (mode == ContinuousDetectionMode.BULLETS_ONLY);
 		
@@ -820,6 +1545,13 @@ public class World {
 	 * This method will find the first {@link Body} that the given {@link Body}
 	 * collides with unless ignored via the {@link TimeOfImpactListener}.
 	 * <p>
+	 * The candidate {@link Body}s that didn't move since the last collision detection are
+	 * found by querying the {@link BroadphaseDetector} with the swept {@link AABB} of the 
+	 * given {@link Body}.  The {@link Body}s that moved, as found by the 
+	 * {@link #solveTOI(ContinuousDetectionMode)} method, are always candidates since 
+	 * the {@link BroadphaseDetector} doesn't have their current {@link AABB}s.  Dynamic 
+	 * {@link Body}s are only candidates if the given {@link Body} is a bullet.
+	 * <p>
 	 * If any {@link TimeOfImpactListener} doesn't allow the collision the collision
 	 * is ignored.
 	 * <p>
@@ -830,15 +1562,29 @@ public class World {
 	 * to force the {@link Body}s into collision.  This causes the discrete collision
 	 * detector to detect the collision on the next time step.
 	 * @param body1 the {@link Body}
-	 * @param listeners the list of {@link TimeOfImpactListener}s
+	 * @param listeners the {@link TimeOfImpactListener}s
 	 * @since 3.1.0
 	 */
-	protected void solveTOI(Body body1, List<TimeOfImpactListener> listeners) {
-		int size = this.bodies.size();
+	protected void solveTOI(Body body1, TimeOfImpactListener[] listeners) {
+		boolean bullet = body1.isBullet();
+		
+		// find the candidates that didn't move using the broadphase
+		List<Body> candidates = this.broadphaseDetector.detect(body1, body1.transform0, body1.transform);
+		Iterator<Body> it = candidates.iterator();
+		while (it.hasNext()) {
+			Body body = it.next();
+			// only bullets are tested against dynamic bodies
+			if (body.transform.getVersion() != body.broadphaseVersion || (body.isDynamic() && !bullet)) {
+				it.remove();
+			}
+		}
+		// add the bodies that moved
+		candidates.addAll(this.movedKinematicBodies);
+		if (bullet) candidates.addAll(this.movedDynamicBodies);
+		int size = candidates.size();
 		
 		// generate a swept AABB for this body
 		AABB aabb1 = body1.createSweptAABB();
-		boolean bullet = body1.isBullet();
 		
 		// setup the initial time bounds [0, 1]
 		double t1 = 0.0;
@@ -848,10 +1594,10 @@ public class World {
 		TimeOfImpact minToi = null;
 		Body minBody = null;
 		
-		// loop over all the other bodies to find the minimum TOI
+		// loop over all the candidates to find the minimum TOI
 		for (int i = 0; i < size; i++) {
 			// get the other body
-			Body body2 = this.bodies.get(i);
+			Body body2 = candidates.get(i);
 
 			// skip this test if they are the same body
 			if (body1 == body2) continue;
@@ -1339,7 +2085,7 @@ public class World {
 	 * @since 3.1.9
 	 */
 	public boolean raycast(Ray ray, Body body, double maxLength, Filter filter, boolean ignoreSensors, RaycastResult result) {
-		List<RaycastListener> listeners = this.getListeners(RaycastListener.class);
+		RaycastListener[] listeners = this.raycastListeners;
 		boolean allow = true;
 		for (RaycastListener rl : listeners) {
 			// see if we should test this body
@@ -1599,7 +2345,7 @@ public class World {
 	 */
 	public boolean convexCast(Convex convex, Transform transform, Vector2 deltaPosition, double deltaAngle, Filter filter, boolean ignoreSensors, boolean ignoreInactive, boolean all, List<ConvexCastResult> results) {
 		// get the listeners
-		List<ConvexCastListener> listeners = this.getListeners(ConvexCastListener.class);
+		ConvexCastListener[] listeners = this.convexCastListeners;
 		
 		// compute a conservative AABB for the motion of the convex
 		double radius = convex.getRadius();
@@ -1805,7 +2551,7 @@ public class World {
 	 */
 	public boolean convexCast(Convex convex, Transform transform, Vector2 deltaPosition, double deltaAngle, Body body, Filter filter, boolean ignoreSensors, ConvexCastResult result) {
 		// get the listeners
-		List<ConvexCastListener> listeners = this.getListeners(ConvexCastListener.class);
+		ConvexCastListener[] listeners = this.convexCastListeners;
 		
 		boolean allow = true;
 		for (ConvexCastListener ccl : listeners) {
@@ -1907,7 +2653,7 @@ public class World {
 	 * @since 3.1.9
 	 */
 	public boolean detect(AABB aabb, boolean ignoreInactive, List<Body> bodies) {
-		List<DetectListener> listeners = this.getListeners(DetectListener.class);
+		DetectListener[] listeners = this.detectListeners;
 		
 		List<Body> collisions = this.broadphaseDetector.detect(aabb);
 		boolean found = false;
@@ -1970,7 +2716,7 @@ public class World {
 	 * @since 3.1.9
 	 */
 	public boolean detect(AABB aabb, Filter filter, boolean ignoreSensors, boolean ignoreInactive, List<DetectResult> results) {
-		List<DetectListener> listeners = this.getListeners(DetectListener.class);
+		DetectListener[] listeners = this.detectListeners;
 		
 		List<Body> collisions = this.broadphaseDetector.detect(aabb);
 		boolean found = false;
@@ -2263,7 +3009,7 @@ public class World {
 	 * @since 3.1.9
 	 */
 	public boolean detect(Convex convex, Transform transform, Filter filter, boolean ignoreSensors, boolean ignoreInactive, boolean includeCollisionData, List<DetectResult> results) {
-		List<DetectListener> listeners = this.getListeners(DetectListener.class);
+		DetectListener[] listeners = this.detectListeners;
 		boolean allow = true;
 		
 		// create an aabb for the given convex
@@ -2373,7 +3119,7 @@ public class World {
 	 * @since 3.1.9
 	 */
 	public boolean detect(AABB aabb, Body body, Filter filter, boolean ignoreSensors, List<DetectResult> results) {
-		List<DetectListener> listeners = this.getListeners(DetectListener.class);
+		DetectListener[] listeners = this.detectListeners;
 		
 		// pass through the listeners first
 		boolean allow = true;
@@ -2561,7 +3307,7 @@ public class World {
 	 * @since 3.1.9
 	 */
 	public boolean detect(Convex convex, Transform transform, Body body, Filter filter, boolean ignoreSensors, boolean includeCollisionData, List<DetectResult> results) {
-		List<DetectListener> listeners = this.getListeners(DetectListener.class);
+		DetectListener[] listeners = this.detectListeners;
 		// make sure we can test the body
 		boolean allow = true;
 		for (DetectListener listener : listeners) {
@@ -2690,6 +3436,7 @@ public class World {
 		body.setWorld(this);
 		// add it to the broadphase
 		this.broadphaseDetector.add(body);
+		body.broadphaseVersion = body.transform.getVersion();
 	}
 	
 	/**
@@ -2767,9 +3514,9 @@ public class World {
 	 * @since 3.1.1
 	 */
 	public boolean removeBody(Body body, boolean notify) {
-		List<DestructionListener> listeners = null;
+		DestructionListener[] listeners = null;
 		if (notify) {
-			listeners = this.getListeners(DestructionListener.class);
+			listeners = this.destructionListeners;
 		}
 		// check for null body
 		if (body == null) return false;
@@ -2965,9 +3712,9 @@ public class World {
 	 * @since 3.1.1
 	 */
 	public void removeAllBodiesAndJoints(boolean notify) {
-		List<DestructionListener> listeners = null;
+		DestructionListener[] listeners = null;
 		if (notify) {
-			listeners = this.getListeners(DestructionListener.class);
+			listeners = this.destructionListeners;
 		}
 		// loop over the bodies and clear the
 		// joints and contacts
@@ -3103,9 +3850,9 @@ public class World {
 	 * @since 3.0.1
 	 */
 	public void removeAllJoints(boolean notify) {
-		List<DestructionListener> listeners = null;
+		DestructionListener[] listeners = null;
 		if (notify) {
-			listeners = this.getListeners(DestructionListener.class);
+			listeners = this.destructionListeners;
 		}
 		// get the number of joints
 		int jSize = this.joints.size();
@@ -3334,6 +4081,8 @@ public class World {
 		if (this.listeners.contains(listener)) throw new IllegalArgumentException("dynamics.world.addExistingListener");
 		// then add the listener
 		this.listeners.add(listener);
+		// update the cached listeners
+		this.updateListeners();
 	}
 	
 	/**
@@ -3353,7 +4102,10 @@ public class World {
 	 * @since 3.1.0
 	 */
 	public boolean removeListener(Listener listener) {
-		return this.listeners.remove(listener);
+		boolean removed = this.listeners.remove(listener);
+		// update the cached listeners
+		if (removed) this.updateListeners();
+		return removed;
 	}
 	
 	/**
@@ -3364,6 +4116,8 @@ public class World {
 	public int removeAllListeners() {
 		int count = this.listeners.size();
 		this.listeners.clear();
+		// update the cached listeners
+		this.updateListeners();
 		return count;
 	}
 	
@@ -3397,9 +4151,33 @@ public class World {
 				count++;
 			}
 		}
+		// update the cached listeners
+		if (count > 0) this.updateListeners();
 		return count;
 	}
 	
+	/**
+	 * Rebuilds the cached arrays of listeners for each listener type
+	 * this world notifies.
+	 * <p>
+	 * This method is called whenever a listener is added or removed so that
+	 * the listeners do not need to be found each time they are notified.
+	 * @since 3.1.11
+	 */
+	protected void updateListeners() {
+		this.stepListeners = this.getListeners(StepListener.class).toArray(new StepListener[0]);
+		this.collisionListeners = this.getListeners(CollisionListener.class).toArray(new CollisionListener[0]);
+		this.boundsListeners = this.getListeners(BoundsListener.class).toArray(new BoundsListener[0]);
+		this.timeOfImpactListeners = this.getListeners(TimeOfImpactListener.class).toArray(new TimeOfImpactListener[0]);
+		this.destructionListeners = this.getListeners(DestructionListener.class).toArray(new DestructionListener[0]);
+		this.raycastListeners = this.getListeners(RaycastListener.class).toArray(new RaycastListener[0]);
+		this.convexCastListeners = this.getListeners(ConvexCastListener.class).toArray(new ConvexCastListener[0]);
+		this.detectListeners = this.getListeners(DetectListener.class).toArray(new DetectListener[0]);
+		this.contactListeners = this.getListeners(ContactListener.class).toArray(new ContactListener[0]);
+		// the contact manager notifies the contact listeners
+		this.contactManager.setListeners(this.contactListeners);
+	}
+	
 	/**
 	 * Returns the total number of listeners attached to this world.
 	 * @return int
@@ -3457,7 +4235,9 @@ public class World {
 		// re-add all bodies to the broadphase
 		int size = this.bodies.size();
 		for (int i = 0; i < size; i++) {
-			this.broadphaseDetector.add(this.bodies.get(i));
+			Body body = this.bodies.get(i);
+			this.broadphaseDetector.add(body);
+			body.broadphaseVersion = body.transform.getVersion();
 		}
 	}
 	
@@ -3528,6 +4308,33 @@ public class World {
 		return this.timeOfImpactDetector;
 	}
 	
+	/**
+	 * Sets the {@link ExecutorService} used to perform the parallel stages of a time step.
+	 * <p>
+	 * The parallel stages are enabled in the {@link Settings} of this world.  The world
+	 * does not manage the lifecycle of the given executor service; the caller is
+	 * responsible for shutting it down.
+	 * <p>
+	 * Set the executor service to null to perform all the stages serially.
+	 * @param executorService the executor service; can be null
+	 * @see Settings#setParallelIslandSolvingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+	
+	/**
+	 * Returns the {@link ExecutorService} used to perform the parallel stages of a time step.
+	 * <p>
+	 * Returns null if no executor service has been set.
+	 * @return ExecutorService
+	 * @since 3.1.11
+	 */
+	public ExecutorService getExecutorService() {
+		return this.executorService;
+	}
+	
 	/**
 	 * Sets the raycast detector.
 	 * @param raycastDetector the raycast detector
@@ -3914,7 +4721,7 @@ public class World {
 	 */
 	@Deprecated
 	public List<Body> detect(Convex convex, Transform transform) {
-		List<DetectListener> listeners = this.getListeners(DetectListener.class);
+		DetectListener[] listeners = this.detectListeners;
 		boolean allow = true;
 		
 		// create an aabb for the given convex
@@ -35,12 +35,13 @@ import org.dyn4j.dynamics.CoefficientMixer;
 import org.dyn4j.dynamics.Constraint;
 import org.dyn4j.dynamics.World;
 import org.dyn4j.geometry.Matrix22;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 
 /**
  * Represents a {@link Contact} constraint for each {@link Body} pair.  
  * @author William Bittle
- * @version 3.1.1
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class ContactConstraint extends Constraint {
@@ -80,6 +81,9 @@ public class ContactConstraint extends Constraint {
 	/** The inverse of the {@link #K} matrix */
 	protected Matrix22 invK;
 	
+	/** The last narrowphase search direction between the fixtures; zero if not known */
+	protected final Vector2 searchDirection = new Vector2();
+	
 	/**
 	 * Full constructor.
 	 * @param body1 the first {@link Body}
@@ -106,17 +110,19 @@ public class ContactConstraint extends Constraint {
 		for (int l = 0; l < mSize; l++) {
 			// get the manifold point
 			ManifoldPoint point = points.get(l);
-			// create a contact from the manifold point
+			// create a contact from the manifold point (the point is copied
+			// since the manifold points may be reused by the collision detection)
 			Contact contact = new Contact(point.getId(),
-					                      point.getPoint(), 
+					                      point.getPoint().copy(), 
 					                      point.getDepth(), 
 					                      this.body1.getLocalPoint(point.getPoint()), 
 					                      this.body2.getLocalPoint(point.getPoint()));
 			// add the contact to the array
 			this.contacts.add(contact);
 		}
-		// set the normal
-		this.normal = manifold.getNormal();
+		// set the normal (copied since the manifold and penetration
+		// normals may be reused by the collision detection)
+		this.normal = manifold.getNormal().copy();
 		// set the tangent
 		this.tangent = this.normal.cross(1.0);
 		// set the world
@@ -134,6 +140,97 @@ public class ContactConstraint extends Constraint {
 		this.onIsland = false;
 	}
 	
+	/**
+	 * Reinitializes this contact constraint using the given bodies, fixtures and manifold.
+	 * <p>
+	 * The {@link ContactConstraintId}, {@link Contact}s and vectors of this contact constraint
+	 * are reused rather than created.  This is used by the {@link ContactManager} to recycle
+	 * contact constraints when object pooling is enabled.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @param manifold the contact {@link Manifold}
+	 * @param world the {@link World} this contact constraint belongs to
+	 * @since 3.1.11
+	 */
+	protected void set(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Manifold manifold, World world) {
+		this.body1 = body1;
+		this.body2 = body2;
+		// set the involved convex shapes
+		this.fixture1 = fixture1;
+		this.fixture2 = fixture2;
+		// update the constraint id
+		this.id.body1 = body1;
+		this.id.body2 = body2;
+		this.id.fixture1 = fixture1;
+		this.id.fixture2 = fixture2;
+		// get the manifold points
+		List<ManifoldPoint> points = manifold.getPoints();
+		// get the manifold point size
+		int mSize = points.size();
+		// remove any extra contacts
+		for (int l = this.contacts.size() - 1; l >= mSize; l--) {
+			this.contacts.remove(l);
+		}
+		Transform transform1 = body1.getTransform();
+		Transform transform2 = body2.getTransform();
+		// reuse the contacts for each point
+		for (int l = 0; l < mSize; l++) {
+			// get the manifold point
+			ManifoldPoint point = points.get(l);
+			Vector2 p = point.getPoint();
+			if (l < this.contacts.size()) {
+				// reset the contact
+				Contact contact = this.contacts.get(l);
+				contact.id = point.getId();
+				contact.enabled = true;
+				contact.p.x = p.x;
+				contact.p.y = p.y;
+				contact.depth = point.getDepth();
+				transform1.getInverseTransformed(p, contact.p1);
+				transform2.getInverseTransformed(p, contact.p2);
+				contact.r1 = null;
+				contact.r2 = null;
+				contact.jn = 0.0;
+				contact.jt = 0.0;
+				contact.jp = 0.0;
+				contact.massN = 0.0;
+				contact.massT = 0.0;
+				contact.vb = 0.0;
+			} else {
+				// create a contact from the manifold point
+				Contact contact = new Contact(point.getId(),
+						                      p.copy(), 
+						                      point.getDepth(), 
+						                      transform1.getInverseTransformed(p), 
+						                      transform2.getInverseTransformed(p));
+				this.contacts.add(contact);
+			}
+		}
+		// set the normal and tangent
+		Vector2 n = manifold.getNormal();
+		this.normal.x = n.x;
+		this.normal.y = n.y;
+		this.tangent.x = -n.y;
+		this.tangent.y = n.x;
+		// set the world
+		this.world = world;
+		// compute the coefficients
+		CoefficientMixer mixer = world.getCoefficientMixer();
+		this.friction = mixer.mixFriction(fixture1.getFriction(), fixture2.getFriction());
+		this.restitution = mixer.mixRestitution(fixture1.getRestitution(), fixture2.getRestitution());
+		// set the sensor flag
+		this.sensor = fixture1.isSensor() || fixture2.isSensor();
+		// reset the remaining state
+		this.tangentSpeed = 0;
+		this.K = null;
+		this.invK = null;
+		this.searchDirection.zero();
+		this.onIsland = false;
+		this.userData = null;
+	}
+	
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
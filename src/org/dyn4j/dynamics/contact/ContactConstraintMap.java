@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2010-2014 William Bittle  http://www.dyn4j.org/
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without modification, are permitted 
+ * provided that the following conditions are met:
+ * 
+ *   * Redistributions of source code must retain the above copyright notice, this list of conditions 
+ *     and the following disclaimer.
+ *   * Redistributions in binary form must reproduce the above copyright notice, this list of conditions 
+ *     and the following disclaimer in the documentation and/or other materials provided with the 
+ *     distribution.
+ *   * Neither the name of dyn4j nor the names of its contributors may be used to endorse or 
+ *     promote products derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR 
+ * IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND 
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL 
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, 
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER 
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT 
+ * OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.dyn4j.dynamics.contact;
+
+import java.util.Arrays;
+
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.resources.Messages;
+
+/**
+ * Represents a map of {@link ContactConstraintId}s to {@link ContactConstraint}s used
+ * to warm start the {@link ContactConstraint}s between time steps.
+ * <p>
+ * This map uses open addressing with a primitive key packed from the {@link org.dyn4j.dynamics.Body}
+ * and {@link org.dyn4j.dynamics.BodyFixture} handles so that look ups do not allocate or hash objects.
+ * A slot is only occupied if its stamp matches the current generation of the map, so the 
+ * {@link #clear()} method only needs to increment the generation.  The slots of a cleared map
+ * still reference their old {@link ContactConstraint}s until reused; use the {@link #reset()}
+ * method to release them.
+ * <p>
+ * The {@link #size()} and {@link #getValue(int)} methods along with the {@link #getCapacity()}
+ * method can be used to iterate over the {@link ContactConstraint}s without allocating.
+ * <p>
+ * Null values are not allowed.
+ * @author William Bittle
+ * @version 3.1.11
+ * @since 3.1.11
+ */
+public class ContactConstraintMap {
+	/** The default initial capacity */
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	/** The packed keys */
+	protected long[] keys;
+	
+	/** The values */
+	protected ContactConstraint[] values;
+	
+	/** The generation of each slot; a slot is occupied if its stamp is the current generation */
+	protected int[] stamps;
+	
+	/** The current generation */
+	protected int generation;
+	
+	/** The number of entries */
+	protected int size;
+	
+	/** The mask used to wrap slot indices */
+	protected int mask;
+	
+	/** The number of entries before the arrays are grown */
+	protected int threshold;
+	
+	/**
+	 * Default constructor.
+	 */
+	public ContactConstraintMap() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Optional constructor.
+	 * <p>
+	 * The map will grow past the initial capacity if necessary.
+	 * @param initialCapacity the estimated number of entries
+	 * @throws IllegalArgumentException if initialCapacity is less than zero
+	 */
+	public ContactConstraintMap(int initialCapacity) {
+		if (initialCapacity < 0) throw new IllegalArgumentException(Messages.getString("dynamics.contact.invalidMapCapacity"));
+		// find the smallest power of two that keeps the load under 3/4
+		int capacity = 2;
+		while (capacity * 3 / 4 < initialCapacity) {
+			capacity <<= 1;
+		}
+		this.allocate(capacity);
+		this.generation = 1;
+	}
+	
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("ContactConstraintMap[Size=").append(this.size)
+		.append("|Capacity=").append(this.keys.length)
+		.append("|Generation=").append(this.generation)
+		.append("]");
+		return sb.toString();
+	}
+	
+	/**
+	 * Allocates the arrays for the given capacity.
+	 * @param capacity the capacity; must be a power of two
+	 */
+	private void allocate(int capacity) {
+		this.keys = new long[capacity];
+		this.values = new ContactConstraint[capacity];
+		this.stamps = new int[capacity];
+		this.mask = capacity - 1;
+		this.threshold = capacity * 3 / 4;
+	}
+	
+	/**
+	 * Returns the packed key for the given {@link ContactConstraintId}.
+	 * <p>
+	 * The key doesn't depend on the order of the bodies and fixtures, matching the
+	 * {@link ContactConstraintId#equals(Object)} method.
+	 * @param id the {@link ContactConstraintId}
+	 * @return long
+	 */
+	private static long key(ContactConstraintId id) {
+		return ContactConstraintMap.key(id.body1, id.fixture1, id.body2, id.fixture2);
+	}
+	
+	/**
+	 * Returns the packed key for the given bodies and fixtures.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @return long
+	 * @see #key(ContactConstraintId)
+	 */
+	private static long key(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+		long bodies = body1.getHandle() + body2.getHandle();
+		long fixtures = fixture1.getHandle() + fixture2.getHandle();
+		return (bodies << 32) ^ fixtures;
+	}
+	
+	/**
+	 * Returns the slot index for the given key.
+	 * @param key the packed key
+	 * @return int
+	 */
+	private int slot(long key) {
+		// handles are typically sequential so mix the bits
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32)) & this.mask;
+	}
+	
+	/**
+	 * Returns the {@link ContactConstraint} for the given id or null if the id
+	 * is not in this map.
+	 * @param id the {@link ContactConstraintId}
+	 * @return {@link ContactConstraint}
+	 */
+	public ContactConstraint get(ContactConstraintId id) {
+		long key = ContactConstraintMap.key(id);
+		int i = this.slot(key);
+		while (this.stamps[i] == this.generation) {
+			if (this.keys[i] == key && this.values[i].id.equals(id)) {
+				return this.values[i];
+			}
+			i = (i + 1) & this.mask;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the {@link ContactConstraint} for the given bodies and fixtures or null
+	 * if they are not in this map.
+	 * <p>
+	 * This is the same as the {@link #get(ContactConstraintId)} method without creating 
+	 * a {@link ContactConstraintId}.  The order of the bodies and fixtures doesn't matter.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @return {@link ContactConstraint}
+	 */
+	public ContactConstraint get(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+		long key = ContactConstraintMap.key(body1, fixture1, body2, fixture2);
+		int i = this.slot(key);
+		while (this.stamps[i] == this.generation) {
+			if (this.keys[i] == key) {
+				ContactConstraintId id = this.values[i].id;
+				if ((id.body1 == body1 && id.body2 == body2 && id.fixture1 == fixture1 && id.fixture2 == fixture2)
+				 || (id.body1 == body2 && id.body2 == body1 && id.fixture1 == fixture2 && id.fixture2 == fixture1)) {
+					return this.values[i];
+				}
+			}
+			i = (i + 1) & this.mask;
+		}
+		return null;
+	}
+	
+	/**
+	 * Adds the given {@link ContactConstraint} to this map using its id.
+	 * <p>
+	 * Returns the previous {@link ContactConstraint} for the id or null if the
+	 * id was not in this map.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @return {@link ContactConstraint}
+	 * @throws NullPointerException if contactConstraint is null
+	 */
+	public ContactConstraint put(ContactConstraint contactConstraint) {
+		if (contactConstraint == null) throw new NullPointerException(Messages.getString("dynamics.contact.nullContactConstraint"));
+		ContactConstraintId id = contactConstraint.id;
+		long key = ContactConstraintMap.key(id);
+		int i = this.slot(key);
+		while (this.stamps[i] == this.generation) {
+			if (this.keys[i] == key && this.values[i].id.equals(id)) {
+				// replace the value
+				ContactConstraint current = this.values[i];
+				this.values[i] = contactConstraint;
+				return current;
+			}
+			i = (i + 1) & this.mask;
+		}
+		// add to the empty slot
+		this.keys[i] = key;
+		this.values[i] = contactConstraint;
+		this.stamps[i] = this.generation;
+		this.size++;
+		// check if we need to grow
+		if (this.size > this.threshold) {
+			this.grow();
+		}
+		return null;
+	}
+	
+	/**
+	 * Removes the given id from this map.
+	 * <p>
+	 * Returns the {@link ContactConstraint} for the id or null if the id was
+	 * not in this map.
+	 * @param id the {@link ContactConstraintId}
+	 * @return {@link ContactConstraint}
+	 */
+	public ContactConstraint remove(ContactConstraintId id) {
+		long key = ContactConstraintMap.key(id);
+		int generation = this.generation;
+		int i = this.slot(key);
+		while (this.stamps[i] == generation) {
+			ContactConstraint value = this.values[i];
+			if (this.keys[i] == key && value.id.equals(id)) {
+				this.stamps[i] = 0;
+				this.values[i] = null;
+				this.size--;
+				// shift back any entries that were displaced
+				// past the removed slot so that they can still be found
+				int j = (i + 1) & this.mask;
+				while (this.stamps[j] == generation) {
+					int k = this.slot(this.keys[j]);
+					// check if the entry's home slot is cyclically outside (i, j]
+					if ((j > i && (k <= i || k > j)) || (j < i && (k <= i && k > j))) {
+						this.keys[i] = this.keys[j];
+						this.values[i] = this.values[j];
+						this.stamps[i] = generation;
+						this.stamps[j] = 0;
+						this.values[j] = null;
+						i = j;
+					}
+					j = (j + 1) & this.mask;
+				}
+				return value;
+			}
+			i = (i + 1) & this.mask;
+		}
+		return null;
+	}
+	
+	/**
+	 * Doubles the capacity of this map.
+	 */
+	private void grow() {
+		long[] keys = this.keys;
+		ContactConstraint[] values = this.values;
+		int[] stamps = this.stamps;
+		int generation = this.generation;
+		this.allocate(keys.length << 1);
+		// re-insert the entries
+		for (int i = 0; i < keys.length; i++) {
+			if (stamps[i] == generation) {
+				int j = this.slot(keys[i]);
+				while (this.stamps[j] == generation) {
+					j = (j + 1) & this.mask;
+				}
+				this.keys[j] = keys[i];
+				this.values[j] = values[i];
+				this.stamps[j] = generation;
+			}
+		}
+	}
+	
+	/**
+	 * Removes all the entries from this map.
+	 * <p>
+	 * This method only increments the generation of this map.  The slots still
+	 * reference their old {@link ContactConstraint}s until reused.
+	 * @see #reset()
+	 */
+	public void clear() {
+		this.size = 0;
+		this.generation++;
+		// check for overflow of the generation
+		if (this.generation == 0) {
+			Arrays.fill(this.stamps, 0);
+			this.generation = 1;
+		}
+	}
+	
+	/**
+	 * Removes all the entries from this map and releases the references
+	 * to the old {@link ContactConstraint}s.
+	 */
+	public void reset() {
+		Arrays.fill(this.values, null);
+		Arrays.fill(this.stamps, 0);
+		this.size = 0;
+		this.generation = 1;
+	}
+	
+	/**
+	 * Returns the number of entries in this map.
+	 * @return int
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Returns true if this map has no entries.
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Returns the number of slots in this map.
+	 * @return int
+	 * @see #getValue(int)
+	 */
+	public int getCapacity() {
+		return this.keys.length;
+	}
+	
+	/**
+	 * Returns the {@link ContactConstraint} in the given slot or null if the
+	 * slot is not occupied.
+	 * @param slot the slot index in the range [0, {@link #getCapacity()})
+	 * @return {@link ContactConstraint}
+	 * @throws IndexOutOfBoundsException if slot is out of bounds
+	 */
+	public ContactConstraint getValue(int slot) {
+		if (this.stamps[slot] == this.generation) {
+			return this.values[slot];
+		}
+		return null;
+	}
+}
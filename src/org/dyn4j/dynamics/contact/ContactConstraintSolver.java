@@ -24,10 +24,15 @@
  */
 package org.dyn4j.dynamics.contact;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import org.dyn4j.Epsilon;
+import org.dyn4j.Tasks;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Settings;
 import org.dyn4j.dynamics.Step;
@@ -44,18 +49,121 @@ import org.dyn4j.geometry.Vector2;
  * This class uses the method from <a href="http://www.box2d.org">Box2d</a> called Sequential Impulses.  SI, for short, is an iterative
  * method of obtaining a global solution to a number of contacts.  A global solution must be found to 
  * facilitate stable stacking of rigid {@link Body}s.
+ * <p>
+ * The {@link #setup(List)} method packs the data required to solve the velocity constraints into
+ * primitive arrays: the mass and velocity of each {@link Body} and the normal, tangent, 
+ * coefficients and contact data of each {@link ContactConstraint}.  The {@link #initializeConstraints(Step)}
+ * and {@link #solveVelocityContraints()} methods read the current {@link Body} velocities into the
+ * arrays, iterate over the arrays and write the velocities and accumulated impulses back when finished.
+ * The velocities are read and written back on each call since joints may modify them in between.
+ * <p>
+ * When an {@link ExecutorService} is set, the {@link ContactConstraint}s are colored during setup
+ * so that no two {@link ContactConstraint}s of the same color share a dynamic {@link Body}.  The
+ * {@link ContactConstraint}s of each color are then solved concurrently for each velocity and 
+ * position iteration.  Bodies with infinite mass are shared between colors, but are never modified.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
  * @version 3.1.11
  * @since 1.0.0
  */
 public class ContactConstraintSolver {
+	/** The number of doubles stored per body in the {@link #masses} array */
+	private static final int MASS_STRIDE = 2;
+	
+	/** The number of doubles stored per body in the {@link #velocities} array */
+	private static final int VELOCITY_STRIDE = 3;
+	
+	/** The number of ints stored per contact constraint in the {@link #constraintIndices} array */
+	private static final int CONSTRAINT_INDEX_STRIDE = 4;
+	
+	/** The number of doubles stored per contact constraint in the {@link #constraintData} array */
+	private static final int CONSTRAINT_STRIDE = 14;
+	
+	/** The number of doubles stored per contact in the {@link #contactData} array */
+	private static final int CONTACT_STRIDE = 9;
+	
+	/** The maximum number of colors; {@link ContactConstraint}s that can't be colored are solved serially */
+	private static final int MAXIMUM_COLORS = 64;
+	
+	/** The minimum number of {@link ContactConstraint}s in a color to solve it in parallel */
+	private static final int MINIMUM_BATCH_SIZE = 64;
+	
 	/** The world object this solver is solving */
 	protected World world;
 	
 	/** List for iterating through the {@link ContactConstraint}s */
 	protected List<ContactConstraint> contactConstraints = null;
 	
+	// packed solver data
+	
+	/** The number of packed bodies */
+	private int bodyCount;
+	
+	/** The packed bodies */
+	private Body[] bodies = new Body[0];
+	
+	/** The inverse mass and inverse inertia of each packed body */
+	private double[] masses = new double[0];
+	
+	/** The linear and angular velocity of each packed body */
+	private double[] velocities = new double[0];
+	
+	/** The body lookup table keys */
+	private Body[] tableKeys = new Body[0];
+	
+	/** The body lookup table values; the index of the body */
+	private int[] tableValues = new int[0];
+	
+	/** The number of packed contact constraints */
+	private int constraintCount;
+	
+	/** The body indices, first contact index and contact count of each packed contact constraint */
+	private int[] constraintIndices = new int[0];
+	
+	/** The normal, tangent, friction, tangent speed, K and invK of each packed contact constraint */
+	private double[] constraintData = new double[0];
+	
+	/** The number of packed contacts */
+	private int contactCount;
+	
+	/** The packed contacts */
+	private Contact[] contacts = new Contact[0];
+	
+	/** The r1, r2, normal mass, tangent mass, velocity bias and accumulated impulses of each packed contact */
+	private double[] contactData = new double[0];
+	
+	// parallel solving
+	
+	/** The {@link ExecutorService} used to solve the colors in parallel; can be null */
+	private ExecutorService executorService;
+	
+	/** The number of colors, including the uncolored {@link ContactConstraint}s; zero when solving serially */
+	private int colorCount;
+	
+	/** The colors used by each packed body */
+	private long[] bodyColors = new long[0];
+	
+	/** The color of each packed contact constraint */
+	private int[] constraintColors = new int[0];
+	
+	/** The packed contact constraint indices ordered by color */
+	private int[] colorOrder = new int[0];
+	
+	/** The start of each color in {@link #colorOrder} */
+	private int[] colorStarts = new int[MAXIMUM_COLORS + 2];
+	
+	/** The reusable tasks used to solve a color in parallel */
+	private final List<Batch> batches = new ArrayList<Batch>();
+	
+	/** The maximum linear correction for the current position iteration */
+	private double maxLinearCorrection;
+	
+	/** The allowed penetration for the current position iteration */
+	private double allowedPenetration;
+	
+	/** The baumgarte for the current position iteration */
+	private double baumgarte;
+	
 	/**
 	 * Minimal constructor.
 	 * @param world the {@link World} this solver will be solving
@@ -64,6 +172,29 @@ public class ContactConstraintSolver {
 		this.world = world;
 	}
 	
+	/**
+	 * Returns the {@link ExecutorService} used to solve the contact constraints in parallel.
+	 * @return ExecutorService; can be null
+	 * @since 3.1.11
+	 */
+	public ExecutorService getExecutorService() {
+		return this.executorService;
+	}
+	
+	/**
+	 * Sets the {@link ExecutorService} used to solve the contact constraints in parallel.
+	 * <p>
+	 * When null, the contact constraints are solved serially in the order given to the
+	 * {@link #setup(List)} method.  The executor service must not be the one executing
+	 * this solver.  Takes effect on the next call to the {@link #setup(List)} method.
+	 * @param executorService the executor service; can be null
+	 * @see org.dyn4j.dynamics.Settings#setParallelContactSolvingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+	
 	/**
 	 * Sets the {@link ContactConstraint}s to solve.
 	 * @param ccs the {@link ContactConstraint}s to solve
@@ -74,9 +205,15 @@ public class ContactConstraintSolver {
 		Settings settings = this.world.getSettings();
 		// get the restitution velocity from the settings object
 		double restitutionVelocity = settings.getRestitutionVelocity();
+		// get the inverse delta time for speculative contacts
+		double invdt = this.world.getStep().getInverseDeltaTime();
 		
 		// loop through the contact constraints
 		int size = this.contactConstraints.size();
+		
+		// make room for the packed data
+		this.allocate(size);
+		
 		for (int i = 0; i < size; i++) {
 			ContactConstraint contactConstraint = this.contactConstraints.get(i);
 			
@@ -147,8 +284,13 @@ public class ContactConstraintSolver {
 				
 				// project the relative velocity onto the penetration normal
 				double rvn = N.dot(rv);
-				// if its negative then the bodies are moving away from one another
-				if (rvn < -restitutionVelocity) {
+				// check for a speculative contact
+				if (contact.depth < 0.0) {
+					// allow the bodies to close the separation during this step
+					// but no more (restitution doesn't apply since they aren't touching)
+					contact.vb = contact.depth * invdt;
+				} else if (rvn < -restitutionVelocity) {
+					// if its negative then the bodies are moving away from one another
 					// use the coefficient of elasticity
 					contact.vb += -contactConstraint.restitution * rvn; 
 				}
@@ -197,6 +339,366 @@ public class ContactConstraintSolver {
 					}
 				}
 			}
+			
+			// pack the contact constraint
+			this.pack(contactConstraint);
+		}
+		
+		// color the contact constraints if we are solving them in parallel
+		this.colorCount = 0;
+		if (this.executorService != null && size >= MINIMUM_BATCH_SIZE) {
+			this.color();
+		}
+	}
+	
+	/**
+	 * Colors the packed contact constraints so that no two contact constraints of the
+	 * same color share a dynamic {@link Body}.
+	 * <p>
+	 * Each contact constraint is given the lowest color not used by either of its bodies.
+	 * Contact constraints whose bodies already use all the colors are given an extra
+	 * color that's solved serially.  The order of the contact constraints within a color
+	 * is preserved.
+	 */
+	private void color() {
+		int size = this.constraintCount;
+		
+		// make room for the coloring data
+		if (this.bodyColors.length < this.bodyCount) {
+			this.bodyColors = new long[this.bodies.length];
+		} else {
+			Arrays.fill(this.bodyColors, 0, this.bodyCount, 0L);
+		}
+		if (this.colorOrder.length < size) {
+			this.constraintColors = new int[this.bodies.length];
+			this.colorOrder = new int[this.bodies.length];
+		}
+		
+		int[] indices = this.constraintIndices;
+		double[] masses = this.masses;
+		long[] bodyColors = this.bodyColors;
+		int[] counts = this.colorStarts;
+		Arrays.fill(counts, 0);
+		
+		for (int i = 0; i < size; i++) {
+			int ci = i * CONSTRAINT_INDEX_STRIDE;
+			int i1 = indices[ci];
+			int i2 = indices[ci + 1];
+			// bodies with infinite mass are never modified so they don't restrict the color
+			boolean dynamic1 = masses[i1 * MASS_STRIDE] != 0.0 || masses[i1 * MASS_STRIDE + 1] != 0.0;
+			boolean dynamic2 = masses[i2 * MASS_STRIDE] != 0.0 || masses[i2 * MASS_STRIDE + 1] != 0.0;
+			
+			long used = 0L;
+			if (dynamic1) used |= bodyColors[i1];
+			if (dynamic2) used |= bodyColors[i2];
+			
+			// find the lowest free color
+			int color = MAXIMUM_COLORS;
+			if (used != -1L) {
+				color = Long.numberOfTrailingZeros(~used);
+				long bit = 1L << color;
+				if (dynamic1) bodyColors[i1] |= bit;
+				if (dynamic2) bodyColors[i2] |= bit;
+			}
+			
+			this.constraintColors[i] = color;
+			counts[color + 1]++;
+		}
+		
+		// compute the start of each color
+		for (int i = 0; i <= MAXIMUM_COLORS; i++) {
+			counts[i + 1] += counts[i];
+		}
+		
+		// order the contact constraints by color (using the starts as the insertion points)
+		for (int i = 0; i < size; i++) {
+			int color = this.constraintColors[i];
+			this.colorOrder[counts[color]++] = i;
+		}
+		
+		// the insertion points are now the ends, so shift them back
+		for (int i = MAXIMUM_COLORS + 1; i > 0; i--) {
+			counts[i] = counts[i - 1];
+		}
+		counts[0] = 0;
+		
+		this.colorCount = MAXIMUM_COLORS + 1;
+	}
+	
+	/**
+	 * Returns the color of the {@link ContactConstraint} at the given index from the
+	 * last call to the {@link #setup(List)} method.
+	 * <p>
+	 * Returns -1 if the {@link ContactConstraint}s were not colored.
+	 * @param index the index of the {@link ContactConstraint}
+	 * @return int
+	 * @since 3.1.11
+	 */
+	protected int getColor(int index) {
+		return this.colorCount > 0 ? this.constraintColors[index] : -1;
+	}
+	
+	/**
+	 * Solves the velocity or position constraints of each color in order, solving the
+	 * contact constraints within a color in parallel.
+	 * @param velocity true if the velocity constraints should be solved
+	 * @return double the minimum separation if solving the position constraints
+	 */
+	private double solveColors(boolean velocity) {
+		double minSeparation = 0.0;
+		int workers = this.world.getSettings().getWorkerCount();
+		
+		for (int c = 0; c < this.colorCount; c++) {
+			int start = this.colorStarts[c];
+			int end = this.colorStarts[c + 1];
+			int size = end - start;
+			if (size == 0) continue;
+			
+			// solve the uncolored and small colors on this thread
+			int n = Math.min(workers, size / MINIMUM_BATCH_SIZE);
+			if (c == MAXIMUM_COLORS || n < 2) {
+				for (int i = start; i < end; i++) {
+					int index = this.colorOrder[i];
+					if (velocity) {
+						this.solveVelocityConstraint(index);
+					} else {
+						minSeparation = Math.min(minSeparation, this.solvePositionConstraint(index));
+					}
+				}
+				continue;
+			}
+			
+			// split the color into contiguous batches
+			while (this.batches.size() < n) {
+				this.batches.add(new Batch());
+			}
+			for (int i = 0; i < n; i++) {
+				Batch batch = this.batches.get(i);
+				batch.start = start + (int)((long)size * i / n);
+				batch.end = start + (int)((long)size * (i + 1) / n);
+				batch.velocity = velocity;
+			}
+			
+			Tasks.invokeAll(this.executorService, this.batches.subList(0, n));
+			for (int i = 0; i < n; i++) {
+				minSeparation = Math.min(minSeparation, this.batches.get(i).minSeparation);
+			}
+		}
+		
+		return minSeparation;
+	}
+	
+	/**
+	 * Represents a contiguous range of the contact constraints of one color.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private final class Batch implements Callable<Void> {
+		/** The start of the range in the color order */
+		private int start;
+		
+		/** The end of the range in the color order; exclusive */
+		private int end;
+		
+		/** True if the velocity constraints should be solved */
+		private boolean velocity;
+		
+		/** The minimum separation of the position constraints solved */
+		private double minSeparation;
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public Void call() throws Exception {
+			double minSeparation = 0.0;
+			for (int i = this.start; i < this.end; i++) {
+				int index = colorOrder[i];
+				if (this.velocity) {
+					solveVelocityConstraint(index);
+				} else {
+					minSeparation = Math.min(minSeparation, solvePositionConstraint(index));
+				}
+			}
+			this.minSeparation = minSeparation;
+			return null;
+		}
+	}
+	
+	/**
+	 * Makes sure the packed arrays can hold the given number of {@link ContactConstraint}s
+	 * and resets the packed counts.
+	 * @param size the number of {@link ContactConstraint}s
+	 */
+	private void allocate(int size) {
+		this.bodyCount = 0;
+		this.constraintCount = 0;
+		this.contactCount = 0;
+		
+		// each contact constraint has at most two bodies and two contacts
+		int capacity = size * 2;
+		if (this.bodies.length < capacity) {
+			// grow by at least double to amortize the cost
+			int length = Math.max(capacity, this.bodies.length * 2);
+			this.bodies = new Body[length];
+			this.masses = new double[length * MASS_STRIDE];
+			this.velocities = new double[length * VELOCITY_STRIDE];
+			this.contacts = new Contact[length];
+			this.contactData = new double[length * CONTACT_STRIDE];
+			this.constraintIndices = new int[length * CONSTRAINT_INDEX_STRIDE / 2];
+			this.constraintData = new double[length * CONSTRAINT_STRIDE / 2];
+		} else {
+			// release the references from the last setup
+			Arrays.fill(this.bodies, null);
+			Arrays.fill(this.contacts, null);
+		}
+		
+		// keep the load of the lookup table under 1/2
+		int tableCapacity = 2;
+		while (tableCapacity < capacity * 2) {
+			tableCapacity <<= 1;
+		}
+		if (this.tableKeys.length < tableCapacity) {
+			this.tableKeys = new Body[tableCapacity];
+			this.tableValues = new int[tableCapacity];
+		} else {
+			Arrays.fill(this.tableKeys, null);
+		}
+	}
+	
+	/**
+	 * Returns the packed index of the given {@link Body}, packing it if necessary.
+	 * @param body the {@link Body}
+	 * @return int
+	 */
+	private int getBodyIndex(Body body) {
+		int mask = this.tableKeys.length - 1;
+		// handles are typically sequential so mix the bits
+		long h = body.getHandle() * 0x9E3779B97F4A7C15L;
+		int slot = (int)(h ^ (h >>> 32)) & mask;
+		
+		Body key;
+		while ((key = this.tableKeys[slot]) != null) {
+			if (key == body) {
+				return this.tableValues[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		
+		// pack the body
+		int index = this.bodyCount++;
+		this.tableKeys[slot] = body;
+		this.tableValues[slot] = index;
+		this.bodies[index] = body;
+		
+		Mass mass = body.getMass();
+		int m = index * MASS_STRIDE;
+		this.masses[m] = mass.getInverseMass();
+		this.masses[m + 1] = mass.getInverseInertia();
+		
+		return index;
+	}
+	
+	/**
+	 * Packs the given {@link ContactConstraint} and its {@link Contact}s.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 */
+	private void pack(ContactConstraint contactConstraint) {
+		List<Contact> contacts = contactConstraint.contacts;
+		int cSize = contacts.size();
+		
+		int index = this.constraintCount++;
+		int ci = index * CONSTRAINT_INDEX_STRIDE;
+		this.constraintIndices[ci] = this.getBodyIndex(contactConstraint.getBody1());
+		this.constraintIndices[ci + 1] = this.getBodyIndex(contactConstraint.getBody2());
+		this.constraintIndices[ci + 2] = this.contactCount;
+		this.constraintIndices[ci + 3] = cSize;
+		
+		Vector2 N = contactConstraint.normal;
+		Vector2 T = contactConstraint.tangent;
+		
+		int cd = index * CONSTRAINT_STRIDE;
+		double[] data = this.constraintData;
+		data[cd] = N.x;
+		data[cd + 1] = N.y;
+		data[cd + 2] = T.x;
+		data[cd + 3] = T.y;
+		data[cd + 4] = contactConstraint.friction;
+		data[cd + 5] = contactConstraint.tangentSpeed;
+		if (cSize == 2) {
+			Matrix22 K = contactConstraint.K;
+			Matrix22 invK = contactConstraint.invK;
+			data[cd + 6] = K.m00;
+			data[cd + 7] = K.m01;
+			data[cd + 8] = K.m10;
+			data[cd + 9] = K.m11;
+			data[cd + 10] = invK.m00;
+			data[cd + 11] = invK.m01;
+			data[cd + 12] = invK.m10;
+			data[cd + 13] = invK.m11;
+		}
+		
+		for (int j = 0; j < cSize; j++) {
+			Contact contact = contacts.get(j);
+			int k = this.contactCount++;
+			this.contacts[k] = contact;
+			
+			int c = k * CONTACT_STRIDE;
+			this.contactData[c] = contact.r1.x;
+			this.contactData[c + 1] = contact.r1.y;
+			this.contactData[c + 2] = contact.r2.x;
+			this.contactData[c + 3] = contact.r2.y;
+			this.contactData[c + 4] = contact.massN;
+			this.contactData[c + 5] = contact.massT;
+			this.contactData[c + 6] = contact.vb;
+			this.contactData[c + 7] = contact.jn;
+			this.contactData[c + 8] = contact.jt;
+		}
+	}
+	
+	/**
+	 * Reads the current velocities of the packed {@link Body}s.
+	 */
+	private void readVelocities() {
+		double[] velocities = this.velocities;
+		for (int i = 0; i < this.bodyCount; i++) {
+			Body body = this.bodies[i];
+			Vector2 v = body.getLinearVelocity();
+			int b = i * VELOCITY_STRIDE;
+			velocities[b] = v.x;
+			velocities[b + 1] = v.y;
+			velocities[b + 2] = body.getAngularVelocity();
+		}
+	}
+	
+	/**
+	 * Writes the packed velocities back to the {@link Body}s and the packed accumulated 
+	 * impulses back to the {@link Contact}s.
+	 */
+	private void write() {
+		double[] velocities = this.velocities;
+		double[] masses = this.masses;
+		for (int i = 0; i < this.bodyCount; i++) {
+			int m = i * MASS_STRIDE;
+			// bodies with infinite mass and inertia are never modified (this also
+			// avoids writing to static bodies shared by islands solved in parallel)
+			if (masses[m] == 0.0 && masses[m + 1] == 0.0) continue;
+			
+			Body body = this.bodies[i];
+			Vector2 v = body.getLinearVelocity();
+			int b = i * VELOCITY_STRIDE;
+			v.x = velocities[b];
+			v.y = velocities[b + 1];
+			body.setAngularVelocity(velocities[b + 2]);
+		}
+		
+		double[] data = this.contactData;
+		for (int i = 0; i < this.contactCount; i++) {
+			Contact contact = this.contacts[i];
+			int c = i * CONTACT_STRIDE;
+			contact.jn = data[c + 7];
+			contact.jt = data[c + 8];
 		}
 	}
 	
@@ -208,382 +710,368 @@ public class ContactConstraintSolver {
 		// pre divide for performance
 		double ratio = 1.0 / step.getDeltaTimeRatio();
 		
-		// get the size
-		int size = this.contactConstraints.size();
+		// get the current velocities
+		this.readVelocities();
+		
+		int[] indices = this.constraintIndices;
+		double[] constraints = this.constraintData;
+		double[] contacts = this.contactData;
+		double[] masses = this.masses;
+		double[] velocities = this.velocities;
 		
 		// we have to perform a separate loop to warm start
-		for (int i = 0; i < size; i++) {
-			ContactConstraint contactConstraint = this.contactConstraints.get(i);
+		for (int i = 0; i < this.constraintCount; i++) {
+			int ci = i * CONSTRAINT_INDEX_STRIDE;
+			int cSize = indices[ci + 3];
+			if (cSize == 0) continue;
 			
 			// get the bodies
-			Body b1 = contactConstraint.getBody1();
-			Body b2 = contactConstraint.getBody2();
-			// get the body masses
-			Mass m1 = b1.getMass();
-			Mass m2 = b2.getMass();
+			int m1 = indices[ci] * MASS_STRIDE;
+			int m2 = indices[ci + 1] * MASS_STRIDE;
+			int b1 = indices[ci] * VELOCITY_STRIDE;
+			int b2 = indices[ci + 1] * VELOCITY_STRIDE;
 			
-			double invM1 = m1.getInverseMass();
-			double invM2 = m2.getInverseMass();
-			double invI1 = m1.getInverseInertia();
-			double invI2 = m2.getInverseInertia();
+			double invM1 = masses[m1];
+			double invI1 = masses[m1 + 1];
+			double invM2 = masses[m2];
+			double invI2 = masses[m2 + 1];
 			
-			// get the penetration axis
-			Vector2 N = contactConstraint.normal;
-			// get the tangent vector
-			Vector2 T = contactConstraint.tangent;
-			
-			// get the contacts and contact size
-			List<Contact> contacts = contactConstraint.getContacts();
-			int cSize = contacts.size();
-			if (cSize == 0) continue;
+			// get the penetration axis and tangent
+			int cd = i * CONSTRAINT_STRIDE;
+			double nx = constraints[cd];
+			double ny = constraints[cd + 1];
+			double tx = constraints[cd + 2];
+			double ty = constraints[cd + 3];
 			
-			for (int j = 0; j < cSize; j++) {
-				Contact contact = contacts.get(j);
+			int start = indices[ci + 2];
+			for (int j = start; j < start + cSize; j++) {
+				int c = j * CONTACT_STRIDE;
 				
 				// scale the accumulated impulses by the delta time ratio
-				contact.jn *= ratio;
-				contact.jt *= ratio;
+				double jn = contacts[c + 7] * ratio;
+				double jt = contacts[c + 8] * ratio;
+				contacts[c + 7] = jn;
+				contacts[c + 8] = jt;
 				
 				// apply accumulated impulses to warm start the solver
-
-//				Vector2 J = N.product(contact.jn).add(T.product(contact.jt));
-				Vector2 J = new Vector2(N.x * contact.jn + T.x * contact.jt, N.y * contact.jn + T.y * contact.jt);
-//				b1.getVelocity().add(J.product(invM1));
-				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
-				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * contact.r1.cross(J));
-//				b2.getVelocity().subtract(J.product(invM2));
-				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
-				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * contact.r2.cross(J));
+				double Jx = nx * jn + tx * jt;
+				double Jy = ny * jn + ty * jt;
+				
+				velocities[b1] += Jx * invM1;
+				velocities[b1 + 1] += Jy * invM1;
+				velocities[b1 + 2] = velocities[b1 + 2] + invI1 * (contacts[c] * Jy - contacts[c + 1] * Jx);
+				velocities[b2] -= Jx * invM2;
+				velocities[b2 + 1] -= Jy * invM2;
+				velocities[b2 + 2] = velocities[b2 + 2] - invI2 * (contacts[c + 2] * Jy - contacts[c + 3] * Jx);
 			}
 		}
+		
+		// write the velocities and scaled impulses back
+		this.write();
 	}
 	
 	/**
 	 * Solves the velocity constraints.
 	 */
 	public void solveVelocityContraints() {
-		// loop through the contact constraints
-		int size = this.contactConstraints.size();
-		for (int i = 0; i < size; i++) {
-			ContactConstraint contactConstraint = this.contactConstraints.get(i);
-			// get the bodies
-			Body b1 = contactConstraint.getBody1();
-			Body b2 = contactConstraint.getBody2();
-			// get the masses
-			Mass m1 = b1.getMass();
-			Mass m2 = b2.getMass();
+		// get the current velocities (joints may have modified them)
+		this.readVelocities();
+		
+		if (this.colorCount > 0) {
+			// solve the colors in parallel
+			this.solveColors(true);
+		} else {
+			// loop through the contact constraints
+			for (int i = 0; i < this.constraintCount; i++) {
+				this.solveVelocityConstraint(i);
+			}
+		}
+		
+		// write the velocities and accumulated impulses back
+		this.write();
+	}
+	
+	/**
+	 * Solves the velocity constraints of the packed contact constraint at the given index.
+	 * @param i the packed index
+	 */
+	private void solveVelocityConstraint(int i) {
+		int[] indices = this.constraintIndices;
+		double[] constraints = this.constraintData;
+		double[] contacts = this.contactData;
+		double[] masses = this.masses;
+		double[] velocities = this.velocities;
+		
+		int ci = i * CONSTRAINT_INDEX_STRIDE;
+		int cSize = indices[ci + 3];
+		if (cSize == 0) return;
+		
+		// get the bodies
+		int m1 = indices[ci] * MASS_STRIDE;
+		int m2 = indices[ci + 1] * MASS_STRIDE;
+		int b1 = indices[ci] * VELOCITY_STRIDE;
+		int b2 = indices[ci + 1] * VELOCITY_STRIDE;
+		
+		double invM1 = masses[m1];
+		double invI1 = masses[m1 + 1];
+		double invM2 = masses[m2];
+		double invI2 = masses[m2 + 1];
+		
+		// get the penetration axis and tangent
+		int cd = i * CONSTRAINT_STRIDE;
+		double nx = constraints[cd];
+		double ny = constraints[cd + 1];
+		double tx = constraints[cd + 2];
+		double ty = constraints[cd + 3];
+		double friction = constraints[cd + 4];
+		double tangentSpeed = constraints[cd + 5];
+		
+		int start = indices[ci + 2];
+		
+		// evaluate friction impulse
+		for (int k = start; k < start + cSize; k++) {
+			int c = k * CONTACT_STRIDE;
 			
-			double invM1 = m1.getInverseMass();
-			double invM2 = m2.getInverseMass();
-			double invI1 = m1.getInverseInertia();
-			double invI2 = m2.getInverseInertia();
-
-			// get the contact list
-			List<Contact> contacts = contactConstraint.contacts;
-			int cSize = contacts.size();
-			if (cSize == 0) continue;
+			// get ra and rb
+			double r1x = contacts[c];
+			double r1y = contacts[c + 1];
+			double r2x = contacts[c + 2];
+			double r2y = contacts[c + 3];
 			
-			// get the penetration axis and tangent
-			Vector2 N = contactConstraint.normal;
-			Vector2 T = contactConstraint.tangent;
+			// get the relative velocity
+			double av1 = velocities[b1 + 2];
+			double av2 = velocities[b2 + 2];
+			double rvx = (-1.0 * r1y * av1 + velocities[b1]) - (-1.0 * r2y * av2 + velocities[b2]);
+			double rvy = (r1x * av1 + velocities[b1 + 1]) - (r2x * av2 + velocities[b2 + 1]);
 			
-			double tangentSpeed = contactConstraint.tangentSpeed;
+			// project the relative velocity onto the tangent normal
+			double rvt = tx * rvx + ty * rvy - tangentSpeed;
+			// calculate the tangential impulse
+			double jt = contacts[c + 5] * (-rvt);
 			
-			// evaluate friction impulse
-			for (int k = 0; k < cSize; k++) {
-				Contact contact = contacts.get(k);
-				
-				// get ra and rb
-				Vector2 r1 = contact.r1;
-				Vector2 r2 = contact.r2;
-				
-				// get the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
-				Vector2 rv = lv1.subtract(lv2);
-				
-				// project the relative velocity onto the tangent normal
-				double rvt = T.dot(rv) - tangentSpeed;
-				// calculate the tangential impulse
-				double jt = contact.massT * (-rvt);
-				
-				// apply the coefficient of friction
-				double maxJt = contactConstraint.friction * contact.jn;
-				// clamp the accumulated tangential impulse
-				double Jt0 = contact.jt;
-				contact.jt = Math.max(-maxJt, Math.min(Jt0 + jt, maxJt));
-				jt = contact.jt - Jt0;
-				
-				// apply to the bodies immediately
-
-//				Vector2 J = T.product(jt);
-				Vector2 J = new Vector2(T.x * jt, T.y * jt);
-//				b1.getVelocity().add(J.product(invM1));
-				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
-				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(J));
-//				b2.getVelocity().subtract(J.product(invM2));
-				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
-				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(J));
-			}
+			// apply the coefficient of friction
+			double maxJt = friction * contacts[c + 7];
+			// clamp the accumulated tangential impulse
+			double Jt0 = contacts[c + 8];
+			contacts[c + 8] = Math.max(-maxJt, Math.min(Jt0 + jt, maxJt));
+			jt = contacts[c + 8] - Jt0;
 			
-			// evalutate the normal impulse
+			// apply to the bodies immediately
+			double Jx = tx * jt;
+			double Jy = ty * jt;
 			
-			// check the number of contacts to solve
-			if (cSize == 1) {
-				// if its one then solve the one contact
-				Contact contact = contacts.get(0);
-				
-				// get ra and rb
-				Vector2 r1 = contact.r1;
-				Vector2 r2 = contact.r2;
-				
-				// get the relative velocity
-				Vector2 lv1 = r1.cross(b1.getAngularVelocity()).add(b1.getLinearVelocity());
-				Vector2 lv2 = r2.cross(b2.getAngularVelocity()).add(b2.getLinearVelocity());
-				Vector2 rv = lv1.subtract(lv2);
-				
-				// project the relative velocity onto the penetration normal
-				double rvn = N.dot(rv);
-				
-				// calculate the impulse using the velocity bias
-				double j = -contact.massN * (rvn - contact.vb);
-				
-				// clamp the accumulated impulse
-				double j0 = contact.jn;
-				contact.jn = Math.max(j0 + j, 0.0);
-				j = contact.jn - j0;
-				
-				// only update the bodies after processing all the contacts
-				
-//				Vector2 J = N.product(j);
-				Vector2 J = new Vector2(N.x * j, N.y * j);
-//				b1.getVelocity().add(J.product(invM1));
-				b1.getLinearVelocity().add(J.x * invM1, J.y * invM1);
-				b1.setAngularVelocity(b1.getAngularVelocity() + invI1 * r1.cross(J));
-//				b2.getVelocity().subtract(J.product(invM2));
-				b2.getLinearVelocity().subtract(J.x * invM2, J.y * invM2);
-				b2.setAngularVelocity(b2.getAngularVelocity() - invI2 * r2.cross(J));
-			} else {
-				// if its 2 then solve the contacts simultaneously using a mini-LCP
-				
-				// Block solver developed by Erin Cato and Dirk Gregorius (see Box2d).
-				// Build the mini LCP for this contact patch
-				//
-				// vn = A * x + b, vn >= 0, x >= 0 and vn_i * x_i = 0 with i = 1..2
+			velocities[b1] += Jx * invM1;
+			velocities[b1 + 1] += Jy * invM1;
+			velocities[b1 + 2] = av1 + invI1 * (r1x * Jy - r1y * Jx);
+			velocities[b2] -= Jx * invM2;
+			velocities[b2 + 1] -= Jy * invM2;
+			velocities[b2 + 2] = av2 - invI2 * (r2x * Jy - r2y * Jx);
+		}
+		
+		// evalutate the normal impulse
+		
+		// check the number of contacts to solve
+		if (cSize == 1) {
+			// if its one then solve the one contact
+			int c = start * CONTACT_STRIDE;
+			
+			// get ra and rb
+			double r1x = contacts[c];
+			double r1y = contacts[c + 1];
+			double r2x = contacts[c + 2];
+			double r2y = contacts[c + 3];
+			
+			// get the relative velocity
+			double av1 = velocities[b1 + 2];
+			double av2 = velocities[b2 + 2];
+			double rvx = (-1.0 * r1y * av1 + velocities[b1]) - (-1.0 * r2y * av2 + velocities[b2]);
+			double rvy = (r1x * av1 + velocities[b1 + 1]) - (r2x * av2 + velocities[b2 + 1]);
+			
+			// project the relative velocity onto the penetration normal
+			double rvn = nx * rvx + ny * rvy;
+			
+			// calculate the impulse using the velocity bias
+			double j = -contacts[c + 4] * (rvn - contacts[c + 6]);
+			
+			// clamp the accumulated impulse
+			double j0 = contacts[c + 7];
+			contacts[c + 7] = Math.max(j0 + j, 0.0);
+			j = contacts[c + 7] - j0;
+			
+			double Jx = nx * j;
+			double Jy = ny * j;
+			
+			velocities[b1] += Jx * invM1;
+			velocities[b1 + 1] += Jy * invM1;
+			velocities[b1 + 2] = av1 + invI1 * (r1x * Jy - r1y * Jx);
+			velocities[b2] -= Jx * invM2;
+			velocities[b2 + 1] -= Jy * invM2;
+			velocities[b2 + 2] = av2 - invI2 * (r2x * Jy - r2y * Jx);
+		} else {
+			// if its 2 then solve the contacts simultaneously using a mini-LCP
+			
+			// Block solver developed by Erin Cato and Dirk Gregorius (see Box2d).
+			// Build the mini LCP for this contact patch
+			//
+			// vn = A * x + b, vn >= 0, x >= 0 and vn_i * x_i = 0 with i = 1..2
+			//
+			// A = J * W * JT and J = ( -n, -r1 x n, n, r2 x n )
+			// b = vn_0 - velocityBias
+			//
+			// The system is solved using the "Total enumeration method" (s. Murty). The complementary constraint vn_i * x_i
+			// implies that we must have in any solution either vn_i = 0 or x_i = 0. So for the 2D contact problem the cases
+			// vn1 = 0 and vn2 = 0, x1 = 0 and x2 = 0, x1 = 0 and vn2 = 0, x2 = 0 and vn1 = 0 need to be tested. The first valid
+			// solution that satisfies the problem is chosen.
+			// 
+			// In order to account for the accumulated impulse 'a' (because of the iterative nature of the solver which only requires
+			// that the accumulated impulse is clamped and not the incremental impulse) we change the impulse variable (x_i).
+			//
+			// Substitute:
+			// 
+			// x = a + d
+			// 
+			// a := old total impulse
+			// x := new total impulse
+			// d := incremental impulse
+			//
+			// For the current iteration we extend the formula for the incremental impulse
+			// to compute the new total impulse:
+			//
+			// vn = A * d + b
+			//    = A * (x - a) + b
+			//    = A * x + b - A * a
+			//    = A * x + b'
+			// b' = b - A * a;
+			
+			int c1 = start * CONTACT_STRIDE;
+			int c2 = c1 + CONTACT_STRIDE;
+			
+			double r11x = contacts[c1];
+			double r11y = contacts[c1 + 1];
+			double r21x = contacts[c1 + 2];
+			double r21y = contacts[c1 + 3];
+			double r12x = contacts[c2];
+			double r12y = contacts[c2 + 1];
+			double r22x = contacts[c2 + 2];
+			double r22y = contacts[c2 + 3];
+			
+			double v1x = velocities[b1];
+			double v1y = velocities[b1 + 1];
+			double av1 = velocities[b1 + 2];
+			double v2x = velocities[b2];
+			double v2y = velocities[b2 + 1];
+			double av2 = velocities[b2 + 2];
+			
+			// get the K matrix and its inverse
+			double k00 = constraints[cd + 6];
+			double k01 = constraints[cd + 7];
+			double k10 = constraints[cd + 8];
+			double k11 = constraints[cd + 9];
+			
+			// get the current accumulated impulses
+			double ax = contacts[c1 + 7];
+			double ay = contacts[c2 + 7];
+			
+			// get the relative velocity at both contacts
+			double rv1x = -r11y * av1 + v1x + r21y * av2 - v2x;
+			double rv1y =  r11x * av1 + v1y - r21x * av2 - v2y;
+			double rv2x = -r12y * av1 + v1x + r22y * av2 - v2x;
+			double rv2y =  r12x * av1 + v1y - r22x * av2 - v2y;
+			
+			// compute the relative velocities along the collision normal
+			double rvn1 = nx * rv1x + ny * rv1y;
+			double rvn2 = nx * rv2x + ny * rv2y;
+			
+			// create the b vector
+			double bx = rvn1 - contacts[c1 + 6];
+			double by = rvn2 - contacts[c2 + 6];
+			bx -= k00 * ax + k01 * ay;
+			by -= k10 * ax + k11 * ay;
+			
+			double xx, xy;
+			for (;;) {
 				//
-				// A = J * W * JT and J = ( -n, -r1 x n, n, r2 x n )
-				// b = vn_0 - velocityBias
+				// Case 1: vn = 0
 				//
-				// The system is solved using the "Total enumeration method" (s. Murty). The complementary constraint vn_i * x_i
-				// implies that we must have in any solution either vn_i = 0 or x_i = 0. So for the 2D contact problem the cases
-				// vn1 = 0 and vn2 = 0, x1 = 0 and x2 = 0, x1 = 0 and vn2 = 0, x2 = 0 and vn1 = 0 need to be tested. The first valid
-				// solution that satisfies the problem is chosen.
-				// 
-				// In order to account for the accumulated impulse 'a' (because of the iterative nature of the solver which only requires
-				// that the accumulated impulse is clamped and not the incremental impulse) we change the impulse variable (x_i).
+				// 0 = A * x + b'
 				//
-				// Substitute:
-				// 
-				// x = a + d
-				// 
-				// a := old total impulse
-				// x := new total impulse
-				// d := incremental impulse
+				// Solve for x:
 				//
-				// For the current iteration we extend the formula for the incremental impulse
-				// to compute the new total impulse:
+				// x = - inv(A) * b'
 				//
-				// vn = A * d + b
-				//    = A * (x - a) + b
-				//    = A * x + b - A * a
-				//    = A * x + b'
-				// b' = b - A * a;
+				xx = -(constraints[cd + 10] * bx + constraints[cd + 11] * by);
+				xy = -(constraints[cd + 12] * bx + constraints[cd + 13] * by);
 				
-				Contact contact1 = contacts.get(0);
-				Contact contact2 = contacts.get(1);
-				
-				Vector2 r11 = contact1.r1;
-				Vector2 r21 = contact1.r2;
-				Vector2 r12 = contact2.r1;
-				Vector2 r22 = contact2.r2;
-				
-				Vector2 v1 = b1.getLinearVelocity();
-				Vector2 v2 = b2.getLinearVelocity();
-				double av1 = b1.getAngularVelocity();
-				double av2 = b2.getAngularVelocity();
+				if (xx >= 0.0 && xy >= 0.0) {
+					break;
+				}
 				
-				// create a vector containing the current accumulated impulses
-				Vector2 a = new Vector2(contact1.jn, contact2.jn);
+				//
+				// Case 2: vn1 = 0 and x2 = 0
+				//
+				//   0 = a11 * x1 + a12 * 0 + b1' 
+				// vn2 = a21 * x1 + a22 * 0 + b2'
+				//
+				xx = -contacts[c1 + 4] * bx;
+				xy = 0.0;
+				rvn2 = k10 * xx + by;
 				
-				// get the relative velocity at both contacts
-//				Vector2 lv11 = contact1.r1.cross(b1.getAngularVelocity()).add(b1.getVelocity());
-//				Vector2 lv21 = contact1.r2.cross(b2.getAngularVelocity()).add(b2.getVelocity());
-//				Vector2 rv1 = lv11.subtract(lv21);
-				// inline the computation
-				Vector2 rv1 = new Vector2();
-				rv1.x = -r11.y * av1 + v1.x + r21.y * av2 - v2.x;
-				rv1.y =  r11.x * av1 + v1.y - r21.x * av2 - v2.y;
+				if (xx >= 0.0 && rvn2 >= 0.0) {
+					break;
+				}
 				
-//				Vector2 lv12 = contact2.r1.cross(b1.getAngularVelocity()).add(b1.getVelocity());
-//				Vector2 lv22 = contact2.r2.cross(b2.getAngularVelocity()).add(b2.getVelocity());
-//				Vector2 rv2 = lv12.subtract(lv22);
-				// inline the computation
-				Vector2 rv2 = new Vector2();
-				rv2.x = -r12.y * av1 + v1.x + r22.y * av2 - v2.x;
-				rv2.y =  r12.x * av1 + v1.y - r22.x * av2 - v2.y; 
+				//
+				// Case 3: vn2 = 0 and x1 = 0
+				//
+				// vn1 = a11 * 0 + a12 * x2 + b1' 
+				//   0 = a21 * 0 + a22 * x2 + b2'
+				//
+				xx = 0.0;
+				xy = -contacts[c2 + 4] * by;
+				rvn1 = k01 * xy + bx;
 				
-				// compute the relative velocities along the collision normal
-				double rvn1 = N.dot(rv1);
-				double rvn2 = N.dot(rv2);
+				if (xy >= 0.0 && rvn1 >= 0.0) {
+					break;
+				}
 				
-				// create the b vector
-				Vector2 b = new Vector2();
-				b.x = rvn1 - contact1.vb;
-				b.y = rvn2 - contact2.vb;
-				b.subtract(contactConstraint.K.product(a));
+				//
+				// Case 4: x1 = 0 and x2 = 0
+				// 
+				// vn1 = b1
+				// vn2 = b2;
+				xx = 0.0;
+				xy = 0.0;
 				
-				for (;;) {
-					//
-					// Case 1: vn = 0
-					//
-					// 0 = A * x + b'
-					//
-					// Solve for x:
-					//
-					// x = - inv(A) * b'
-					//
-					Vector2 x = contactConstraint.invK.product(b).negate();
-
-					if (x.x >= 0.0f && x.y >= 0.0f)
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
-
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
-						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
-						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
-						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-
-						// set the new accumulated impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
-					}
-
-					//
-					// Case 2: vn1 = 0 and x2 = 0
-					//
-					//   0 = a11 * x1 + a12 * 0 + b1' 
-					// vn2 = a21 * x1 + a22 * 0 + b2'
-					//
-					
-					x.x = -contact1.massN * b.x;
-					x.y = 0.0;
-					rvn1 = 0.0;
-					rvn2 = contactConstraint.K.m10 * x.x + b.y;
-
-					if (x.x >= 0.0f && rvn2 >= 0.0f)
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
-
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
-						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
-						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						//v2.subtract(J1.sum(J2).multiply(invM2));
-						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
-						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-						
-						// set the new incremental impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
-					}
-
-
-					//
-					// Case 3: vn2 = 0 and x1 = 0
-					//
-					// vn1 = a11 * 0 + a12 * x2 + b1' 
-					//   0 = a21 * 0 + a22 * x2 + b2'
-					//
-					
-					x.x = 0.0;
-					x.y = -contact2.massN * b.y;
-					rvn1 = contactConstraint.K.m01 * x.y + b.x;
-					rvn2 = 0.0;
-
-					if (x.y >= 0.0f && rvn1 >= 0.0f)
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
-
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
-						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
-						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						//v2.subtract(J1.sum(J2).multiply(invM2));
-						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
-						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-						
-						// set the new incremental impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
-					}
-
-					//
-					// Case 4: x1 = 0 and x2 = 0
-					// 
-					// vn1 = b1
-					// vn2 = b2;
-					x.x = 0.0f;
-					x.y = 0.0f;
-					rvn1 = b.x;
-					rvn2 = b.y;
-
-					if (rvn1 >= 0.0f && rvn2 >= 0.0f )
-					{
-						// find the incremental impulse
-						Vector2 d = x.difference(a);
-
-						// apply the incremental impulse
-						Vector2 J1 = N.product(d.x);
-						Vector2 J2 = N.product(d.y);
-						
-						//v1.add(J1.sum(J2).multiply(invM1));
-						v1.add((J1.x + J2.x) * invM1, (J1.y + J2.y) * invM1);
-						b1.setAngularVelocity(av1 + invI1 * (r11.cross(J1) + r12.cross(J2)));
-						//v2.subtract(J1.sum(J2).multiply(invM2));
-						v2.subtract((J1.x + J2.x) * invM2, (J1.y + J2.y) * invM2);
-						b2.setAngularVelocity(av2 - invI2 * (r21.cross(J1) + r22.cross(J2)));
-						
-						// set the new incremental impulse
-						contact1.jn = x.x;
-						contact2.jn = x.y;
-						
-						break;
-					}
-					
-					// No solution, give up. This is hit sometimes, but it doesn't seem to matter.
+				if (bx >= 0.0 && by >= 0.0) {
 					break;
 				}
+				
+				// No solution, give up. This is hit sometimes, but it doesn't seem to matter.
+				xx = ax;
+				xy = ay;
+				break;
 			}
+			
+			// find the incremental impulse
+			double dx = xx - ax;
+			double dy = xy - ay;
+			
+			// apply the incremental impulse
+			double J1x = nx * dx;
+			double J1y = ny * dx;
+			double J2x = nx * dy;
+			double J2y = ny * dy;
+			
+			velocities[b1] = v1x + (J1x + J2x) * invM1;
+			velocities[b1 + 1] = v1y + (J1y + J2y) * invM1;
+			velocities[b1 + 2] = av1 + invI1 * ((r11x * J1y - r11y * J1x) + (r12x * J2y - r12y * J2x));
+			velocities[b2] = v2x - (J1x + J2x) * invM2;
+			velocities[b2 + 1] = v2y - (J1y + J2y) * invM2;
+			velocities[b2 + 2] = av2 - invI2 * ((r21x * J1y - r21y * J1x) + (r22x * J2y - r22y * J2x));
+			
+			// set the new accumulated impulse
+			contacts[c1 + 7] = xx;
+			contacts[c2 + 7] = xy;
 		}
 	}
 	
@@ -595,106 +1083,131 @@ public class ContactConstraintSolver {
 		// immediately return true if there are no contact constraints to solve
 		if (this.contactConstraints.isEmpty()) return true;
 		
-		// track the minimum separation
-		double minSeparation = 0.0;
-		
 		// since all contact constraints will be part
 		Settings settings = this.world.getSettings();
 		// get the max linear correction, baumgarte, and allowed penetration from
 		// the settings object.
-		double maxLinearCorrection = settings.getMaximumLinearCorrection();
-		double allowedPenetration = settings.getLinearTolerance();
-		double baumgarte = settings.getBaumgarte();
+		this.maxLinearCorrection = settings.getMaximumLinearCorrection();
+		this.allowedPenetration = settings.getLinearTolerance();
+		this.baumgarte = settings.getBaumgarte();
 		
-		// loop through the contact constraints
-		int size = this.contactConstraints.size();
-		for (int i = 0; i < size; i++) {
-			ContactConstraint contactConstraint = this.contactConstraints.get(i);
-			
-			// get the bodies
-			Body b1 = contactConstraint.getBody1();
-			Body b2 = contactConstraint.getBody2();
-			// get their transforms
-			Transform t1 = b1.getTransform();
-			Transform t2 = b2.getTransform();
-			// get the masses
-			Mass m1 = b1.getMass();
-			Mass m2 = b2.getMass();
-			
-			double mass1 = m1.getMass();
-			double mass2 = m2.getMass();
-			
-			// get the contact list
-			List<Contact> contacts = contactConstraint.contacts;
-			int cSize = contacts.size();
-			if (cSize == 0) continue;
-			
-			// get the penetration axis
-			Vector2 N = contactConstraint.normal;
-			
-			// could be 1 or 0 if one object has infinite mass
-			double invMass1 = mass1 * m1.getInverseMass();
-			double invI1 = mass1 * m1.getInverseInertia();
-			// could be 1 or 0 if one object has infinite mass
-			double invMass2 = mass2 * m2.getInverseMass();
-			double invI2 = mass2 * m2.getInverseInertia();
+		// track the minimum separation
+		double minSeparation = 0.0;
+		
+		if (this.colorCount > 0) {
+			// solve the colors in parallel
+			minSeparation = this.solveColors(false);
+		} else {
+			// loop through the contact constraints
+			int size = this.contactConstraints.size();
+			for (int i = 0; i < size; i++) {
+				minSeparation = Math.min(minSeparation, this.solvePositionConstraint(i));
+			}
+		}
+		
+		// check if the minimum separation between all objects is still
+		// greater than or equal to allowed penetration plus half of allowed penetration
+		// since we cannot expect it to be above allowed penetration alone
+		return minSeparation >= -3.0 * this.allowedPenetration;
+	}
+	
+	/**
+	 * Solves the position constraints of the contact constraint at the given index.
+	 * @param i the index
+	 * @return double the minimum separation of the contact constraint; zero or less
+	 */
+	private double solvePositionConstraint(int i) {
+		double maxLinearCorrection = this.maxLinearCorrection;
+		double allowedPenetration = this.allowedPenetration;
+		double baumgarte = this.baumgarte;
+		
+		// track the minimum separation
+		double minSeparation = 0.0;
+		
+		ContactConstraint contactConstraint = this.contactConstraints.get(i);
+		
+		// get the bodies
+		Body b1 = contactConstraint.getBody1();
+		Body b2 = contactConstraint.getBody2();
+		// get their transforms
+		Transform t1 = b1.getTransform();
+		Transform t2 = b2.getTransform();
+		// get the masses
+		Mass m1 = b1.getMass();
+		Mass m2 = b2.getMass();
+		
+		double mass1 = m1.getMass();
+		double mass2 = m2.getMass();
+		
+		// get the contact list
+		List<Contact> contacts = contactConstraint.contacts;
+		int cSize = contacts.size();
+		if (cSize == 0) return minSeparation;
+		
+		// get the penetration axis
+		Vector2 N = contactConstraint.normal;
+		
+		// could be 1 or 0 if one object has infinite mass
+		double invMass1 = mass1 * m1.getInverseMass();
+		double invI1 = mass1 * m1.getInverseInertia();
+		// could be 1 or 0 if one object has infinite mass
+		double invMass2 = mass2 * m2.getInverseMass();
+		double invI2 = mass2 * m2.getInverseInertia();
+		
+		// solve normal constraints
+		for (int k = 0; k < cSize; k++) {
+			Contact contact = contacts.get(k);
 			
-			// solve normal constraints
-			for (int k = 0; k < cSize; k++) {
-				Contact contact = contacts.get(k);
-				
-				// get the world centers of mass
-				Vector2 c1 = t1.getTransformed(m1.getCenter());
-				Vector2 c2 = t2.getTransformed(m2.getCenter());
+			// get the world centers of mass
+			Vector2 c1 = t1.getTransformed(m1.getCenter());
+			Vector2 c2 = t2.getTransformed(m2.getCenter());
 
-				// get r1 and r2
-				Vector2 r1 = contact.p1.difference(m1.getCenter());
-				t1.transformR(r1);
-				Vector2 r2 = contact.p2.difference(m2.getCenter());
-				t2.transformR(r2);
-				
-				// get the world contact points
-				Vector2 p1 = c1.sum(r1);
-				Vector2 p2 = c2.sum(r2);
-				Vector2 dp = p1.subtract(p2);
+			// get r1 and r2
+			Vector2 r1 = contact.p1.difference(m1.getCenter());
+			t1.transformR(r1);
+			Vector2 r2 = contact.p2.difference(m2.getCenter());
+			t2.transformR(r2);
+			
+			// get the world contact points
+			Vector2 p1 = c1.sum(r1);
+			Vector2 p2 = c2.sum(r2);
+			Vector2 dp = p1.subtract(p2);
 
-				// estimate the current penetration
-				double penetration = dp.dot(N) - contact.depth;
+			// estimate the current penetration
+			double penetration = dp.dot(N) - contact.depth;
 
-				// track the maximum error
-				minSeparation = Math.min(minSeparation, penetration);
+			// track the maximum error
+			minSeparation = Math.min(minSeparation, penetration);
 
-				// allow for penetration to avoid jitter
-				double cp = baumgarte * Interval.clamp(penetration + allowedPenetration, -maxLinearCorrection, 0.0);
+			// allow for penetration to avoid jitter
+			double cp = baumgarte * Interval.clamp(penetration + allowedPenetration, -maxLinearCorrection, 0.0);
 
-				// compute the position impulse
-				double rn1 = r1.cross(N);
-				double rn2 = r2.cross(N);
-				double K = invMass1 + invMass2 + invI1 * rn1 * rn1 + invI2 * rn2 * rn2;
-				
-				double jp = 0.0;
-				if (K > Epsilon.E) {
-					jp = -cp / K;
-				}
-				
-				// clamp the accumulated position impulse
-				double jp0 = contact.jp;
-				contact.jp = Math.max(jp0 + jp, 0.0);
-				jp = contact.jp - jp0;
+			// compute the position impulse
+			double rn1 = r1.cross(N);
+			double rn2 = r2.cross(N);
+			double K = invMass1 + invMass2 + invI1 * rn1 * rn1 + invI2 * rn2 * rn2;
+			
+			double jp = 0.0;
+			if (K > Epsilon.E) {
+				jp = -cp / K;
+			}
+			
+			// clamp the accumulated position impulse
+			double jp0 = contact.jp;
+			contact.jp = Math.max(jp0 + jp, 0.0);
+			jp = contact.jp - jp0;
 
-				Vector2 J = N.product(jp);
+			Vector2 J = N.product(jp);
 
-				// translate and rotate the objects
-				b1.translate(J.product(invMass1));
-				b1.rotate(invI1 * r1.cross(J), c1.x, c1.y);
-				
-				b2.translate(J.product(-invMass2));
-				b2.rotate(-invI2 * r2.cross(J), c2.x, c2.y);
-			}
+			// translate and rotate the objects (bodies with infinite mass or inertia are
+			// skipped since they can be shared by contact constraints solved in parallel)
+			if (invMass1 != 0.0) b1.translate(J.product(invMass1));
+			if (invI1 != 0.0) b1.rotate(invI1 * r1.cross(J), c1.x, c1.y);
+			
+			if (invMass2 != 0.0) b2.translate(J.product(-invMass2));
+			if (invI2 != 0.0) b2.rotate(-invI2 * r2.cross(J), c2.x, c2.y);
 		}
-		// check if the minimum separation between all objects is still
-		// greater than or equal to allowed penetration plus half of allowed penetration
-		// since we cannot expect it to be above allowed penetration alone
-		return minSeparation >= -3.0 * allowedPenetration;
+		
+		return minSeparation;
 	}
 }
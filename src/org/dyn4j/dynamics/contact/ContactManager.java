@@ -25,14 +25,14 @@
 package org.dyn4j.dynamics.contact;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.dyn4j.collision.Collisions;
+import org.dyn4j.collision.manifold.Manifold;
 import org.dyn4j.collision.manifold.ManifoldPointId;
 import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
 import org.dyn4j.dynamics.Capacity;
 import org.dyn4j.dynamics.Settings;
 import org.dyn4j.dynamics.World;
@@ -53,13 +53,40 @@ public class ContactManager {
 	protected World world;
 	
 	/** Map for fast look up of  {@link ContactConstraint}s */
-	protected Map<ContactConstraintId, ContactConstraint> map;
+	protected ContactConstraintMap map;
+	
+	/** The map for the new {@link ContactConstraint}s; swapped with the map each update */
+	protected ContactConstraintMap nextMap;
+	
+	/** The reusable flags for the old contacts that persisted */
+	protected boolean[] persisted;
 
 	/** The current list of contact constraints */
 	protected List<ContactConstraint> list;
 	
-	/** The list of contact listeners (this is reassigned each time {@link #updateContacts()} is called) */
-	protected List<ContactListener> listeners;
+	/** The contact listeners (this is reassigned each time the {@link World}'s listeners change) */
+	protected ContactListener[] listeners;
+	
+	/** The previous list of contact constraints to recycle when object pooling is enabled */
+	protected List<ContactConstraint> previous;
+	
+	/** The pool of recycled contact constraints */
+	protected List<ContactConstraint> constraintPool;
+	
+	/** The pool of contact edges */
+	protected List<ContactEdge> edgePool;
+	
+	/** The number of contact edges in use from the edge pool */
+	protected int edgeCount;
+	
+	/** The reused contact event when object pooling is enabled */
+	protected ContactPoint contactPoint;
+	
+	/** The reused persisted contact event when object pooling is enabled */
+	protected PersistedContactPoint persistedContactPoint;
+	
+	/** The reused solved contact event when object pooling is enabled */
+	protected SolvedContactPoint solvedContactPoint;
 	
 	/**
 	 * Optional constructor.
@@ -92,12 +119,135 @@ public class ContactManager {
 		// estimate the number of contact constraints
 		int eSize = Collisions.getEstimatedCollisionPairs(initialCapacity.getBodyCount());
 		// initialize the members
-		// 0.75 = 3/4, we can garuantee that the hashmap will not need to be rehashed
-		// if we take capacity / load factor
-		// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
-		this.map = new HashMap<ContactConstraintId, ContactConstraint>(eSize * 4 / 3 + 1, 0.75f);
+		// the maps are reused each step so they only grow if the estimate is exceeded
+		this.map = new ContactConstraintMap(eSize);
+		this.nextMap = new ContactConstraintMap(eSize);
+		// 2D manifolds have at most two points
+		this.persisted = new boolean[2];
 		this.list = new ArrayList<ContactConstraint>(eSize);
-		this.listeners = null;
+		this.listeners = world.getListeners(ContactListener.class).toArray(new ContactListener[0]);
+		// the pools are filled as needed
+		this.previous = new ArrayList<ContactConstraint>();
+		this.constraintPool = new ArrayList<ContactConstraint>();
+		this.edgePool = new ArrayList<ContactEdge>();
+		this.edgeCount = 0;
+		// the contact events reused when object pooling is enabled
+		this.contactPoint = new ContactPoint();
+		this.persistedContactPoint = new PersistedContactPoint();
+		this.solvedContactPoint = new SolvedContactPoint();
+	}
+	
+	/**
+	 * Sets the {@link ContactListener}s to notify of contact events.
+	 * <p>
+	 * Typically this method should not be called directly.  The {@link World}
+	 * sets the listeners whenever a listener is added or removed.
+	 * @param listeners the {@link ContactListener}s
+	 * @throws NullPointerException if listeners is null
+	 * @since 3.1.11
+	 */
+	public void setListeners(ContactListener[] listeners) {
+		// check for null listeners
+		if (listeners == null) throw new NullPointerException(Messages.getString("dynamics.contact.nullListeners"));
+		this.listeners = listeners;
+	}
+	
+	/**
+	 * Returns a {@link ContactConstraint} for the given bodies, fixtures and manifold.
+	 * <p>
+	 * A recycled {@link ContactConstraint} is returned when one is available, otherwise a
+	 * new one is created.  The returned {@link ContactConstraint} is recycled during the
+	 * next call to the {@link #updateContacts()} method after the {@link #clear()} method
+	 * is called.
+	 * <p>
+	 * This method should only be used when object pooling is enabled.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @param manifold the contact {@link Manifold}
+	 * @return {@link ContactConstraint}
+	 * @see Settings#setObjectPoolingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public ContactConstraint getContactConstraint(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2, Manifold manifold) {
+		int size = this.constraintPool.size();
+		// check for a recycled contact constraint
+		if (size > 0) {
+			ContactConstraint contactConstraint = this.constraintPool.remove(size - 1);
+			contactConstraint.set(body1, fixture1, body2, fixture2, manifold, this.world);
+			return contactConstraint;
+		}
+		return new ContactConstraint(body1, fixture1, body2, fixture2, manifold, this.world);
+	}
+	
+	/**
+	 * Returns a recycled {@link ContactConstraint} that was not added to this contact manager
+	 * to the pool.
+	 * <p>
+	 * This method should only be used when object pooling is enabled.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @see #getContactConstraint(Body, BodyFixture, Body, BodyFixture, Manifold)
+	 * @since 3.1.11
+	 */
+	public void recycle(ContactConstraint contactConstraint) {
+		this.constraintPool.add(contactConstraint);
+	}
+	
+	/**
+	 * Returns a {@link ContactEdge} for the given body and {@link ContactConstraint}.
+	 * <p>
+	 * The {@link ContactEdge}s are reused after the next call to the {@link #clear()} method.
+	 * <p>
+	 * This method should only be used when object pooling is enabled.
+	 * @param other the other {@link Body} in contact
+	 * @param contactConstraint the {@link ContactConstraint} between the {@link Body}s
+	 * @return {@link ContactEdge}
+	 * @see Settings#setObjectPoolingEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public ContactEdge getContactEdge(Body other, ContactConstraint contactConstraint) {
+		// check for an unused contact edge
+		if (this.edgeCount < this.edgePool.size()) {
+			ContactEdge contactEdge = this.edgePool.get(this.edgeCount++);
+			contactEdge.other = other;
+			contactEdge.contactConstraint = contactConstraint;
+			return contactEdge;
+		}
+		ContactEdge contactEdge = new ContactEdge(other, contactConstraint);
+		this.edgePool.add(contactEdge);
+		this.edgeCount++;
+		return contactEdge;
+	}
+	
+	/**
+	 * Returns the narrowphase search direction for the given bodies and fixtures.
+	 * <p>
+	 * The returned vector is the search direction stored on the {@link ContactConstraint} 
+	 * of the same fixtures from the last collision detection, or null if the fixtures were 
+	 * not in contact.  The returned vector should be updated with the final search direction
+	 * of this collision detection's test.  The {@link #updateContacts()} method copies it 
+	 * to the new {@link ContactConstraint} of the fixtures.
+	 * <p>
+	 * This method is safe to call from multiple threads during the collision detection, but 
+	 * should not be called for the same bodies and fixtures more than once per collision 
+	 * detection.
+	 * @param body1 the first {@link Body}
+	 * @param fixture1 the first {@link Body}'s {@link BodyFixture}
+	 * @param body2 the second {@link Body}
+	 * @param fixture2 the second {@link Body}'s {@link BodyFixture}
+	 * @return {@link Vector2}
+	 * @see Settings#setGjkWarmStartEnabled(boolean)
+	 * @since 3.1.11
+	 */
+	public Vector2 getSearchDirection(Body body1, BodyFixture fixture1, Body body2, BodyFixture fixture2) {
+		// the map isn't modified until the contacts are updated so
+		// it can be read from many threads
+		ContactConstraint contactConstraint = this.map.get(body1, fixture1, body2, fixture2);
+		if (contactConstraint != null) {
+			return contactConstraint.searchDirection;
+		}
+		return null;
 	}
 	
 	/**
@@ -125,8 +275,22 @@ public class ContactManager {
 	 * Clears the list of {@link ContactConstraint}s.
 	 */
 	public void clear() {
-		// only clear the list
-		this.list.clear();
+		// check if the contact constraints should be recycled
+		if (this.world.getSettings().isObjectPoolingEnabled()) {
+			// the contact constraints that are still in the previous list
+			// may be in the warm start cache so they cannot be recycled
+			this.previous.clear();
+			// save the current contact constraints so that they can be recycled
+			// once they are no longer needed for warm starting
+			List<ContactConstraint> temp = this.previous;
+			this.previous = this.list;
+			this.list = temp;
+			// the contact edges are reused
+			this.edgeCount = 0;
+		} else {
+			// only clear the list
+			this.list.clear();
+		}
 	}
 	
 	/**
@@ -137,7 +301,11 @@ public class ContactManager {
 		// clear the list
 		this.list.clear();
 		// clear the current contact constraints warm start cache
-		this.map.clear();
+		// and release the references to the old contact constraints
+		this.map.reset();
+		this.nextMap.reset();
+		// clear the contact constraints waiting to be recycled
+		this.previous.clear();
 	}
 	
 	/**
@@ -151,10 +319,13 @@ public class ContactManager {
 	 */
 	public void shiftCoordinates(Vector2 shift) {
 		// update all the contacts
-		Iterator<ContactConstraint> it = this.map.values().iterator();
-		while (it.hasNext()) {
-			ContactConstraint cc = it.next();
-			cc.shiftCoordinates(shift);
+		ContactConstraintMap map = this.map;
+		int capacity = map.getCapacity();
+		for (int i = 0; i < capacity; i++) {
+			ContactConstraint cc = map.getValue(i);
+			if (cc != null) {
+				cc.shiftCoordinates(shift);
+			}
 		}
 	}
 	
@@ -175,24 +346,16 @@ public class ContactManager {
 		// get the size of the list
 		int size = this.list.size();
 		
-		// re-assign listeners
-		this.listeners = this.world.getListeners(ContactListener.class);
-		
 		Settings settings = this.world.getSettings();
 		// get the warm start distance from the settings
 		double warmStartDistanceSquared = settings.getWarmStartDistanceSquared();
 		
-		// create a new map for the new contacts constraints
-		Map<ContactConstraintId, ContactConstraint> newMap = null;
+		// the contact events are only created if there are listeners
+		boolean notify = this.listeners.length > 0;
+		boolean reuse = settings.isObjectPoolingEnabled();
 		
-		// check if any new contact constraints were found
-		if (size > 0) {
-			// if so then create a new map to contain the new contacts
-			// 0.75 = 3/4, we can garuantee that the hashmap will not need to be rehashed
-			// if we take capacity / load factor
-			// the default load factor is 0.75 according to the javadocs, but lets assign it to be sure
-			newMap = new HashMap<ContactConstraintId, ContactConstraint>(size * 4 / 3 + 1, 0.75f);
-		}
+		// use the other (empty) map for the new contacts constraints
+		ContactConstraintMap newMap = this.nextMap;
 		
 		// loop over the new contact constraints
 		// and attempt to persist contacts
@@ -208,20 +371,11 @@ public class ContactManager {
 			// check if this contact constraint is a sensor
 			if (newContactConstraint.sensor) {
 				// notify of the sensed contacts
-				for (int j = 0; j < nsize; j++) {
+				for (int j = 0; j < nsize && notify; j++) {
 					// get the contact
 					Contact contact = contacts.get(j);
 					// notify of the sensed contact
-					ContactPoint point = new ContactPoint(
-							new ContactPointId(newContactConstraint.id, contact.id),
-							newContactConstraint.getBody1(),
-							newContactConstraint.fixture1,
-							newContactConstraint.getBody2(),
-							newContactConstraint.fixture2,
-							false,
-							contact.p,
-							newContactConstraint.normal,
-							contact.depth);
+					ContactPoint point = this.getContactPoint(newContactConstraint, contact, reuse);
 					// call the listeners
 					for (ContactListener cl : this.listeners) {
 						cl.sensed(point);
@@ -244,10 +398,18 @@ public class ContactManager {
 			
 			// check if the contact constraint exists
 			if (oldContactConstraint != null) {
+				// keep the narrowphase search direction
+				newContactConstraint.searchDirection.set(oldContactConstraint.searchDirection);
 				List<Contact> ocontacts = oldContactConstraint.contacts;
 				int osize = ocontacts.size();
-				// create an array for removed contacts
-				boolean[] persisted = new boolean[osize];
+				// reuse the array for removed contacts
+				boolean[] persisted = this.persisted;
+				if (persisted.length < osize) {
+					persisted = new boolean[osize];
+					this.persisted = persisted;
+				} else {
+					Arrays.fill(persisted, 0, osize, false);
+				}
 				// warm start the constraint
 				for (int j = 0; j < nsize; j++) {
 					// get the new contact
@@ -265,25 +427,17 @@ public class ContactManager {
 							// accumulated impulses to the old contact constraint
 							newContact.jn = oldContact.jn;
 							newContact.jt = oldContact.jt;
-							// notify of a persisted contact
-							PersistedContactPoint point = new PersistedContactPoint(
-									new ContactPointId(newContactConstraint.id, newContact.id),
-									newContactConstraint.getBody1(),
-									newContactConstraint.fixture1,
-									newContactConstraint.getBody2(),
-									newContactConstraint.fixture2,
-									true,
-									newContact.p,
-									newContactConstraint.normal,
-									newContact.depth,
-									oldContact.p,
-									oldContactConstraint.normal,
-									oldContact.depth);
 							// call the listeners and set the enabled flag to the result
 							boolean allow = true;
-							for (ContactListener cl : this.listeners) {
-								if (!cl.persist(point)) {
-									allow = false;
+							if (notify) {
+								// notify of a persisted contact
+								PersistedContactPoint point = this.getPersistedContactPoint(
+										newContactConstraint, newContact, 
+										oldContactConstraint, oldContact, reuse);
+								for (ContactListener cl : this.listeners) {
+									if (!cl.persist(point)) {
+										allow = false;
+									}
 								}
 							}
 							newContact.enabled = allow;
@@ -295,22 +449,15 @@ public class ContactManager {
 					}
 					// check for persistence, if it wasn't persisted its a new contact
 					if (!found) {
-						// notify of new contact (begin of contact)
-						ContactPoint point = new ContactPoint(
-								new ContactPointId(newContactConstraint.id, newContact.id),
-								newContactConstraint.getBody1(),
-								newContactConstraint.fixture1,
-								newContactConstraint.getBody2(),
-								newContactConstraint.fixture2,
-								false,
-								newContact.p,
-								newContactConstraint.normal,
-								newContact.depth);
 						// call the listeners and set the enabled flag to the result
 						boolean allow = true;
-						for (ContactListener cl : this.listeners) {
-							if (!cl.begin(point)) {
-								allow = false;
+						if (notify) {
+							// notify of new contact (begin of contact)
+							ContactPoint point = this.getContactPoint(newContactConstraint, newContact, reuse);
+							for (ContactListener cl : this.listeners) {
+								if (!cl.begin(point)) {
+									allow = false;
+								}
 							}
 						}
 						newContact.enabled = allow;
@@ -319,23 +466,13 @@ public class ContactManager {
 				
 				// check for removed contacts
 				// if the contact was not persisted then it was removed
-				int rsize = persisted.length;
-				for (int j = 0; j < rsize; j++) {
+				for (int j = 0; j < osize && notify; j++) {
 					// check the boolean array
 					if (!persisted[j]) {
 						// get the contact
 						Contact contact = ocontacts.get(j);
-						// notify of new contact (begin of contact)
-						ContactPoint point = new ContactPoint(
-								new ContactPointId(newContactConstraint.id, contact.id),
-								newContactConstraint.getBody1(),
-								newContactConstraint.fixture1,
-								newContactConstraint.getBody2(),
-								newContactConstraint.fixture2,
-								false,
-								contact.p,
-								newContactConstraint.normal,
-								contact.depth);
+						// notify of the removed contact (end of contact)
+						ContactPoint point = this.getContactPoint(newContactConstraint, contact, reuse);
 						// call the listeners
 						for (ContactListener cl : this.listeners) {
 							cl.end(point);
@@ -348,53 +485,40 @@ public class ContactManager {
 				for (int j = 0; j < nsize; j++) {
 					// get the contact
 					Contact contact = contacts.get(j);
-					// notify of new contact (begin of contact)
-					ContactPoint point = new ContactPoint(
-							new ContactPointId(newContactConstraint.id, contact.id),
-							newContactConstraint.getBody1(),
-							newContactConstraint.fixture1,
-							newContactConstraint.getBody2(),
-							newContactConstraint.fixture2,
-							false,
-							contact.p,
-							newContactConstraint.normal,
-							contact.depth);
 					// call the listeners and set the enabled flag to the result
 					boolean allow = true;
-					for (ContactListener cl : this.listeners) {
-						if (!cl.begin(point)) {
-							allow = false;
+					if (notify) {
+						// notify of new contact (begin of contact)
+						ContactPoint point = this.getContactPoint(newContactConstraint, contact, reuse);
+						for (ContactListener cl : this.listeners) {
+							if (!cl.begin(point)) {
+								allow = false;
+							}
 						}
 					}
 					contact.enabled = allow;
 				}
 			}
 			// add the contact constraint to the map
-			newMap.put(newContactConstraint.id, newContactConstraint);
+			newMap.put(newContactConstraint);
 		}
 		
 		// check the map and its size
-		if (!this.map.isEmpty()) {
+		if (notify && !this.map.isEmpty()) {
 			// now loop over the remaining contacts in the map to notify of any removed contacts
-			Iterator<ContactConstraint> icc = this.map.values().iterator();
-			while (icc.hasNext()) {
-				ContactConstraint contactConstraint = icc.next();
+			ContactConstraintMap map = this.map;
+			int capacity = map.getCapacity();
+			for (int j = 0; j < capacity; j++) {
+				ContactConstraint contactConstraint = map.getValue(j);
+				// skip empty slots
+				if (contactConstraint == null) continue;
 				// loop over the contact points
 				int rsize = contactConstraint.contacts.size();
 				for (int i = 0; i < rsize; i++) {
 					// get the contact
 					Contact contact = contactConstraint.contacts.get(i);
 					// set the contact point values
-					ContactPoint point = new ContactPoint(
-							new ContactPointId(contactConstraint.id, contact.id),
-							contactConstraint.getBody1(),
-							contactConstraint.fixture1,
-							contactConstraint.getBody2(),
-							contactConstraint.fixture2,
-							false,
-							contact.p,
-							contactConstraint.normal,
-							contact.depth);
+					ContactPoint point = this.getContactPoint(contactConstraint, contact, reuse);
 					// call the listeners
 					for (ContactListener cl : this.listeners) {
 						cl.end(point);
@@ -403,20 +527,37 @@ public class ContactManager {
 			}
 		}
 		
-		// finally overwrite the contact constraint map with the new map
-		if (size > 0) {
-			this.map = newMap;
-		} else {
-			// if no contact constraints exist, just clear the old map
-			this.map.clear();
+		// finally swap the maps and clear the old one so that
+		// it can be used for the new contacts of the next update
+		this.nextMap = this.map;
+		this.nextMap.clear();
+		this.map = newMap;
+		
+		// the previous contact constraints are no longer
+		// needed so recycle them
+		int psize = this.previous.size();
+		if (psize > 0) {
+			for (int i = 0; i < psize; i++) {
+				ContactConstraint contactConstraint = this.previous.get(i);
+				// unless they were added again (frozen contacts for example)
+				if (this.map.get(contactConstraint.id) == contactConstraint) continue;
+				this.constraintPool.add(contactConstraint);
+			}
+			this.previous.clear();
 		}
 	}
 	
 	/**
 	 * Called before the contact constraints are solved.
+	 * <p>
+	 * Does nothing if there are no {@link ContactListener}s.
 	 */
 	public void preSolveNotify() {
+		// without listeners the contacts remain enabled
+		if (this.listeners.length == 0) return;
+		
 		int size = this.list.size();
+		boolean reuse = this.world.getSettings().isObjectPoolingEnabled();
 		
 		// loop through the list of contacts that were solved
 		for (int i = 0; i < size; i++) {
@@ -430,16 +571,7 @@ public class ContactManager {
 				// get the contact
 				Contact contact = contactConstraint.contacts.get(j);
 				// notify of the contact that will be solved
-				ContactPoint point = new ContactPoint(
-						new ContactPointId(contactConstraint.id, contact.id),
-						contactConstraint.getBody1(),
-						contactConstraint.fixture1,
-						contactConstraint.getBody2(),
-						contactConstraint.fixture2,
-						false,
-						contact.p,
-						contactConstraint.normal,
-						contact.depth);
+				ContactPoint point = this.getContactPoint(contactConstraint, contact, reuse);
 				// call the listeners and set the enabled flag to the result
 				boolean allow = true;
 				for (ContactListener cl : this.listeners) {
@@ -454,9 +586,15 @@ public class ContactManager {
 	
 	/**
 	 * Called after the contact constraints have been solved.
+	 * <p>
+	 * Does nothing if there are no {@link ContactListener}s.
 	 */
 	public void postSolveNotify() {
+		// nothing to do without listeners
+		if (this.listeners.length == 0) return;
+		
 		int size = this.list.size();
+		boolean reuse = this.world.getSettings().isObjectPoolingEnabled();
 		
 		// loop through the list of contacts that were solved
 		for (int i = 0; i < size; i++) {
@@ -470,18 +608,10 @@ public class ContactManager {
 				// get the contact
 				Contact contact = contactConstraint.contacts.get(j);
 				// set the contact point values
-				SolvedContactPoint point = new SolvedContactPoint(
-						new ContactPointId(contactConstraint.id, contact.id),
-						contactConstraint.getBody1(),
-						contactConstraint.fixture1,
-						contactConstraint.getBody2(),
-						contactConstraint.fixture2,
-						false,
-						contact.p,
-						contactConstraint.normal,
-						contact.depth,
-						contact.jn,
-						contact.jt);
+				SolvedContactPoint point = reuse ? this.solvedContactPoint : new SolvedContactPoint();
+				this.set(point, contactConstraint, contact, reuse);
+				point.normalImpulse = contact.jn;
+				point.tangentialImpulse = contact.jt;
 				// notify of them being solved
 				for (ContactListener cl : this.listeners) {
 					cl.postSolve(point);
@@ -490,6 +620,73 @@ public class ContactManager {
 		}
 	}
 	
+	/**
+	 * Returns a {@link ContactPoint} for the given contact.
+	 * <p>
+	 * If reuse is true, the same {@link ContactPoint} is returned each time and
+	 * is only valid until the next call.
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @param contact the {@link Contact}
+	 * @param reuse true if the event object should be reused
+	 * @return {@link ContactPoint}
+	 * @since 3.1.11
+	 */
+	private ContactPoint getContactPoint(ContactConstraint contactConstraint, Contact contact, boolean reuse) {
+		ContactPoint point = reuse ? this.contactPoint : new ContactPoint();
+		this.set(point, contactConstraint, contact, reuse);
+		return point;
+	}
+	
+	/**
+	 * Returns a {@link PersistedContactPoint} for the given new and old contacts.
+	 * <p>
+	 * If reuse is true, the same {@link PersistedContactPoint} is returned each time and
+	 * is only valid until the next call.
+	 * @param contactConstraint the new {@link ContactConstraint}
+	 * @param contact the new {@link Contact}
+	 * @param oldContactConstraint the old {@link ContactConstraint}
+	 * @param oldContact the old {@link Contact}
+	 * @param reuse true if the event object should be reused
+	 * @return {@link PersistedContactPoint}
+	 * @since 3.1.11
+	 */
+	private PersistedContactPoint getPersistedContactPoint(ContactConstraint contactConstraint, Contact contact, 
+			ContactConstraint oldContactConstraint, Contact oldContact, boolean reuse) {
+		PersistedContactPoint point = reuse ? this.persistedContactPoint : new PersistedContactPoint();
+		this.set(point, contactConstraint, contact, reuse);
+		point.enabled = true;
+		point.oldPoint = oldContact.p;
+		point.oldNormal = oldContactConstraint.normal;
+		point.oldDepth = oldContact.depth;
+		return point;
+	}
+	
+	/**
+	 * Sets the values of the given {@link ContactPoint} from the given contact.
+	 * @param point the {@link ContactPoint} to set
+	 * @param contactConstraint the {@link ContactConstraint}
+	 * @param contact the {@link Contact}
+	 * @param reuse true if the {@link ContactPointId} of the point should be reused
+	 * @since 3.1.11
+	 */
+	private void set(ContactPoint point, ContactConstraint contactConstraint, Contact contact, boolean reuse) {
+		ContactPointId id = point.id;
+		if (reuse && id != null) {
+			id.contactConstraintId = contactConstraint.id;
+			id.manifoldPointId = contact.id;
+		} else {
+			point.id = new ContactPointId(contactConstraint.id, contact.id);
+		}
+		point.body1 = contactConstraint.getBody1();
+		point.fixture1 = contactConstraint.fixture1;
+		point.body2 = contactConstraint.getBody2();
+		point.fixture2 = contactConstraint.fixture2;
+		point.enabled = false;
+		point.point = contact.p;
+		point.normal = contactConstraint.normal;
+		point.depth = contact.depth;
+	}
+	
 	/**
 	 * Returns true if there are no contacts in this {@link ContactManager}'s list.
 	 * <p>
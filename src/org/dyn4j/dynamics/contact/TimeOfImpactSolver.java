@@ -40,7 +40,7 @@ import org.dyn4j.geometry.Vector2;
  * <p>
  * This class will translate and rotate the {@link Body}s into a collision.
  * @author William Bittle
- * @version 3.0.3
+ * @version 3.1.11
  * @since 2.0.0
  */
 public class TimeOfImpactSolver {
@@ -108,11 +108,11 @@ public class TimeOfImpactSolver {
 		
 		Vector2 J = n.product(impulse);
 
-		// translate and rotate the objects
-		b1.translate(J.product(invMass1));
-		b1.rotate(invI1 * r1.cross(J), c1.x, c1.y);
+		// translate and rotate the objects (bodies with infinite mass or inertia are skipped)
+		if (invMass1 != 0.0) b1.translate(J.product(invMass1));
+		if (invI1 != 0.0) b1.rotate(invI1 * r1.cross(J), c1.x, c1.y);
 		
-		b2.translate(J.product(-invMass2));
-		b2.rotate(-invI2 * r2.cross(J), c2.x, c2.y);
+		if (invMass2 != 0.0) b2.translate(J.product(-invMass2));
+		if (invI2 != 0.0) b2.rotate(-invI2 * r2.cross(J), c2.x, c2.y);
 	}
 }
@@ -68,7 +68,7 @@ import org.dyn4j.resources.Messages;
  * When the angle between the bodies reaches a limit, if limits are enabled, the ratio is 
  * effectively turned off.
  * @author William Bittle
- * @version 3.1.0
+ * @version 3.1.11
  * @since 2.2.2
  */
 public class AngleJoint extends Joint {
@@ -314,8 +314,8 @@ public class AngleJoint extends Joint {
 			}
 			
 			// apply the corrective impulses to the bodies
-			this.body1.rotateAboutCenter(invI1 * impulse);
-			this.body2.rotateAboutCenter(-invI2 * impulse);
+			if (invI1 != 0.0) this.body1.rotateAboutCenter(invI1 * impulse);
+			if (invI2 != 0.0) this.body2.rotateAboutCenter(-invI2 * impulse);
 			
 			return angularError <= angularTolerance;
 		} else {
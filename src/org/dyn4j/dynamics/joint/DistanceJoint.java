@@ -48,7 +48,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class DistanceJoint extends Joint {
@@ -291,11 +291,11 @@ public class DistanceJoint extends Joint {
 		Vector2 J = n.product(impulse);
 		
 		// translate and rotate the objects
-		body1.translate(J.product(invM1));
-		body1.rotate(invI1 * r1.cross(J), c1);
+		if (invM1 != 0.0) body1.translate(J.product(invM1));
+		if (invI1 != 0.0) body1.rotate(invI1 * r1.cross(J), c1);
 		
-		body2.translate(J.product(-invM2));
-		body2.rotate(-invI2 * r2.cross(J), c2);
+		if (invM2 != 0.0) body2.translate(J.product(-invM2));
+		if (invI2 != 0.0) body2.rotate(-invI2 * r2.cross(J), c2);
 		
 		return Math.abs(C) < linearTolerance;
 	}
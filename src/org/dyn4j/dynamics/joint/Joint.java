@@ -26,6 +26,7 @@ package org.dyn4j.dynamics.joint;
 
 import java.util.UUID;
 
+import org.dyn4j.Handles;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.Constraint;
 import org.dyn4j.geometry.Vector2;
@@ -33,7 +34,7 @@ import org.dyn4j.geometry.Vector2;
 /**
  * Represents constrained motion between two {@link Body}s.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.1.11
  * @since 1.0.0
  */
 public abstract class Joint extends Constraint {
@@ -54,8 +55,11 @@ public abstract class Joint extends Constraint {
 		INACTIVE;
 	}
 	
-	/** The joint's unique identifier */
-	protected UUID id = UUID.randomUUID();
+	/** The joint's unique identifier; created when first requested */
+	protected volatile UUID id;
+	
+	/** The joint's handle */
+	protected long handle = Handles.next();
 	
 	/** Whether the pair of bodies joined together can collide with each other */
 	protected boolean collisionAllowed;
@@ -90,7 +94,7 @@ public abstract class Joint extends Constraint {
 	 */
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("Id=").append(this.id)
+		sb.append("Id=").append(this.getId())
 		// body1, body2, island
 		.append("|").append(super.toString())
 		.append("|IsCollisionAllowed=").append(this.collisionAllowed);
@@ -149,7 +153,32 @@ public abstract class Joint extends Constraint {
 	 * @since 3.0.1
 	 */
 	public UUID getId() {
-		return this.id;
+		// create the id when its first needed (double checked since the
+		// id could be requested from several threads at the same time)
+		UUID id = this.id;
+		if (id == null) {
+			synchronized (this) {
+				id = this.id;
+				if (id == null) {
+					id = UUID.randomUUID();
+					this.id = id;
+				}
+			}
+		}
+		return id;
+	}
+	
+	/**
+	 * Returns the handle for this joint.
+	 * <p>
+	 * The handle is a compact unique identifier that is cheaper to compare
+	 * and hash than the {@link #getId()}.
+	 * @return long
+	 * @see Handles
+	 * @since 3.1.11
+	 */
+	public long getHandle() {
+		return this.handle;
 	}
 	
 	/**
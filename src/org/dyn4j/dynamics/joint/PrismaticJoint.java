@@ -44,7 +44,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class PrismaticJoint extends Joint {
@@ -572,11 +572,11 @@ public class PrismaticJoint extends Joint {
 		double l2 = impulse.x * this.s2 + impulse.y + impulse.z * this.a2;
 		
 		// apply the impulse
-		this.body1.translate(P.product(invM1));
-		this.body1.rotateAboutCenter(l1 * invI1);
+		if (invM1 != 0.0) this.body1.translate(P.product(invM1));
+		if (invI1 != 0.0) this.body1.rotateAboutCenter(l1 * invI1);
 		
-		this.body2.translate(P.product(-invM2));
-		this.body2.rotateAboutCenter(-l2 * invI2);
+		if (invM2 != 0.0) this.body2.translate(P.product(-invM2));
+		if (invI2 != 0.0) this.body2.rotateAboutCenter(-l2 * invI2);
 		
 		// return if we corrected the error enough
 		return linearError <= linearTolerance && angularError <= angularTolerance;
@@ -44,7 +44,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.6
+ * @version 3.1.11
  * @since 2.1.0
  */
 public class PulleyJoint extends Joint {
@@ -363,10 +363,10 @@ public class PulleyJoint extends Joint {
 			Vector2 J2 = this.n2.product(-this.ratio * impulse);
 			
 			// apply the impulse
-			this.body1.translate(J1.x * invM1, J1.y * invM1);
-			this.body1.rotateAboutCenter(r1.cross(J1) * invI1);
-			this.body2.translate(J2.x * invM2, J2.y * invM2);
-			this.body2.rotateAboutCenter(r2.cross(J2) * invI2);
+			if (invM1 != 0.0) this.body1.translate(J1.x * invM1, J1.y * invM1);
+			if (invI1 != 0.0) this.body1.rotateAboutCenter(r1.cross(J1) * invI1);
+			if (invM2 != 0.0) this.body2.translate(J2.x * invM2, J2.y * invM2);
+			if (invI2 != 0.0) this.body2.rotateAboutCenter(r2.cross(J2) * invI2);
 			
 			return linearError < linearTolerance;
 		} else {
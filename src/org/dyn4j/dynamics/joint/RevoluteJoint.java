@@ -63,7 +63,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class RevoluteJoint extends Joint {
@@ -416,8 +416,8 @@ public class RevoluteJoint extends Joint {
 			}
 			
 			// apply the impulse
-			this.body1.rotateAboutCenter(invI1 * impulse);
-			this.body2.rotateAboutCenter(-invI2 * impulse);
+			if (invI1 != 0.0) this.body1.rotateAboutCenter(invI1 * impulse);
+			if (invI2 != 0.0) this.body2.rotateAboutCenter(-invI2 * impulse);
 		}
 		
 		// always solve the point-to-point constraint
@@ -445,8 +445,8 @@ public class RevoluteJoint extends Joint {
         	// scale by a half (don't bring them all the way together)
         	final double scale = 0.5;
         	// apply the impulse
-        	this.body1.translate(impulse.product(invM1 * scale));
-        	this.body2.translate(impulse.product(-invM2 * scale));
+        	if (invM1 != 0.0) this.body1.translate(impulse.product(invM1 * scale));
+        	if (invM2 != 0.0) this.body2.translate(impulse.product(-invM2 * scale));
         	
         	// recompute the separation vector
         	p1 = this.body1.getWorldCenter().add(r1);
@@ -465,11 +465,11 @@ public class RevoluteJoint extends Joint {
 		Vector2 J = K.solve(p.negate());
 
 		// translate and rotate the objects
-		this.body1.translate(J.product(invM1));
-		this.body1.rotateAboutCenter(invI1 * r1.cross(J));
+		if (invM1 != 0.0) this.body1.translate(J.product(invM1));
+		if (invI1 != 0.0) this.body1.rotateAboutCenter(invI1 * r1.cross(J));
 		
-		this.body2.translate(J.product(-invM2));
-		this.body2.rotateAboutCenter(-invI2 * r2.cross(J));
+		if (invM2 != 0.0) this.body2.translate(J.product(-invM2));
+		if (invI2 != 0.0) this.body2.rotateAboutCenter(-invI2 * r2.cross(J));
 		
 		return linearError <= linearTolerance && angularError <= angularTolerance;
 	}
@@ -47,7 +47,7 @@ import org.dyn4j.resources.Messages;
  * Nearly identical to <a href="http://www.box2d.org">Box2d</a>'s equivalent class.
  * @see <a href="http://www.box2d.org">Box2d</a>
  * @author William Bittle
- * @version 3.1.10
+ * @version 3.1.11
  * @since 1.0.0
  */
 public class WeldJoint extends Joint {
@@ -312,10 +312,10 @@ public class WeldJoint extends Joint {
 			angularError = 0.0;
 			Vector2 j = this.K.solve22(C1).negate();
 			
-			this.body1.translate(j.product(invM1));
-			this.body1.rotateAboutCenter(invI1 * r1.cross(j));
-			this.body2.translate(j.product(-invM2));
-			this.body2.rotateAboutCenter(-invI2 * r2.cross(j));
+			if (invM1 != 0.0) this.body1.translate(j.product(invM1));
+			if (invI1 != 0.0) this.body1.rotateAboutCenter(invI1 * r1.cross(j));
+			if (invM2 != 0.0) this.body2.translate(j.product(-invM2));
+			if (invI2 != 0.0) this.body2.rotateAboutCenter(-invI2 * r2.cross(j));
 		} else {
 			Vector3 impulse = null;
 			
@@ -328,10 +328,10 @@ public class WeldJoint extends Joint {
 	
 			// translate and rotate the objects
 			Vector2 imp = new Vector2(impulse.x, impulse.y);
-			this.body1.translate(imp.product(invM1));
-			this.body1.rotateAboutCenter(invI1 * (r1.cross(imp) + impulse.z));
-			this.body2.translate(imp.product(-invM2));
-			this.body2.rotateAboutCenter(-invI2 * (r2.cross(imp) + impulse.z));
+			if (invM1 != 0.0) this.body1.translate(imp.product(invM1));
+			if (invI1 != 0.0) this.body1.rotateAboutCenter(invI1 * (r1.cross(imp) + impulse.z));
+			if (invM2 != 0.0) this.body2.translate(imp.product(-invM2));
+			if (invI2 != 0.0) this.body2.rotateAboutCenter(-invI2 * (r2.cross(imp) + impulse.z));
 		}
 		
 		return linearError <= linearTolerance && angularError <= angularTolerance;
@@ -29,7 +29,7 @@ import org.dyn4j.resources.Messages;
 /**
  * Represents an axis aligned bounding box.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 3.0.0
  */
 public class AABB {
@@ -360,6 +360,24 @@ public class AABB {
 		return false;
 	}
 	
+	/**
+	 * Returns true if the given bounds are contained within this {@link AABB}.
+	 * @param minX the minimum x coordinate of the bounds
+	 * @param minY the minimum y coordinate of the bounds
+	 * @param maxX the maximum x coordinate of the bounds
+	 * @param maxY the maximum y coordinate of the bounds
+	 * @return boolean
+	 * @since 3.1.11
+	 */
+	public boolean contains(double minX, double minY, double maxX, double maxY) {
+		if (this.min.x <= minX && this.max.x >= maxX) {
+			if (this.min.y <= minY && this.max.y >= maxY) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
 	 * Returns true if the given point is contained within this {@link AABB}.
 	 * @param point the point to test
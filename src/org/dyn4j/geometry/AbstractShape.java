@@ -29,12 +29,12 @@ import java.util.UUID;
 /**
  * Base implementation of the {@link Shape} interface.
  * @author William Bittle
- * @version 3.1.4
+ * @version 3.1.11
  * @since 1.0.0
  */
 public abstract class AbstractShape implements Shape, Transformable {
-	/** The shape's unique identifier */
-	protected UUID id = UUID.randomUUID();
+	/** The shape's unique identifier; created when first requested */
+	protected volatile UUID id;
 	
 	/** The center of this {@link Shape} */
 	protected Vector2 center;
@@ -51,7 +51,7 @@ public abstract class AbstractShape implements Shape, Transformable {
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("Id=").append(this.id)
+		sb.append("Id=").append(this.getId())
 		.append("|Center=").append(this.center)
 		.append("|Radius=").append(this.radius);
 		return sb.toString();
@@ -62,7 +62,19 @@ public abstract class AbstractShape implements Shape, Transformable {
 	 */
 	@Override
 	public UUID getId() {
-		return this.id;
+		// create the id when its first needed (double checked since the
+		// id could be requested from several threads at the same time)
+		UUID id = this.id;
+		if (id == null) {
+			synchronized (this) {
+				id = this.id;
+				if (id == null) {
+					id = UUID.randomUUID();
+					this.id = id;
+				}
+			}
+		}
+		return id;
 	}
 	
 	/* (non-Javadoc)
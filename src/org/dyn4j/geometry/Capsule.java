@@ -36,7 +36,7 @@ import org.dyn4j.resources.Messages;
  * If the height is larger than the width the caps are on the top and bottom of the shape. Otherwise
  * the caps are on the left and right ends of the shape.
  * @author William Bittle
- * @version 3.1.5
+ * @version 3.1.11
  * @since 3.1.5
  */
 public class Capsule extends AbstractShape implements Convex, Shape, Transformable {
@@ -193,6 +193,22 @@ public class Capsule extends AbstractShape implements Convex, Shape, Transformab
 		};
 	}
 
+	/**
+	 * Places the focal point at the given index, transformed by the given {@link Transform},
+	 * in the given destination.
+	 * <p>
+	 * This is an alternative to the {@link #getFoci(Transform)} method that does not create any
+	 * objects.
+	 * @param index the focal point index; either 0 or 1
+	 * @param transform the local to world space {@link Transform} of this {@link Capsule}
+	 * @param destination the {@link Vector2} to place the result in
+	 * @throws ArrayIndexOutOfBoundsException if index is not 0 or 1
+	 * @since 3.1.11
+	 */
+	public void getFocus(int index, Transform transform, Vector2 destination) {
+		transform.getTransformed(this.foci[index], destination);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.dyn4j.geometry.Convex#getFarthestPoint(org.dyn4j.geometry.Vector2, org.dyn4j.geometry.Transform)
 	 */
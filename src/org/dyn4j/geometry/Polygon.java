@@ -24,6 +24,8 @@
  */
 package org.dyn4j.geometry;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import org.dyn4j.Epsilon;
 import org.dyn4j.resources.Messages;
 
@@ -34,6 +36,12 @@ import org.dyn4j.resources.Messages;
  * simultaneously.  A {@link Polygon} must also be {@link Convex} and have anti-clockwise winding of points.
  * <p>
  * A polygon cannot have coincident vertices.
+ * <p>
+ * The support functions, {@link #getFarthestPoint(Vector2, Transform)} and {@link #getFarthestFeature(Vector2, Transform)}, 
+ * scan every vertex for polygons with few vertices.  For polygons with {@link #HILL_CLIMBING_THRESHOLD} or more
+ * vertices, a subset of the vertices is sampled to find a starting vertex and then the adjacent vertices are 
+ * followed until the farthest vertex is found.  The {@link #getFarthestVertexIndex(Vector2, Transform, int)} method 
+ * can be used to start the search from the result of a previous query.
  * @author William Bittle
  * @version 3.1.11
  * @since 1.0.0
@@ -42,6 +50,18 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	/** Inverse of 3 */
 	private static final double INV3 = 1.0 / 3.0;
 	
+	/** The number of vertices at which the support functions stop scanning every vertex */
+	protected static final int HILL_CLIMBING_THRESHOLD = 16;
+	
+	/** The number of {@link Transform}s whose world space data is cached */
+	private static final int WORLD_CACHE_SIZE = 4;
+	
+	/** The world space data for the last few {@link Transform}s; also the lock for replacing the data */
+	private final AtomicReferenceArray<WorldCache> worldCache = new AtomicReferenceArray<WorldCache>(WORLD_CACHE_SIZE);
+	
+	/** The index of the next world cache entry to replace; guarded by the world cache */
+	private int worldCacheIndex;
+	
 	/**
 	 * Default constructor for sub classes.
 	 */
@@ -253,6 +273,7 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 			this.vertices[i].rotate(theta, x, y);
 			this.normals[i].rotate(theta, x, y);
 		}
+		this.clearWorldCache();
 	}
 
 	/* (non-Javadoc)
@@ -265,6 +286,7 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 		for (int i = 0; i < size; i++) {
 			this.vertices[i].add(x, y);
 		}
+		this.clearWorldCache();
 	}
 	
 	/* (non-Javadoc)
@@ -273,18 +295,34 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	@Override
 	public Interval project(Vector2 n, Transform transform) {
 		double v = 0.0;
-    	// get the first point
-		Vector2 p = transform.getTransformed(this.vertices[0]);
-		// project the point onto the vector
-    	double min = n.dot(p);
+		// project the world space normal into local space for temporary
+		// transforms rather than computing all the world space vertices
+		if (!transform.cacheable) {
+			Vector2 ln = transform.getInverseTransformedR(n);
+			double o = n.x * transform.x + n.y * transform.y;
+			double lmin = ln.dot(this.vertices[0]);
+			double lmax = lmin;
+			int size = this.vertices.length;
+			for (int i = 1; i < size; i++) {
+				v = ln.dot(this.vertices[i]);
+				if (v < lmin) {
+					lmin = v;
+				} else if (v > lmax) {
+					lmax = v;
+				}
+			}
+			return new Interval(lmin + o, lmax + o);
+		}
+		// get the world space vertices
+		double[] points = this.getWorldCache(transform).vertices;
+		// project the first point onto the vector
+    	double min = n.x * points[0] + n.y * points[1];
     	double max = min;
     	// loop over the rest of the vertices
     	int size = this.vertices.length;
         for(int i = 1; i < size; i++) {
-    		// get the next point
-    		p = transform.getTransformed(this.vertices[i]);
-    		// project it onto the vector
-            v = n.dot(p);
+    		// project the next point onto the vector
+            v = n.x * points[i * 2] + n.y * points[i * 2 + 1];
             if (v < min) { 
                 min = v;
             } else if (v > max) { 
@@ -301,26 +339,10 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	public Edge getFarthestFeature(Vector2 n, Transform transform) {
 		// transform the normal into local space
 		Vector2 localn = transform.getInverseTransformedR(n);
-		Vector2 maximum = new Vector2();
-		double max = -Double.MAX_VALUE;
-		int index = 0;
 		// find the vertex on the polygon that is further along on the penetration axis
 		int count = this.vertices.length;
-		for (int i = 0; i < count; i++) {
-			// get the current vertex
-			Vector2 v = this.vertices[i];
-			// get the scalar projection of v onto axis
-			double projection = localn.dot(v);
-			// keep the maximum projection point
-			if (projection > max) {
-				// set the max point
-				maximum.set(v);
-				// set the new maximum
-				max = projection;
-				// save the index
-				index = i;
-			}
-		}
+		int index = this.getFarthestVertexIndex(localn.x, localn.y, -1);
+		Vector2 maximum = this.vertices[index].copy();
 		
 		// once we have the point of maximum
 		// see which edge is most perpendicular
@@ -352,29 +374,146 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	public Vector2 getFarthestPoint(Vector2 n, Transform transform) {
 		// transform the normal into local space
 		Vector2 localn = transform.getInverseTransformedR(n);
-		Vector2 point = new Vector2();
-		// set the farthest point to the first one
-		point.set(this.vertices[0]);
+		// find the farthest point along the axis
+		Vector2 point = this.vertices[this.getFarthestVertexIndex(localn.x, localn.y, -1)].copy();
+		// transform the point into world space
+		transform.transform(point);
+		return point;
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest in the direction of the given vector.
+	 * <p>
+	 * The start index should be the index returned by a previous call with a similar 
+	 * direction and transform.  For polygons with many vertices this reduces the number
+	 * of vertices that must be tested to a few.  Use -1 if no previous index is available.
+	 * <p>
+	 * If more than one vertex is farthest in the given direction, the vertex with the 
+	 * lowest index is returned.  This is the same vertex returned by the 
+	 * {@link #getFarthestPoint(Vector2, Transform)} method.
+	 * @param n the direction
+	 * @param transform the local to world space {@link Transform} of this {@link Polygon}
+	 * @param start the index of the vertex to start the search from; or -1
+	 * @return int
+	 * @since 3.1.11
+	 */
+	public int getFarthestVertexIndex(Vector2 n, Transform transform, int start) {
+		// transform the normal into local space
+		// inline transform.getInverseTransformedR(n)
+		double x = transform.m00 * n.x + transform.m10 * n.y;
+		double y = transform.m01 * n.x + transform.m11 * n.y;
+		return this.getFarthestVertexIndex(x, y, start);
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest in the direction of the given local space vector.
+	 * @param x the x component of the direction in local coordinates
+	 * @param y the y component of the direction in local coordinates
+	 * @param start the index of the vertex to start the search from; or -1
+	 * @return int
+	 * @see #getFarthestVertexIndex(Vector2, Transform, int)
+	 * @since 3.1.11
+	 */
+	protected int getFarthestVertexIndex(double x, double y, int start) {
+		Vector2[] vertices = this.vertices;
+		int size = vertices.length;
+		
+		// scan all the vertices of small polygons
+		if (size < HILL_CLIMBING_THRESHOLD) {
+			return this.getFarthestVertexIndexLinear(x, y);
+		}
+		
+		// find a starting vertex if one wasn't given
+		if (start < 0 || start >= size) {
+			// sample every step-th vertex; the farthest vertex is
+			// then within step vertices of the best sample
+			int step = (int)Math.sqrt(size);
+			start = 0;
+			double max = x * vertices[0].x + y * vertices[0].y;
+			for (int i = step; i < size; i += step) {
+				double projection = x * vertices[i].x + y * vertices[i].y;
+				if (projection > max) {
+					max = projection;
+					start = i;
+				}
+			}
+		}
+		
+		// the projections of the vertices of a convex polygon onto an axis increase
+		// and then decrease around the polygon so climb in the increasing direction
+		int index = start;
+		double max = x * vertices[index].x + y * vertices[index].y;
+		int next = index + 1 == size ? 0 : index + 1;
+		int prev = index == 0 ? size - 1 : index - 1;
+		double pn = x * vertices[next].x + y * vertices[next].y;
+		double pp = x * vertices[prev].x + y * vertices[prev].y;
+		if (pn > max) {
+			// climb forward
+			do {
+				index = next;
+				max = pn;
+				next = index + 1 == size ? 0 : index + 1;
+				pn = x * vertices[next].x + y * vertices[next].y;
+			} while (pn > max);
+		} else if (pp > max) {
+			// climb backward
+			do {
+				index = prev;
+				max = pp;
+				prev = index == 0 ? size - 1 : index - 1;
+				pp = x * vertices[prev].x + y * vertices[prev].y;
+			} while (pp > max);
+		} else if (pn == max && pp == max) {
+			// the vertex is in the middle of colinear vertices perpendicular
+			// to the axis, which could be the minimum, so scan all of them
+			return this.getFarthestVertexIndexLinear(x, y);
+		}
+		
+		// if other vertices have the same projection return the
+		// lowest index to match the linear scan
+		int lowest = index;
+		int i = index;
+		for (int j = 1; j < size; j++) {
+			i = i == 0 ? size - 1 : i - 1;
+			if (x * vertices[i].x + y * vertices[i].y != max) break;
+			if (i < lowest) lowest = i;
+		}
+		i = index;
+		for (int j = 1; j < size; j++) {
+			i = i + 1 == size ? 0 : i + 1;
+			if (x * vertices[i].x + y * vertices[i].y != max) break;
+			if (i < lowest) lowest = i;
+		}
+		
+		return lowest;
+	}
+	
+	/**
+	 * Returns the index of the vertex farthest in the direction of the given local space
+	 * vector by testing every vertex.
+	 * @param x the x component of the direction in local coordinates
+	 * @param y the y component of the direction in local coordinates
+	 * @return int
+	 * @since 3.1.11
+	 */
+	private int getFarthestVertexIndexLinear(double x, double y) {
+		Vector2[] vertices = this.vertices;
 		// prime the projection amount
-		double max = localn.dot(this.vertices[0]);
+		int index = 0;
+		double max = x * vertices[0].x + y * vertices[0].y;
 		// loop through the rest of the vertices to find a further point along the axis
-		int size = this.vertices.length;
+		int size = vertices.length;
 		for (int i = 1; i < size; i++) {
-			// get the current vertex
-			Vector2 v = this.vertices[i];
 			// project the vertex onto the axis
-			double projection = localn.dot(v);
+			double projection = x * vertices[i].x + y * vertices[i].y;
 			// check to see if the projection is greater than the last
 			if (projection > max) {
-				// otherwise this point is the farthest so far so clear the array and add it
-				point.set(v);
 				// set the new maximum
 				max = projection;
+				index = i;
 			}
 		}
-		// transform the point into world space
-		transform.transform(point);
-		return point;
+		return index;
 	}
 	
 	/**
@@ -468,34 +607,230 @@ public class Polygon extends Wound implements Convex, Shape, Transformable {
 	 */
 	@Override
 	public AABB createAABB(Transform transform) {
-		double vx = 0.0;
-		double vy = 0.0;
-    	// get the first point
-		Vector2 p = transform.getTransformed(this.vertices[0]);
-		// project the point onto the vector
-    	double minX = Vector2.X_AXIS.dot(p);
-    	double maxX = minX;
-    	double minY = Vector2.Y_AXIS.dot(p);
-    	double maxY = minY;
-    	// loop over the rest of the vertices
-    	int size = this.vertices.length;
-        for(int i = 1; i < size; i++) {
-    		// get the next point
-    		p = transform.getTransformed(this.vertices[i]);
-    		// project it onto the vector
-            vx = Vector2.X_AXIS.dot(p);
-            vy = Vector2.Y_AXIS.dot(p);
-            // compare the x values
-            if (vx < minX) minX = vx;
-            else if (vx > maxX) maxX = vx;
-            if (vy < minY) minY = vy;
-            else if (vy > maxY) maxY = vy;
-//            minX = Math.min(minX, vx);
-//            maxX = Math.max(maxX, vx);
-//            minY = Math.min(minY, vy);
-//            maxY = Math.max(maxY, vy);
-        }
-		// create the aabb
-		return new AABB(minX, minY, maxX, maxY);
+		// compute the bounds directly for temporary transforms
+		if (!transform.cacheable) {
+			double m00 = transform.m00, m01 = transform.m01;
+			double m10 = transform.m10, m11 = transform.m11;
+			double minX = 0.0, minY = 0.0, maxX = 0.0, maxY = 0.0;
+			int size = this.vertices.length;
+			for (int i = 0; i < size; i++) {
+				Vector2 p = this.vertices[i];
+				double x = m00 * p.x + m01 * p.y + transform.x;
+				double y = m10 * p.x + m11 * p.y + transform.y;
+				// compare the x and y values
+				if (i == 0) {
+					minX = maxX = x;
+					minY = maxY = y;
+				} else {
+					if (x < minX) minX = x;
+					else if (x > maxX) maxX = x;
+					if (y < minY) minY = y;
+					else if (y > maxY) maxY = y;
+				}
+			}
+			return new AABB(minX, minY, maxX, maxY);
+		}
+		WorldCache cache = this.getWorldCache(transform);
+		return new AABB(cache.minX, cache.minY, cache.maxX, cache.maxY);
+	}
+	
+	/**
+	 * Returns the vertices of this {@link Polygon} in world space as x, y pairs.
+	 * <p>
+	 * The world space vertices, normals and bounds are computed once and reused until
+	 * the given {@link Transform} is modified or this {@link Polygon} is rotated or translated.
+	 * The data is kept for the last 4 cacheable {@link Transform}s used, so a {@link Polygon} 
+	 * shared by more than 4 fixtures recomputes the data far more often.  The data of 
+	 * {@link Transform}s that are not cacheable is computed into new arrays on every call.
+	 * <p>
+	 * The returned array is shared and must not be modified.  Its contents are only valid
+	 * until the given {@link Transform} is modified since the arrays are reused.
+	 * @param transform the local to world space {@link Transform} of this {@link Polygon}
+	 * @return double[]
+	 * @since 3.1.11
+	 * @see Transform#getVersion()
+	 * @see Transform#setCacheable(boolean)
+	 */
+	public double[] getWorldVertices(Transform transform) {
+		return this.getWorldCache(transform).vertices;
+	}
+	
+	/**
+	 * Returns the edge normals of this {@link Polygon} in world space as x, y pairs.
+	 * <p>
+	 * The returned array is shared and must not be modified.
+	 * @param transform the local to world space {@link Transform} of this {@link Polygon}
+	 * @return double[]
+	 * @since 3.1.11
+	 * @see #getWorldVertices(Transform)
+	 */
+	public double[] getWorldNormals(Transform transform) {
+		return this.getWorldCache(transform).normals;
+	}
+	
+	/**
+	 * Returns the world space data of this {@link Polygon} for the given {@link Transform}, 
+	 * computing it if the cached data is missing or stale.
+	 * <p>
+	 * The data of {@link Transform}s that are not cacheable is always computed into a new entry.
+	 * @param transform the local to world space {@link Transform}
+	 * @return {@link WorldCache}
+	 */
+	private WorldCache getWorldCache(Transform transform) {
+		// don't let temporary transforms replace the cached data
+		if (!transform.cacheable) {
+			int size = this.vertices.length;
+			WorldCache cache = new WorldCache(transform, new double[size * 2], new double[size * 2]);
+			cache.update(this.vertices, this.normals);
+			return cache;
+		}
+		
+		// look for a current entry of the given transform without locking
+		AtomicReferenceArray<WorldCache> caches = this.worldCache;
+		for (int i = 0; i < WORLD_CACHE_SIZE; i++) {
+			WorldCache cache = caches.get(i);
+			if (cache != null && cache.transform == transform && cache.version == transform.version) {
+				return cache;
+			}
+		}
+		
+		// otherwise replace an entry; only one thread can replace entries at a time
+		// so that their arrays aren't written by two threads at once
+		synchronized (caches) {
+			// prefer the stale entry of the given transform (another thread
+			// could have updated it already), then any stale entry and then
+			// the oldest entry
+			int index = -1;
+			for (int i = 0; i < WORLD_CACHE_SIZE; i++) {
+				WorldCache cache = caches.get(i);
+				if (cache == null) {
+					if (index < 0) index = i;
+				} else if (cache.transform == transform) {
+					if (cache.version != transform.version) {
+						// the transform changed so update the data in place
+						cache.update(this.vertices, this.normals);
+					}
+					return cache;
+				} else if (cache.version != cache.transform.version) {
+					index = i;
+				}
+			}
+			
+			WorldCache evicted = null;
+			if (index < 0) {
+				index = this.worldCacheIndex;
+				this.worldCacheIndex = (index + 1) % WORLD_CACHE_SIZE;
+			} else {
+				evicted = caches.get(index);
+			}
+			
+			// reuse the arrays of a stale entry since they can't be used
+			// until its transform is used again, at which point it's replaced
+			WorldCache cache;
+			if (evicted != null) {
+				cache = new WorldCache(transform, evicted.vertices, evicted.normals);
+			} else {
+				int size = this.vertices.length;
+				cache = new WorldCache(transform, new double[size * 2], new double[size * 2]);
+			}
+			cache.update(this.vertices, this.normals);
+			caches.set(index, cache);
+			return cache;
+		}
+	}
+	
+	/**
+	 * Removes all the world space data of this {@link Polygon}.
+	 */
+	private void clearWorldCache() {
+		synchronized (this.worldCache) {
+			for (int i = 0; i < WORLD_CACHE_SIZE; i++) {
+				this.worldCache.set(i, null);
+			}
+		}
+	}
+	
+	/**
+	 * Represents the vertices, normals and bounds of a {@link Polygon} in world space
+	 * for a specific version of a {@link Transform}.
+	 * <p>
+	 * The entries are updated in place when their {@link Transform} changes.  The version
+	 * is written last so that threads that see the current version also see the data.
+	 * @author William Bittle
+	 * @version 3.1.11
+	 * @since 3.1.11
+	 */
+	private static final class WorldCache {
+		/** The transform */
+		final Transform transform;
+		
+		/** The version of the transform; -1 until the data is computed */
+		volatile int version;
+		
+		/** The world space vertices as x, y pairs */
+		final double[] vertices;
+		
+		/** The world space normals as x, y pairs */
+		final double[] normals;
+		
+		/** The world space bounds */
+		double minX, minY, maxX, maxY;
+		
+		/**
+		 * Full constructor.
+		 * @param transform the local to world space {@link Transform}
+		 * @param vertices the array for the world space vertices
+		 * @param normals the array for the world space normals
+		 */
+		public WorldCache(Transform transform, double[] vertices, double[] normals) {
+			this.transform = transform;
+			this.version = -1;
+			this.vertices = vertices;
+			this.normals = normals;
+		}
+		
+		/**
+		 * Computes the world space data for the current version of the {@link Transform}.
+		 * @param vertices the local space vertices
+		 * @param normals the local space normals
+		 */
+		public void update(Vector2[] vertices, Vector2[] normals) {
+			Transform transform = this.transform;
+			int version = transform.version;
+			double[] v = this.vertices;
+			double[] n = this.normals;
+			
+			double m00 = transform.m00, m01 = transform.m01;
+			double m10 = transform.m10, m11 = transform.m11;
+			double minX = 0.0, minY = 0.0, maxX = 0.0, maxY = 0.0;
+			int size = vertices.length;
+			for (int i = 0; i < size; i++) {
+				Vector2 p = vertices[i];
+				Vector2 q = normals[i];
+				double x = m00 * p.x + m01 * p.y + transform.x;
+				double y = m10 * p.x + m11 * p.y + transform.y;
+				v[i * 2] = x;
+				v[i * 2 + 1] = y;
+				n[i * 2] = m00 * q.x + m01 * q.y;
+				n[i * 2 + 1] = m10 * q.x + m11 * q.y;
+				// compare the x and y values
+				if (i == 0) {
+					minX = maxX = x;
+					minY = maxY = y;
+				} else {
+					if (x < minX) minX = x;
+					else if (x > maxX) maxX = x;
+					if (y < minY) minY = y;
+					else if (y > maxY) maxY = y;
+				}
+			}
+			
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+			// publish the data
+			this.version = version;
+		}
 	}
 }
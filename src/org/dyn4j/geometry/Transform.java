@@ -158,6 +158,12 @@ public class Transform implements Transformable {
 	
 	/** The y translation */
 	protected double y = 0.0;
+	
+	/** The number of times this transform has been modified */
+	protected int version = 0;
+	
+	/** True if shapes can cache their world space data for this transform */
+	protected boolean cacheable = false;
 
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -192,6 +198,7 @@ public class Transform implements Transformable {
 		this.m11 = m11;
 		this.x   = x;
 		this.y   = y;
+		this.version++;
 	}
 	
 	/* (non-Javadoc)
@@ -223,6 +230,7 @@ public class Transform implements Transformable {
 		this.m10 = sin * cm00 + cos * cm10;
 		this.m11 = sin * cm01 + cos * cm11;
 		this.y   = sin * cx + cos * cy + ry;
+		this.version++;
 	}
 	
 	/* (non-Javadoc)
@@ -240,6 +248,7 @@ public class Transform implements Transformable {
 	public void translate(double x, double y) {
 		this.x += x;
 		this.y += y;
+		this.version++;
 	}
 	
 	/* (non-Javadoc)
@@ -249,6 +258,45 @@ public class Transform implements Transformable {
 	public void translate(Vector2 vector) {
 		this.x += vector.x;
 		this.y += vector.y;
+		this.version++;
+	}
+	
+	/**
+	 * Returns the version of this {@link Transform}.
+	 * <p>
+	 * The version changes every time this {@link Transform} is modified and is used
+	 * to invalidate data cached for this {@link Transform}, like the world space 
+	 * vertices of a {@link Polygon}.
+	 * @return int
+	 * @see Polygon#getWorldVertices(Transform)
+	 * @since 3.1.11
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * Returns true if shapes can cache their world space data for this {@link Transform}.
+	 * @return boolean
+	 * @see #setCacheable(boolean)
+	 * @since 3.1.11
+	 */
+	public boolean isCacheable() {
+		return this.cacheable;
+	}
+	
+	/**
+	 * Sets whether shapes can cache their world space data for this {@link Transform}.
+	 * <p>
+	 * Only long lived {@link Transform}s, like those of a {@link org.dyn4j.dynamics.Body},
+	 * should be cacheable.  Temporary {@link Transform}s would only replace the data 
+	 * cached for the long lived ones.  Copies of this {@link Transform} are not cacheable.
+	 * @param flag true if the world space data can be cached
+	 * @see Polygon#getWorldVertices(Transform)
+	 * @since 3.1.11
+	 */
+	public void setCacheable(boolean flag) {
+		this.cacheable = flag;
 	}
 	
 	/**
@@ -274,6 +322,7 @@ public class Transform implements Transformable {
 		this.m11 = transform.m11;
 		this.x = transform.x;
 		this.y = transform.y;
+		this.version++;
 	}
 	
 	/**
@@ -282,6 +331,7 @@ public class Transform implements Transformable {
 	public void identity() {
 		this.m00 = 1; this.m01 = 0; this.x = 0; 
 		this.m10 = 0; this.m11 = 1; this.y = 0;
+		this.version++;
 	}
 	
 	/**
@@ -482,6 +532,7 @@ public class Transform implements Transformable {
 	 */
 	public void setTranslationX(double x) {
 		this.x = x;
+		this.version++;
 	}
 
 	/**
@@ -499,6 +550,7 @@ public class Transform implements Transformable {
 	 */
 	public void setTranslationY(double y) {
 		this.y = y;
+		this.version++;
 	}
 	
 	/**
@@ -518,6 +570,7 @@ public class Transform implements Transformable {
 	public void setTranslation(double x, double y) {
 		this.x = x;
 		this.y = y;
+		this.version++;
 	}
 	
 	/**